@@ -5,11 +5,15 @@ import javafx.application.Application;
 import javafx.stage.Stage;
 import inout.Loader;
 import model.*;
+import model.distances.ListesDeCandidats;
+import model.graph.GrapheDeCandidats;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -22,8 +26,6 @@ public class Main extends Application
         launch(args);
     }
 
-    private static boolean doubleTabou = false;
-
     @Override
     public void start(final Stage primaryStage) throws Exception
     {
@@ -81,6 +83,25 @@ public class Main extends Application
         // ne pas tenir compte de ce paramètre si la Génération est différente de ALÉATOIRE_SEUIL.
         int seuilCapacitéMaxItinéraireGénération = 80;
 
+        /* * * * ---- Les coûts entiers ---- * * * */
+        // Si ce paramètre est strictement positif, les distances du fichier sont multipliées par ce facteur puis arrondies
+        // à l'entier le plus proche. Avec un facteur de 1, on suit la convention des instances CVRPLIB, ce qui permet de
+        // comparer nos résultats aux valeurs publiées. Les longueurs sont alors des sommes d'entiers, donc exactes.
+        // Laisser à 0 pour travailler avec les distances réelles.
+        int facteurDistancesEntières = 0;
+
+        /* * * * ---- Le mode granulaire ---- * * * */
+        // Si ce paramètre est strictement positif, on calcule pour chaque client la liste de ses k plus proches voisins,
+        // et le recuit comme le tabou ne génèrent plus que des transformations qui rapprochent un client de l'un de
+        // ses voisins candidats (au lieu de tirer les positions au hasard). Une valeur entre 10 et 30 convient bien
+        // aux fichiers de plus de 100 clients.
+        // Laisser à 0 pour des transformations entièrement aléatoires.
+        int nbVoisinsCandidats = 0;
+        // Si ce paramètre est à true, le mode granulaire est activé avec pour candidats les voisins de chaque client dans
+        // la triangulation de Delaunay (6 en moyenne, calculés en O(n log n) : adapté aux très gros fichiers),
+        // complétés par les nbVoisinsCandidats plus proches voisins si ce dernier paramètre est strictement positif.
+        boolean candidatsDeDelaunay = false;
+
         /* * * * ---- Le type de transformation ---- * * * */
         // Permet de définir le type de transformation qui sera utilisé :
         // 1 - TRANSFORMATION_ÉCHANGE : Effectue un échange entre deux clients d'un itinéraire.
@@ -121,9 +142,23 @@ public class Main extends Application
         //  -> 3) découpage de l'itinéraire unique en plus petits itinéraires pour respecter les contraintes métier (capacité de véhicule)
         //   -> 4) application d'un second tabou sur la nouvelle solution composée désormais de plus petits itinéraires.
         // NE PAS TENIR COMPTE DE CE PARAMÈTRE SI Génération != ALÉATOIRE_UNIQUE et pas d'utilisation de tabou.
-        doubleTabou = false;
+        boolean doubleTabou = false;
         /* * * * * * * * ------------------------------ PARAMÈTRES ------------------------------ * * * * * * * */
 
+        if(facteurDistancesEntières > 0)
+        {
+            fx.utiliserDistancesEntières(facteurDistancesEntières);
+        }
+        ListesDeCandidats candidats = null;
+        if(candidatsDeDelaunay)
+        {
+            candidats = new ListesDeCandidats(new GrapheDeCandidats(fx, nbVoisinsCandidats), fx.getDistances());
+        }
+        else if(nbVoisinsCandidats > 0)
+        {
+            candidats = new ListesDeCandidats(fx.getDistances(), nbVoisinsCandidats);
+        }
+
 
 
         /* * * * * * * * ------------------------------ ZONE DE TEST ------------------------------ * * * * * * * */
@@ -142,7 +177,8 @@ public class Main extends Application
                         1000, // le nombre de voisins par température.
                         0.99, // le coefficient de diminution de la température.
                         typeDeTransformation,
-                        utilisationDeMétaTransformations);
+                        utilisationDeMétaTransformations,
+                        candidats);
 */
 
         /* ---------- test avec recuitSimuléItinéraires -----------  */
@@ -155,7 +191,8 @@ public class Main extends Application
                         100, // la température initiale
                         1000, // le nombre de voisins par température
                         0.99, // le coefficient de diminution de la température.
-                        typeDeTransformation);
+                        typeDeTransformation,
+                        candidats);
 */
 
         /* ------------------- test avec tabou ------------------- */
@@ -173,7 +210,46 @@ public class Main extends Application
                         1000, // le nombre d'itérations de l'algo.
                         100, // le nombre de solutions voisines à chaque itération.
                         typeDeTransformation,
-                        typeDeRechercheVoisinage);
+                        typeDeRechercheVoisinage,
+                        doubleTabou,
+                        candidats);
+
+        /* ------------- test avec tabou par attributs ------------- */
+/*
+        Solution best = testTabouParAttributs(fx,
+                        nbSolutionsAléatoiresInitiales,
+                        Génération.PROCHE_EN_PROCHE,
+                        seuilCapacitéMaxItinéraireGénération,
+                        15, // la durée tabou, en itérations.
+                        100000, // le nombre d'itérations de l'algo.
+                        100, // le nombre de mouvements évalués à chaque itération.
+                        Transformation.TRANSFORMATION_2_OPT,
+                        candidats);
+*/
+
+        /* ------------- test avec tabou par liste de mouvements candidats ------------- */
+/*
+        Solution best = testTabouParListeDeMouvements(fx,
+                        nbSolutionsAléatoiresInitiales,
+                        Génération.PROCHE_EN_PROCHE,
+                        seuilCapacitéMaxItinéraireGénération,
+                        15, // la durée tabou, en itérations.
+                        100000, // le nombre d'itérations de l'algo.
+                        10, // le nombre de meilleurs mouvements retenus pour chaque itinéraire.
+                        Transformation.TRANSFORMATION_2_OPT,
+                        candidats);
+*/
+
+        /* ------------- test avec tabou réactif ------------- */
+/*
+        Solution best = testTabouRéactif(fx,
+                        nbSolutionsAléatoiresInitiales,
+                        Génération.PROCHE_EN_PROCHE,
+                        seuilCapacitéMaxItinéraireGénération,
+                        100000, // le nombre d'itérations de l'algo (la durée tabou s'adapte seule).
+                        Transformation.TRANSFORMATION_2_OPT,
+                        candidats);
+*/
 
         /* -----------------------------------------------------------------------------------------------------------*/
         /* * * * * * * * ------------------------------ FIN ZONE DE TEST ------------------------------ * * * * * * * */
@@ -196,35 +272,26 @@ public class Main extends Application
      * @param coefficientDeDiminutionTempérature le coefficient de diminution de la température.
      * @param isMétaTransformations Indique si des méta-transformations sont utilisées ou non
      * @param typeDeTransformation le type de transformation à utiliser pour le recuit.
+     * @param candidats les listes de candidats pour le mode granulaire, null pour des transformations aléatoires.
      * @return la meilleure solution trouvée
      * @throws Exception en cas d'erreurs diverses...
      */
-    private static Solution testRecuit(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, double températureInitiale, double nombreDeVoisinsParTempérature, double coefficientDeDiminutionTempérature, Transformation typeDeTransformation,  boolean isMétaTransformations) throws Exception
+    private static Solution testRecuit(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, double températureInitiale, double nombreDeVoisinsParTempérature, double coefficientDeDiminutionTempérature, Transformation typeDeTransformation,  boolean isMétaTransformations, ListesDeCandidats candidats) throws Exception
     {
         System.out.println("-RECUIT en cours-");
-        Solution best = new Solution();
-        best.setOptimisationGlobale(Double.MAX_VALUE);
 
         GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
         ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
-
-        for(Solution solutionCourante:solutionsAléatoires)
-        {
-            Solution solutionOptimisée = RecuitSimulé.recuitSimulé(solutionCourante,
-                                        températureInitiale,
+        Solveur solveur = new SolveurRecuit(températureInitiale,
                                         nombreDeVoisinsParTempérature,
                                         coefficientDeDiminutionTempérature,
                                         typeDeTransformation,
                                         isMétaTransformations,
-                                        typeGénération);
+                                        typeGénération,
+                                        candidats,
+                                        new SplittableRandom());
 
-            System.out.println("Solution optimisée n° " + solutionsAléatoires.indexOf(solutionCourante) + " : " + solutionOptimisée.getOptimisationGlobale());
-            if(solutionOptimisée.getOptimisationGlobale() < best.getOptimisationGlobale())
-            {
-                best = solutionOptimisée;
-            }
-        }
-        return best;
+        return Main.multiDépart(solveur, solutionsAléatoires);
     }
 
     /**
@@ -238,10 +305,11 @@ public class Main extends Application
      * @param nombreDeVoisinsParTempérature nombre de solutions voisines généré par température.
      * @param typeDeTransformation le type de transformation à utiliser pour le recuit.
      * @param coefficientDeDiminutionTempérature le coefficient de diminution de la température.
+     * @param candidats les listes de candidats pour le mode granulaire, null pour des transformations aléatoires.
      * @return la meilleure solution trouvée
      * @throws Exception en cas d'erreurs diverses...
      */
-    private static Solution testRecuitItinéraire(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, double températureInitiale, double nombreDeVoisinsParTempérature, double coefficientDeDiminutionTempérature, Transformation typeDeTransformation) throws Exception
+    private static Solution testRecuitItinéraire(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, double températureInitiale, double nombreDeVoisinsParTempérature, double coefficientDeDiminutionTempérature, Transformation typeDeTransformation, ListesDeCandidats candidats) throws Exception
     {
         if(typeGénération == Génération.ALÉATOIRE_UNIQUE)
         {
@@ -249,31 +317,16 @@ public class Main extends Application
         }
         System.out.println("-RECUIT SUR ITINÉRAIRES en cours-");
 
-        Solution best = new Solution();
-        best.setOptimisationGlobale(Double.MAX_VALUE);
-
         GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
         ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
+        Solveur solveur = new SolveurRecuitItinéraire(températureInitiale,
+                                        nombreDeVoisinsParTempérature,
+                                        coefficientDeDiminutionTempérature,
+                                        typeDeTransformation,
+                                        candidats,
+                                        new SplittableRandom());
 
-        for(Solution solutionCourante:solutionsAléatoires)
-        {
-            Solution solutionOptimisée = new Solution();
-            for (int j = 0; j < solutionCourante.getItinéraires().size(); j++) {
-
-                Itinéraire itinéraireOptimisé = RecuitSimulé.recuitSimuléItinéraire(solutionCourante.getItinéraires().get(j),
-                                                températureInitiale,
-                                                nombreDeVoisinsParTempérature,
-                                                coefficientDeDiminutionTempérature,
-                                                typeDeTransformation);
-                                                solutionOptimisée.ajouterTournée(itinéraireOptimisé);
-            }
-            System.out.println("Solution optimisée n° " + solutionsAléatoires.indexOf(solutionCourante) + " : " + solutionOptimisée.getOptimisationGlobale());
-            if(solutionOptimisée.getOptimisationGlobale() < best.getOptimisationGlobale())
-            {
-                best = solutionOptimisée;
-            }
-        }
-        return best;
+        return Main.multiDépart(solveur, solutionsAléatoires);
     }
 
     /**
@@ -287,14 +340,60 @@ public class Main extends Application
      * @param nbSolutionsVoisinesChaqueIter le nombre de solutions voisines devant être trouvées à chaque itération.
      * @param typeDeTransformation le type de transformation à appliquer lors de la recherche de nouveaux voisins.
      * @param typeDeRechercheVoisinage le type de recherche de voisinage à appliquer.
+     * @param doubleTabou en génération ALÉATOIRE_UNIQUE, si un second tabou est effectué sur les itinéraires découpés.
+     * @param candidats les listes de candidats pour le mode granulaire, null pour des transformations aléatoires.
      * @return
      * @throws Exception
      */
-    private static Solution testTabou(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation typeDeTransformation, TypeDeRechercheVoisinage typeDeRechercheVoisinage) throws Exception
+    private static Solution testTabou(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation typeDeTransformation, TypeDeRechercheVoisinage typeDeRechercheVoisinage, boolean doubleTabou, ListesDeCandidats candidats) throws Exception
     {
 
         System.out.println("-TABOU SEARCH en cours-");
 
+        GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
+
+        ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            SolveurTabou solveur = new SolveurTabou(tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, typeDeTransformation, typeDeRechercheVoisinage, typeGénération, doubleTabou, candidats, pool, new SplittableRandom());
+            // tabou en mode classique : une recherche par solution initiale, exécutées en même temps dans le pool, sur
+            // tous les cœurs, et qui coopèrent par une mémoire à long terme partagée
+            if(typeGénération != Génération.ALÉATOIRE_UNIQUE)
+            {
+                Solution best = solveur.résoudreEnCoopération(solutionsAléatoires, null);
+                System.out.println("Solution optimisée (recherches coopératives) : " + best.getOptimisationGlobale());
+                return best;
+            }
+            // tabou en mode solution unique : les recherches, indépendantes, sont exécutées en même temps, et chacune
+            // évalue son voisinage en parallèle dans le même pool, dont les threads inoccupés prennent les tranches
+            return Main.multiDépart(solveur, solutionsAléatoires, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+
+    /**
+     * Permet de tester le tabou search par attributs.
+     * @param fichier le fichier sur lequel appliquer le tabou.
+     * @param nbSolutionsInitiales le nombre de solutions initiales = le nombre de solutions aléatoires à générer.
+     * @param typeGénération le type de génération utilisé pour la génération de solutions de base (pas ALÉATOIRE_UNIQUE).
+     * @param seuil le seuil (optionnel) qui correspond à la capacité maximale qui ne doit pas être dépassée par les itinéraires des solutions lors de leur génération.
+     * @param duréeTabou le nombre d'itérations pendant lesquelles un client déplacé ne peut plus l'être.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param nbSolutionsVoisinesChaqueIter le nombre de mouvements évalués à chaque itération.
+     * @param typeDeTransformation le type de transformation des mouvements (pas de méta transformation).
+     * @param candidats les listes de candidats pour le mode granulaire, null pour des transformations aléatoires.
+     * @return la meilleure solution trouvée
+     * @throws Exception en cas d'erreurs diverses...
+     */
+    private static Solution testTabouParAttributs(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, int duréeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation typeDeTransformation, ListesDeCandidats candidats) throws Exception
+    {
+        System.out.println("-TABOU SEARCH PAR ATTRIBUTS en cours-");
+
         Solution best = new Solution();
         best.setOptimisationGlobale(Double.MAX_VALUE);
         GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
@@ -302,18 +401,67 @@ public class Main extends Application
         ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
         for(Solution s:solutionsAléatoires)
         {
-            Solution solutionOptimisée;
-            // tabou en mode solution unique
-            if(typeGénération == Génération.ALÉATOIRE_UNIQUE)
+            Solution solutionOptimisée = Tabou.tabouSearchParAttributs(s, duréeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, typeDeTransformation, candidats, null);
+            System.out.println("Solution optimisée n° " + solutionsAléatoires.indexOf(s) + " : " + solutionOptimisée.getOptimisationGlobale());
+            if(solutionOptimisée.getOptimisationGlobale() < best.getOptimisationGlobale())
             {
-                solutionOptimisée = Tabou.tabouSearchAvecItinéraireUnique(s, tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, typeDeTransformation, typeDeRechercheVoisinage, doubleTabou);
+                best = solutionOptimisée;
             }
-            // tabou en mode classique
-            else
+        }
+        return best;
+    }
+
+    /**
+     * Permet de tester la recherche tabou par liste de mouvements candidats.
+     * @param duréeTabou le nombre d'itérations pendant lesquelles un client déplacé ne peut plus l'être.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param nbMouvementsParItinéraire le nombre de meilleurs mouvements retenus pour chaque itinéraire.
+     * @param typeDeTransformation le type de transformation des mouvements (pas de méta transformation).
+     * @param candidats les listes de candidats, pour ne retenir que les mouvements créant une arête candidate.
+     * @return la meilleure solution trouvée
+     * @throws Exception en cas d'erreurs diverses...
+     */
+    private static Solution testTabouParListeDeMouvements(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, int duréeTabou, int nbIterMax, int nbMouvementsParItinéraire, Transformation typeDeTransformation, ListesDeCandidats candidats) throws Exception
+    {
+        System.out.println("-TABOU SEARCH PAR LISTE DE MOUVEMENTS en cours-");
+
+        Solution best = new Solution();
+        best.setOptimisationGlobale(Double.MAX_VALUE);
+        GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
+
+        ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
+        for(Solution s:solutionsAléatoires)
+        {
+            Solution solutionOptimisée = Tabou.tabouSearchParListeDeMouvements(s, duréeTabou, nbIterMax, nbMouvementsParItinéraire, typeDeTransformation, candidats);
+            System.out.println("Solution optimisée n° " + solutionsAléatoires.indexOf(s) + " : " + solutionOptimisée.getOptimisationGlobale());
+            if(solutionOptimisée.getOptimisationGlobale() < best.getOptimisationGlobale())
             {
-                solutionOptimisée = Tabou.tabouSearch(s, tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, typeDeTransformation, typeDeRechercheVoisinage);
+                best = solutionOptimisée;
             }
+        }
+        return best;
+    }
 
+    /**
+     * Permet de tester la recherche tabou réactive.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param typeDeTransformation le type de transformation des mouvements (pas de méta transformation).
+     * @param candidats les listes de candidats pour le mode granulaire, null pour des transformations aléatoires.
+     * @return la meilleure solution trouvée
+     * @throws Exception en cas d'erreurs diverses...
+     */
+    private static Solution testTabouRéactif(Fichier fichier, int nbSolutionsInitiales, Génération typeGénération, int seuil, int nbIterMax, Transformation typeDeTransformation, ListesDeCandidats candidats) throws Exception
+    {
+        System.out.println("-TABOU SEARCH RÉACTIF en cours-");
+
+        Solution best = new Solution();
+        best.setOptimisationGlobale(Double.MAX_VALUE);
+        GénérateurDeSolutions générateurDeSolutions = new GénérateurDeSolutions(fichier);
+
+        ArrayList<Solution> solutionsAléatoires = générateurDeSolutions.générerXSolutionsAléatoire(nbSolutionsInitiales, typeGénération, seuil);
+        for(Solution s:solutionsAléatoires)
+        {
+            Solution solutionOptimisée = Tabou.tabouSearchRéactif(s, nbIterMax, typeDeTransformation, candidats, null);
             System.out.println("Solution optimisée n° " + solutionsAléatoires.indexOf(s) + " : " + solutionOptimisée.getOptimisationGlobale());
             if(solutionOptimisée.getOptimisationGlobale() < best.getOptimisationGlobale())
             {
@@ -323,6 +471,54 @@ public class Main extends Application
         return best;
     }
 
+    /**
+     * Optimise les solutions initiales en même temps, sur tous les cœurs, chacune par un solveur séparé du solveur
+     * donné.
+     * @param solveur le solveur dont sont séparés les solveurs de chaque solution initiale.
+     * @param solutionsInitiales les solutions initiales.
+     * @return la meilleure solution trouvée, ou une solution vide de longueur maximale s'il n'y a aucune solution
+     * initiale.
+     * @throws Exception en cas d'erreurs diverses...
+     */
+    private static Solution multiDépart(Solveur solveur, List<Solution> solutionsInitiales) throws Exception
+    {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            return Main.multiDépart(solveur, solutionsInitiales, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Optimise les solutions initiales en même temps, dans un pool donné, chacune par un solveur séparé du solveur
+     * donné.
+     * @param solveur le solveur dont sont séparés les solveurs de chaque solution initiale.
+     * @param solutionsInitiales les solutions initiales.
+     * @param pool le pool dans lequel s'exécutent les départs, qui peut aussi servir aux solveurs.
+     * @return la meilleure solution trouvée, ou une solution vide de longueur maximale s'il n'y a aucune solution
+     * initiale.
+     * @throws Exception en cas d'erreurs diverses...
+     */
+    private static Solution multiDépart(Solveur solveur, List<Solution> solutionsInitiales, ForkJoinPool pool) throws Exception
+    {
+        MultiDépart multiDépart = new MultiDépart(solveur, pool);
+        List<Solution> solutionsOptimisées = multiDépart.lancer(solutionsInitiales);
+        for(int i = 0; i < solutionsOptimisées.size(); i++)
+        {
+            System.out.println("Solution optimisée n° " + i + " : " + solutionsOptimisées.get(i).getOptimisationGlobale());
+        }
+        Solution best = multiDépart.getMeilleureSolution();
+        if(best == null)
+        {
+            best = new Solution();
+            best.setOptimisationGlobale(Double.MAX_VALUE);
+        }
+        return best;
+    }
 
     /**
      * Permet de charger les fichiers.
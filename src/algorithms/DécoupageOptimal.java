@@ -0,0 +1,140 @@
+package algorithms;
+
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Client;
+import model.Entrepôt;
+import model.Itinéraire;
+import model.Solution;
+import model.SéquenceDeClients;
+
+import java.util.ArrayList;
+
+/**
+ * Découpage optimal d'une tournée géante (un itinéraire unique passant par tous les clients, sans contrainte de
+ * capacité) en itinéraires respectant la capacité des véhicules, sans changer l'ordre des clients.
+ *
+ * Le découpage est un plus court chemin dans un graphe acyclique : le sommet p représente la fin d'un itinéraire
+ * juste avant la position p de la tournée géante, et l'arc (p, q + 1) l'itinéraire qui livre les clients des
+ * positions p à q. Les arcs sont parcourus par position de départ croissante, et chaque itinéraire est prolongé
+ * client par client tant que sa charge tient dans le véhicule : le découpage est en O(n·B), où B est le nombre
+ * maximal de clients d'un itinéraire, contre O(n²) pour l'ancien découpage glouton (sous-optimal).
+ *
+ * Un découpage est réutilisable : ses tableaux ne sont alloués qu'à la première tournée (ou à une tournée plus
+ * longue), ce qui permet d'évaluer une tournée géante à chaque transformation. Il ne doit pas être partagé entre
+ * threads.
+ * @see utilitaires.Utilitaire#subdiviserSolutionItinéraireUniqueEnPlusieursItinéraires(Solution)
+ */
+public final class DécoupageOptimal
+{
+    private final int capacité;
+
+    /**
+     * longueurs[p] est la longueur minimale des itinéraires livrant les p premiers clients de la tournée.
+     */
+    private double[] longueurs = new double[0];
+
+    /**
+     * précédents[p] est la position du premier client du dernier itinéraire de ce découpage minimal.
+     */
+    private int[] précédents = new int[0];
+
+    /**
+     * Crée un découpage pour des véhicules d'une capacité donnée.
+     * @param capacité la capacité des véhicules.
+     */
+    public DécoupageOptimal(int capacité)
+    {
+        this.capacité = capacité;
+    }
+
+    /**
+     * Calcule le découpage optimal d'une tournée géante, sans construire ses itinéraires.
+     * @param tournée la tournée géante, dont l'itinéraire et les distances sont lus sans être modifiés.
+     * @return la longueur totale des itinéraires du découpage optimal.
+     * @throws VehiculeCapacityOutOfBoundsException si un client demande à lui seul plus que la capacité d'un véhicule.
+     */
+    public double évaluer(Itinéraire tournée) throws VehiculeCapacityOutOfBoundsException
+    {
+        SéquenceDeClients clients = tournée.getListeClientsÀLivrer();
+        int n = clients.size();
+        if(this.longueurs.length < n + 1)
+        {
+            this.longueurs = new double[n + 1];
+            this.précédents = new int[n + 1];
+        }
+        this.longueurs[0] = 0;
+        for(int p = 1; p <= n; p++)
+        {
+            this.longueurs[p] = Double.MAX_VALUE;
+        }
+
+        for(int p = 0; p < n; p++)
+        {
+            if(this.longueurs[p] == Double.MAX_VALUE)
+            {
+                // aucun découpage ne se termine avant p : un client précédent dépasse seul la capacité
+                throw new VehiculeCapacityOutOfBoundsException("Le client " + clients.get(p - 1).getNumeroClient()
+                        + " dépasse à lui seul la capacité du véhicule (" + this.capacité + ").");
+            }
+            int charge = 0;
+            // longueur de l'itinéraire livrant les clients de p à q, sans le retour à l'entrepôt
+            double longueurAller = 0;
+            for(int q = p; q < n; q++)
+            {
+                charge += clients.get(q).getNbMarchandisesÀLivrer();
+                if(charge > this.capacité)
+                {
+                    break;
+                }
+                longueurAller += q == p ? tournée.distanceEntrePositions(-1, q) : tournée.distanceEntrePositions(q - 1, q);
+                double longueur = this.longueurs[p] + longueurAller + tournée.distanceEntrePositions(q, n);
+                if(longueur < this.longueurs[q + 1])
+                {
+                    this.longueurs[q + 1] = longueur;
+                    this.précédents[q + 1] = p;
+                }
+            }
+        }
+        if(n > 0 && this.longueurs[n] == Double.MAX_VALUE)
+        {
+            throw new VehiculeCapacityOutOfBoundsException("Le client " + clients.get(n - 1).getNumeroClient()
+                    + " dépasse à lui seul la capacité du véhicule (" + this.capacité + ").");
+        }
+        return this.longueurs[n];
+    }
+
+    /**
+     * Découpe de manière optimale une tournée géante en itinéraires respectant la capacité des véhicules.
+     * @param tournée la tournée géante, qui n'est pas modifiée.
+     * @return la solution composée des itinéraires du découpage optimal, dans l'ordre de la tournée.
+     * @throws VehiculeCapacityOutOfBoundsException si un client demande à lui seul plus que la capacité d'un véhicule.
+     * @throws ListOfClientsIsEmptyException si la tournée ne contient aucun client.
+     */
+    public Solution découper(Itinéraire tournée) throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        SéquenceDeClients clients = tournée.getListeClientsÀLivrer();
+        if(clients.isEmpty())
+        {
+            throw new ListOfClientsIsEmptyException("La tournée à découper ne contient aucun client.");
+        }
+        this.évaluer(tournée);
+
+        // les itinéraires sont retrouvés de la fin de la tournée vers son début, puis remis dans l'ordre
+        ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+        for(int fin = clients.size(); fin > 0; fin = this.précédents[fin])
+        {
+            ArrayList<Client> clientsItinéraire = new ArrayList<Client>(clients.subList(this.précédents[fin], fin));
+            itinéraires.add(0, new Itinéraire(clientsItinéraire, (Entrepôt) tournée.getEntrepôt(), false, tournée.getDistances()));
+        }
+        return new Solution(itinéraires);
+    }
+
+    /**
+     * @return la capacité des véhicules du découpage.
+     */
+    public int getCapacité()
+    {
+        return this.capacité;
+    }
+}
@@ -4,9 +4,11 @@ import customexceptions.EntrepôtNotFoundException;
 import customexceptions.ListOfClientsIsEmptyException;
 import customexceptions.VehiculeCapacityOutOfBoundsException;
 import model.*;
+import model.distances.SourceDeDistances;
 import model.graph.Sommet;
 import sun.management.snmp.jvminstr.JvmRTBootClassPathEntryImpl;
 import sun.reflect.generics.reflectiveObjects.NotImplementedException;
+import utilitaires.Aléatoire;
 import utilitaires.Utilitaire;
 
 import java.util.*;
@@ -25,15 +27,40 @@ import static algorithms.Génération.ALÉATOIRE_SEUIL;
  */
 public class GénérateurDeSolutions
 {
+    /**
+     * Le nombre de générations successives d'une solution identique à une solution déjà générée, au-delà duquel on y
+     * renonce.
+     */
+    private static final int NB_TENTATIVES_SOLUTION_DISTINCTE = 10;
+
     private Fichier fichierConcerné;
 
     /**
-     * Constructeur prenant en paramètre un Fichier.
+     * Le générateur aléatoire des tirages ; null pour utiliser celui du thread courant.
+     */
+    private final SplittableRandom aléatoire;
+
+    /**
+     * Constructeur prenant en paramètre un Fichier. Les tirages utilisent le générateur aléatoire du thread courant :
+     * le générateur de solutions peut être partagé entre threads.
      * @param fichier le fichier sur lequel nous allons générer des solutions.
      */
     public GénérateurDeSolutions(Fichier fichier)
+    {
+        this(fichier, null);
+    }
+
+    /**
+     * Constructeur prenant en paramètre un Fichier et le générateur aléatoire des tirages : pour une même graine, les
+     * solutions générées successivement sont les mêmes d'une exécution à l'autre. Le générateur de solutions ne doit
+     * alors pas être partagé entre threads.
+     * @param fichier le fichier sur lequel nous allons générer des solutions.
+     * @param aléatoire le générateur aléatoire ; null pour utiliser celui du thread courant.
+     */
+    public GénérateurDeSolutions(Fichier fichier, SplittableRandom aléatoire)
     {
         this.fichierConcerné = fichier;
+        this.aléatoire = aléatoire;
     }
 
     /**
@@ -42,14 +69,14 @@ public class GénérateurDeSolutions
      */
     public Solution générerUneSolutionAléatoire() throws EntrepôtNotFoundException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException {
 
-        Random random = new Random();
+        SplittableRandom random = Aléatoire.ouCeluiDuThread(this.aléatoire);
 
         // création d'une liste contenant les clients présents dans le fichier
         ArrayList<Client> clients = new ArrayList<>(this.fichierConcerné.getClients());
         // récupération de l'entrêpot du fichier
         Entrepôt entrepôt = this.fichierConcerné.getEntrepôt();
         // création d'un premier itinéraire sans client (il y a seulement l'entrepôt dans l'itinéraire)
-        Itinéraire itinéraire = new Itinéraire(entrepôt);
+        Itinéraire itinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
         // on crée une liste d'Itinéraire
         ArrayList<Itinéraire> itinéraires = new ArrayList<>();
         // on ajoute itinéraire à la liste d'Itinéraire
@@ -70,7 +97,7 @@ public class GénérateurDeSolutions
             // sinon...
             else {
                 // on crée un nouvel itinéraire sans client (il y a seulement l'entrepôt dans l'itinéraire)
-                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt);
+                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
                 // on ajoute le client au nouvel itinéraire
                 nouvelItinéraire.getListeClientsÀLivrer().add(clients.get(indexAléatoire));
                 // on supprime le client de la liste pour s'occuper des clients restants
@@ -91,11 +118,11 @@ public class GénérateurDeSolutions
      */
     public Solution générerSolutionAléatoireAvecItinéraireUnique()
     {
-        Random random = new Random();
+        SplittableRandom random = Aléatoire.ouCeluiDuThread(this.aléatoire);
         ArrayList<Client> tousLesClients = new ArrayList<>(this.fichierConcerné.getClients());
         LinkedList<Client> clientsSolutionUnique = new LinkedList<Client>();
         Entrepôt entrepôt = this.fichierConcerné.getEntrepôt();
-        Itinéraire itinéraire = new Itinéraire(new Véhicule(true), entrepôt);
+        Itinéraire itinéraire = new Itinéraire(new Véhicule(true), entrepôt, this.fichierConcerné.getDistances());
         ArrayList<Itinéraire> itinéraires = new ArrayList<>();
         itinéraires.add(itinéraire);
 
@@ -119,10 +146,10 @@ public class GénérateurDeSolutions
      */
     public Solution générerUneSolutionAléatoire(int limite) throws VehiculeCapacityOutOfBoundsException
     {
-        Random r = new Random();
+        SplittableRandom r = Aléatoire.ouCeluiDuThread(this.aléatoire);
         ArrayList<Client> clients = new ArrayList<>(this.fichierConcerné.getClients());
         Entrepôt entrepôt = this.fichierConcerné.getEntrepôt();
-        Itinéraire itinéraire = new Itinéraire(entrepôt);
+        Itinéraire itinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
         ArrayList<Itinéraire> itinéraires = new ArrayList<>();
         itinéraires.add(itinéraire);
         while (clients.size() > 0)
@@ -135,7 +162,7 @@ public class GénérateurDeSolutions
             }
             else
             {
-                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt);
+                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
                 nouvelItinéraire.getListeClientsÀLivrer().add(clients.get(indexAléatoire));
                 clients.remove(indexAléatoire);
                 itinéraires.add(nouvelItinéraire);
@@ -152,11 +179,12 @@ public class GénérateurDeSolutions
      */
     public Solution générerUneSolutionProcheEnProche() throws VehiculeCapacityOutOfBoundsException
     {
-        Random r = new Random();
+        SplittableRandom r = Aléatoire.ouCeluiDuThread(this.aléatoire);
         ArrayList<Client> clients = new ArrayList<>(this.fichierConcerné.getClients());
         Entrepôt entrepôt = this.fichierConcerné.getEntrepôt();
+        SourceDeDistances distances = this.fichierConcerné.getDistances();
         ArrayList<Itinéraire> itinéraires = new ArrayList<>();
-        Itinéraire itinéraire = new Itinéraire(entrepôt);
+        Itinéraire itinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
         itinéraires.add(itinéraire);
 
         int indexAléatoire = r.nextInt(clients.size());
@@ -172,12 +200,7 @@ public class GénérateurDeSolutions
             double distMin = Double.MAX_VALUE;
             for(Client c:clients)
             {
-                double distanceEntreLesDeuxClients = Utilitaire.distanceEuclidienne(
-                        c.getPositionX(),
-                        c.getPositionY(),
-                        lastAddedClient.getPositionX(),
-                        lastAddedClient.getPositionY()
-                );
+                double distanceEntreLesDeuxClients = distances.distance(lastAddedClient, c);
 
                 if(distanceEntreLesDeuxClients < distMin)
                 {
@@ -194,7 +217,7 @@ public class GénérateurDeSolutions
             }
             else
             {
-                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt);
+                Itinéraire nouvelItinéraire = new Itinéraire(entrepôt, this.fichierConcerné.getDistances());
                 nouvelItinéraire.getListeClientsÀLivrer().add(closest);
                 clients.remove(closest);
                 itinéraires.add(nouvelItinéraire);
@@ -204,34 +227,56 @@ public class GénérateurDeSolutions
     }
 
     /**
-     * Génère X solutions aléatoire, X étant défini par l'utilisateur.
+     * Génère X solutions aléatoire, X étant défini par l'utilisateur. Les solutions sont distinctes : une solution
+     * identique (de même empreinte) à une solution déjà générée est générée à nouveau, au plus
+     * NB_TENTATIVES_SOLUTION_DISTINCTE fois, puis abandonnée. Une génération peu aléatoire (proche en proche, qui ne
+     * tire au sort que le premier client) peut donc produire moins de X solutions.
      * @param X le nombre de solutions aléatoires à créer.
      * @param typeGénération le type de génération à suivre.
      * @param seuil le sueil fixé pour la génération de solution aléatoire avec seuil.
-     * @return une liste de X solutions générées aléatoirement.
+     * @return une liste d'au plus X solutions distinctes générées aléatoirement.
+     * @see Solution#getEmpreinte()
      */
     public ArrayList<Solution> générerXSolutionsAléatoire(int X, Génération typeGénération, int seuil) throws EntrepôtNotFoundException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException {
         ArrayList<Solution> solutionsAléatoires = new ArrayList<Solution>();
+        HashSet<Long> empreintes = new HashSet<Long>();
 
         // tant que l'index est inférieur à X, on boucle sur la méthode générerUneSolutionAléatoire()
         for(int i = 0; i < X; i++)
         {
-            switch(typeGénération)
+            for(int tentative = 0; tentative < NB_TENTATIVES_SOLUTION_DISTINCTE; tentative++)
             {
-                case ALÉATOIRE:
-                    solutionsAléatoires.add(this.générerUneSolutionAléatoire());
-                    break;
-                case ALÉATOIRE_SEUIL:
-                    solutionsAléatoires.add(this.générerUneSolutionAléatoire(seuil));
-                    break;
-                case ALÉATOIRE_UNIQUE:
-                    solutionsAléatoires.add(this.générerSolutionAléatoireAvecItinéraireUnique());
-                    break;
-                case PROCHE_EN_PROCHE:
-                    solutionsAléatoires.add(this.générerUneSolutionProcheEnProche());
+                Solution solution = this.générerUneSolution(typeGénération, seuil);
+                // on ne garde la solution que si elle n'a pas déjà été générée
+                if(empreintes.add(solution.getEmpreinte()))
+                {
+                    solutionsAléatoires.add(solution);
                     break;
+                }
             }
         }
         return solutionsAléatoires;
     }
+
+    /**
+     * Génère une solution selon un type de génération.
+     * @param typeGénération le type de génération à suivre.
+     * @param seuil le sueil fixé pour la génération de solution aléatoire avec seuil.
+     * @return la solution générée.
+     */
+    private Solution générerUneSolution(Génération typeGénération, int seuil) throws EntrepôtNotFoundException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException {
+        switch(typeGénération)
+        {
+            case ALÉATOIRE:
+                return this.générerUneSolutionAléatoire();
+            case ALÉATOIRE_SEUIL:
+                return this.générerUneSolutionAléatoire(seuil);
+            case ALÉATOIRE_UNIQUE:
+                return this.générerSolutionAléatoireAvecItinéraireUnique();
+            case PROCHE_EN_PROCHE:
+                return this.générerUneSolutionProcheEnProche();
+            default:
+                throw new IllegalArgumentException("Type de génération non géré : " + typeGénération);
+        }
+    }
 }
@@ -0,0 +1,291 @@
+package algorithms;
+
+import customexceptions.UnhandledTransformationException;
+import model.Itinéraire;
+import model.SéquenceDeClients;
+import model.distances.ListesDeCandidats;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Liste de mouvements candidats : plutôt que de tirer au sort des mouvements à chaque itération, elle tient pour
+ * chaque itinéraire ses meilleurs mouvements, rangés par variation de longueur croissante, et n'évalue à chaque
+ * itération que cette tête de liste.
+ *
+ * Les mouvements étant internes à un itinéraire, un mouvement effectué ne change que la valeur des mouvements de son
+ * itinéraire : seuls les itinéraires modifiés depuis la dernière évaluation (d'après le nombre de modifications de
+ * leur séquence) sont réévalués, en O(nombre de clients de l'itinéraire²). Une itération coûte ainsi la réévaluation
+ * de l'itinéraire modifié et le parcours des têtes de liste, sans aucune copie de solution.
+ *
+ * Avec des listes de candidats, seuls les mouvements créant au moins une arête candidate entre deux clients sont
+ * retenus : un tel mouvement place les deux clients de l'arête côte à côte, et ses positions sont donc voisines des
+ * leurs. La réévaluation ne parcourt alors que ces mouvements, à partir des voisins candidats de chaque client, en
+ * O(nombre de clients de l'itinéraire × k).
+ * Une liste de mouvements candidats ne doit pas être partagée entre threads.
+ * @see Tabou#tabouSearchParListeDeMouvements(model.Solution, int, int, int, Transformation, ListesDeCandidats)
+ */
+public final class ListeDeMouvementsCandidats
+{
+    private final List<Itinéraire> itinéraires;
+
+    private final Transformation transformation;
+
+    private final ListesDeCandidats candidats;
+
+    /**
+     * Le nombre de mouvements retenus pour chaque itinéraire.
+     */
+    private final int taille;
+
+    /**
+     * Pour chaque itinéraire (dans l'ordre de la liste des itinéraires) : ses meilleurs mouvements, par leurs deux
+     * positions et leur variation, du meilleur au moins bon, et leur nombre.
+     */
+    private final int[][] premièresPositions;
+    private final int[][] secondesPositions;
+    private final double[][] variations;
+    private final int[] nbMouvements;
+
+    /**
+     * Le nombre de modifications de la séquence de chaque itinéraire lors de sa dernière évaluation ; -1 s'il n'a
+     * jamais été évalué.
+     */
+    private final int[] nbModificationsÉvaluées;
+
+    /**
+     * Crée la liste des mouvements candidats des itinéraires d'une solution ; les itinéraires sont évalués à la
+     * première utilisation.
+     * @param itinéraires les itinéraires de la solution, dont la liste ne doit plus changer.
+     * @param transformation la transformation des mouvements.
+     * @param taille le nombre de mouvements retenus pour chaque itinéraire.
+     * @param candidats les listes de candidats ; null pour retenir les meilleurs mouvements sans restriction.
+     * @throws IllegalArgumentException si la taille n'est pas strictement positive.
+     */
+    public ListeDeMouvementsCandidats(List<Itinéraire> itinéraires, Transformation transformation, int taille, ListesDeCandidats candidats) throws IllegalArgumentException
+    {
+        if(taille < 1)
+        {
+            throw new IllegalArgumentException("Le nombre de mouvements retenus par itinéraire doit être strictement positif : " + taille);
+        }
+        this.itinéraires = itinéraires;
+        this.transformation = transformation;
+        this.taille = taille;
+        this.candidats = candidats;
+        this.premièresPositions = new int[itinéraires.size()][taille];
+        this.secondesPositions = new int[itinéraires.size()][taille];
+        this.variations = new double[itinéraires.size()][taille];
+        this.nbMouvements = new int[itinéraires.size()];
+        this.nbModificationsÉvaluées = new int[itinéraires.size()];
+        Arrays.fill(this.nbModificationsÉvaluées, -1);
+    }
+
+    /**
+     * Choisit le meilleur mouvement autorisé des têtes de liste : non tabou, ou menant à une solution meilleure que la
+     * meilleure solution trouvée (aspiration). Les itinéraires modifiés depuis leur dernière évaluation sont d'abord
+     * réévalués.
+     * @param mouvement le mouvement à placer sur le mouvement choisi, de la transformation de la liste.
+     * @param mémoire la mémoire tabou.
+     * @param itération l'itération courante.
+     * @param écartÀLaMeilleure la longueur de la solution courante moins celle de la meilleure solution.
+     * @return true si un mouvement autorisé a été trouvé, false sinon.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    public boolean choisir(Mouvement mouvement, MémoireTabouParAttributs mémoire, int itération, double écartÀLaMeilleure) throws UnhandledTransformationException
+    {
+        int meilleurItinéraire = -1;
+        int meilleurRang = -1;
+        for(int r = 0; r < this.itinéraires.size(); r++)
+        {
+            SéquenceDeClients clients = this.itinéraires.get(r).getListeClientsÀLivrer();
+            if(clients.getNbModifications() != this.nbModificationsÉvaluées[r])
+            {
+                this.réévaluer(r);
+            }
+            // les mouvements étant rangés, le premier mouvement autorisé est le meilleur de l'itinéraire
+            for(int rang = 0; rang < this.nbMouvements[r]; rang++)
+            {
+                double variation = this.variations[r][rang];
+                if(meilleurItinéraire >= 0 && variation >= this.variations[meilleurItinéraire][meilleurRang])
+                {
+                    break;
+                }
+                boolean aspiration = écartÀLaMeilleure + variation < 0;
+                if(aspiration || !(mémoire.estTabou(clients.getIndice(this.premièresPositions[r][rang]), itération)
+                        || mémoire.estTabou(clients.getIndice(this.secondesPositions[r][rang]), itération)))
+                {
+                    meilleurItinéraire = r;
+                    meilleurRang = rang;
+                    break;
+                }
+            }
+        }
+        if(meilleurItinéraire < 0)
+        {
+            return false;
+        }
+        mouvement.évaluer(this.itinéraires.get(meilleurItinéraire), this.premièresPositions[meilleurItinéraire][meilleurRang], this.secondesPositions[meilleurItinéraire][meilleurRang]);
+        return true;
+    }
+
+    /**
+     * Évalue les mouvements d'un itinéraire (tous, ou ceux qui créent une arête candidate avec des listes de
+     * candidats), et ne retient que les meilleurs.
+     * @param r la position de l'itinéraire dans la liste des itinéraires.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    private void réévaluer(int r) throws UnhandledTransformationException
+    {
+        Itinéraire itinéraire = this.itinéraires.get(r);
+        SéquenceDeClients clients = itinéraire.getListeClientsÀLivrer();
+        Transformation transformationEffective = TransformateurItinéraire.transformationEffective(this.transformation, itinéraire);
+        int nbClients = clients.size();
+        this.nbMouvements[r] = 0;
+        if(this.candidats != null)
+        {
+            this.réévaluerParCandidats(r, transformationEffective);
+            this.nbModificationsÉvaluées[r] = clients.getNbModifications();
+            return;
+        }
+        for(int p = 0; p < nbClients; p++)
+        {
+            // seul le déplacement a un sens : les autres transformations sont symétriques en leurs deux positions
+            int premièreSeconde = transformationEffective == Transformation.INSERTION_DÉCALAGE ? 0 : p + 1;
+            for(int q = premièreSeconde; q < nbClients; q++)
+            {
+                if(q == p)
+                {
+                    continue;
+                }
+                this.retenir(r, p, q, TransformateurItinéraire.delta(transformationEffective, itinéraire, p, q));
+            }
+        }
+        this.nbModificationsÉvaluées[r] = clients.getNbModifications();
+    }
+
+    /**
+     * Évalue les seuls mouvements d'un itinéraire qui créent une arête candidate, et ne retient que les meilleurs :
+     * pour chaque client de l'itinéraire et chacun de ses voisins candidats dans l'itinéraire, de positions a et b,
+     * les mouvements qui les rendent voisins ont leur première position parmi a - 1, a et a + 1, et leur seconde
+     * parmi b - 1, b et b + 1 (ou inversement).
+     * @param r la position de l'itinéraire dans la liste des itinéraires.
+     * @param transformationEffective la transformation réellement effectuée sur l'itinéraire.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    private void réévaluerParCandidats(int r, Transformation transformationEffective) throws UnhandledTransformationException
+    {
+        Itinéraire itinéraire = this.itinéraires.get(r);
+        SéquenceDeClients clients = itinéraire.getListeClientsÀLivrer();
+        clients.indexer();
+        int[] indices = clients.getIndices();
+        int nbClients = clients.size();
+        for(int a = 0; a < nbClients; a++)
+        {
+            for(int voisin : this.candidats.getVoisins(indices[a]))
+            {
+                int b = clients.getPosition(voisin);
+                if(b < 0)
+                {
+                    continue;
+                }
+                // l'arête est candidate dans les deux sens : chacun des deux clients peut être celui qui est déplacé
+                for(int sens = 0; sens < 2; sens++)
+                {
+                    int premier = sens == 0 ? a : b;
+                    int second = sens == 0 ? b : a;
+                    for(int p = premier - 1; p <= premier + 1; p++)
+                    {
+                        for(int q = second - 1; q <= second + 1; q++)
+                        {
+                            if(p < 0 || q < 0 || p >= nbClients || q >= nbClients || p == q
+                                    || (transformationEffective != Transformation.INSERTION_DÉCALAGE && p > q)
+                                    || !this.créeUneArêteCandidate(transformationEffective, clients, p, q)
+                                    || this.estRetenu(r, p, q))
+                            {
+                                continue;
+                            }
+                            this.retenir(r, p, q, TransformateurItinéraire.delta(transformationEffective, itinéraire, p, q));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Indique si un mouvement fait déjà partie des meilleurs mouvements d'un itinéraire : un même mouvement peut créer
+     * plusieurs arêtes candidates, et n'être retenu qu'une fois.
+     */
+    private boolean estRetenu(int r, int p, int q)
+    {
+        for(int rang = 0; rang < this.nbMouvements[r]; rang++)
+        {
+            if(this.premièresPositions[r][rang] == p && this.secondesPositions[r][rang] == q)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Insère un mouvement à son rang parmi les meilleurs mouvements d'un itinéraire, s'il en fait partie.
+     */
+    private void retenir(int r, int p, int q, double variation)
+    {
+        int nb = this.nbMouvements[r];
+        if(nb == this.taille && variation >= this.variations[r][nb - 1])
+        {
+            return;
+        }
+        int rang = nb == this.taille ? nb - 1 : nb;
+        while(rang > 0 && this.variations[r][rang - 1] > variation)
+        {
+            this.premièresPositions[r][rang] = this.premièresPositions[r][rang - 1];
+            this.secondesPositions[r][rang] = this.secondesPositions[r][rang - 1];
+            this.variations[r][rang] = this.variations[r][rang - 1];
+            rang--;
+        }
+        this.premièresPositions[r][rang] = p;
+        this.secondesPositions[r][rang] = q;
+        this.variations[r][rang] = variation;
+        if(nb < this.taille)
+        {
+            this.nbMouvements[r]++;
+        }
+    }
+
+    /**
+     * Indique si un mouvement rend voisins deux clients dont l'arête est candidate. Les arêtes reliant l'entrepôt ne
+     * sont pas considérées.
+     * @param transformation la transformation réellement effectuée.
+     * @param clients les clients de l'itinéraire, avant le mouvement.
+     * @param p la première position du mouvement.
+     * @param q la seconde position du mouvement.
+     * @return true si le mouvement crée une arête candidate, false sinon.
+     */
+    private boolean créeUneArêteCandidate(Transformation transformation, SéquenceDeClients clients, int p, int q)
+    {
+        int[] indices = clients.getIndices();
+        int nbClients = clients.size();
+        switch(transformation)
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                // le client de p prend la place de celui de q, et inversement (p < q)
+                return (q - 1 != p && this.candidats.estCandidate(indices[p], indices[q - 1]))
+                        || (q + 1 < nbClients && this.candidats.estCandidate(indices[p], indices[q + 1]))
+                        || (p > 0 && this.candidats.estCandidate(indices[q], indices[p - 1]))
+                        || (p + 1 != q && this.candidats.estCandidate(indices[q], indices[p + 1]));
+            case INSERTION_DÉCALAGE:
+                // une fois retiré, le client est inséré entre les clients de rangs q - 1 et q de la séquence restante
+                int avant = q - 1 < p ? q - 1 : q;
+                int après = q < p ? q : q + 1;
+                return (avant >= 0 && this.candidats.estCandidate(indices[p], indices[avant]))
+                        || (après < nbClients && this.candidats.estCandidate(indices[p], indices[après]));
+            default:
+                // l'inversion de la portion [p, q] crée les arêtes (p - 1, q) et (p, q + 1)
+                return (p > 0 && this.candidats.estCandidate(indices[p - 1], indices[q]))
+                        || (q + 1 < nbClients && this.candidats.estCandidate(indices[p], indices[q + 1]));
+        }
+    }
+}
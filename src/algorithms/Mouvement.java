@@ -0,0 +1,279 @@
+package algorithms;
+
+import customexceptions.UnhandledTransformationException;
+import model.Itinéraire;
+import model.SéquenceDeClients;
+import model.distances.ListesDeCandidats;
+
+import java.util.SplittableRandom;
+
+/**
+ * Un mouvement est une transformation d'un itinéraire, manipulée en deux temps : elle est d'abord tirée au sort et
+ * évaluée par sa variation de longueur, sans toucher à l'itinéraire ; puis, si elle est acceptée, elle est effectuée
+ * sur place, et peut encore être annulée.
+ *
+ * Un mouvement est réutilisable : les algorithmes en créent un (ou un par itinéraire) au début de leur exécution,
+ * puis le tirent à nouveau pour chaque solution voisine. L'évaluation d'un voisin n'alloue alors aucun objet, là où
+ * la transformation d'une copie de la solution en allouait une par voisin.
+ * Un mouvement ne doit pas être partagé entre threads.
+ * @see TransformateurItinéraire
+ */
+public final class Mouvement
+{
+    private final Transformation transformation;
+
+    /**
+     * La transformation effectuée sur l'itinéraire tiré : un échange à la place d'un 2-opt sur moins de 4 clients.
+     */
+    private Transformation transformationEffective;
+
+    private Itinéraire itinéraire;
+
+    /**
+     * Les deux positions de la transformation, comme pour {@link TransformateurItinéraire#tirerPositions(Transformation, Itinéraire, ListesDeCandidats)}.
+     */
+    private final int[] positions = new int[2];
+
+    private double variation;
+
+    /**
+     * La variation de l'empreinte de l'itinéraire, calculée lorsque le mouvement est effectué.
+     */
+    private long variationEmpreinte;
+
+    private boolean effectué;
+
+    /**
+     * Le nombre de modifications de la séquence de l'itinéraire attendu au prochain effet ou à la prochaine annulation
+     * du mouvement : celui du tirage, puis celui qui suit chaque effet ou annulation.
+     */
+    private int nbModificationsAttendu;
+
+    /**
+     * Crée un mouvement, qui reste à tirer au sort.
+     * @param transformation la transformation du mouvement.
+     */
+    public Mouvement(Transformation transformation)
+    {
+        this.transformation = transformation;
+    }
+
+    /**
+     * Tire au sort le mouvement sur un itinéraire, et l'évalue.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param candidats les listes de candidats pour le mode granulaire ; null pour un mouvement aléatoire.
+     * @return la variation de longueur qu'entraînerait le mouvement.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    public double tirer(Itinéraire itinéraire, ListesDeCandidats candidats) throws UnhandledTransformationException
+    {
+        TransformateurItinéraire.tirerPositions(this.transformation, itinéraire, candidats, this.positions);
+        return this.évaluer(itinéraire, this.positions[0], this.positions[1]);
+    }
+
+    /**
+     * Tire au sort le mouvement sur un itinéraire avec un générateur aléatoire donné, par exemple celui de la tâche qui
+     * évalue le mouvement, et l'évalue.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param candidats les listes de candidats pour le mode granulaire ; null pour un mouvement aléatoire.
+     * @param random le générateur aléatoire.
+     * @return la variation de longueur qu'entraînerait le mouvement.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    public double tirer(Itinéraire itinéraire, ListesDeCandidats candidats, SplittableRandom random) throws UnhandledTransformationException
+    {
+        TransformateurItinéraire.tirerPositions(this.transformation, itinéraire, candidats, this.positions, random);
+        return this.évaluer(itinéraire, this.positions[0], this.positions[1]);
+    }
+
+    /**
+     * Place le mouvement à des positions données d'un itinéraire, et l'évalue, comme s'il y avait été tiré.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param première la première position du mouvement.
+     * @param seconde la seconde position du mouvement.
+     * @return la variation de longueur qu'entraînerait le mouvement.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     * @see ListeDeMouvementsCandidats
+     */
+    public double évaluer(Itinéraire itinéraire, int première, int seconde) throws UnhandledTransformationException
+    {
+        this.itinéraire = itinéraire;
+        this.transformationEffective = TransformateurItinéraire.transformationEffective(this.transformation, itinéraire);
+        this.positions[0] = première;
+        this.positions[1] = seconde;
+        this.effectué = false;
+        this.nbModificationsAttendu = itinéraire.getListeClientsÀLivrer().getNbModifications();
+        this.variation = TransformateurItinéraire.delta(this.transformationEffective, itinéraire, première, seconde);
+        return this.variation;
+    }
+
+    /**
+     * Recopie un autre mouvement de même transformation, par exemple pour conserver le meilleur mouvement évalué.
+     * @param mouvement le mouvement à recopier.
+     */
+    public void copier(Mouvement mouvement)
+    {
+        this.itinéraire = mouvement.itinéraire;
+        this.transformationEffective = mouvement.transformationEffective;
+        this.positions[0] = mouvement.positions[0];
+        this.positions[1] = mouvement.positions[1];
+        this.variation = mouvement.variation;
+        this.variationEmpreinte = mouvement.variationEmpreinte;
+        this.effectué = mouvement.effectué;
+        this.nbModificationsAttendu = mouvement.nbModificationsAttendu;
+    }
+
+    /**
+     * Reporte le mouvement tiré sur une copie non modifiée de son itinéraire, par exemple pour construire une solution
+     * voisine sans modifier la solution courante.
+     * @param copie la copie de l'itinéraire sur lequel le mouvement a été tiré.
+     * @throws IllegalArgumentException si la copie n'a pas le même nombre de clients que l'itinéraire.
+     */
+    public void transposerSur(Itinéraire copie) throws IllegalArgumentException
+    {
+        if(copie.getListeClientsÀLivrer().size() != this.itinéraire.getListeClientsÀLivrer().size())
+        {
+            throw new IllegalArgumentException("Le mouvement ne peut être reporté que sur une copie de son itinéraire.");
+        }
+        this.itinéraire = copie;
+        this.nbModificationsAttendu = copie.getListeClientsÀLivrer().getNbModifications();
+    }
+
+    /**
+     * Calcule la variation de l'empreinte de l'itinéraire qu'entraînerait le mouvement tiré, en O(1), sans l'effectuer :
+     * l'empreinte d'une solution voisine s'en déduit sans la construire.
+     * @return la variation de l'empreinte, à combiner par ou exclusif à celle de l'itinéraire.
+     * @throws IllegalStateException si le mouvement n'a pas été tiré, ou s'il est déjà effectué.
+     * @see model.Solution#getEmpreinte()
+     */
+    public long évaluerVariationEmpreinte() throws IllegalStateException
+    {
+        if(this.itinéraire == null || this.effectué)
+        {
+            throw new IllegalStateException("Seul un mouvement tiré et non effectué peut être évalué.");
+        }
+        return TransformateurItinéraire.variationEmpreinte(this.transformationEffective, this.itinéraire, this.positions[0], this.positions[1]);
+    }
+
+    /**
+     * Effectue le mouvement sur place, en O(1) pour un échange et en O(longueur de la portion déplacée ou inversée)
+     * sinon. La longueur et l'empreinte de l'itinéraire sont tenues à jour par les variations du mouvement, sans recalcul.
+     * @throws IllegalStateException si le mouvement n'a pas été tiré, s'il est déjà effectué, ou si l'itinéraire a
+     * été modifié depuis.
+     */
+    public void effectuer() throws IllegalStateException
+    {
+        if(this.itinéraire == null || this.effectué)
+        {
+            throw new IllegalStateException("Le mouvement doit être tiré, et ne peut être effectué qu'une fois.");
+        }
+        SéquenceDeClients clients = this.itinéraire.getListeClientsÀLivrer();
+        this.vérifierNbModifications(clients);
+        this.variationEmpreinte = TransformateurItinéraire.variationEmpreinte(this.transformationEffective, this.itinéraire, this.positions[0], this.positions[1]);
+        switch(this.transformationEffective)
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                clients.échanger(this.positions[0], this.positions[1]);
+                break;
+            case INSERTION_DÉCALAGE:
+                clients.déplacer(this.positions[0], this.positions[1]);
+                break;
+            default:
+                clients.inverser(this.positions[0], this.positions[1]);
+        }
+        this.itinéraire.reporterRéordonnancement(this.nbModificationsAttendu, this.variation, this.variationEmpreinte);
+        this.nbModificationsAttendu = clients.getNbModifications();
+        this.effectué = true;
+    }
+
+    /**
+     * Annule le mouvement effectué : l'itinéraire retrouve l'ordre de ses clients et sa longueur d'avant le mouvement.
+     * @throws IllegalStateException si le mouvement n'est pas effectué, ou si l'itinéraire a été modifié depuis.
+     */
+    public void annuler() throws IllegalStateException
+    {
+        if(!this.effectué)
+        {
+            throw new IllegalStateException("Seul un mouvement effectué peut être annulé.");
+        }
+        SéquenceDeClients clients = this.itinéraire.getListeClientsÀLivrer();
+        this.vérifierNbModifications(clients);
+        switch(this.transformationEffective)
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                clients.échanger(this.positions[0], this.positions[1]);
+                break;
+            case INSERTION_DÉCALAGE:
+                // le client revient de sa position d'arrivée à sa position de départ
+                clients.déplacer(this.positions[1], this.positions[0]);
+                break;
+            default:
+                clients.inverser(this.positions[0], this.positions[1]);
+        }
+        // le ou exclusif étant sa propre réciproque, l'annulation combine la même variation d'empreinte
+        this.itinéraire.reporterRéordonnancement(this.nbModificationsAttendu, -this.variation, this.variationEmpreinte);
+        this.nbModificationsAttendu = clients.getNbModifications();
+        this.effectué = false;
+    }
+
+    /**
+     * @param clients la séquence des clients de l'itinéraire du mouvement.
+     * @throws IllegalStateException si la séquence a été modifiée depuis le tirage, ou depuis le dernier effet ou la
+     * dernière annulation du mouvement : ses positions et sa variation ne seraient plus valables.
+     */
+    private void vérifierNbModifications(SéquenceDeClients clients) throws IllegalStateException
+    {
+        if(clients.getNbModifications() != this.nbModificationsAttendu)
+        {
+            throw new IllegalStateException("L'itinéraire a été modifié depuis le tirage du mouvement.");
+        }
+    }
+
+    /**
+     * @return la transformation du mouvement.
+     */
+    public Transformation getTransformation()
+    {
+        return this.transformation;
+    }
+
+    /**
+     * @return l'itinéraire sur lequel le mouvement a été tiré.
+     */
+    public Itinéraire getItinéraire()
+    {
+        return this.itinéraire;
+    }
+
+    /**
+     * @return la première position du mouvement.
+     */
+    public int getPremièrePosition()
+    {
+        return this.positions[0];
+    }
+
+    /**
+     * @return la seconde position du mouvement.
+     */
+    public int getSecondePosition()
+    {
+        return this.positions[1];
+    }
+
+    /**
+     * @return la variation de longueur du mouvement, évaluée lors du tirage.
+     */
+    public double getVariation()
+    {
+        return this.variation;
+    }
+
+    /**
+     * @return true si le mouvement est effectué (et non annulé).
+     */
+    public boolean estEffectué()
+    {
+        return this.effectué;
+    }
+}
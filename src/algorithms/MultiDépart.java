@@ -0,0 +1,175 @@
+package algorithms;
+
+import model.Solution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Optimisation multi-départs : chaque solution initiale est optimisée par son propre solveur, séparé du solveur donné,
+ * et les départs s'exécutent en même temps dans un pool fork/join. Les départs sont répartis par divisions
+ * successives en deux moitiés, que les threads inoccupés du pool peuvent prendre aux autres.
+ *
+ * Chaque départ terminé propose sa solution comme meilleure solution, publiée par une référence atomique remplacée par
+ * compare-and-set : elle peut être lue à tout moment, sans verrou, pendant l'optimisation (par exemple pour
+ * l'afficher). Les solveurs des départs sont séparés avant le lancement, dans l'ordre des solutions initiales : la
+ * solution optimisée de chaque départ ne dépend pas de l'ordonnancement des threads.
+ * @see Solveur#séparer()
+ */
+public final class MultiDépart
+{
+    private final Solveur solveur;
+
+    private final ForkJoinPool pool;
+
+    private final AtomicReference<Solution> meilleureSolution = new AtomicReference<Solution>();
+
+    private final AtomicInteger nbDépartsTerminés = new AtomicInteger();
+
+    /**
+     * @param solveur le solveur dont sont séparés les solveurs des départs ; il n'est pas utilisé lui-même.
+     * @param pool le pool dans lequel s'exécutent les départs.
+     * @throws IllegalArgumentException si le solveur ou le pool est nul.
+     */
+    public MultiDépart(Solveur solveur, ForkJoinPool pool) throws IllegalArgumentException
+    {
+        if(solveur == null || pool == null)
+        {
+            throw new IllegalArgumentException("Le solveur et le pool de l'optimisation multi-départs ne doivent pas être nuls.");
+        }
+        this.solveur = solveur;
+        this.pool = pool;
+    }
+
+    /**
+     * Optimise les solutions initiales en même temps, et attend la fin de tous les départs. La meilleure solution
+     * reste celle de tous les lancements de cette optimisation multi-départs.
+     * @param solutionsInitiales les solutions initiales, une par départ.
+     * @return les solutions optimisées, dans l'ordre des solutions initiales.
+     * @throws Exception la première exception levée par le solveur de l'un des départs.
+     */
+    public List<Solution> lancer(List<Solution> solutionsInitiales) throws Exception
+    {
+        Solveur[] solveurs = new Solveur[solutionsInitiales.size()];
+        for(int i = 0; i < solveurs.length; i++)
+        {
+            solveurs[i] = this.solveur.séparer();
+        }
+        Solution[] solutionsOptimisées = new Solution[solveurs.length];
+        try
+        {
+            this.pool.invoke(new Départs(solutionsInitiales, solveurs, solutionsOptimisées, 0, solveurs.length));
+        }
+        catch(CompletionException e)
+        {
+            // l'exception du solveur peut avoir été enveloppée une seconde fois en passant d'un thread du pool à l'autre
+            Throwable cause = e;
+            while(cause instanceof CompletionException && cause.getCause() != null)
+            {
+                cause = cause.getCause();
+            }
+            if(cause instanceof Exception)
+            {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+        return new ArrayList<Solution>(Arrays.asList(solutionsOptimisées));
+    }
+
+    /**
+     * @return la meilleure solution des départs terminés, ou null si aucun départ n'est terminé. Elle peut être lue à
+     * tout moment, pendant l'optimisation, mais ne doit pas être modifiée.
+     */
+    public Solution getMeilleureSolution()
+    {
+        return this.meilleureSolution.get();
+    }
+
+    /**
+     * @return le nombre de départs terminés, tous lancements confondus.
+     */
+    public int getNbDépartsTerminés()
+    {
+        return this.nbDépartsTerminés.get();
+    }
+
+    /**
+     * Propose une solution comme meilleure solution : elle la remplace si elle est plus courte.
+     * @param solution la solution, qui ne doit plus être modifiée.
+     */
+    private void proposer(Solution solution)
+    {
+        double longueur = solution.getOptimisationGlobale();
+        Solution meilleure;
+        do
+        {
+            meilleure = this.meilleureSolution.get();
+        }
+        while((meilleure == null || longueur < meilleure.getOptimisationGlobale()) && !this.meilleureSolution.compareAndSet(meilleure, solution));
+        this.nbDépartsTerminés.incrementAndGet();
+    }
+
+    /**
+     * Les départs d'indices compris entre début (inclus) et fin (exclus).
+     */
+    private final class Départs extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Solution> solutionsInitiales;
+
+        private final Solveur[] solveurs;
+
+        private final Solution[] solutionsOptimisées;
+
+        private final int début;
+
+        private final int fin;
+
+        private Départs(List<Solution> solutionsInitiales, Solveur[] solveurs, Solution[] solutionsOptimisées, int début, int fin)
+        {
+            this.solutionsInitiales = solutionsInitiales;
+            this.solveurs = solveurs;
+            this.solutionsOptimisées = solutionsOptimisées;
+            this.début = début;
+            this.fin = fin;
+        }
+
+        /**
+         * Exécute le départ, ou divise les départs en deux moitiés.
+         * @throws CompletionException enveloppant l'exception levée par le solveur d'un départ.
+         */
+        @Override
+        protected void compute() throws CompletionException
+        {
+            if(this.fin - this.début > 1)
+            {
+                int milieu = (this.début + this.fin) >>> 1;
+                RecursiveAction.invokeAll(new Départs(this.solutionsInitiales, this.solveurs, this.solutionsOptimisées, this.début, milieu),
+                                          new Départs(this.solutionsInitiales, this.solveurs, this.solutionsOptimisées, milieu, this.fin));
+                return;
+            }
+            for(int i = this.début; i < this.fin; i++)
+            {
+                Solution solution;
+                try
+                {
+                    solution = this.solveurs[i].résoudre(this.solutionsInitiales.get(i));
+                }
+                catch(Exception e)
+                {
+                    throw new CompletionException(e);
+                }
+                this.solutionsOptimisées[i] = solution;
+                MultiDépart.this.proposer(solution);
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package algorithms;
+
+import model.Empreinte;
+import model.Itinéraire;
+import model.Solution;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mémoire à long terme partagée par plusieurs recherches tabou s'exécutant en même temps, sans verrou :
+ * <ul>
+ *     <li>la fréquence de chaque arête dans les solutions enregistrées, dans une table d'entiers atomiques indexée
+ *     par la clé de l'arête : deux arêtes peuvent partager une case, leur fréquence est alors surestimée, mais la
+ *     mémoire reste bornée quel que soit le nombre de clients ;</li>
+ *     <li>des solutions d'élite, chacune dans une case choisie d'après son empreinte, et remplacée par compare-and-set
+ *     par une meilleure solution ;</li>
+ *     <li>la meilleure solution de toutes les recherches, publiée par une référence atomique.</li>
+ * </ul>
+ * Une solution enregistrée est partagée entre threads : elle ne doit plus être modifiée, seulement copiée.
+ * @see SolveurTabou#résoudreEnCoopération(java.util.List, MémoireLongTermePartagée)
+ */
+public final class MémoireLongTermePartagée
+{
+    /**
+     * Le nombre maximal de cases de la table des fréquences (16 Mo).
+     */
+    private static final int NB_CASES_FRÉQUENCES_MAX = 1 << 22;
+
+    private final AtomicIntegerArray fréquences;
+
+    private final int masque;
+
+    private final AtomicReferenceArray<Solution> élites;
+
+    private final AtomicReference<Solution> meilleureSolution = new AtomicReference<Solution>();
+
+    /**
+     * Crée une mémoire vide.
+     * @param nbSommets le nombre de sommets (entrepôt compris) des solutions enregistrées, pour dimensionner la table
+     *                  des fréquences.
+     * @param nbÉlites le nombre maximal de solutions d'élite.
+     * @throws IllegalArgumentException si le nombre de sommets ou de solutions d'élite n'est pas strictement positif.
+     */
+    public MémoireLongTermePartagée(int nbSommets, int nbÉlites) throws IllegalArgumentException
+    {
+        if(nbSommets < 1 || nbÉlites < 1)
+        {
+            throw new IllegalArgumentException("Le nombre de sommets et le nombre de solutions d'élite doivent être strictement positifs : " + nbSommets + ", " + nbÉlites);
+        }
+        // une case par arête non orientée, arrondi à une puissance de deux pour indexer par masque
+        long nbArêtes = (long) nbSommets * (nbSommets + 1) / 2;
+        int nbCases = Integer.highestOneBit((int) Math.min(nbArêtes, NB_CASES_FRÉQUENCES_MAX));
+        if(nbCases < nbArêtes && nbCases < NB_CASES_FRÉQUENCES_MAX)
+        {
+            nbCases <<= 1;
+        }
+        this.fréquences = new AtomicIntegerArray(nbCases);
+        this.masque = nbCases - 1;
+        this.élites = new AtomicReferenceArray<Solution>(nbÉlites);
+    }
+
+    /**
+     * Enregistre une solution trouvée par l'une des recherches : ses arêtes voient leur fréquence augmenter, et elle
+     * est proposée comme solution d'élite et comme meilleure solution.
+     * @param solution la solution, qui ne doit plus être modifiée.
+     */
+    public void enregistrer(Solution solution)
+    {
+        // les longueurs et l'empreinte sont calculées avant la publication : les threads qui liront la solution
+        // n'auront rien à mettre à jour
+        double longueur = solution.getOptimisationGlobale();
+        long empreinte = solution.getEmpreinte();
+        for(Itinéraire itinéraire : solution.getItinéraires())
+        {
+            int[] indices = itinéraire.getListeClientsÀLivrer().getIndices();
+            int nbClients = itinéraire.getListeClientsÀLivrer().size();
+            int précédent = 0;
+            for(int p = 0; p <= nbClients; p++)
+            {
+                int suivant = p < nbClients ? indices[p] : 0;
+                this.fréquences.incrementAndGet(this.caseDeLArête(précédent, suivant));
+                précédent = suivant;
+            }
+        }
+
+        int caseÉlite = (int) Long.remainderUnsigned(empreinte, this.élites.length());
+        Solution élite;
+        do
+        {
+            élite = this.élites.get(caseÉlite);
+        }
+        while((élite == null || longueur < élite.getOptimisationGlobale()) && !this.élites.compareAndSet(caseÉlite, élite, solution));
+
+        Solution meilleure;
+        do
+        {
+            meilleure = this.meilleureSolution.get();
+        }
+        while((meilleure == null || longueur < meilleure.getOptimisationGlobale()) && !this.meilleureSolution.compareAndSet(meilleure, solution));
+    }
+
+    /**
+     * @param i l'indice du premier sommet.
+     * @param j l'indice du second sommet.
+     * @return le nombre de solutions enregistrées contenant l'arête (i, j), éventuellement surestimé.
+     */
+    public int getFréquence(int i, int j)
+    {
+        return this.fréquences.get(this.caseDeLArête(i, j));
+    }
+
+    /**
+     * @return la meilleure solution enregistrée, ou null si aucune solution n'a été enregistrée. Elle peut être lue
+     * à tout moment, pendant les recherches, mais ne doit pas être modifiée.
+     */
+    public Solution getMeilleureSolution()
+    {
+        return this.meilleureSolution.get();
+    }
+
+    /**
+     * @return les solutions d'élite enregistrées, dans l'ordre de leurs cases ; elles ne doivent pas être modifiées.
+     */
+    public ArrayList<Solution> getÉlites()
+    {
+        ArrayList<Solution> élites = new ArrayList<Solution>();
+        for(int c = 0; c < this.élites.length(); c++)
+        {
+            Solution élite = this.élites.get(c);
+            if(élite != null)
+            {
+                élites.add(élite);
+            }
+        }
+        return élites;
+    }
+
+    private int caseDeLArête(int i, int j)
+    {
+        return (int) Empreinte.arête(i, j) & this.masque;
+    }
+}
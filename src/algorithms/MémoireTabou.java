@@ -0,0 +1,94 @@
+package algorithms;
+
+import java.util.HashMap;
+
+/**
+ * Liste de tabou mémorisant les empreintes des solutions interdites, plutôt que les solutions elles-mêmes.
+ *
+ * Les empreintes sont rangées dans un tampon circulaire : une fois la taille maximale atteinte, chaque ajout remplace
+ * la plus ancienne, en O(1), sans recopier la liste. Un compteur des occurrences de chaque empreinte permet de savoir
+ * en O(1) si une solution est taboue, sans comparer ses itinéraires à ceux des solutions de la liste. Une liste de
+ * plusieurs dizaines de milliers d'empreintes ne coûte ainsi presque rien.
+ * @see model.Solution#getEmpreinte()
+ */
+public final class MémoireTabou
+{
+    private final long[] empreintes;
+
+    /**
+     * La position de la plus ancienne empreinte du tampon.
+     */
+    private int début;
+
+    private int taille;
+
+    private final HashMap<Long, Integer> occurrences = new HashMap<Long, Integer>();
+
+    /**
+     * Crée une liste de tabou vide.
+     * @param tailleMaximale le nombre maximal d'empreintes mémorisées.
+     * @throws IllegalArgumentException si la taille maximale est négative.
+     */
+    public MémoireTabou(int tailleMaximale) throws IllegalArgumentException
+    {
+        if(tailleMaximale < 0)
+        {
+            throw new IllegalArgumentException("La taille maximale de la liste de tabou doit être positive : " + tailleMaximale);
+        }
+        this.empreintes = new long[tailleMaximale];
+    }
+
+    /**
+     * Ajoute une empreinte à la liste, en oubliant la plus ancienne si la liste est pleine.
+     * @param empreinte l'empreinte de la solution interdite.
+     */
+    public void ajouter(long empreinte)
+    {
+        if(this.empreintes.length == 0)
+        {
+            return;
+        }
+        if(this.taille == this.empreintes.length)
+        {
+            this.oublier(this.empreintes[this.début]);
+            this.empreintes[this.début] = empreinte;
+            this.début = (this.début + 1) % this.empreintes.length;
+        }
+        else
+        {
+            this.empreintes[(this.début + this.taille) % this.empreintes.length] = empreinte;
+            this.taille++;
+        }
+        this.occurrences.merge(empreinte, 1, Integer::sum);
+    }
+
+    /**
+     * @param empreinte l'empreinte d'une solution.
+     * @return true si la solution est taboue, false sinon.
+     */
+    public boolean contient(long empreinte)
+    {
+        return this.occurrences.containsKey(empreinte);
+    }
+
+    /**
+     * @return le nombre d'empreintes mémorisées.
+     */
+    public int size()
+    {
+        return this.taille;
+    }
+
+    private void oublier(long empreinte)
+    {
+        int nb = this.occurrences.get(empreinte);
+        if(nb == 1)
+        {
+            this.occurrences.remove(empreinte);
+        }
+        else
+        {
+            this.occurrences.put(empreinte, nb - 1);
+        }
+    }
+}
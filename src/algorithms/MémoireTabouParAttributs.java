@@ -0,0 +1,116 @@
+package algorithms;
+
+import model.SéquenceDeClients;
+
+import java.util.Arrays;
+
+/**
+ * Mémoire tabou par attributs : plutôt que les solutions visitées, elle retient les clients déplacés par les derniers
+ * mouvements effectués. Un client déplacé ne peut plus l'être pendant un nombre d'itérations donné (la durée tabou),
+ * ce qui empêche la recherche de défaire aussitôt ce qu'elle vient de faire.
+ *
+ * La mémoire est un tableau d'entiers indexé par les indices des clients : pour chacun, l'itération jusqu'à laquelle il
+ * est tabou. Elle occupe O(nombre de clients) quelle que soit la durée tabou, et dire si un mouvement est tabou est en
+ * O(1).
+ * @see Tabou#tabouSearchParAttributs(model.Solution, int, int, int, Transformation, model.distances.ListesDeCandidats, java.util.SplittableRandom)
+ */
+public final class MémoireTabouParAttributs
+{
+    private int duréeTabou;
+
+    /**
+     * finTabou[c] est la dernière itération pendant laquelle le client d'indice c est tabou.
+     */
+    private int[] finTabou = new int[0];
+
+    /**
+     * Crée une mémoire vide.
+     * @param duréeTabou le nombre d'itérations pendant lesquelles un client déplacé reste tabou.
+     * @throws IllegalArgumentException si la durée tabou est négative.
+     */
+    public MémoireTabouParAttributs(int duréeTabou) throws IllegalArgumentException
+    {
+        if(duréeTabou < 0)
+        {
+            throw new IllegalArgumentException("La durée tabou doit être positive : " + duréeTabou);
+        }
+        this.duréeTabou = duréeTabou;
+    }
+
+    /**
+     * Indique si un mouvement tiré est tabou, c'est-à-dire s'il déplace un client tabou : l'un des deux clients situés
+     * à ses positions (les clients échangés, le client déplacé et son voisin d'arrivée, ou les extrémités de la
+     * portion inversée).
+     * @param mouvement le mouvement tiré, non encore effectué.
+     * @param itération l'itération courante.
+     * @return true si le mouvement est tabou, false sinon.
+     */
+    public boolean estTabou(Mouvement mouvement, int itération)
+    {
+        SéquenceDeClients clients = mouvement.getItinéraire().getListeClientsÀLivrer();
+        return this.estTabou(clients.getIndice(mouvement.getPremièrePosition()), itération)
+                || this.estTabou(clients.getIndice(mouvement.getSecondePosition()), itération);
+    }
+
+    /**
+     * Rend tabous les clients d'un mouvement, jusqu'à l'itération courante plus la durée tabou. Le mouvement doit
+     * être tiré et non encore effectué, pour que ses positions désignent ses clients.
+     * @param mouvement le mouvement choisi.
+     * @param itération l'itération courante.
+     */
+    public void interdire(Mouvement mouvement, int itération)
+    {
+        SéquenceDeClients clients = mouvement.getItinéraire().getListeClientsÀLivrer();
+        this.interdire(clients.getIndice(mouvement.getPremièrePosition()), itération);
+        this.interdire(clients.getIndice(mouvement.getSecondePosition()), itération);
+    }
+
+    /**
+     * @return le nombre d'itérations pendant lesquelles un client déplacé reste tabou.
+     */
+    public int getDuréeTabou()
+    {
+        return this.duréeTabou;
+    }
+
+    /**
+     * Change la durée tabou, par exemple pour l'adapter au cours de la recherche. Les clients déjà tabous le restent
+     * jusqu'à la fin de leur durée tabou d'origine.
+     * @param duréeTabou la nouvelle durée tabou.
+     * @throws IllegalArgumentException si la durée tabou est négative.
+     * @see Tabou#tabouSearchRéactif(model.Solution, int, Transformation, model.distances.ListesDeCandidats, java.util.SplittableRandom)
+     */
+    public void setDuréeTabou(int duréeTabou) throws IllegalArgumentException
+    {
+        if(duréeTabou < 0)
+        {
+            throw new IllegalArgumentException("La durée tabou doit être positive : " + duréeTabou);
+        }
+        this.duréeTabou = duréeTabou;
+    }
+
+    /**
+     * @param indice l'indice d'un client.
+     * @param itération l'itération courante.
+     * @return true si le client est tabou à cette itération.
+     */
+    public boolean estTabou(int indice, int itération)
+    {
+        return indice < this.finTabou.length && this.finTabou[indice] >= itération;
+    }
+
+    /**
+     * @param indice l'indice d'un client, à rendre tabou.
+     * @param itération l'itération courante.
+     */
+    public void interdire(int indice, int itération)
+    {
+        if(indice >= this.finTabou.length)
+        {
+            int ancienneTaille = this.finTabou.length;
+            this.finTabou = Arrays.copyOf(this.finTabou, Math.max(indice + 1, 2 * ancienneTaille));
+            Arrays.fill(this.finTabou, ancienneTaille, this.finTabou.length, -1);
+        }
+        this.finTabou[indice] = itération + this.duréeTabou;
+    }
+}
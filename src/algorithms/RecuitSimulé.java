@@ -3,18 +3,18 @@ package algorithms;
 import customexceptions.*;
 import model.Itinéraire;
 import model.Solution;
+import model.Véhicule;
+import model.distances.ListesDeCandidats;
+import utilitaires.Aléatoire;
 import utilitaires.Utilitaire;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Classe contenant les algorithmes liés à la méthode du recuit simulé.
  */
 public class RecuitSimulé
 {
-
-    private static Random random = new Random();
-
     /**
      * Méthode de recuit simulé permettant de sortir des minima locaux en acceptant des solutions moins bonnes.
      * @param solutionInitiale la solution initiale, de départ, qui sera optimisée puis retournée.
@@ -24,14 +24,29 @@ public class RecuitSimulé
      * @param transformation le type de transformation à appliquer lors de la recherche de nouveaux voisins.
      * @param isMétaTransformation booléen indiquant si des méthodes de transformations entre itinéraires d'une solution
      *                             sont opérées (true) ou non (false).
+     * @param typeDeGénération le type de génération de la solution initiale. En génération ALÉATOIRE_UNIQUE,
+     *                         l'itinéraire unique est une tournée géante, évaluée par son découpage optimal.
      * @return la solution initiale optimisée.
      * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
      * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
      * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
+     * @see SolveurRecuit
      */
     public static Solution recuitSimulé(Solution solutionInitiale, double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation, boolean isMétaTransformation, Génération typeDeGénération) throws VehiculeCapacityOutOfBoundsException, ItinéraireTooSmallException, ListOfClientsIsEmptyException, UnhandledTransformationException, SubdivisionAlgorithmException
     {
+        return new SolveurRecuit(températureInitiale, nombreVoisinsParTempérature, coefficientDeDiminuationTempérature, transformation, isMétaTransformation, typeDeGénération, null, Aléatoire.duThread()).résoudre(solutionInitiale);
+    }
 
+    /**
+     * Méthode de recuit simulé, éventuellement en mode granulaire : seules les transformations créant au moins une
+     * arête entre un client et l'un de ses voisins candidats sont alors générées.
+     * @param candidats les listes de candidats, éventuellement nulles.
+     * @param random le générateur aléatoire.
+     * @return la solution initiale optimisée.
+     * @see SolveurRecuit#résoudre(Solution)
+     */
+    static Solution recuit(Solution solutionInitiale, double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation, boolean isMétaTransformation, Génération typeDeGénération, ListesDeCandidats candidats, SplittableRandom random) throws VehiculeCapacityOutOfBoundsException, ItinéraireTooSmallException, ListOfClientsIsEmptyException, UnhandledTransformationException, SubdivisionAlgorithmException
+    {
         double température = températureInitiale;
 
         // copie de la solution initiale
@@ -45,6 +60,20 @@ public class RecuitSimulé
 
         double différenceFitness = 0;
 
+        // mouvement réutilisé pour toutes les transformations d'un seul itinéraire ; les méta transformations sont
+        // couplées à du 2-opt
+        Mouvement mouvement = new Mouvement(isMétaTransformation ? Transformation.TRANSFORMATION_2_OPT : transformation);
+
+        // en génération aléatoire unique, la solution est une tournée géante : sa fitness est la longueur de son
+        // découpage optimal en itinéraires respectant la capacité des véhicules, évalué à chaque transformation
+        DécoupageOptimal découpage = null;
+        if(typeDeGénération == Génération.ALÉATOIRE_UNIQUE)
+        {
+            découpage = new DécoupageOptimal(new Véhicule().getCapacité());
+            fitnessSolution = découpage.évaluer(solutionBase.getItinéraires().get(0));
+            fitnessMinimale = fitnessSolution;
+        }
+
         // on boucle sur la température qui diminue (elle est multipliée par le coefficient de diminution de la température)
         // à chaque itération
         for(double k = température; k > 1; k *= coefficientDeDiminuationTempérature) {
@@ -52,14 +81,52 @@ public class RecuitSimulé
             // on boucle sur le nombre de voisins par température que l'on veut générer
             for (int l = 0; l < nombreVoisinsParTempérature; l++) {
 
+                // une transformation sur un seul itinéraire (toujours sans méta transformation, une fois sur deux
+                // sinon) est évaluée par sa variation de longueur, et n'est effectuée (sur place) que si elle est
+                // acceptée : aucune copie n'est faite.
+                if (découpage != null) {
+                    // la transformation de la tournée géante est effectuée pour évaluer son découpage, puis annulée
+                    // si elle est refusée
+                    Itinéraire tournée = solutionBase.getItinéraires().get(0);
+                    TransformateurItinéraire.indexer(tournée, candidats);
+                    mouvement.tirer(tournée, candidats, random);
+                    mouvement.effectuer();
+                    différenceFitness = découpage.évaluer(tournée) - fitnessSolution;
+                    if (différenceFitness <= 0 || random.nextDouble() <= Math.exp(-différenceFitness/température)) {
+                        fitnessSolution += différenceFitness;
+                        if (fitnessSolution < fitnessMinimale) {
+                            meilleureSolution = new Solution(solutionBase);
+                            fitnessMinimale = fitnessSolution;
+                        }
+                    }
+                    else {
+                        mouvement.annuler();
+                    }
+                    continue;
+                }
+                if (!isMétaTransformation || (transformation == Transformation.TRANSFORMATION_ÉCHANGE && random.nextBoolean())) {
+                    Itinéraire itinéraire = solutionBase.getItinéraires().get(random.nextInt(solutionBase.getItinéraires().size()));
+                    TransformateurItinéraire.indexer(itinéraire, candidats);
+                    différenceFitness = mouvement.tirer(itinéraire, candidats, random);
+                    if (différenceFitness <= 0 || random.nextDouble() <= Math.exp(-différenceFitness/température)) {
+                        mouvement.effectuer();
+                        fitnessSolution += différenceFitness;
+                        if (fitnessSolution < fitnessMinimale) {
+                            // seule la meilleure solution est copiée
+                            meilleureSolution = new Solution(solutionBase);
+                            fitnessMinimale = fitnessSolution;
+                        }
+                    }
+                    continue;
+                }
+
                 // on crée une copie de solutionBase
                 Solution solutionVoisine = new Solution(solutionBase);
 
-                // on transforme la solution
-                RecuitSimulé.transformeRecuit(solutionVoisine, transformation, isMétaTransformation);
+                // on effectue une méta transformation sur la copie
+                RecuitSimulé.transformeRecuit(solutionVoisine, transformation, candidats, random);
 
-                // on recalcule la longeure totale de la solution
-                solutionVoisine.recalculerLongueurGlobale();
+                // la longueur totale de la solution est tenue à jour par ses itinéraires
                 double fitnessSolutionVoisine = solutionVoisine.getOptimisationGlobale();
 
                 //on calcule la différence entre la différence de fitness
@@ -115,10 +182,23 @@ public class RecuitSimulé
      * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
      * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
      * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @see SolveurRecuitItinéraire
      */
     public static Itinéraire recuitSimuléItinéraire(Itinéraire itinéraireInitial, double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation) throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnhandledTransformationException
     {
+        return new SolveurRecuitItinéraire(températureInitiale, nombreVoisinsParTempérature, coefficientDeDiminuationTempérature, transformation, null, Aléatoire.duThread()).résoudreItinéraire(itinéraireInitial);
+    }
 
+    /**
+     * Méthode de recuit simulé sur un itinéraire, éventuellement en mode granulaire : seules les transformations
+     * créant au moins une arête entre un client et l'un de ses voisins candidats sont alors générées.
+     * @param candidats les listes de candidats, éventuellement nulles.
+     * @param random le générateur aléatoire.
+     * @return l'itinéraire initial optimisé.
+     * @see SolveurRecuitItinéraire#résoudreItinéraire(Itinéraire)
+     */
+    static Itinéraire recuitItinéraire(Itinéraire itinéraireInitial, double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation, ListesDeCandidats candidats, SplittableRandom random) throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnhandledTransformationException
+    {
         double température = températureInitiale;
 
         // copie de la solution initiale
@@ -127,12 +207,15 @@ public class RecuitSimulé
         // longueur totale de la solution
         double fitnessMinimale = meilleurItinéraire.getLongueurTotale();
 
-        // autre copie de la solution initiale
+        // autre copie de la solution initiale, transformée sur place
         Itinéraire itinéraireBase = new Itinéraire(itinéraireInitial);
         double fitnessItinéraire = itinéraireBase.getLongueurTotale();
 
         double différenceFitness = 0;
 
+        // mouvement réutilisé pour toutes les transformations
+        Mouvement mouvement = new Mouvement(transformation);
+
         // on boucle sur la température qui diminue (elle est multipliée par le coefficient de diminution de la température)
         // à chaque itération
         for(double k = température; k > 1; k *= coefficientDeDiminuationTempérature) {
@@ -140,65 +223,25 @@ public class RecuitSimulé
             // on boucle sur le nombre de voisins par température que l'on veut générer
             for (int l = 0; l < nombreVoisinsParTempérature; l++) {
 
-                //RecuitSimulé.transformeRecuitItinéraire(transformation, itinéraireBase);
-                // condition sur la transformation à opérer
-                switch(transformation)
-                {
-                    // dans le cas où la transformation est une transformation échange...
-                    case TRANSFORMATION_ÉCHANGE:
-                        TransformateurItinéraire.transformationÉchange(itinéraireBase);
-                        break;
-
-                    // dans le cas où la transformation est une insertion décalage..
-                    case INSERTION_DÉCALAGE:
-                        TransformateurItinéraire.insertionDécalage(itinéraireBase);
-                        break;
-
-                    // dans le cas où la transformation est une inversion...
-                    case INVERSION:
-                        TransformateurItinéraire.inversion(itinéraireBase);
-                        break;
-
-                    // dans le cas où la transformation est une transformation 2-opt...
-                    case TRANSFORMATION_2_OPT:
-                        // En backup du 2-opt, on utilise une insertion décalage
-                        itinéraireBase = TransformateurItinéraire.transformation2opt(itinéraireBase, Transformation.TRANSFORMATION_ÉCHANGE);
-                        break;
-                    default:
-                        throw new UnhandledTransformationException(transformation, RecuitSimulé.class);
-                }
-
-                // on copie le contenu de solutionBase dans solutionVoisine
-                Itinéraire itinéraireVoisin = new Itinéraire(itinéraireBase);
-                double fitnessItinéraireVoisin = itinéraireVoisin.getLongueurTotale();
+                // on tire la transformation et on évalue sa variation de longueur, sans toucher à l'itinéraire
+                TransformateurItinéraire.indexer(itinéraireBase, candidats);
+                différenceFitness = mouvement.tirer(itinéraireBase, candidats, random);
 
-                différenceFitness = fitnessItinéraireVoisin - fitnessItinéraire;
-
-                // si la différence de fitness entre l'itinéraire voisin et l'itinéraire courant est inférieur ou
-                // égale à 0...
-                if (différenceFitness <= 0) {
-                    itinéraireBase = itinéraireVoisin;
-                    fitnessItinéraire = fitnessItinéraireVoisin;
+                // la transformation est acceptée si elle n'allonge pas l'itinéraire, ou sinon avec une probabilité
+                // exp(-différenceFitness/température)
+                if (différenceFitness <= 0 || random.nextDouble() <= Math.exp(-différenceFitness/température)) {
+                    // on effectue alors seulement la transformation
+                    mouvement.effectuer();
+                    fitnessItinéraire += différenceFitness;
 
                     // si la fitness de l'itinéraire voisin est inférieur à la fitness minimale...
-                    if (fitnessItinéraireVoisin < fitnessMinimale) {
-                        // alors l'itinéraire voisin devient le meilleur itinéraire
-                        meilleurItinéraire = itinéraireVoisin;
-                        fitnessMinimale = fitnessItinéraireVoisin;
+                    if (fitnessItinéraire < fitnessMinimale) {
+                        // alors une copie de l'itinéraire courant devient le meilleur itinéraire
+                        meilleurItinéraire = new Itinéraire(itinéraireBase);
+                        fitnessMinimale = fitnessItinéraire;
                         //System.out.println("Nouvelle fitness locale recuit itinéraires : " + fitnessMinimale);
                     }
                 }
-                // sinon...
-                else {
-                    // on choisit aléatoirement p entre 0 et 1
-                    double p = random.nextDouble();
-                    // si p est inférieur ou égal à exp(-différenceFitness/température)...
-                    if (p <= Math.exp(-différenceFitness/température)) {
-                        itinéraireBase = itinéraireVoisin;
-                        fitnessItinéraire = fitnessItinéraireVoisin;
-                    }
-
-                }
             }
 
         }
@@ -206,95 +249,44 @@ public class RecuitSimulé
     }
 
     /**
-     * Transforme une solution en gérant les différents cas possibles, en fonction de la transformation donnée en paramètre.
+     * Effectue une méta transformation sur une solution, c'est-à-dire une transformation entre deux itinéraires, en
+     * gérant les différents cas possibles en fonction de la transformation donnée en paramètre. Les transformations
+     * sur un seul itinéraire passent par un {@link Mouvement}, sans copie de la solution.
      * @param base la solution sur laquelle effectuer la transformation.
      * @param transformation la transformation à effectuer.
-     * @param isMéta si méta transformation ou pas.
-     * @throws VehiculeCapacityOutOfBoundsException exception 2opt.
-     * @throws ItinéraireTooSmallException exception 2opt.
-     * @throws ListOfClientsIsEmptyException exception 2opt.
-     * @throws UnhandledTransformationException exception 2opt.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param random le générateur aléatoire.
+     * @throws VehiculeCapacityOutOfBoundsException en cas de dépassement de la capacité d'un véhicule.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @throws UnsupportedOperationException si la transformation n'est pas possible entre deux itinéraires.
      */
-    private static void transformeRecuit(Solution base, Transformation transformation, boolean isMéta) throws VehiculeCapacityOutOfBoundsException, ItinéraireTooSmallException, ListOfClientsIsEmptyException, UnhandledTransformationException
+    private static void transformeRecuit(Solution base, Transformation transformation, ListesDeCandidats candidats, SplittableRandom random) throws VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, UnsupportedOperationException
     {
-        // On choisit un itinéraire aléatoirement.
-        int indexAléatoire1 = random.nextInt(base.getItinéraires().size());
-        // On choisit un deuxième itinéraire aléatoirement.
-        int indexAléatoire2 = random.nextInt(base.getItinéraires().size());
-
         // condition sur la transformation à opérer
         switch(transformation)
         {
             // dans le cas où la transformation est une transformation échange...
             case TRANSFORMATION_ÉCHANGE:
-                // s'il s'agit d'une transformation entre deux itinéraires...
-                if (isMéta) {
-                    // Du méta couplé à du 2-opt pour optimiser au maximum (une chance sur 2)
-                    if(random.nextBoolean())
-                    {
-                        TransformateurEntreItinéraires.métaTransformationÉchange(base.getItinéraires().get(indexAléatoire1),
-                                base.getItinéraires().get(indexAléatoire2), 40);
-                    }
-                    else
-                    {
-                        base.getItinéraires().set(indexAléatoire1,
-                                TransformateurItinéraire.transformation2opt(base.getItinéraires().get(indexAléatoire1), Transformation.TRANSFORMATION_ÉCHANGE));
-                    }
-
-                }
-                // sinon (s'il s'agit d'une transformation sur un itinéraire)...
-                else {
-                    TransformateurItinéraire.transformationÉchange(base.getItinéraires().get(indexAléatoire1));
-                }
-
-                break;
-
-            // dans le cas où la transformation est une insertion décalage...
-            case INSERTION_DÉCALAGE:
-                // s'il s'agit d'une transformation entre deux itinéraires...
-                if (isMéta) {
-                    throw new UnsupportedOperationException();
-                }
-                // sinon (s'il s'agit d'une transformation sur un itinéraire)...
-                else {
-                    TransformateurItinéraire.insertionDécalage(base.getItinéraires().get(indexAléatoire1));
-                }
-
-                break;
-
-            // dans le cas où la transformation est une inversion...
-            case INVERSION:
-                // (s'agit d'une transformation entre deux itinéraires) : opération pas possible entre deux itinéraires...
-                if (isMéta) {
-                    throw new UnsupportedOperationException();
+                if(candidats != null)
+                {
+                    TransformateurEntreItinéraires.métaTransformationGranulaire(base, candidats, random);
                 }
-                // s'il s'agit d'une transformation sur itinéraire
                 else
                 {
-                    TransformateurItinéraire.inversion(base.getItinéraires().get(indexAléatoire1));
+                    // échange de deux clients tirés au sort dans deux itinéraires différents
+                    TransformateurEntreItinéraires.métaTransformationÉchange(base, random);
                 }
                 break;
 
-            // dans le cas où la transformation est une transformation 2-opt
+            // les autres transformations ne sont pas possibles entre deux itinéraires
+            case INSERTION_DÉCALAGE:
+            case INVERSION:
             case TRANSFORMATION_2_OPT:
-                //s'agit d'une transformation entre deux itinéraires) : opération pas possible entre deux itinéraires..
-                if(isMéta)
-                {
-                    throw new UnsupportedOperationException();
-
-                }
-                else
-                {
-                    // En backup du 2-opt, on utilise une transformation échange
-                    base.getItinéraires().set(indexAléatoire1,
-                            TransformateurItinéraire.transformation2opt(base.getItinéraires().get(indexAléatoire1), Transformation.TRANSFORMATION_ÉCHANGE));
-                }
-                break;
+                throw new UnsupportedOperationException();
 
             // si la transformation n'est aucune des précédentes...
             default:
                 throw new UnhandledTransformationException(transformation, RecuitSimulé.class);
-
         }
     }
 }
@@ -0,0 +1,102 @@
+package algorithms;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+/**
+ * Réaction de la recherche tabou réactive aux solutions qu'elle retrouve : elle adapte la durée tabou d'une mémoire
+ * par attributs, et décide des échappements.
+ *
+ * Retrouver une solution déjà visitée signifie que la recherche tourne en rond : la durée tabou est allongée. Elle est
+ * raccourcie lorsque aucune solution n'a été retrouvée depuis plus longtemps que la longueur moyenne des cycles. Si
+ * des solutions sont retrouvées trop souvent malgré tout, un échappement est demandé : une suite de mouvements
+ * aléatoires, d'autant plus longue que les cycles sont longs.
+ * @see Tabou#tabouSearchRéactif(model.Solution, int, Transformation, model.distances.ListesDeCandidats, java.util.SplittableRandom)
+ */
+public final class RéactionTabou
+{
+    /**
+     * Paramètres de la réaction, valables quel que soit le fichier : le nombre de visites au-delà duquel une solution
+     * est trop visitée, le nombre de solutions trop visitées qui déclenche un échappement, et les facteurs
+     * d'allongement et de raccourcissement de la durée tabou.
+     */
+    private static final int NB_VISITES_MAX = 3;
+    private static final int NB_SOLUTIONS_TROP_VISITÉES_MAX = 3;
+    private static final double FACTEUR_ALLONGEMENT = 1.1;
+    private static final double FACTEUR_RACCOURCISSEMENT = 0.9;
+
+    private final MémoireTabouParAttributs mémoire;
+    private final int duréeTabouMaximale;
+
+    /**
+     * Pour chaque solution visitée (par son empreinte), la dernière itération de visite et le nombre de visites.
+     */
+    private final HashMap<Long, int[]> visites = new HashMap<Long, int[]>();
+    private double longueurMoyenneDesCycles = 0;
+    private int dernierChangementDeDurée = 0;
+    private int nbSolutionsTropVisitées = 0;
+
+    /**
+     * Crée la réaction d'une recherche qui n'a encore visité aucune solution.
+     * @param mémoire la mémoire tabou dont la durée tabou est adaptée.
+     * @param duréeTabouMaximale la durée tabou au-delà de laquelle elle n'est plus allongée.
+     */
+    public RéactionTabou(MémoireTabouParAttributs mémoire, int duréeTabouMaximale)
+    {
+        this.mémoire = mémoire;
+        this.duréeTabouMaximale = duréeTabouMaximale;
+    }
+
+    /**
+     * Enregistre la visite de la solution courante, et adapte la durée tabou de la mémoire.
+     * @param empreinte l'empreinte de la solution courante.
+     * @param itération l'itération courante.
+     * @param r le générateur aléatoire, pour la longueur des échappements.
+     * @return le nombre de mouvements aléatoires de l'échappement à effectuer, ou 0 si la recherche peut continuer
+     * depuis la solution courante. Un échappement oublie les solutions visitées.
+     */
+    public int réagir(long empreinte, int itération, SplittableRandom r)
+    {
+        int[] visite = this.visites.get(empreinte);
+        if(visite == null)
+        {
+            this.visites.put(empreinte, new int[]{itération, 1});
+        }
+        else
+        {
+            int longueurDuCycle = itération - visite[0];
+            visite[0] = itération;
+            visite[1]++;
+            if(visite[1] > NB_VISITES_MAX)
+            {
+                this.nbSolutionsTropVisitées++;
+            }
+            if(this.nbSolutionsTropVisitées > NB_SOLUTIONS_TROP_VISITÉES_MAX)
+            {
+                // échappement : la recherche est relancée d'un point éloigné
+                this.nbSolutionsTropVisitées = 0;
+                this.visites.clear();
+                return 1 + (int) (r.nextDouble() * (1 + this.longueurMoyenneDesCycles / 2));
+            }
+            // la recherche tourne en rond : la durée tabou est allongée
+            this.longueurMoyenneDesCycles = 0.1 * longueurDuCycle + 0.9 * this.longueurMoyenneDesCycles;
+            this.mémoire.setDuréeTabou(Math.min(this.duréeTabouMaximale, (int) Math.ceil(this.mémoire.getDuréeTabou() * FACTEUR_ALLONGEMENT) + 1));
+            this.dernierChangementDeDurée = itération;
+        }
+        if(itération - this.dernierChangementDeDurée > this.longueurMoyenneDesCycles)
+        {
+            // aucune solution retrouvée depuis longtemps : la durée tabou est raccourcie
+            this.mémoire.setDuréeTabou(Math.max(1, (int) (this.mémoire.getDuréeTabou() * FACTEUR_RACCOURCISSEMENT)));
+            this.dernierChangementDeDurée = itération;
+        }
+        return 0;
+    }
+
+    /**
+     * @return la moyenne glissante des longueurs, en itérations, des cycles détectés.
+     */
+    public double getLongueurMoyenneDesCycles()
+    {
+        return this.longueurMoyenneDesCycles;
+    }
+}
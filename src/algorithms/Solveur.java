@@ -0,0 +1,36 @@
+package algorithms;
+
+import model.Solution;
+
+/**
+ * Un solveur optimise des solutions avec une méthode et une configuration qui lui sont propres.
+ *
+ * Un solveur porte son propre générateur aléatoire : il ne doit pas être partagé entre threads. Pour résoudre en
+ * même temps plusieurs problèmes (plusieurs solutions initiales, ou plusieurs fichiers), chaque thread utilise son
+ * propre solveur, obtenu par {@link #séparer()}. Les algorithmes n'ayant aucun état statique, les solveurs séparés
+ * ne partagent alors que les listes de candidats, qui ne sont plus modifiées après leur construction, la source de
+ * distances du fichier, dont la lecture concurrente est permise (l'oracle de distances remplit un cache de lignes
+ * par thread), et le pool d'un solveur tabou, fait pour recevoir des tâches de plusieurs threads.
+ * @see SolveurRecuit
+ * @see SolveurRecuitItinéraire
+ * @see SolveurTabou
+ * @see MultiDépart
+ */
+public interface Solveur
+{
+    /**
+     * Optimise une solution.
+     * @param solutionInitiale la solution initiale.
+     * @return la meilleure solution trouvée.
+     * @throws Exception l'exception levée par l'algorithme du solveur.
+     */
+    Solution résoudre(Solution solutionInitiale) throws Exception;
+
+    /**
+     * Crée un solveur de même configuration, dont le générateur aléatoire est séparé de celui de ce solveur : les
+     * deux solveurs peuvent ensuite être utilisés par deux threads différents. Pour une graine donnée, les solveurs
+     * séparés successivement sont les mêmes d'une exécution à l'autre.
+     * @return le nouveau solveur.
+     */
+    Solveur séparer();
+}
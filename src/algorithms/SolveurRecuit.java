@@ -0,0 +1,74 @@
+package algorithms;
+
+import customexceptions.ItinéraireTooSmallException;
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.SubdivisionAlgorithmException;
+import customexceptions.UnhandledTransformationException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+
+import java.util.SplittableRandom;
+
+/**
+ * Solveur par recuit simulé sur les solutions entières.
+ * @see RecuitSimulé
+ */
+public final class SolveurRecuit implements Solveur
+{
+    private final double températureInitiale;
+
+    private final double nombreVoisinsParTempérature;
+
+    private final double coefficientDeDiminuationTempérature;
+
+    private final Transformation transformation;
+
+    private final boolean isMétaTransformation;
+
+    private final Génération typeDeGénération;
+
+    private final ListesDeCandidats candidats;
+
+    private final SplittableRandom aléatoire;
+
+    /**
+     * @param températureInitiale la température iniatiale, de départ.
+     * @param nombreVoisinsParTempérature nombre de solutions voisines généré par température.
+     * @param coefficientDeDiminuationTempérature le coefficient de diminution de la température.
+     * @param transformation le type de transformation à appliquer lors de la recherche de nouveaux voisins.
+     * @param isMétaTransformation booléen indiquant si des méthodes de transformations entre itinéraires d'une solution
+     *                             sont opérées (true) ou non (false).
+     * @param typeDeGénération le type de génération des solutions initiales.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param aléatoire le générateur aléatoire du solveur.
+     * @throws IllegalArgumentException si le générateur aléatoire est nul.
+     */
+    public SolveurRecuit(double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation, boolean isMétaTransformation, Génération typeDeGénération, ListesDeCandidats candidats, SplittableRandom aléatoire) throws IllegalArgumentException
+    {
+        if(aléatoire == null)
+        {
+            throw new IllegalArgumentException("Le générateur aléatoire du solveur ne doit pas être nul.");
+        }
+        this.températureInitiale = températureInitiale;
+        this.nombreVoisinsParTempérature = nombreVoisinsParTempérature;
+        this.coefficientDeDiminuationTempérature = coefficientDeDiminuationTempérature;
+        this.transformation = transformation;
+        this.isMétaTransformation = isMétaTransformation;
+        this.typeDeGénération = typeDeGénération;
+        this.candidats = candidats;
+        this.aléatoire = aléatoire;
+    }
+
+    @Override
+    public Solution résoudre(Solution solutionInitiale) throws VehiculeCapacityOutOfBoundsException, ItinéraireTooSmallException, ListOfClientsIsEmptyException, UnhandledTransformationException, SubdivisionAlgorithmException
+    {
+        return RecuitSimulé.recuit(solutionInitiale, this.températureInitiale, this.nombreVoisinsParTempérature, this.coefficientDeDiminuationTempérature, this.transformation, this.isMétaTransformation, this.typeDeGénération, this.candidats, this.aléatoire);
+    }
+
+    @Override
+    public SolveurRecuit séparer()
+    {
+        return new SolveurRecuit(this.températureInitiale, this.nombreVoisinsParTempérature, this.coefficientDeDiminuationTempérature, this.transformation, this.isMétaTransformation, this.typeDeGénération, this.candidats, this.aléatoire.split());
+    }
+}
@@ -0,0 +1,86 @@
+package algorithms;
+
+import customexceptions.ItinéraireTooSmallException;
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.UnhandledTransformationException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+
+import java.util.SplittableRandom;
+
+/**
+ * Solveur par recuit simulé sur chacun des itinéraires d'une solution, indépendamment les uns des autres.
+ * Ne gère pas les solutions à itinéraire unique de la génération ALÉATOIRE_UNIQUE, dont l'itinéraire ne respecte pas
+ * la capacité des véhicules.
+ * @see RecuitSimulé
+ */
+public final class SolveurRecuitItinéraire implements Solveur
+{
+    private final double températureInitiale;
+
+    private final double nombreVoisinsParTempérature;
+
+    private final double coefficientDeDiminuationTempérature;
+
+    private final Transformation transformation;
+
+    private final ListesDeCandidats candidats;
+
+    private final SplittableRandom aléatoire;
+
+    /**
+     * @param températureInitiale la température initiale, de départ.
+     * @param nombreVoisinsParTempérature nombre de solutions voisines généré par température.
+     * @param coefficientDeDiminuationTempérature le coefficient de diminution de la température.
+     * @param transformation le type de transformation à appliquer lors de la recherche de nouveaux voisins.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param aléatoire le générateur aléatoire du solveur.
+     * @throws IllegalArgumentException si le générateur aléatoire est nul.
+     */
+    public SolveurRecuitItinéraire(double températureInitiale, double nombreVoisinsParTempérature, double coefficientDeDiminuationTempérature, Transformation transformation, ListesDeCandidats candidats, SplittableRandom aléatoire) throws IllegalArgumentException
+    {
+        if(aléatoire == null)
+        {
+            throw new IllegalArgumentException("Le générateur aléatoire du solveur ne doit pas être nul.");
+        }
+        this.températureInitiale = températureInitiale;
+        this.nombreVoisinsParTempérature = nombreVoisinsParTempérature;
+        this.coefficientDeDiminuationTempérature = coefficientDeDiminuationTempérature;
+        this.transformation = transformation;
+        this.candidats = candidats;
+        this.aléatoire = aléatoire;
+    }
+
+    @Override
+    public Solution résoudre(Solution solutionInitiale) throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnhandledTransformationException
+    {
+        Solution solutionOptimisée = new Solution();
+        for(Itinéraire itinéraire : solutionInitiale.getItinéraires())
+        {
+            solutionOptimisée.ajouterTournée(this.résoudreItinéraire(itinéraire));
+        }
+        return solutionOptimisée;
+    }
+
+    /**
+     * Optimise un itinéraire par recuit simulé.
+     * @param itinéraireInitial l'itinéraire initial, qui n'est pas modifié.
+     * @return l'itinéraire optimisé.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
+     * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
+     * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     */
+    public Itinéraire résoudreItinéraire(Itinéraire itinéraireInitial) throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnhandledTransformationException
+    {
+        return RecuitSimulé.recuitItinéraire(itinéraireInitial, this.températureInitiale, this.nombreVoisinsParTempérature, this.coefficientDeDiminuationTempérature, this.transformation, this.candidats, this.aléatoire);
+    }
+
+    @Override
+    public SolveurRecuitItinéraire séparer()
+    {
+        return new SolveurRecuitItinéraire(this.températureInitiale, this.nombreVoisinsParTempérature, this.coefficientDeDiminuationTempérature, this.transformation, this.candidats, this.aléatoire.split());
+    }
+}
@@ -0,0 +1,170 @@
+package algorithms;
+
+import customexceptions.InvalidParameterForTabuSearchWithItinéraireUnique;
+import customexceptions.ItinéraireTooSmallException;
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.SubdivisionAlgorithmException;
+import customexceptions.UnhandledTransformationException;
+import customexceptions.UnhandledTypeDeRechercheVoisinageException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import utilitaires.Utilitaire;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solveur par recherche tabou. En génération ALÉATOIRE_UNIQUE, l'itinéraire unique est optimisé puis découpé en
+ * itinéraires respectant la capacité des véhicules, et éventuellement optimisé une seconde fois (double tabou).
+ * Le solveur peut aussi exécuter des recherches coopératives, une par solution initiale, dans son pool.
+ * @see Tabou
+ */
+public final class SolveurTabou implements Solveur
+{
+    private final int tailleMaximaleListeTabou;
+
+    private final int nbIterMax;
+
+    private final int nbSolutionsVoisinesChaqueIter;
+
+    private final Transformation transfo;
+
+    private final TypeDeRechercheVoisinage typeDeRechercheVoisinage;
+
+    private final Génération typeDeGénération;
+
+    private final boolean doubleTabou;
+
+    private final ListesDeCandidats candidats;
+
+    private final ForkJoinPool pool;
+
+    private final SplittableRandom aléatoire;
+
+    /**
+     * @param tailleMaximaleListeTabou la taille maximale que prendra la liste de tabou.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param nbSolutionsVoisinesChaqueIter le nombre de solutions voisines devant être trouvées à chaque itération.
+     * @param transfo le type de transformation à appliquer lors de la recherche de nouveaux voisins.
+     * @param typeDeRechercheVoisinage le type de recherche de voisinage à appliquer.
+     * @param typeDeGénération le type de génération des solutions initiales.
+     * @param doubleTabou en génération ALÉATOIRE_UNIQUE, si un tabou doit être effectué après avoir recoupé
+     *                    l'itinéraire unique en plusieurs itinéraires (true) ou non (false).
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param pool le pool dans lequel évaluer le voisinage, qui peut être partagé entre solveurs ; laisser à null pour
+     *             une évaluation séquentielle.
+     * @param aléatoire le générateur aléatoire du solveur.
+     * @throws IllegalArgumentException si le générateur aléatoire est nul.
+     */
+    public SolveurTabou(int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, Génération typeDeGénération, boolean doubleTabou, ListesDeCandidats candidats, ForkJoinPool pool, SplittableRandom aléatoire) throws IllegalArgumentException
+    {
+        if(aléatoire == null)
+        {
+            throw new IllegalArgumentException("Le générateur aléatoire du solveur ne doit pas être nul.");
+        }
+        this.tailleMaximaleListeTabou = tailleMaximaleListeTabou;
+        this.nbIterMax = nbIterMax;
+        this.nbSolutionsVoisinesChaqueIter = nbSolutionsVoisinesChaqueIter;
+        this.transfo = transfo;
+        this.typeDeRechercheVoisinage = typeDeRechercheVoisinage;
+        this.typeDeGénération = typeDeGénération;
+        this.doubleTabou = doubleTabou;
+        this.candidats = candidats;
+        this.pool = pool;
+        this.aléatoire = aléatoire;
+    }
+
+    @Override
+    public Solution résoudre(Solution solutionInitiale) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException, InvalidParameterForTabuSearchWithItinéraireUnique, SubdivisionAlgorithmException
+    {
+        if(this.typeDeGénération != Génération.ALÉATOIRE_UNIQUE)
+        {
+            return this.rechercher(solutionInitiale);
+        }
+        // on check si la solution est bien constituée d'un itinéraire unique. Sinon, exception et impossible de continuer car cas non attendu.
+        if(solutionInitiale.getItinéraires().size() != 1)
+        {
+            throw new InvalidParameterForTabuSearchWithItinéraireUnique("La solution ne contient pas un unique itinéraire pour cette méthode de recherche" +
+                    " tabou très spécifique. Utiliser tabuSearch à la place.");
+        }
+        Solution solAvecUniqueItinéraire = this.rechercher(solutionInitiale);
+        // on découpe la solution en itinéraires respectant les règles métiers.
+        Solution nouvelleSolutionRespectantLesRègles = Utilitaire.subdiviserSolutionItinéraireUniqueEnPlusieursItinéraires(solAvecUniqueItinéraire);
+
+        // Si on effectue un double tabou, cela signifie que l'on effectue une nouvelle fois une recherche tabou
+        // après avoir découpé l'itinéraire unique de la solution initiales en plus petits itinéraires qui respectent
+        // les règles métier.
+        if(this.doubleTabou)
+        {
+            return this.rechercher(nouvelleSolutionRespectantLesRègles);
+        }
+        return nouvelleSolutionRespectantLesRègles;
+    }
+
+    /**
+     * Effectue un tabou search sur une solution, quel que soit le type de génération, dont le voisinage est évalué
+     * dans le pool du solveur : en recherche basique, les solutions voisines de chaque itération sont réparties entre
+     * les threads du pool, et la meilleure solution voisine non taboue est obtenue par réduction, sans construire les
+     * autres. La recherche complexe, dont les méta-transformations construisent les voisins, reste séquentielle.
+     * Pour un générateur aléatoire de graine donnée, la solution retournée est la même d'une exécution à l'autre,
+     * séquentielle ou avec un pool du même nombre de threads : le découpage du voisinage en tranches en dépend, mais
+     * pas de l'ordonnancement des threads.
+     * @param solutionInitiale la solution initiale, de départ, qui sera optimisée puis retournée.
+     * @return la solution initiale optimisée.
+     * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
+     * @throws UnhandledTypeDeRechercheVoisinageException en cas de type de recherche de voisinage non géré.
+     * @see ÉvaluationParallèleDuVoisinage
+     */
+    public Solution rechercher(Solution solutionInitiale) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
+    {
+        return Tabou.rechercheTabou(solutionInitiale, this.tailleMaximaleListeTabou, this.nbIterMax, this.nbSolutionsVoisinesChaqueIter, this.transfo, this.typeDeRechercheVoisinage, this.candidats, this.pool, this.aléatoire);
+    }
+
+    /**
+     * Tabou search coopératif : une recherche tabou par solution initiale, toutes exécutées en même temps dans le pool
+     * du solveur, et qui partagent une mémoire à long terme sans verrou, dont la meilleure solution peut être lue à
+     * tout moment pendant les recherches (par exemple pour l'afficher). Le type de génération est ignoré.
+     *
+     * Chaque recherche est un {@link #rechercher(Solution)} découpé en époques : sa solution courante et sa liste de
+     * tabou sont conservées d'une époque à l'autre. À la fin d'une époque :
+     * <ul>
+     *     <li>si la recherche a amélioré sa meilleure solution, elle l'enregistre dans la mémoire (fréquences de ses
+     *     arêtes, solutions d'élite et meilleure solution globale), et poursuit depuis sa solution courante ;</li>
+     *     <li>sinon, elle repart d'une solution d'élite, trouvée par elle ou par une autre recherche, dont elle rompt
+     *     dans chaque itinéraire l'arête la plus fréquente : les recherches s'écartent ainsi des régions déjà
+     *     parcourues, et leur liste de tabou les empêche de revenir aussitôt sur leurs pas.</li>
+     * </ul>
+     * Chaque recherche reçoit son propre générateur aléatoire, séparé de celui du solveur avant son lancement. Les
+     * recherches s'exécutent dans le pool, et en recherche basique, chacune y évalue aussi son voisinage : les threads
+     * inoccupés prennent les tranches des voisinages des autres. Les recherches lisent toutes la source de distances
+     * du fichier, ce que permettent les sources de distances (l'oracle de distances garde un cache de lignes par
+     * thread). Les recherches échangeant des solutions par la mémoire partagée au fil de leur exécution, leur résultat
+     * dépend toutefois de l'ordonnancement des threads.
+     * @param solutionsInitiales les solutions initiales, une par recherche.
+     * @param mémoire la mémoire à long terme partagée par les recherches ; laisser à null pour qu'elle soit créée
+     *                d'après les solutions initiales.
+     * @return la meilleure solution trouvée par l'ensemble des recherches.
+     * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
+     * @throws UnhandledTypeDeRechercheVoisinageException en cas de type de recherche de voisinage non géré.
+     * @throws IllegalArgumentException si le solveur n'a pas de pool.
+     * @see MémoireLongTermePartagée
+     */
+    public Solution résoudreEnCoopération(List<Solution> solutionsInitiales, MémoireLongTermePartagée mémoire) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException, IllegalArgumentException
+    {
+        return Tabou.recherchesCoopératives(solutionsInitiales, this.tailleMaximaleListeTabou, this.nbIterMax, this.nbSolutionsVoisinesChaqueIter, this.transfo, this.typeDeRechercheVoisinage, this.candidats, this.pool, mémoire, this.aléatoire);
+    }
+
+    @Override
+    public SolveurTabou séparer()
+    {
+        return new SolveurTabou(this.tailleMaximaleListeTabou, this.nbIterMax, this.nbSolutionsVoisinesChaqueIter, this.transfo, this.typeDeRechercheVoisinage, this.typeDeGénération, this.doubleTabou, this.candidats, this.pool, this.aléatoire.split());
+    }
+}
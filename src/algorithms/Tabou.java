@@ -3,10 +3,17 @@ package algorithms;
 import customexceptions.*;
 import model.Itinéraire;
 import model.Solution;
-import utilitaires.Utilitaire;
+import model.distances.ListesDeCandidats;
+import utilitaires.Aléatoire;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
 
 /**
  * Classe contenant des algorithmes liés à la recherche Tabou
@@ -14,18 +21,17 @@ import java.util.Random;
 public class Tabou
 {
     /**
-     * Un booléen qui permet de définir si les nouvelles solutions
-     * créées au sein de cette classe sont instanciées avec un véhicule
-     * à capacité infinie (true) ou non (false).
-     * Notamment utile pour la génération GÉNÉRATION.ALÉATOIRE_UNIQUE
-     * et le tabouSearchAvecItinéraireUnique.
-     * @see Génération
-     * @see Tabou
+     * Paramètres de la recherche tabou coopérative : le nombre d'époques de chaque recherche, à la fin desquelles
+     * elle publie sa meilleure solution ou se diversifie, et le nombre de solutions d'élite partagées.
+     * @see SolveurTabou#résoudreEnCoopération(List, MémoireLongTermePartagée)
      */
-    private static boolean camionÀcapacitéInfinie = false;
+    private static final int COOPÉRATIF_NB_ÉPOQUES = 10;
+    private static final int COOPÉRATIF_NB_ÉLITES = 8;
 
     /**
-     * Effectue un tabou search sur une solution initiale donnée.
+     * Effectue un tabou search sur une solution initiale donnée, avec le générateur aléatoire du thread courant. Pour
+     * les listes de candidats, l'évaluation parallèle du voisinage ou un générateur aléatoire donné, utiliser un
+     * {@link SolveurTabou}.
      * @param solutionInitiale la solution initiale, de départ, qui sera optimisée puis retournée.
      * @param tailleMaximaleListeTabou la taille maximale que prendra la liste de tabou.
      * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
@@ -38,79 +44,256 @@ public class Tabou
      * @throws UnhandledTransformationException en cas de transformation non gérée.
      * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
      * @throws UnhandledTypeDeRechercheVoisinageException en cas de type de recherche de voisinage non géré.
+     * @see SolveurTabou#rechercher(Solution)
      */
     public static Solution tabouSearch(Solution solutionInitiale, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
     {
-        Solution solutionMin = solutionInitiale;
-        double fitnessMinimale = solutionMin.getOptimisationGlobale();
-        ArrayList<Solution> listeTabou = new ArrayList<Solution>();
-        //System.out.println("Fitness minimales (Tabou) : ");
-        Solution solutionSwap = null;
-        for(int i = 0; i < nbIterMax; i++)
-        {
-            // on récupère le voisinage
-            ArrayList<Solution> voisinage = Tabou.getSolutionsVoisines(solutionMin, transfo, typeDeRechercheVoisinage, nbSolutionsVoisinesChaqueIter, solutionSwap);
-            // duquel on enlève l'ensemble des transformations (solutions) interdites
-            voisinage.removeAll(listeTabou);
+        return new SolveurTabou(tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, Génération.ALÉATOIRE, false, null, null, Aléatoire.duThread()).rechercher(solutionInitiale);
+    }
 
+    /**
+     * Tabou search sur une solution initiale donnée, dont le voisinage est éventuellement évalué en parallèle.
+     * @param r le générateur aléatoire.
+     * @return la solution initiale optimisée.
+     * @see SolveurTabou#rechercher(Solution)
+     */
+    static Solution rechercheTabou(Solution solutionInitiale, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, ListesDeCandidats candidats, ForkJoinPool pool, SplittableRandom r) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
+    {
+        Recherche recherche = new Recherche(solutionInitiale, tailleMaximaleListeTabou, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, candidats, pool, r);
+        recherche.itérer(nbIterMax);
+        return recherche.getMeilleureSolution();
+    }
 
-            // et on récupère la meilleure solution de ce voisinage
-            Solution meilleureSolutionVoisine = new Solution();
-            meilleureSolutionVoisine.setOptimisationGlobale(Double.MAX_VALUE);
-            for(Solution s:voisinage)
+    /**
+     * Tabou search coopératif : une recherche tabou par solution initiale, toutes exécutées en même temps dans un pool
+     * fork/join, et qui partagent une mémoire à long terme sans verrou. Utilise le générateur aléatoire du thread
+     * courant.
+     * @param solutionsInitiales les solutions initiales, une par recherche.
+     * @param tailleMaximaleListeTabou la taille maximale que prendra la liste de tabou de chaque recherche.
+     * @param nbIterMax le nombre d'itérations maximal de chaque recherche.
+     * @param nbSolutionsVoisinesChaqueIter le nombre de solutions voisines devant être trouvées à chaque itération.
+     * @param transfo le type de transformation à appliquer lors de la recherche de nouveaux voisins.
+     * @param typeDeRechercheVoisinage le type de recherche de voisinage à appliquer.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param pool le pool dans lequel s'exécutent les recherches, et dans lequel elles évaluent leur voisinage.
+     * @return la meilleure solution trouvée par l'ensemble des recherches.
+     * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
+     * @throws UnhandledTypeDeRechercheVoisinageException en cas de type de recherche de voisinage non géré.
+     * @throws IllegalArgumentException si le pool est nul.
+     * @see SolveurTabou#résoudreEnCoopération(List, MémoireLongTermePartagée)
+     */
+    public static Solution tabouSearchCoopératif(List<Solution> solutionsInitiales, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, ListesDeCandidats candidats, ForkJoinPool pool) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException, IllegalArgumentException
+    {
+        return new SolveurTabou(tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, Génération.ALÉATOIRE, false, candidats, pool, Aléatoire.duThread()).résoudreEnCoopération(solutionsInitiales, null);
+    }
+
+    /**
+     * Recherches tabou coopératives, une par solution initiale, exécutées dans le pool.
+     * @param mémoire la mémoire à long terme partagée par les recherches ; à null, elle est créée d'après les
+     *                solutions initiales.
+     * @param r le générateur aléatoire, dont est séparé celui de chaque recherche.
+     * @return la meilleure solution trouvée par l'ensemble des recherches.
+     * @throws IllegalArgumentException si le pool est nul.
+     * @see SolveurTabou#résoudreEnCoopération(List, MémoireLongTermePartagée)
+     */
+    static Solution recherchesCoopératives(List<Solution> solutionsInitiales, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, ListesDeCandidats candidats, ForkJoinPool pool, MémoireLongTermePartagée mémoire, SplittableRandom r) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException, IllegalArgumentException
+    {
+        if(pool == null)
+        {
+            throw new IllegalArgumentException("Le pool des recherches coopératives ne doit pas être nul.");
+        }
+        MémoireLongTermePartagée mémoirePartagée = mémoire != null ? mémoire : Tabou.créerMémoireLongTerme(solutionsInitiales);
+        ArrayList<ForkJoinTask<Solution>> recherches = new ArrayList<ForkJoinTask<Solution>>();
+        try
+        {
+            for(Solution solutionInitiale : solutionsInitiales)
             {
-                if(s.getOptimisationGlobale() < meilleureSolutionVoisine.getOptimisationGlobale())
+                // le générateur de chaque recherche est séparé ici, dans l'ordre des solutions initiales
+                SplittableRandom aléatoireDeLaRecherche = r.split();
+                recherches.add(pool.submit(() ->
                 {
-                    meilleureSolutionVoisine = s;
-                }
+                    try
+                    {
+                        return Tabou.rechercheCoopérative(solutionInitiale, tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, candidats, pool, mémoirePartagée, aléatoireDeLaRecherche);
+                    }
+                    catch(Exception e)
+                    {
+                        throw new CompletionException(e);
+                    }
+                }));
             }
-
-            //System.out.println(meilleureSolutionVoisine.getOptimisationGlobale());
-            double fitnessCourante = meilleureSolutionVoisine.getOptimisationGlobale();
-            // la différence de fitness
-            double deltaF =  fitnessCourante - fitnessMinimale;
-            // si le delta est positif et que la liste de tabou contient encore de la place
-            if(deltaF > 0 && listeTabou.size() + voisinage.size() < tailleMaximaleListeTabou)
+            Solution meilleureSolution = null;
+            for(ForkJoinTask<Solution> recherche : recherches)
             {
-                listeTabou.addAll(voisinage);
+                Solution solution = Tabou.attendre(recherche);
+                if(meilleureSolution == null || solution.getOptimisationGlobale() < meilleureSolution.getOptimisationGlobale())
+                {
+                    meilleureSolution = solution;
+                }
             }
-            // si le delta est positif et que la liste de tabou n'a plus de place
-            else if(deltaF > 0 && listeTabou.size() + voisinage.size() > tailleMaximaleListeTabou)
+            return meilleureSolution;
+        }
+        finally
+        {
+            // après l'échec de l'une d'elles, les recherches non encore commencées ne le seront pas
+            for(ForkJoinTask<Solution> recherche : recherches)
             {
-                int espaceRequis = (listeTabou.size() + voisinage.size()) - tailleMaximaleListeTabou;
-                // on supprime les "espaceRequis" anciens éléments.
-                listeTabou = new ArrayList<Solution>(listeTabou.subList(espaceRequis, listeTabou.size() - 1));
-                // et on ajoute les nouveaux éléments à la fin.
-                listeTabou.addAll(voisinage);
+                recherche.cancel(false);
             }
+        }
+    }
 
-            if(fitnessCourante < fitnessMinimale)
+    /**
+     * Crée une mémoire à long terme vide, dimensionnée pour les clients des solutions initiales.
+     * @param solutionsInitiales les solutions initiales des recherches coopératives.
+     * @return la mémoire à long terme.
+     */
+    private static MémoireLongTermePartagée créerMémoireLongTerme(List<Solution> solutionsInitiales)
+    {
+        int nbSommets = 1;
+        for(Solution solution : solutionsInitiales)
+        {
+            for(Itinéraire itinéraire : solution.getItinéraires())
             {
-                solutionMin = meilleureSolutionVoisine;
-                fitnessMinimale = fitnessCourante;
-                // copie de la meilleure solution voisine
-                solutionSwap = new Solution(meilleureSolutionVoisine);
-                // display console
-                if(!camionÀcapacitéInfinie)
+                for(int p = 0; p < itinéraire.getListeClientsÀLivrer().size(); p++)
                 {
-                    //System.out.println("Itération " + i + ", nouvelle fitness tabou : " + fitnessMinimale);
+                    nbSommets = Math.max(nbSommets, itinéraire.getListeClientsÀLivrer().getIndice(p) + 1);
                 }
-                else
+            }
+        }
+        return new MémoireLongTermePartagée(nbSommets, COOPÉRATIF_NB_ÉLITES);
+    }
+
+    /**
+     * L'une des recherches du tabou search coopératif, exécutée dans le pool.
+     * @return la meilleure solution trouvée par la recherche.
+     * @see SolveurTabou#résoudreEnCoopération(List, MémoireLongTermePartagée)
+     */
+    private static Solution rechercheCoopérative(Solution solutionInitiale, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, ListesDeCandidats candidats, ForkJoinPool pool, MémoireLongTermePartagée mémoire, SplittableRandom r) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
+    {
+        int nbIterParÉpoque = Math.max(1, nbIterMax / COOPÉRATIF_NB_ÉPOQUES);
+        Recherche recherche = new Recherche(solutionInitiale, tailleMaximaleListeTabou, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, candidats, pool, r);
+        Solution meilleureSolutionEnregistrée = solutionInitiale;
+        for(int i = 0; i < nbIterMax; i += nbIterParÉpoque)
+        {
+            recherche.itérer(Math.min(nbIterParÉpoque, nbIterMax - i));
+            Solution meilleureSolution = recherche.getMeilleureSolution();
+            if(meilleureSolution != meilleureSolutionEnregistrée)
+            {
+                // la solution enregistrée est lue par les autres recherches : c'est une copie, que celle-ci ne
+                // réindexera pas en poursuivant depuis sa solution courante
+                meilleureSolutionEnregistrée = meilleureSolution;
+                mémoire.enregistrer(new Solution(meilleureSolution));
+            }
+            else
+            {
+                // la recherche stagne : elle repart d'une solution d'élite, loin des arêtes que les recherches
+                // ont le plus parcourues
+                ArrayList<Solution> élites = mémoire.getÉlites();
+                Solution élite = élites.isEmpty() ? meilleureSolution : élites.get(r.nextInt(élites.size()));
+                recherche.repartirDe(Tabou.diversifier(élite, mémoire, r));
+            }
+        }
+        return recherche.getMeilleureSolution();
+    }
+
+    /**
+     * Copie une solution en rompant, dans chacun de ses itinéraires d'au moins trois clients, l'arête la plus
+     * fréquente entre deux clients, par l'inversion d'une portion commençant ou finissant à cette arête.
+     * @param solution la solution, qui n'est pas modifiée.
+     * @param mémoire la mémoire des fréquences des arêtes.
+     * @param r le générateur aléatoire.
+     * @return la solution diversifiée.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     */
+    private static Solution diversifier(Solution solution, MémoireLongTermePartagée mémoire, SplittableRandom r) throws UnhandledTransformationException
+    {
+        Solution solutionDiversifiée = new Solution(solution);
+        Mouvement inversion = new Mouvement(Transformation.INVERSION);
+        for(Itinéraire itinéraire : solutionDiversifiée.getItinéraires())
+        {
+            int nbClients = itinéraire.getListeClientsÀLivrer().size();
+            if(nbClients < 3)
+            {
+                continue;
+            }
+            int[] indices = itinéraire.getListeClientsÀLivrer().getIndices();
+            int p = 0;
+            for(int q = 1; q + 1 < nbClients; q++)
+            {
+                if(mémoire.getFréquence(indices[q], indices[q + 1]) > mémoire.getFréquence(indices[p], indices[p + 1]))
                 {
-                    //System.out.println("Itération " + i + ", nouvelle fitness globale avant découpage tabou : " + fitnessMinimale);
+                    p = q;
                 }
             }
+            // l'arête (p, p + 1) est rompue par l'inversion d'une portion qui commence en p + 1 ou finit en p
+            if(p + 2 < nbClients)
+            {
+                inversion.évaluer(itinéraire, p + 1, p + 2 + r.nextInt(nbClients - p - 2));
+            }
+            else
+            {
+                inversion.évaluer(itinéraire, r.nextInt(p), p);
+            }
+            inversion.effectuer();
         }
-        // display
-        if(camionÀcapacitéInfinie)
+        return solutionDiversifiée;
+    }
+
+    /**
+     * Attend le résultat d'une recherche exécutée par un autre thread, et relance l'exception qui l'a interrompue.
+     * @param recherche la recherche.
+     * @return la solution retournée par la recherche.
+     */
+    private static Solution attendre(Future<Solution> recherche) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
+    {
+        try
         {
-            //System.out.println("---Fin du tabou sur itinéraire unique.---");
+            return recherche.get();
         }
-        else
+        catch(InterruptedException e)
         {
-            //System.out.println("---Fin du tabou sur itinéraires normaux---");
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("L'attente des recherches coopératives a été interrompue.", e);
+        }
+        catch(ExecutionException e)
+        {
+            // l'exception de la recherche peut avoir été enveloppée une seconde fois en passant d'un thread du pool à
+            // l'autre
+            Throwable cause = e.getCause();
+            while(cause instanceof CompletionException && cause.getCause() != null)
+            {
+                cause = cause.getCause();
+            }
+            if(cause instanceof ItinéraireTooSmallException)
+            {
+                throw (ItinéraireTooSmallException) cause;
+            }
+            if(cause instanceof VehiculeCapacityOutOfBoundsException)
+            {
+                throw (VehiculeCapacityOutOfBoundsException) cause;
+            }
+            if(cause instanceof UnhandledTransformationException)
+            {
+                throw (UnhandledTransformationException) cause;
+            }
+            if(cause instanceof ListOfClientsIsEmptyException)
+            {
+                throw (ListOfClientsIsEmptyException) cause;
+            }
+            if(cause instanceof UnhandledTypeDeRechercheVoisinageException)
+            {
+                throw (UnhandledTypeDeRechercheVoisinageException) cause;
+            }
+            if(cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
         }
-        return solutionMin;
     }
 
     /**
@@ -133,65 +316,258 @@ public class Tabou
      * @throws ListOfClientsIsEmptyException si liste de clients vide.
      * @throws VehiculeCapacityOutOfBoundsException si véhicule dépasse la capacité en deuxième phase de 2opt.
      * @throws SubdivisionAlgorithmException si problème dans la subdivision en itinéraires plus petits.
+     * @see SolveurTabou
      */
     public static Solution tabouSearchAvecItinéraireUnique(Solution solutionInitiale, int tailleMaximaleListeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, boolean doubleTabou) throws InvalidParameterForTabuSearchWithItinéraireUnique, UnhandledTypeDeRechercheVoisinageException, ItinéraireTooSmallException, UnhandledTransformationException, ListOfClientsIsEmptyException, VehiculeCapacityOutOfBoundsException, SubdivisionAlgorithmException
     {
-        // on check si la solution est bien constituée d'un itinéraire unique. Sinon, exception et impossible de continuer car cas non attendu.
-        if(solutionInitiale.getItinéraires().size() == 1)
+        return new SolveurTabou(tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage, Génération.ALÉATOIRE_UNIQUE, doubleTabou, null, null, Aléatoire.duThread()).résoudre(solutionInitiale);
+    }
+
+    /**
+     * Tabou search dont la mémoire retient les attributs des mouvements (les clients déplacés) plutôt que les
+     * solutions. À chaque itération, des mouvements sont tirés sur des itinéraires choisis au hasard et évalués par
+     * leur variation de longueur ; le meilleur mouvement autorisé est effectué sur la solution courante, même s'il
+     * l'allonge, et ses clients deviennent tabous pendant duréeTabou itérations.
+     * Un mouvement tabou est tout de même autorisé s'il mène à une solution meilleure que la meilleure solution
+     * trouvée jusque-là (critère d'aspiration).
+     *
+     * La solution courante est transformée sur place, et seule la meilleure solution est copiée : une itération
+     * n'alloue aucun objet, et la mémoire occupe O(nombre de clients) quelle que soit la durée tabou.
+     * @param solutionInitiale la solution initiale, qui n'est pas modifiée.
+     * @param duréeTabou le nombre d'itérations pendant lesquelles un client déplacé ne peut plus l'être.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param nbSolutionsVoisinesChaqueIter le nombre de mouvements évalués à chaque itération.
+     * @param transfo le type de transformation des mouvements.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param aléatoire le générateur aléatoire ; laisser à null pour utiliser celui du thread courant.
+     * @return la meilleure solution trouvée.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @see MémoireTabouParAttributs
+     */
+    public static Solution tabouSearchParAttributs(Solution solutionInitiale, int duréeTabou, int nbIterMax, int nbSolutionsVoisinesChaqueIter, Transformation transfo, ListesDeCandidats candidats, SplittableRandom aléatoire) throws UnhandledTransformationException
+    {
+        SplittableRandom r = Aléatoire.ouCeluiDuThread(aléatoire);
+        Solution solutionCourante = new Solution(solutionInitiale);
+        ArrayList<Itinéraire> itinéraires = solutionCourante.getItinéraires();
+        double fitnessCourante = solutionCourante.getOptimisationGlobale();
+        Solution meilleureSolution = solutionInitiale;
+        double fitnessMinimale = fitnessCourante;
+
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(duréeTabou);
+        Mouvement mouvement = new Mouvement(transfo);
+        Mouvement meilleurMouvement = new Mouvement(transfo);
+        for(int i = 0; i < nbIterMax && !itinéraires.isEmpty(); i++)
+        {
+            if(!Tabou.choisirMouvementAutorisé(itinéraires, mouvement, meilleurMouvement, mémoire, i, fitnessCourante - fitnessMinimale, nbSolutionsVoisinesChaqueIter, candidats, r))
+            {
+                continue;
+            }
+
+            // les clients sont rendus tabous avant que le mouvement ne les déplace
+            mémoire.interdire(meilleurMouvement, i);
+            meilleurMouvement.effectuer();
+            fitnessCourante += meilleurMouvement.getVariation();
+            if(fitnessCourante < fitnessMinimale)
+            {
+                meilleureSolution = new Solution(solutionCourante);
+                fitnessMinimale = fitnessCourante;
+            }
+        }
+        return meilleureSolution;
+    }
+
+    /**
+     * Tabou search par attributs dont les mouvements ne sont plus tirés au sort, mais pris dans une liste de
+     * mouvements candidats : pour chaque itinéraire, ses meilleurs mouvements, rangés par variation de longueur.
+     * À chaque itération, seule la tête de ces listes est parcourue, et le meilleur mouvement autorisé (non tabou, ou
+     * satisfaisant le critère d'aspiration) est effectué ; seul l'itinéraire qu'il a modifié est ensuite réévalué.
+     *
+     * Une itération coûte la réévaluation d'un itinéraire, en O(nombre de clients de l'itinéraire²), plutôt que la
+     * construction de nbSolutionsVoisinesChaqueIter solutions voisines.
+     * @param solutionInitiale la solution initiale, qui n'est pas modifiée.
+     * @param duréeTabou le nombre d'itérations pendant lesquelles un client déplacé ne peut plus l'être.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param nbMouvementsParItinéraire le nombre de meilleurs mouvements retenus pour chaque itinéraire.
+     * @param transfo le type de transformation des mouvements.
+     * @param candidats les listes de candidats, pour ne retenir que les mouvements créant une arête candidate ;
+     *                  laisser à null pour retenir tous les mouvements.
+     * @return la meilleure solution trouvée.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @see ListeDeMouvementsCandidats
+     */
+    public static Solution tabouSearchParListeDeMouvements(Solution solutionInitiale, int duréeTabou, int nbIterMax, int nbMouvementsParItinéraire, Transformation transfo, ListesDeCandidats candidats) throws UnhandledTransformationException
+    {
+        Solution solutionCourante = new Solution(solutionInitiale);
+        double fitnessCourante = solutionCourante.getOptimisationGlobale();
+        Solution meilleureSolution = solutionInitiale;
+        double fitnessMinimale = fitnessCourante;
+
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(duréeTabou);
+        ListeDeMouvementsCandidats listeDeMouvements = new ListeDeMouvementsCandidats(solutionCourante.getItinéraires(), transfo, nbMouvementsParItinéraire, candidats);
+        Mouvement mouvement = new Mouvement(transfo);
+        for(int i = 0; i < nbIterMax; i++)
         {
-            // la capacité des camions est infinie car on est en génération aléatoire unique
-            camionÀcapacitéInfinie = true;
+            if(!listeDeMouvements.choisir(mouvement, mémoire, i, fitnessCourante - fitnessMinimale))
+            {
+                continue;
+            }
+            mémoire.interdire(mouvement, i);
+            mouvement.effectuer();
+            fitnessCourante += mouvement.getVariation();
+            if(fitnessCourante < fitnessMinimale)
+            {
+                meilleureSolution = new Solution(solutionCourante);
+                fitnessMinimale = fitnessCourante;
+            }
+        }
+        return meilleureSolution;
+    }
 
-            //solutionInitiale.getItinéraires().get(0).getVéhicule().switchCapacitéInfinie();
-            Solution solAvecUniqueItinéraire = Tabou.tabouSearch(solutionInitiale, tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage);
-            // on découpe la solution en itinéraires respectant les règles métiers.
-            Solution nouvelleSolutionRespectantLesRègles = Utilitaire.subdiviserSolutionItinéraireUniqueEnPlusieursItinéraires(solAvecUniqueItinéraire);
+    /**
+     * Tabou search réactif : une recherche tabou par attributs dont la durée tabou s'adapte d'elle-même, sans
+     * paramètre à régler selon le fichier.
+     *
+     * Après chaque mouvement, l'empreinte de la solution courante est comparée à celles des solutions déjà visitées.
+     * Retrouver une solution signifie que la recherche tourne en rond : la durée tabou est allongée. Elle est
+     * raccourcie lorsque aucune solution n'a été retrouvée depuis plus longtemps que la longueur moyenne des cycles.
+     * Si des solutions sont retrouvées trop souvent malgré tout, la recherche s'échappe par une suite de mouvements
+     * aléatoires, d'autant plus longue que les cycles sont longs (diversification). Ces réactions sont celles d'une
+     * {@link RéactionTabou}.
+     *
+     * Le nombre de mouvements évalués à chaque itération est le nombre de clients.
+     * @param solutionInitiale la solution initiale, qui n'est pas modifiée.
+     * @param nbIterMax le nombre d'itérations maximal de l'algorithme.
+     * @param transfo le type de transformation des mouvements.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param aléatoire le générateur aléatoire ; laisser à null pour utiliser celui du thread courant.
+     * @return la meilleure solution trouvée.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     * @see #tabouSearchParAttributs(Solution, int, int, int, Transformation, ListesDeCandidats, SplittableRandom)
+     * @see Solution#getEmpreinte()
+     */
+    public static Solution tabouSearchRéactif(Solution solutionInitiale, int nbIterMax, Transformation transfo, ListesDeCandidats candidats, SplittableRandom aléatoire) throws UnhandledTransformationException
+    {
+        SplittableRandom r = Aléatoire.ouCeluiDuThread(aléatoire);
+        Solution solutionCourante = new Solution(solutionInitiale);
+        ArrayList<Itinéraire> itinéraires = solutionCourante.getItinéraires();
+        double fitnessCourante = solutionCourante.getOptimisationGlobale();
+        Solution meilleureSolution = solutionInitiale;
+        double fitnessMinimale = fitnessCourante;
 
-            // on passe ce booléen à false une fois que notre solution respecte les règles métier.
-            camionÀcapacitéInfinie = false;
+        int nbClients = 0;
+        for(Itinéraire itinéraire : itinéraires)
+        {
+            nbClients += itinéraire.getListeClientsÀLivrer().size();
+        }
+        int duréeTabouMaximale = Math.max(1, nbClients / 2);
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(1);
+        Mouvement mouvement = new Mouvement(transfo);
+        Mouvement meilleurMouvement = new Mouvement(transfo);
 
-            // Si on effectue un double tabou, cela signifie que l'on effectue une nouvelle fois une recherche tabou
-            // après avoir découpé l'itinéraire unique de la solution initiales en plus petits itinéraires qui respectent
-            // les règles métier.
-            if(doubleTabou)
+        RéactionTabou réaction = new RéactionTabou(mémoire, duréeTabouMaximale);
+        for(int i = 0; i < nbIterMax && nbClients > 0; i++)
+        {
+            if(!Tabou.choisirMouvementAutorisé(itinéraires, mouvement, meilleurMouvement, mémoire, i, fitnessCourante - fitnessMinimale, nbClients, candidats, r))
+            {
+                continue;
+            }
+            mémoire.interdire(meilleurMouvement, i);
+            meilleurMouvement.effectuer();
+            fitnessCourante += meilleurMouvement.getVariation();
+            if(fitnessCourante < fitnessMinimale)
             {
-                return Tabou.tabouSearch(nouvelleSolutionRespectantLesRègles, tailleMaximaleListeTabou, nbIterMax, nbSolutionsVoisinesChaqueIter, transfo, typeDeRechercheVoisinage);
+                meilleureSolution = new Solution(solutionCourante);
+                fitnessMinimale = fitnessCourante;
+            }
+
+            // réaction : la solution courante a-t-elle déjà été visitée ?
+            int nbMouvementsAléatoires = réaction.réagir(solutionCourante.getEmpreinte(), i, r);
+            if(nbMouvementsAléatoires > 0)
+            {
+                // échappement : la recherche est relancée d'un point éloigné
+                for(int k = 0; k < nbMouvementsAléatoires; k++)
+                {
+                    fitnessCourante += mouvement.tirer(itinéraires.get(r.nextInt(itinéraires.size())), null, r);
+                    mouvement.effectuer();
+                }
+                if(fitnessCourante < fitnessMinimale)
+                {
+                    meilleureSolution = new Solution(solutionCourante);
+                    fitnessMinimale = fitnessCourante;
+                }
             }
-            // on retourne la solution.
-            return nouvelleSolutionRespectantLesRègles;
         }
-        else
+        return meilleureSolution;
+    }
+
+    /**
+     * Tire des mouvements sur des itinéraires choisis au hasard, et retient le meilleur mouvement autorisé : non tabou,
+     * ou menant à une solution meilleure que la meilleure solution trouvée (aspiration).
+     * @param itinéraires les itinéraires de la solution courante.
+     * @param mouvement le mouvement réutilisé pour les tirages.
+     * @param meilleurMouvement le mouvement dans lequel est recopié le meilleur mouvement autorisé.
+     * @param mémoire la mémoire tabou.
+     * @param itération l'itération courante.
+     * @param écartÀLaMeilleure la longueur de la solution courante moins celle de la meilleure solution.
+     * @param nbMouvements le nombre de mouvements à tirer.
+     * @param candidats les listes de candidats, éventuellement nulles.
+     * @param r le générateur aléatoire.
+     * @return true si un mouvement autorisé a été trouvé, false sinon.
+     * @throws UnhandledTransformationException en cas de transformation non gérée.
+     */
+    private static boolean choisirMouvementAutorisé(ArrayList<Itinéraire> itinéraires, Mouvement mouvement, Mouvement meilleurMouvement, MémoireTabouParAttributs mémoire, int itération, double écartÀLaMeilleure, int nbMouvements, ListesDeCandidats candidats, SplittableRandom r) throws UnhandledTransformationException
+    {
+        boolean trouvé = false;
+        for(int v = 0; v < nbMouvements; v++)
         {
-            throw new InvalidParameterForTabuSearchWithItinéraireUnique("La solution ne contient pas un unique itinéraire pour cette méthode de recherche" +
-                    " tabou très spécifique. Utiliser tabuSearch à la place.");
+            Itinéraire itinéraire = itinéraires.get(r.nextInt(itinéraires.size()));
+            if(itinéraire.getListeClientsÀLivrer().isEmpty())
+            {
+                continue;
+            }
+            TransformateurItinéraire.indexer(itinéraire, candidats);
+            double variation = mouvement.tirer(itinéraire, candidats, r);
+            if(trouvé && variation >= meilleurMouvement.getVariation())
+            {
+                continue;
+            }
+            // un mouvement tabou n'est retenu que s'il améliore la meilleure solution (aspiration)
+            boolean aspiration = écartÀLaMeilleure + variation < 0;
+            if(!aspiration && mémoire.estTabou(mouvement, itération))
+            {
+                continue;
+            }
+            meilleurMouvement.copier(mouvement);
+            trouvé = true;
         }
+        return trouvé;
     }
 
     /**
      * Algorithme permettant de trouver les solutions voisines d'une solution initiale. Pour trouver une solution
-     * voisine, on chosisit d'appliquer sur chaque itinéraire de la solution une transformation donnée. On peut imaginer
-     * d'autres moyen
+     * voisine, on chosisit d'appliquer sur chaque itinéraire de la solution une transformation donnée, éventuellement
+     * en mode granulaire.
      * @param solutionInitiale la solutionInitiale.
      * @param transfo le type de transformation à appliquer.
      * @param typeDeRechercheVoisinage le type de recherche de voisinage à appliquer.
      * @param nbSolutionsVoisines le nombre de solutions voisines à trouver.
-     * @param previousBestSolution Une COPIE de la dernière meilleure solution voisine. Laisser à null si aucune meilleure solution trouvée.
+     * @param candidats les listes de candidats ; laisser à null pour des transformations aléatoires.
+     * @param aléatoire le générateur aléatoire ; laisser à null pour utiliser celui du thread courant.
      * @return les solutions voisines de la solution initiale.
      * @throws UnhandledTypeDeRechercheVoisinageException en cas de type de recherche de voisinage non géré.
      * @throws UnhandledTransformationException en cas de transformation non gérée.
      * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée pendant les transformations.
      * @throws ListOfClientsIsEmptyException en cas de génération de liste de clients vide lors des transformations.
      * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
-     *
      */
-    public static ArrayList<Solution> getSolutionsVoisines(Solution solutionInitiale, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage,int nbSolutionsVoisines, Solution previousBestSolution) throws UnhandledTypeDeRechercheVoisinageException, UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException
+    public static ArrayList<Solution> getSolutionsVoisines(Solution solutionInitiale, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage,int nbSolutionsVoisines, ListesDeCandidats candidats, SplittableRandom aléatoire) throws UnhandledTypeDeRechercheVoisinageException, UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException
     {
         switch(typeDeRechercheVoisinage)
         {
             case BASIQUE:
-                return Tabou.getSolutionsVoisinesBasicSearch(solutionInitiale, transfo, nbSolutionsVoisines);
+                return Tabou.getSolutionsVoisinesBasicSearch(solutionInitiale, transfo, nbSolutionsVoisines, candidats, Aléatoire.ouCeluiDuThread(aléatoire));
             case COMPLEXE:
-                return Tabou.getSolutionsVoisinesComplexSearch(solutionInitiale, previousBestSolution, transfo, nbSolutionsVoisines);
+                return Tabou.getSolutionsVoisinesComplexSearch(solutionInitiale, transfo, nbSolutionsVoisines, candidats, Aléatoire.ouCeluiDuThread(aléatoire));
             default:
                 throw new UnhandledTypeDeRechercheVoisinageException(typeDeRechercheVoisinage, Tabou.class);
         }
@@ -206,15 +582,19 @@ public class Tabou
      * @param solutionInitiale la solution à partir de laquelle chercher les solutions voisines.
      * @param transfo le type de transformation à appliquer sur la solution initiale.
      * @param nbSolutionsVoisines le nombre de solutions voisines à trouver.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param r le générateur aléatoire.
      * @return les solutions voisines proches de la solutionInitiale avec une méthode de recherche de voisinage basique.
      * @throws UnhandledTransformationException Si un type de transformation donné n'est pas géré.
      * @throws VehiculeCapacityOutOfBoundsException Si une transformation a donné lieu à un dépassement de la capacité maximale des véhicules.
      * @throws ListOfClientsIsEmptyException Si la transformation 2-opt a tenté de créer un itinéraire avec une liste de clients vide.
      * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
      */
-    private static ArrayList<Solution> getSolutionsVoisinesBasicSearch(Solution solutionInitiale, Transformation transfo, int nbSolutionsVoisines) throws UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException
+    private static ArrayList<Solution> getSolutionsVoisinesBasicSearch(Solution solutionInitiale, Transformation transfo, int nbSolutionsVoisines, ListesDeCandidats candidats, SplittableRandom r) throws UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException
     {
         ArrayList<Solution> solutionsVoisines = new ArrayList<Solution>();
+        // tampon des positions tirées, réutilisé par toutes les transformations
+        int[] positions = new int[2];
         for(int i = 0; i < nbSolutionsVoisines; i++)
         {
             Solution voisin = new Solution(solutionInitiale);
@@ -224,36 +604,173 @@ public class Tabou
                 switch(transfo)
                 {
                     case TRANSFORMATION_ÉCHANGE:
-                        TransformateurItinéraire.transformationÉchange(it);
+                        TransformateurItinéraire.transformationÉchange(it, candidats, positions, r);
                         break;
                     case INSERTION_DÉCALAGE:
-                        TransformateurItinéraire.insertionDécalage(it);
+                        TransformateurItinéraire.insertionDécalage(it, candidats, positions, r);
                         break;
                     case INVERSION:
-                        TransformateurItinéraire.inversion(it);
+                        TransformateurItinéraire.inversion(it, candidats, positions, r);
                         break;
                     case TRANSFORMATION_2_OPT:
                         // En backup du 2-opt, on utilise une insertion décalage
-                        voisin.getItinéraires().set(voisin.getItinéraires().indexOf(it), TransformateurItinéraire.transformation2opt(it, Transformation.TRANSFORMATION_ÉCHANGE));
+                        voisin.getItinéraires().set(j, TransformateurItinéraire.transformation2opt(it, Transformation.TRANSFORMATION_ÉCHANGE, candidats, positions, r));
                         break;
                     default:
                         throw new UnhandledTransformationException(transfo, Tabou.class);
                 }
-                voisin.recalculerLongueurGlobale();
             }
             solutionsVoisines.add(voisin);
         }
         return solutionsVoisines;
     }
 
+    /**
+     * Recherche de voisinage basique évaluée par variations de longueur : comme dans
+     * {@link #getSolutionsVoisinesBasicSearch(Solution, Transformation, int, ListesDeCandidats, SplittableRandom)}, chaque solution
+     * voisine applique une transformation à chacun des itinéraires de la solution initiale, mais sa fitness est
+     * calculée sans rien modifier, à partir des seules arêtes retirées et ajoutées. Les voisins tabous, d'après leur
+     * empreinte déduite de celle de la solution initiale, sont écartés comme dans {@link ÉvaluationParallèleDuVoisinage}.
+     * Seule la meilleure solution voisine non taboue est construite.
+     * @param solutionInitiale la solution à partir de laquelle chercher les solutions voisines.
+     * @param transfo le type de transformation à appliquer sur la solution initiale.
+     * @param nbSolutionsVoisines le nombre de solutions voisines à évaluer.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param listeTabou la liste de tabou.
+     * @param r le générateur aléatoire.
+     * @return une liste contenant la meilleure solution voisine non taboue, vide si toutes les solutions voisines
+     * évaluées sont taboues.
+     * @throws UnhandledTransformationException Si un type de transformation donné n'est pas géré.
+     */
+    private static ArrayList<Solution> getMeilleureSolutionVoisineNonTabou(Solution solutionInitiale, Transformation transfo, int nbSolutionsVoisines, ListesDeCandidats candidats, MémoireTabou listeTabou, SplittableRandom r) throws UnhandledTransformationException
+    {
+        long empreinte = solutionInitiale.getEmpreinte();
+        ArrayList<Itinéraire> itinéraires = solutionInitiale.getItinéraires();
+        int nbItinéraires = itinéraires.size();
+        // un mouvement par itinéraire pour la solution voisine évaluée, et autant pour la meilleure : ils sont
+        // réutilisés d'une solution voisine à l'autre
+        Mouvement[] mouvementsCourants = new Mouvement[nbItinéraires];
+        Mouvement[] meilleursMouvements = new Mouvement[nbItinéraires];
+        for(int j = 0; j < nbItinéraires; j++)
+        {
+            mouvementsCourants[j] = new Mouvement(transfo);
+            meilleursMouvements[j] = new Mouvement(transfo);
+            TransformateurItinéraire.indexer(itinéraires.get(j), candidats);
+        }
+        double meilleureVariation = Double.MAX_VALUE;
+        boolean trouvée = false;
+        for(int i = 0; i < nbSolutionsVoisines; i++)
+        {
+            double variation = 0;
+            for(int j = 0; j < nbItinéraires; j++)
+            {
+                variation += mouvementsCourants[j].tirer(itinéraires.get(j), candidats, r);
+            }
+            if(trouvée && variation >= meilleureVariation)
+            {
+                continue;
+            }
+            // l'empreinte du voisin n'est calculée que pour un voisin meilleur que ceux déjà retenus
+            long empreinteDuVoisin = empreinte;
+            for(int j = 0; j < nbItinéraires; j++)
+            {
+                empreinteDuVoisin ^= mouvementsCourants[j].évaluerVariationEmpreinte();
+            }
+            if(listeTabou.contient(empreinteDuVoisin))
+            {
+                continue;
+            }
+            Mouvement[] échange = meilleursMouvements;
+            meilleursMouvements = mouvementsCourants;
+            mouvementsCourants = échange;
+            meilleureVariation = variation;
+            trouvée = true;
+        }
+
+        ArrayList<Solution> voisinage = new ArrayList<Solution>();
+        if(trouvée)
+        {
+            // la meilleure solution voisine est une copie de la solution initiale, sur laquelle sont effectués ses
+            // mouvements : seuls les itinéraires modifiés recopient leurs clients
+            Solution voisin = new Solution(solutionInitiale);
+            for(int j = 0; j < nbItinéraires; j++)
+            {
+                meilleursMouvements[j].transposerSur(voisin.getItinéraires().get(j));
+                meilleursMouvements[j].effectuer();
+            }
+            voisinage.add(voisin);
+        }
+        return voisinage;
+    }
+
+    /**
+     * Recherche de voisinage basique évaluée en parallèle, dans un pool fork/join : comme dans
+     * {@link #getMeilleureSolutionVoisineNonTabou(Solution, Transformation, int, ListesDeCandidats, MémoireTabou, SplittableRandom)}, les solutions
+     * voisines sont évaluées par variations de longueur, mais réparties entre les threads du pool, et les voisins
+     * tabous sont écartés avant la réduction. Seule la meilleure solution voisine non taboue est construite.
+     * @param solutionInitiale la solution à partir de laquelle chercher les solutions voisines.
+     * @param transfo le type de transformation à appliquer sur la solution initiale.
+     * @param nbSolutionsVoisines le nombre de solutions voisines à évaluer.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param listeTabou la liste de tabou.
+     * @param pool le pool dans lequel évaluer le voisinage.
+     * @param r le générateur aléatoire, dont est séparé celui de l'évaluation.
+     * @return une liste contenant la meilleure solution voisine non taboue, vide si toutes les solutions voisines
+     * évaluées sont taboues.
+     * @throws UnhandledTransformationException Si un type de transformation donné n'est pas géré.
+     */
+    private static ArrayList<Solution> getMeilleureSolutionVoisineNonTabouParallèle(Solution solutionInitiale, Transformation transfo, int nbSolutionsVoisines, ListesDeCandidats candidats, MémoireTabou listeTabou, ForkJoinPool pool, SplittableRandom r) throws UnhandledTransformationException
+    {
+        int nbSolutionsVoisinesParTranche = nbSolutionsVoisines / (ÉvaluationParallèleDuVoisinage.NB_TRANCHES_PAR_THREAD * pool.getParallelism());
+        // les itinéraires sont indexés avant l'évaluation, depuis ce thread : les tranches ne font ensuite que lire
+        // leurs positions
+        for(Itinéraire itinéraire : solutionInitiale.getItinéraires())
+        {
+            TransformateurItinéraire.indexer(itinéraire, candidats);
+        }
+        ÉvaluationParallèleDuVoisinage.MeilleurVoisin meilleurVoisin;
+        try
+        {
+            ÉvaluationParallèleDuVoisinage évaluation = new ÉvaluationParallèleDuVoisinage(solutionInitiale, transfo, nbSolutionsVoisines, nbSolutionsVoisinesParTranche, candidats, listeTabou, r.split());
+            // une recherche exécutée dans le pool (par exemple l'un des départs d'une optimisation multi-départs)
+            // évalue son voisinage depuis son thread, dont les tranches peuvent être prises par les autres threads
+            meilleurVoisin = ForkJoinTask.getPool() == pool ? évaluation.invoke() : pool.invoke(évaluation);
+        }
+        catch(CompletionException e)
+        {
+            if(e.getCause() instanceof UnhandledTransformationException)
+            {
+                throw (UnhandledTransformationException) e.getCause();
+            }
+            throw e;
+        }
+
+        ArrayList<Solution> voisinage = new ArrayList<Solution>();
+        if(meilleurVoisin != null)
+        {
+            Solution voisin = new Solution(solutionInitiale);
+            Mouvement[] mouvements = meilleurVoisin.getMouvements();
+            for(int j = 0; j < mouvements.length; j++)
+            {
+                mouvements[j].transposerSur(voisin.getItinéraires().get(j));
+                mouvements[j].effectuer();
+            }
+            voisinage.add(voisin);
+        }
+        return voisinage;
+    }
+
     /**
      *
-     * Réalise une recherche de solutions voisines complexe, avec des échanges de clients entre itinéraires. Réalise
-     * avec une probabilité 1/2 un échange entre itinéraires, sinon un 2-opt a lieu.
+     * Réalise une recherche de solutions voisines complexe, avec des échanges de clients entre itinéraires. Pour chaque
+     * itinéraire du voisin, réalise avec une probabilité 1/(nombre d'itinéraires) un échange entre deux itinéraires du
+     * voisin, sinon un 2-opt a lieu.
      *
      * @param solutionInitiale la solution à partir de laquelle chercher les solutions voisines.
      * @param transfo le type de transformation à appliquer sur la solution initiale.
      * @param nbSolutionsVoisines le nombre de solutions voisines à trouver.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param r le générateur aléatoire.
      * @return les solutions voisines proches de la solutionInitiale avec une méthode de recherche de voisinage basique.
      * @throws UnhandledTransformationException Si un type de transformation donné n'est pas géré.
      * @throws VehiculeCapacityOutOfBoundsException Si une transformation a donné lieu à un dépassement de la capacité maximale des véhicules.
@@ -261,35 +778,39 @@ public class Tabou
      * @throws ItinéraireTooSmallException en cas d'itinéraire trop petit pour du 2-opt.
      * @throws UnsupportedOperationException en cas de méta transformation non gérée.
      */
-    private static ArrayList<Solution> getSolutionsVoisinesComplexSearch(Solution solutionInitiale, Solution solutionSwap, Transformation transfo, int nbSolutionsVoisines) throws UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnsupportedOperationException
+    private static ArrayList<Solution> getSolutionsVoisinesComplexSearch(Solution solutionInitiale, Transformation transfo, int nbSolutionsVoisines, ListesDeCandidats candidats, SplittableRandom r) throws UnhandledTransformationException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException, UnsupportedOperationException
     {
-        Random r = new Random();
         ArrayList<Solution> solutionsVoisines = new ArrayList<Solution>();
+        // tampon des positions tirées, réutilisé par toutes les transformations
+        int[] positions = new int[2];
         for(int i = 0; i < nbSolutionsVoisines; i++)
         {
             Solution voisin = new Solution(solutionInitiale);
-            for (Itinéraire itinéraireVoisin : voisin.getItinéraires())
+            for (int j = 0; j < voisin.getItinéraires().size(); j++)
             {
+                Itinéraire itinéraireVoisin = voisin.getItinéraires().get(j);
                 // Uniquement la méta-transformation échange est supportée pour l'instant...
                 if(transfo == Transformation.TRANSFORMATION_ÉCHANGE)
                 {
                     // On fait de la méta
-                    if(r.nextBoolean() && solutionSwap != null)
+                    if(candidats != null && r.nextInt(voisin.getItinéraires().size()) == 0)
+                    {
+                        // en mode granulaire, les échanges se font entre les itinéraires du voisin lui-même ;
+                        // un seul échange par voisin en moyenne, pour ne pas trop s'éloigner de la solution initiale
+                        TransformateurEntreItinéraires.métaTransformationGranulaire(voisin, candidats, r);
+                    }
+                    else if(candidats == null && r.nextInt(voisin.getItinéraires().size()) == 0)
                     {
-                        for(Itinéraire itinéraireSwap:solutionSwap.getItinéraires())
-                        {
-                            TransformateurEntreItinéraires.métaTransformationÉchange(itinéraireVoisin, itinéraireSwap, 40);
-                        }
+                        // de même, hors mode granulaire, deux clients tirés au sort sont échangés entre deux
+                        // itinéraires du voisin
+                        TransformateurEntreItinéraires.métaTransformationÉchange(voisin, r);
                     }
                     // Couplé à du 2-opt.
                     else
                     {
-                        int  indexOfitinéraireModif = voisin.getItinéraires().indexOf(itinéraireVoisin);
-                        Itinéraire itinéraireModif = voisin.getItinéraires().get(indexOfitinéraireModif);
-                        itinéraireModif = TransformateurItinéraire.transformation2opt(itinéraireModif, Transformation.TRANSFORMATION_ÉCHANGE);
-                        voisin.getItinéraires().set(indexOfitinéraireModif, itinéraireModif);
+                        Itinéraire itinéraireModif = TransformateurItinéraire.transformation2opt(itinéraireVoisin, Transformation.TRANSFORMATION_ÉCHANGE, candidats, positions, r);
+                        voisin.getItinéraires().set(j, itinéraireModif);
                     }
-                    voisin.recalculerLongueurGlobale();
                 }
                 else
                 {
@@ -302,4 +823,118 @@ public class Tabou
         }
         return solutionsVoisines;
     }
+
+    /**
+     * Une recherche tabou en cours : sa solution courante, sa liste de tabou et la meilleure solution qu'elle a
+     * visitée. Elle se poursuit d'un appel à {@link #itérer(int)} à l'autre sans rien perdre de son état, et peut
+     * repartir d'une autre solution en gardant sa liste de tabou.
+     *
+     * À chaque itération, la recherche se déplace vers le meilleur voisin non tabou de la solution courante, même
+     * s'il est moins bon : la liste de tabou mémorise les empreintes des solutions récemment visitées, pour ne pas y
+     * revenir, et la meilleure solution visitée est gardée à part.
+     * @see #rechercheTabou(Solution, int, int, int, Transformation, TypeDeRechercheVoisinage, ListesDeCandidats, ForkJoinPool, SplittableRandom)
+     */
+    private static final class Recherche
+    {
+        private final int nbSolutionsVoisinesChaqueIter;
+
+        private final Transformation transfo;
+
+        private final TypeDeRechercheVoisinage typeDeRechercheVoisinage;
+
+        private final ListesDeCandidats candidats;
+
+        private final ForkJoinPool pool;
+
+        private final SplittableRandom r;
+
+        private final MémoireTabou listeTabou;
+
+        private Solution solutionCourante;
+
+        private Solution meilleureSolution;
+
+        private Recherche(Solution solutionInitiale, int tailleMaximaleListeTabou, int nbSolutionsVoisinesChaqueIter, Transformation transfo, TypeDeRechercheVoisinage typeDeRechercheVoisinage, ListesDeCandidats candidats, ForkJoinPool pool, SplittableRandom r)
+        {
+            this.nbSolutionsVoisinesChaqueIter = nbSolutionsVoisinesChaqueIter;
+            this.transfo = transfo;
+            this.typeDeRechercheVoisinage = typeDeRechercheVoisinage;
+            this.candidats = candidats;
+            this.pool = pool;
+            this.r = r;
+            this.listeTabou = new MémoireTabou(tailleMaximaleListeTabou);
+            this.meilleureSolution = solutionInitiale;
+            this.repartirDe(solutionInitiale);
+        }
+
+        /**
+         * Déplace la recherche sur une solution, qui devient taboue ; la liste de tabou est conservée.
+         * @param solution la nouvelle solution courante, qui ne sera pas modifiée.
+         */
+        private void repartirDe(Solution solution)
+        {
+            this.solutionCourante = solution;
+            this.listeTabou.ajouter(solution.getEmpreinte());
+            if(solution.getOptimisationGlobale() < this.meilleureSolution.getOptimisationGlobale())
+            {
+                this.meilleureSolution = solution;
+            }
+        }
+
+        /**
+         * Poursuit la recherche depuis sa solution courante.
+         * @param nbIter le nombre d'itérations à effectuer.
+         */
+        private void itérer(int nbIter) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, UnhandledTransformationException, ListOfClientsIsEmptyException, UnhandledTypeDeRechercheVoisinageException
+        {
+            for(int i = 0; i < nbIter; i++)
+            {
+                // on récupère le voisinage non tabou ; en recherche basique, les voisins sont évalués par variations
+                // de longueur, les voisins tabous sont écartés d'après leur empreinte, et seul le meilleur d'entre les
+                // autres est construit
+                ArrayList<Solution> voisinage;
+                if(this.typeDeRechercheVoisinage != TypeDeRechercheVoisinage.BASIQUE)
+                {
+                    voisinage = Tabou.getSolutionsVoisines(this.solutionCourante, this.transfo, this.typeDeRechercheVoisinage, this.nbSolutionsVoisinesChaqueIter, this.candidats, this.r);
+                    // duquel on enlève l'ensemble des solutions interdites
+                    voisinage.removeIf(s -> this.listeTabou.contient(s.getEmpreinte()));
+                }
+                else if(this.pool != null)
+                {
+                    voisinage = Tabou.getMeilleureSolutionVoisineNonTabouParallèle(this.solutionCourante, this.transfo, this.nbSolutionsVoisinesChaqueIter, this.candidats, this.listeTabou, this.pool, this.r);
+                }
+                else
+                {
+                    voisinage = Tabou.getMeilleureSolutionVoisineNonTabou(this.solutionCourante, this.transfo, this.nbSolutionsVoisinesChaqueIter, this.candidats, this.listeTabou, this.r);
+                }
+                if(voisinage.isEmpty())
+                {
+                    // tous les voisins tirés sont tabous : la recherche reste sur place
+                    continue;
+                }
+
+                // et on récupère la meilleure solution de ce voisinage
+                Solution meilleureSolutionVoisine = voisinage.get(0);
+                for(Solution s:voisinage)
+                {
+                    if(s.getOptimisationGlobale() < meilleureSolutionVoisine.getOptimisationGlobale())
+                    {
+                        meilleureSolutionVoisine = s;
+                    }
+                }
+
+                // la recherche s'y déplace, et elle devient taboue ; une fois la liste pleine, les plus anciennes
+                // empreintes sont oubliées
+                this.repartirDe(meilleureSolutionVoisine);
+            }
+        }
+
+        /**
+         * @return la meilleure solution visitée par la recherche, depuis sa création.
+         */
+        private Solution getMeilleureSolution()
+        {
+            return this.meilleureSolution;
+        }
+    }
 }
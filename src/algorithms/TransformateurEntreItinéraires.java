@@ -1,80 +1,189 @@
 package algorithms;
 
 import customexceptions.VehiculeCapacityOutOfBoundsException;
-import javafx.util.Pair;
 import model.Client;
 import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import utilitaires.Aléatoire;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Classe permettant de réaliser des transformations inter-itinéraires.
- * Uniquement la transformation échange entre itinéraires est possible pour l'instant.
+ * Uniquement la transformation échange entre itinéraires est possible pour l'instant : aléatoire, ou granulaire
+ * d'après des listes de candidats.
  */
 public class TransformateurEntreItinéraires {
 
+    /**
+     * Le nombre de tirages de deux clients, dans la méta-transformation échange aléatoire, avant d'abandonner lorsque
+     * chaque échange tiré dépasserait la capacité d'un véhicule.
+     */
+    private static final int NB_TENTATIVES_ÉCHANGE = 100;
 
-    private static Random r = new Random();
+    /**
+     * Méta-transformation échange : deux clients de deux itinéraires différents de la solution, tirés au sort, sont
+     * échangés. Les échanges qui dépasseraient la capacité d'un véhicule ne sont pas effectués : d'autres clients sont
+     * alors tirés, dans la limite d'un nombre de tentatives.
+     * @param solution la solution à transformer.
+     * @return true si un échange a été effectué, false si aucun n'a été trouvé.
+     */
+    public static boolean métaTransformationÉchange(Solution solution)
+    {
+        return TransformateurEntreItinéraires.métaTransformationÉchange(solution, Aléatoire.duThread());
+    }
 
     /**
-     * Échange deux clients de deux itinéraires différents
-     * @param i1 premier itinéraire
-     * @param i2 second itinéraire
+     * Méta-transformation échange, avec un générateur aléatoire donné.
+     * @param solution la solution à transformer.
+     * @param r le générateur aléatoire.
+     * @return true si un échange a été effectué, false si aucun n'a été trouvé.
+     * @see #métaTransformationÉchange(Solution)
      */
-    public static void métaTransformationÉchange(Itinéraire i1, Itinéraire i2, int nbÉchanges)
+    public static boolean métaTransformationÉchange(Solution solution, SplittableRandom r)
     {
-        for(int i = 0; i < nbÉchanges; i++)
+        List<Itinéraire> itinéraires = solution.getItinéraires();
+        if(itinéraires.size() < 2)
         {
-            Pair<Integer, Integer> indexes = TransformateurEntreItinéraires.piocheIndexes(i1.getListeClientsÀLivrer().size(), i2.getListeClientsÀLivrer().size());;
-            // on vérifie si le changement est possible
-            int breakIfTooManyAttemps = 100;
-            int cpt = 0;
-
-            boolean canSwap = true;
-            boolean stillTry = true;
-
-            boolean i1IsOk = ( (i1.getNbMarchandisesALivrer()
-                    - i1.getListeClientsÀLivrer().get(indexes.getKey()).getNbMarchandisesÀLivrer()
-                    + i2.getListeClientsÀLivrer().get(indexes.getValue()).getNbMarchandisesÀLivrer()) < (i1.getVéhicule().getCapacité()) );
+            return false;
+        }
+        for(int tentative = 0; tentative < NB_TENTATIVES_ÉCHANGE; tentative++)
+        {
+            int premier = r.nextInt(itinéraires.size());
+            int second = r.nextInt(itinéraires.size() - 1);
+            if(second >= premier)
+            {
+                second++;
+            }
+            Itinéraire i1 = itinéraires.get(premier);
+            Itinéraire i2 = itinéraires.get(second);
+            List<Client> clients1 = i1.getListeClientsÀLivrer();
+            List<Client> clients2 = i2.getListeClientsÀLivrer();
+            if(clients1.isEmpty() || clients2.isEmpty())
+            {
+                continue;
+            }
+            int position1 = r.nextInt(clients1.size());
+            int position2 = r.nextInt(clients2.size());
+            Client c1 = clients1.get(position1);
+            Client c2 = clients2.get(position2);
+            int différence = c2.getNbMarchandisesÀLivrer() - c1.getNbMarchandisesÀLivrer();
+            if(TransformateurEntreItinéraires.accepteLaCharge(i1, différence) && TransformateurEntreItinéraires.accepteLaCharge(i2, -différence))
+            {
+                clients1.set(position1, c2);
+                clients2.set(position2, c1);
+                return true;
+            }
+        }
+        return false;
+    }
 
-            boolean i2IsOk =( (i2.getNbMarchandisesALivrer()
-                    + i1.getListeClientsÀLivrer().get(indexes.getKey()).getNbMarchandisesÀLivrer()
-                    - i2.getListeClientsÀLivrer().get(indexes.getValue()).getNbMarchandisesÀLivrer()) < (i2.getVéhicule().getCapacité()) );
+    /**
+     * Méta-transformation en mode granulaire : un client c est pioché aléatoirement, ainsi qu'un de ses voisins
+     * candidats v situé dans un autre itinéraire. Avec une probabilité 1/2, c est déplacé juste à côté de v
+     * (relocalisation) ; sinon, c est échangé avec le client qui précède ou qui suit v. Dans les deux cas, l'arête
+     * (c, v) est créée : si v est seul dans son itinéraire, c est toujours déplacé, et si c l'est aussi, le tirage est
+     * abandonné. Les transformations qui dépasseraient la capacité d'un véhicule ne sont pas effectuées.
+     * L'itinéraire et la position de v sont lus dans l'index des clients de la solution, sans parcourir ses itinéraires.
+     * @param solution la solution à transformer.
+     * @param candidats les listes de candidats.
+     * @return true si une transformation a été effectuée, false si aucune n'a été trouvée.
+     * @throws VehiculeCapacityOutOfBoundsException en cas de dépassement de la capacité d'un véhicule.
+     */
+    public static boolean métaTransformationGranulaire(Solution solution, ListesDeCandidats candidats) throws VehiculeCapacityOutOfBoundsException
+    {
+        return TransformateurEntreItinéraires.métaTransformationGranulaire(solution, candidats, Aléatoire.duThread());
+    }
 
+    /**
+     * Méta-transformation en mode granulaire, avec un générateur aléatoire donné.
+     * @param solution la solution à transformer.
+     * @param candidats les listes de candidats.
+     * @param r le générateur aléatoire.
+     * @return true si une transformation a été effectuée, false si aucune n'a été trouvée.
+     * @throws VehiculeCapacityOutOfBoundsException en cas de dépassement de la capacité d'un véhicule.
+     * @see #métaTransformationGranulaire(Solution, ListesDeCandidats)
+     */
+    public static boolean métaTransformationGranulaire(Solution solution, ListesDeCandidats candidats, SplittableRandom r) throws VehiculeCapacityOutOfBoundsException
+    {
+        List<Itinéraire> itinéraires = solution.getItinéraires();
+        if(itinéraires.size() < 2)
+        {
+            return false;
+        }
+        for(int tentative = 0; tentative < 10; tentative++)
+        {
+            Itinéraire i1 = itinéraires.get(r.nextInt(itinéraires.size()));
+            List<Client> clients1 = i1.getListeClientsÀLivrer();
+            if(clients1.isEmpty())
+            {
+                continue;
+            }
+            int positionClient = r.nextInt(clients1.size());
+            Client client = clients1.get(positionClient);
+            int[] voisins = candidats.getVoisins(client.getIndice());
+            if(voisins.length == 0)
+            {
+                continue;
+            }
+            int indiceVoisin = voisins[r.nextInt(voisins.length)];
 
-            while(! (i1IsOk) & !(i2IsOk) && (stillTry)
-            )
+            // localisation du voisin
+            int numéroItinéraire = solution.getItinéraireDuClient(indiceVoisin);
+            if(numéroItinéraire < 0 || itinéraires.get(numéroItinéraire) == i1)
+            {
+                continue;
+            }
+            Itinéraire i2 = itinéraires.get(numéroItinéraire);
+            int positionVoisin = solution.getPositionDuClient(indiceVoisin);
+            List<Client> clients2 = i2.getListeClientsÀLivrer();
+            // on ne vide pas un itinéraire : s'il ne reste que c, on fait un échange ; si v est seul, seul le
+            // déplacement de c crée l'arête (c, v)
+            if(clients1.size() > 1 && (clients2.size() == 1 || r.nextBoolean()))
             {
-                cpt++;
-                indexes = TransformateurEntreItinéraires.piocheIndexes(i1.getListeClientsÀLivrer().size(), i2.getListeClientsÀLivrer().size());
-                if(breakIfTooManyAttemps == cpt)
+                int positionInsertion = positionVoisin + (r.nextBoolean() ? 1 : 0);
+                // ajouterClientAUnIndex refuse l'ajout si la capacité du véhicule est dépassée
+                if(i2.ajouterClientAUnIndex(client, positionInsertion))
                 {
-                    stillTry = false;
-                    canSwap = false;
+                    i1.retirerClient(client);
+                    return true;
                 }
             }
-
-            // une fois qu'il est possible de swap
-
-            if(canSwap)
+            else if(clients2.size() > 1)
             {
-                Client c1 = i1.getListeClientsÀLivrer().get(indexes.getKey());
-                Client c2 = i2.getListeClientsÀLivrer().get(indexes.getValue());
-
-                Client c1Copie = new Client(c1.getNumeroClient(), c1.getPositionX(), c1.getPositionY(), c1.getNbMarchandisesÀLivrer());
-                Client c2Copie = new Client(c2.getNumeroClient(), c2.getPositionX(), c2.getPositionY(), c2.getNbMarchandisesÀLivrer());
-
-
-                i1.getListeClientsÀLivrer().set(indexes.getKey(), c1Copie);
-                i2.getListeClientsÀLivrer().set(indexes.getValue(), c2Copie);
+                int positionÉchange = positionVoisin + (r.nextBoolean() ? 1 : -1);
+                if(positionÉchange < 0 || positionÉchange >= clients2.size())
+                {
+                    positionÉchange = 2 * positionVoisin - positionÉchange;
+                }
+                Client autre = clients2.get(positionÉchange);
+                int différence = autre.getNbMarchandisesÀLivrer() - client.getNbMarchandisesÀLivrer();
+                if(TransformateurEntreItinéraires.accepteLaCharge(i1, différence) && TransformateurEntreItinéraires.accepteLaCharge(i2, -différence))
+                {
+                    clients1.set(positionClient, autre);
+                    clients2.set(positionÉchange, client);
+                    return true;
+                }
             }
         }
+        return false;
     }
 
-    private static Pair<Integer, Integer> piocheIndexes(int size_i1, int size_i2)
+    /**
+     * Indique si la charge d'un itinéraire peut varier d'une quantité donnée sans dépasser la capacité de son véhicule.
+     * @param itinéraire l'itinéraire.
+     * @param variation la variation de la quantité de marchandises à livrer.
+     * @return true si la nouvelle charge respecte la capacité, false sinon.
+     */
+    private static boolean accepteLaCharge(Itinéraire itinéraire, int variation)
     {
-        return new Pair<Integer, Integer>(r.nextInt(size_i1), r.nextInt(size_i2));
+        if(itinéraire.getVéhicule().isInfinite())
+        {
+            return true;
+        }
+        // la charge de l'itinéraire est tenue à jour : elle se lit en O(1)
+        return itinéraire.getNbMarchandisesALivrer() + variation <= itinéraire.getVéhicule().getCapacité();
     }
 }
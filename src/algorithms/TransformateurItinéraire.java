@@ -2,45 +2,32 @@ package algorithms;
 
 import customexceptions.*;
 import model.Client;
-import model.Entrepôt;
 import model.Itinéraire;
-import model.graph.Sommet;
+import model.SéquenceDeClients;
+import model.distances.ListesDeCandidats;
+import utilitaires.Aléatoire;
 
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Un transformateur de solution est une classe permettant d'appliquer des transformations à une solution.
  */
 public class TransformateurItinéraire
 {
+    /**
+     * Le nombre de clients tirés au sort, en mode granulaire, avant de se rabattre sur une transformation aléatoire
+     * lorsqu'aucun d'eux n'a de voisin candidat dans l'itinéraire.
+     */
+    private static final int NB_TENTATIVES_GRANULAIRES = 10;
+
     /**
      * Transforme localement une solution, en échangeant de place deux clients choisis arbitrairement parmi itinéraire.
      * @param itinéraire l'itinéraire au sein duquel la transformation sera effectuée.
      */
     public static void transformationÉchange(Itinéraire itinéraire)
     {
-
-        // nombre de clients dans l'itinéraire
-        int nbClients = itinéraire.getListeClientsÀLivrer().size();
-        Random random = new Random();
-        // génération d'un premier index aléatoire (de 0 à nbClients-1)
-        int premierIndexAléatoire = random.nextInt(nbClients);
-        // génération d'un deuxième index aléatoire (de 0 à nbClients-1)
-        int deuxièmeIndexAléatoire = random.nextInt(nbClients);
-
-        // si la liste contient un unique client, on n'apporte aucune modification.
-        if(itinéraire.getListeClientsÀLivrer().size() > 1)
-        {
-            // tant que les deux index aléatoires sont identiques...
-            while (premierIndexAléatoire == deuxièmeIndexAléatoire) {
-                // on regénère le deuxième index aléatoire
-                deuxièmeIndexAléatoire = random.nextInt((nbClients));
-            }
-        }
-        // on échange le client positionné au premierIndexAléatoire avec celui positionné au deuxièmeIndexAléatoire
-        Collections.swap(itinéraire.getListeClientsÀLivrer(), premierIndexAléatoire, deuxièmeIndexAléatoire);
+        TransformateurItinéraire.transformationÉchange(itinéraire, null);
     }
 
     /**
@@ -51,29 +38,7 @@ public class TransformateurItinéraire
      */
     public static void insertionDécalage(Itinéraire itinéraire)
     {
-        // nombre de clients dans l'itinéraire
-        int nbClients = itinéraire.getListeClientsÀLivrer().size();
-        Random random = new Random();
-        // génération d'un premier index aléatoire (de 0 à nbClients-1)
-        int premierIndexAléatoire = random.nextInt(nbClients);
-        // récupération du client positionné au premierIndexAléatoire
-        Client clientAReplacer = itinéraire.getListeClientsÀLivrer().get(premierIndexAléatoire);
-        // on retire le client pioché aléatoirement de l'itinéraire
-        itinéraire.retirerClient(clientAReplacer);
-        // génération d'un deuxième index aléatoire (de 0 à nbClients-1)
-        int deuxièmeIndexAléatoire = random.nextInt(nbClients);
-        // si la liste contient un unique client, on n'apporte aucune modification.
-        if(itinéraire.getListeClientsÀLivrer().size() > 1)
-        {
-            // tant que les deux index aléatoires sont identiques...
-            while (premierIndexAléatoire == deuxièmeIndexAléatoire)
-            {
-                // on regénère le deuxième index aléatoire
-                deuxièmeIndexAléatoire = random.nextInt((nbClients));
-            }
-        }
-        // on ajoute le client pioché aléatoirement à une position aléatoire et les éléments après le deuxièmeIndexAléatoire se décalent
-        itinéraire.getListeClientsÀLivrer().add(deuxièmeIndexAléatoire, clientAReplacer);
+        TransformateurItinéraire.insertionDécalage(itinéraire, null);
     }
 
     /**
@@ -84,56 +49,13 @@ public class TransformateurItinéraire
      */
     public static void inversion(Itinéraire itinéraire)
     {
-        // nombre de clients dans l'itinéraire
-        int nbClients = itinéraire.getListeClientsÀLivrer().size();
-        Random random = new Random();
-        // génération d'un premier index aléatoire (de 0 à nbClients-1)
-        int premierIndexAléatoire = random.nextInt(nbClients);
-        // génération d'un deuxième index aléatoire (de 0 à nbClients-1)
-        int deuxièmeIndexAléatoire = random.nextInt(nbClients);
-
-
-        // si la liste contient un unique client, on n'apporte aucune modification.
-        if(itinéraire.getListeClientsÀLivrer().size() > 1)
-        {
-            // tant que les deux index aléatoires sont identiques...
-            while (premierIndexAléatoire == deuxièmeIndexAléatoire) {
-                // on regénère un deuxième index aléatoire
-                deuxièmeIndexAléatoire = random.nextInt(nbClients);
-            }
-        }
-
-        LinkedList<Client> listeDeClientsÀInverser;
-        // si le premierIndexAléatoire est inférieur au deuxièmeIndexAléatoire
-        if (premierIndexAléatoire < deuxièmeIndexAléatoire) {
-            // on crée une nouvelle liste chaînée contenant la liste de clients à inverser (entre le premierIndexAléatoire et le deuxièmeIndexAléatoire)
-            listeDeClientsÀInverser = new LinkedList<>(itinéraire.getListeClientsÀLivrer().subList(premierIndexAléatoire, deuxièmeIndexAléatoire + 1));
-            // on enlève la liste de clients à enlever de la liste des clients de l'itinéraire
-            itinéraire.getListeClientsÀLivrer().removeAll(listeDeClientsÀInverser);
-        // sinon...
-        } else {
-            // on crée une nouvelle liste chaînée contenant la liste de clients à inverser (entre le deuxièmeIndexAléatoire et le premierIndexAléatoire)
-            listeDeClientsÀInverser = new LinkedList<>(itinéraire.getListeClientsÀLivrer().subList(deuxièmeIndexAléatoire, premierIndexAléatoire + 1));
-            // on enlève la liste de clients à enlever de la liste des clients de l'itinéraire
-            itinéraire.getListeClientsÀLivrer().removeAll(listeDeClientsÀInverser);
-        }
-        // on inverse tous les éléments contenus dans la liste de clients à inverser
-        Collections.reverse(listeDeClientsÀInverser);
-
-        // si le premierIndexAléatoire est inférieur au deuxièmeIndexAléatoire
-        if (premierIndexAléatoire < deuxièmeIndexAléatoire) {
-            // on ajoute la liste inversée à la liste de client de l'itinéraire au premierIndexAléatoire
-            itinéraire.getListeClientsÀLivrer().addAll(premierIndexAléatoire, listeDeClientsÀInverser);
-        // sinon...
-        } else {
-            // on ajoute la liste inversée à la liste de client de l'itinéraire au deuxièmeIndexAléatoire
-            itinéraire.getListeClientsÀLivrer().addAll(deuxièmeIndexAléatoire, listeDeClientsÀInverser);
-        }
+        TransformateurItinéraire.inversion(itinéraire, null);
     }
 
      /**
      * Effectue une transformation 2-opt sur un itinéraire donné.
-     * La transformation 2-opt échange deux arêtes disjointes.
+     * La transformation 2-opt échange deux arêtes disjointes : elle revient à inverser sur place la portion de
+     * l'itinéraire comprise entre elles, en O(longueur de la portion).
      * @param _itinéraire l'itinéraire sur lequel effectuer la transformation 2-opt.
      * @param backUpTransformation La transformation à effectuer si le 2-opt  est impossible sur l'itinéraire "_itinéraire"
      * @throws VehiculeCapacityOutOfBoundsException si la capacité des véhicules est dépassée.
@@ -141,76 +63,608 @@ public class TransformateurItinéraire
      * @return l'itinéraire transformé.
      */
     public static Itinéraire transformation2opt(Itinéraire _itinéraire, Transformation backUpTransformation) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        return TransformateurItinéraire.transformation2opt(_itinéraire, backUpTransformation, null);
+    }
+
+    /**
+     * Transformation échange en mode granulaire : un client c est pioché aléatoirement, ainsi qu'un de ses voisins
+     * candidats v présent dans l'itinéraire ; c est échangé avec le client qui précède ou qui suit v, de sorte que
+     * l'arête (c, v) soit créée.
+     * Si aucun client pioché n'a de voisin candidat dans l'itinéraire, une transformation échange aléatoire est effectuée.
+     * @param itinéraire l'itinéraire au sein duquel la transformation sera effectuée.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     */
+    public static void transformationÉchange(Itinéraire itinéraire, ListesDeCandidats candidats)
+    {
+        TransformateurItinéraire.transformationÉchange(itinéraire, candidats, new int[2], Aléatoire.duThread());
+    }
+
+    /**
+     * Transformation échange, en mode granulaire ou aléatoire, avec un générateur aléatoire donné, sans allocation : les
+     * positions tirées sont rangées dans un tampon fourni par l'appelant, réutilisable d'une transformation à l'autre.
+     * @param itinéraire l'itinéraire au sein duquel la transformation sera effectuée.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     * @param positions le tampon de deux cases dans lequel ranger les positions tirées.
+     * @param aléatoire le générateur aléatoire.
+     * @see #transformationÉchange(Itinéraire, ListesDeCandidats)
+     */
+    public static void transformationÉchange(Itinéraire itinéraire, ListesDeCandidats candidats, int[] positions, SplittableRandom aléatoire)
+    {
+        TransformateurItinéraire.indexer(itinéraire, candidats);
+        TransformateurItinéraire.tirerÉchange(itinéraire.getListeClientsÀLivrer(), candidats, positions, aléatoire);
+        itinéraire.getListeClientsÀLivrer().échanger(positions[0], positions[1]);
+    }
+
+    /**
+     * Insertion décalage en mode granulaire : un client c est pioché aléatoirement, ainsi qu'un de ses voisins
+     * candidats v présent dans l'itinéraire ; c est retiré puis réinséré juste avant ou juste après v.
+     * Si aucun client pioché n'a de voisin candidat dans l'itinéraire, une insertion décalage aléatoire est effectuée.
+     * @param itinéraire l'itinéraire sur lequel sera effectué l'insertion décalage.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     */
+    public static void insertionDécalage(Itinéraire itinéraire, ListesDeCandidats candidats)
+    {
+        TransformateurItinéraire.insertionDécalage(itinéraire, candidats, new int[2], Aléatoire.duThread());
+    }
+
+    /**
+     * Insertion décalage, en mode granulaire ou aléatoire, avec un générateur aléatoire donné, sans allocation : les
+     * positions tirées sont rangées dans un tampon fourni par l'appelant, réutilisable d'une transformation à l'autre.
+     * @param itinéraire l'itinéraire sur lequel sera effectué l'insertion décalage.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     * @param positions le tampon de deux cases dans lequel ranger les positions tirées.
+     * @param aléatoire le générateur aléatoire.
+     * @see #insertionDécalage(Itinéraire, ListesDeCandidats)
+     */
+    public static void insertionDécalage(Itinéraire itinéraire, ListesDeCandidats candidats, int[] positions, SplittableRandom aléatoire)
+    {
+        TransformateurItinéraire.indexer(itinéraire, candidats);
+        TransformateurItinéraire.tirerInsertionDécalage(itinéraire.getListeClientsÀLivrer(), candidats, positions, aléatoire);
+        itinéraire.getListeClientsÀLivrer().déplacer(positions[0], positions[1]);
+    }
+
+    /**
+     * Inversion en mode granulaire : un client c est pioché aléatoirement, ainsi qu'un de ses voisins candidats v
+     * présent dans l'itinéraire ; la portion comprise entre c (exclu) et v (inclus) est inversée, ce qui place v
+     * juste à côté de c.
+     * Si aucun client pioché n'a de voisin candidat dans l'itinéraire, une inversion aléatoire est effectuée.
+     * @param itinéraire l'itinéraire sur lequel effectuer l'inversion.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     */
+    public static void inversion(Itinéraire itinéraire, ListesDeCandidats candidats)
+    {
+        TransformateurItinéraire.inversion(itinéraire, candidats, new int[2], Aléatoire.duThread());
+    }
+
+    /**
+     * Inversion, en mode granulaire ou aléatoire, avec un générateur aléatoire donné, sans allocation : les
+     * positions tirées sont rangées dans un tampon fourni par l'appelant, réutilisable d'une transformation à l'autre.
+     * @param itinéraire l'itinéraire sur lequel effectuer l'inversion.
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     * @param positions le tampon de deux cases dans lequel ranger les positions tirées.
+     * @param aléatoire le générateur aléatoire.
+     * @see #inversion(Itinéraire, ListesDeCandidats)
+     */
+    public static void inversion(Itinéraire itinéraire, ListesDeCandidats candidats, int[] positions, SplittableRandom aléatoire)
+    {
+        TransformateurItinéraire.indexer(itinéraire, candidats);
+        TransformateurItinéraire.tirerInversion(itinéraire.getListeClientsÀLivrer(), candidats, positions, aléatoire);
+        itinéraire.getListeClientsÀLivrer().inverser(positions[0], positions[1]);
+    }
+
+    /**
+     * Transformation 2-opt en mode granulaire : les deux arêtes retirées sont choisies de sorte que l'une des deux
+     * arêtes ajoutées relie un client c à l'un de ses voisins candidats v. L'itinéraire est modifié sur place.
+     * Si aucun client pioché n'a de voisin candidat dans l'itinéraire, la transformation 2-opt aléatoire est effectuée.
+     * @param _itinéraire l'itinéraire sur lequel effectuer la transformation 2-opt.
+     * @param backUpTransformation La transformation à effectuer si le 2-opt est impossible sur l'itinéraire "_itinéraire"
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     * @throws ItinéraireTooSmallException si l'itinéraire est trop petit et qu'aucune transformation de secours n'est donnée.
+     * @throws VehiculeCapacityOutOfBoundsException si la capacité des véhicules est dépassée.
+     * @throws ListOfClientsIsEmptyException si un itinéraire est créé avec une liste vide.
+     * @return l'itinéraire transformé.
+     */
+    public static Itinéraire transformation2opt(Itinéraire _itinéraire, Transformation backUpTransformation, ListesDeCandidats candidats) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        return TransformateurItinéraire.transformation2opt(_itinéraire, backUpTransformation, candidats, new int[2], Aléatoire.duThread());
+    }
+
+    /**
+     * Transformation 2-opt, en mode granulaire ou aléatoire, avec un générateur aléatoire donné, sans allocation : les
+     * positions tirées sont rangées dans un tampon fourni par l'appelant. Sur un itinéraire de moins de 4 clients, la
+     * transformation de secours est aléatoire.
+     * @param _itinéraire l'itinéraire sur lequel effectuer la transformation 2-opt.
+     * @param backUpTransformation La transformation à effectuer si le 2-opt est impossible sur l'itinéraire "_itinéraire"
+     * @param candidats les listes de candidats ; si elles sont nulles, la transformation est aléatoire.
+     * @param positions le tampon de deux cases dans lequel ranger les positions tirées.
+     * @param aléatoire le générateur aléatoire.
+     * @throws ItinéraireTooSmallException si l'itinéraire est trop petit et qu'aucune transformation de secours n'est donnée.
+     * @throws VehiculeCapacityOutOfBoundsException si la capacité des véhicules est dépassée.
+     * @throws ListOfClientsIsEmptyException si un itinéraire est créé avec une liste vide.
+     * @return l'itinéraire transformé.
+     * @see #transformation2opt(Itinéraire, Transformation, ListesDeCandidats)
+     */
+    public static Itinéraire transformation2opt(Itinéraire _itinéraire, Transformation backUpTransformation, ListesDeCandidats candidats, int[] positions, SplittableRandom aléatoire) throws ItinéraireTooSmallException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
     {
         if(_itinéraire.getListeClientsÀLivrer().size() < 4)
         {
             //throw new ItinéraireTooSmallException(_itinéraire);
+            if(backUpTransformation == null)
+            {
+                throw new ItinéraireTooSmallException(_itinéraire);
+            }
             switch(backUpTransformation)
             {
                 case INVERSION:
-                    TransformateurItinéraire.inversion(_itinéraire);
+                    TransformateurItinéraire.inversion(_itinéraire, null, positions, aléatoire);
                     return _itinéraire;
                 case INSERTION_DÉCALAGE:
-                    TransformateurItinéraire.insertionDécalage(_itinéraire);
+                    TransformateurItinéraire.insertionDécalage(_itinéraire, null, positions, aléatoire);
                     return _itinéraire;
                 case TRANSFORMATION_ÉCHANGE:
-                    TransformateurItinéraire.transformationÉchange(_itinéraire);
+                    TransformateurItinéraire.transformationÉchange(_itinéraire, null, positions, aléatoire);
                     return _itinéraire;
                 default:
                     throw new ItinéraireTooSmallException(_itinéraire);
             }
         }
+        // sur un itinéraire, un 2-opt revient à inverser la portion comprise entre les deux arêtes retirées
+        TransformateurItinéraire.indexer(_itinéraire, candidats);
+        TransformateurItinéraire.tirerInversion(_itinéraire.getListeClientsÀLivrer(), candidats, positions, aléatoire);
+        _itinéraire.getListeClientsÀLivrer().inverser(positions[0], positions[1]);
+        return _itinéraire;
+    }
 
-        LinkedList<Client> nouvelleListeClients = new LinkedList<>();
-        Sommet entrepôt = _itinéraire.getEntrepôt();
-        //Itinéraire nouvelItinéraire = new Itinéraire(nouvelleListeClients , (Entrepôt) entrepôt);
+    /**
+     * Construit, pour des tirages en mode granulaire, l'index des positions des clients d'un itinéraire : les voisins
+     * candidats y sont ensuite retrouvés en O(1) attendu, sans que les tirages ne modifient l'itinéraire. L'index est
+     * construit par le thread qui modifie l'itinéraire, avant les tirages, y compris ceux faits par d'autres threads.
+     * @param itinéraire l'itinéraire.
+     * @param candidats les listes de candidats ; si elles sont nulles, les tirages sont aléatoires et l'itinéraire
+     *                  n'est pas indexé.
+     * @see SéquenceDeClients#indexer()
+     */
+    static void indexer(Itinéraire itinéraire, ListesDeCandidats candidats)
+    {
+        if(candidats != null)
+        {
+            itinéraire.getListeClientsÀLivrer().indexer();
+        }
+    }
 
-        int nbClients = _itinéraire.getListeClientsÀLivrer().size();
-        Random random = new Random();
-        // génération d'un premier index aléatoire (de 0 à nbClients-1)
-        int premierIndexAléatoire = random.nextInt(nbClients);
-        // génération d'un deuxième index aléatoire (de 0 à nbClients-1)
-        int deuxièmeIndexAléatoire = random.nextInt(nbClients);
-        // tant que les deux index aléatoires sont identiques...
-        while (premierIndexAléatoire == deuxièmeIndexAléatoire) {
-            // on regénère un deuxième index aléatoire
-            deuxièmeIndexAléatoire = random.nextInt(nbClients);
+    /**
+     * Tire au sort les positions d'une transformation sur un itinéraire, sans le modifier. Les positions s'utilisent
+     * ensuite avec {@link #delta(Transformation, Itinéraire, int, int)} pour évaluer la transformation, puis avec
+     * {@link #appliquer(Transformation, Itinéraire, int, int)} pour l'effectuer si elle est acceptée :
+     * - TRANSFORMATION_ÉCHANGE : les positions des deux clients échangés ;
+     * - INSERTION_DÉCALAGE : la position du client déplacé, puis sa position une fois déplacé ;
+     * - INVERSION et TRANSFORMATION_2_OPT : la première et la dernière position de la portion inversée.
+     * Sur un itinéraire de moins de 4 clients, le 2-opt est remplacé par une transformation échange, comme dans
+     * {@link #transformation2opt(Itinéraire, Transformation)}.
+     * @param transformation la transformation.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param candidats les listes de candidats pour le mode granulaire ; null pour des positions aléatoires.
+     * @return les deux positions de la transformation.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    public static int[] tirerPositions(Transformation transformation, Itinéraire itinéraire, ListesDeCandidats candidats) throws UnhandledTransformationException
+    {
+        int[] positions = new int[2];
+        TransformateurItinéraire.tirerPositions(transformation, itinéraire, candidats, positions);
+        return positions;
+    }
+
+    /**
+     * Tire au sort les positions d'une transformation sur un itinéraire, sans allocation.
+     * @param transformation la transformation.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param candidats les listes de candidats pour le mode granulaire ; null pour des positions aléatoires.
+     * @param positions le tableau de deux cases dans lequel ranger les positions.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     * @see #tirerPositions(Transformation, Itinéraire, ListesDeCandidats)
+     */
+    static void tirerPositions(Transformation transformation, Itinéraire itinéraire, ListesDeCandidats candidats, int[] positions) throws UnhandledTransformationException
+    {
+        TransformateurItinéraire.tirerPositions(transformation, itinéraire, candidats, positions, Aléatoire.duThread());
+    }
+
+    /**
+     * Tire au sort les positions d'une transformation sur un itinéraire, sans allocation, avec un générateur aléatoire
+     * donné : chaque thread peut ainsi tirer avec le sien, sans se disputer celui de la classe.
+     * @param transformation la transformation.
+     * @param itinéraire l'itinéraire, d'au moins un client.
+     * @param candidats les listes de candidats pour le mode granulaire ; null pour des positions aléatoires.
+     * @param positions le tableau de deux cases dans lequel ranger les positions.
+     * @param random le générateur aléatoire.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     * @see #tirerPositions(Transformation, Itinéraire, ListesDeCandidats)
+     */
+    static void tirerPositions(Transformation transformation, Itinéraire itinéraire, ListesDeCandidats candidats, int[] positions, SplittableRandom random) throws UnhandledTransformationException
+    {
+        SéquenceDeClients clients = itinéraire.getListeClientsÀLivrer();
+        switch(TransformateurItinéraire.transformationEffective(transformation, itinéraire))
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                // le 2-opt de secours est toujours un échange aléatoire
+                TransformateurItinéraire.tirerÉchange(clients, transformation == Transformation.TRANSFORMATION_ÉCHANGE ? candidats : null, positions, random);
+                break;
+            case INSERTION_DÉCALAGE:
+                TransformateurItinéraire.tirerInsertionDécalage(clients, candidats, positions, random);
+                break;
+            case INVERSION:
+            case TRANSFORMATION_2_OPT:
+                TransformateurItinéraire.tirerInversion(clients, candidats, positions, random);
+                break;
+            default:
+                throw new UnhandledTransformationException(transformation, TransformateurItinéraire.class);
         }
+    }
 
-        if(premierIndexAléatoire < deuxièmeIndexAléatoire)
+    /**
+     * Calcule la variation de la longueur d'un itinéraire qu'entraînerait une transformation, à partir des seules
+     * arêtes retirées et ajoutées, sans modifier l'itinéraire.
+     * @param transformation la transformation.
+     * @param itinéraire l'itinéraire.
+     * @param p la première position de la transformation.
+     * @param q la seconde position de la transformation.
+     * @return la nouvelle longueur moins l'ancienne : négative si la transformation raccourcit l'itinéraire.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     * @see #tirerPositions(Transformation, Itinéraire, ListesDeCandidats)
+     */
+    public static double delta(Transformation transformation, Itinéraire itinéraire, int p, int q) throws UnhandledTransformationException
+    {
+        switch(TransformateurItinéraire.transformationEffective(transformation, itinéraire))
         {
-            for (int i = 0; i <= premierIndexAléatoire - 1; i++) {
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(i));
-            }
+            case TRANSFORMATION_ÉCHANGE:
+                return TransformateurItinéraire.deltaÉchange(itinéraire, p, q);
+            case INSERTION_DÉCALAGE:
+                return TransformateurItinéraire.deltaInsertionDécalage(itinéraire, p, q);
+            case INVERSION:
+                return TransformateurItinéraire.deltaInversion(itinéraire, p, q);
+            case TRANSFORMATION_2_OPT:
+                return TransformateurItinéraire.deltaDeuxOpt(itinéraire, p, q);
+            default:
+                throw new UnhandledTransformationException(transformation, TransformateurItinéraire.class);
+        }
+    }
 
-            int décalage = 0;
-            for (int c = premierIndexAléatoire; c <= deuxièmeIndexAléatoire; c++) {
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(deuxièmeIndexAléatoire - décalage));
-                décalage++;
-            }
+    /**
+     * Effectue sur place une transformation dont les positions ont été tirées au sort.
+     * @param transformation la transformation.
+     * @param itinéraire l'itinéraire.
+     * @param p la première position de la transformation.
+     * @param q la seconde position de la transformation.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     * @see #tirerPositions(Transformation, Itinéraire, ListesDeCandidats)
+     */
+    public static void appliquer(Transformation transformation, Itinéraire itinéraire, int p, int q) throws UnhandledTransformationException
+    {
+        SéquenceDeClients clients = itinéraire.getListeClientsÀLivrer();
+        switch(TransformateurItinéraire.transformationEffective(transformation, itinéraire))
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                clients.échanger(p, q);
+                break;
+            case INSERTION_DÉCALAGE:
+                clients.déplacer(p, q);
+                break;
+            case INVERSION:
+            case TRANSFORMATION_2_OPT:
+                clients.inverser(p, q);
+                break;
+            default:
+                throw new UnhandledTransformationException(transformation, TransformateurItinéraire.class);
+        }
+    }
+
+    /**
+     * Variation de longueur de l'échange des clients de deux positions, en O(1).
+     * @param itinéraire l'itinéraire.
+     * @param i la position du premier client.
+     * @param j la position du second client.
+     * @return la variation de longueur de l'itinéraire.
+     */
+    public static double deltaÉchange(Itinéraire itinéraire, int i, int j)
+    {
+        if(i == j)
+        {
+            return 0;
+        }
+        int a = Math.min(i, j);
+        int b = Math.max(i, j);
+        if(b == a + 1)
+        {
+            // clients consécutifs : les arêtes (a-1, a), (a, b) et (b, b+1) deviennent (a-1, b), (b, a) et (a, b+1)
+            return itinéraire.distanceEntrePositions(a - 1, b) + itinéraire.distanceEntrePositions(b, a) + itinéraire.distanceEntrePositions(a, b + 1)
+                    - itinéraire.distanceEntrePositions(a - 1, a) - itinéraire.distanceEntrePositions(a, b) - itinéraire.distanceEntrePositions(b, b + 1);
+        }
+        return itinéraire.distanceEntrePositions(a - 1, b) + itinéraire.distanceEntrePositions(b, a + 1)
+                + itinéraire.distanceEntrePositions(b - 1, a) + itinéraire.distanceEntrePositions(a, b + 1)
+                - itinéraire.distanceEntrePositions(a - 1, a) - itinéraire.distanceEntrePositions(a, a + 1)
+                - itinéraire.distanceEntrePositions(b - 1, b) - itinéraire.distanceEntrePositions(b, b + 1);
+    }
 
-            for (int j = deuxièmeIndexAléatoire + 1; j < nbClients; j++) {
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(j));
-                //nouvelItinéraire.ajouterClient(i1.getListeClientsÀLivrer().get(k));
+    /**
+     * Variation de longueur du déplacement d'un client, en O(1) : son retrait relie ses deux voisins, puis il est
+     * inséré entre deux sommets consécutifs.
+     * @param itinéraire l'itinéraire.
+     * @param départ la position du client déplacé.
+     * @param arrivée la position du client une fois déplacé.
+     * @return la variation de longueur de l'itinéraire.
+     * @see SéquenceDeClients#déplacer(int, int)
+     */
+    public static double deltaInsertionDécalage(Itinéraire itinéraire, int départ, int arrivée)
+    {
+        if(départ == arrivée)
+        {
+            return 0;
+        }
+        double retrait = itinéraire.distanceEntrePositions(départ - 1, départ + 1)
+                - itinéraire.distanceEntrePositions(départ - 1, départ) - itinéraire.distanceEntrePositions(départ, départ + 1);
+        // positions, dans l'itinéraire avant déplacement, des deux sommets entre lesquels le client est inséré
+        int avant = arrivée < départ ? arrivée - 1 : arrivée;
+        int après = avant + 1;
+        double insertion = itinéraire.distanceEntrePositions(avant, départ) + itinéraire.distanceEntrePositions(départ, après)
+                - itinéraire.distanceEntrePositions(avant, après);
+        return retrait + insertion;
+    }
+
+    /**
+     * Variation de longueur de l'inversion d'une portion de l'itinéraire. Pour des distances symétriques, seules les
+     * deux arêtes aux extrémités de la portion changent, et le calcul est en O(1) ; sinon, les arêtes intérieures
+     * changent de sens et le calcul est en O(longueur de la portion).
+     * @param itinéraire l'itinéraire.
+     * @param début la première position de la portion.
+     * @param fin la dernière position de la portion.
+     * @return la variation de longueur de l'itinéraire.
+     */
+    public static double deltaInversion(Itinéraire itinéraire, int début, int fin)
+    {
+        if(début >= fin)
+        {
+            return 0;
+        }
+        double delta = itinéraire.distanceEntrePositions(début - 1, fin) + itinéraire.distanceEntrePositions(début, fin + 1)
+                - itinéraire.distanceEntrePositions(début - 1, début) - itinéraire.distanceEntrePositions(fin, fin + 1);
+        if(!itinéraire.aDesDistancesSymétriques())
+        {
+            for(int p = début; p < fin; p++)
+            {
+                delta += itinéraire.distanceEntrePositions(p + 1, p) - itinéraire.distanceEntrePositions(p, p + 1);
             }
         }
-        else
+        return delta;
+    }
+
+    /**
+     * Variation de longueur d'un 2-opt : retirer les arêtes qui encadrent une portion et reconnecter l'itinéraire
+     * revient à inverser cette portion.
+     * @param itinéraire l'itinéraire.
+     * @param début la première position de la portion inversée.
+     * @param fin la dernière position de la portion inversée.
+     * @return la variation de longueur de l'itinéraire.
+     * @see #deltaInversion(Itinéraire, int, int)
+     */
+    public static double deltaDeuxOpt(Itinéraire itinéraire, int début, int fin)
+    {
+        return TransformateurItinéraire.deltaInversion(itinéraire, début, fin);
+    }
+
+    /**
+     * Variation de l'empreinte d'un itinéraire par une transformation, en O(1) : le ou exclusif des clés des arêtes
+     * retirées et ajoutées, que l'on combine à l'empreinte. Les arêtes étant non orientées, l'intérieur d'une portion
+     * inversée ne change pas l'empreinte, et une arête à la fois retirée et ajoutée s'annule d'elle-même.
+     * @param transformation la transformation réellement effectuée.
+     * @param itinéraire l'itinéraire, avant la transformation.
+     * @param p la première position de la transformation.
+     * @param q la seconde position de la transformation.
+     * @return la variation de l'empreinte.
+     * @see model.Empreinte
+     */
+    static long variationEmpreinte(Transformation transformation, Itinéraire itinéraire, int p, int q)
+    {
+        if(p == q)
         {
-            for (int i = 0; i <= deuxièmeIndexAléatoire - 1; i++) {
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(i));
+            return 0;
+        }
+        switch(transformation)
+        {
+            case TRANSFORMATION_ÉCHANGE:
+            {
+                int a = Math.min(p, q);
+                int b = Math.max(p, q);
+                if(b == a + 1)
+                {
+                    // échanger deux clients consécutifs revient à les inverser
+                    return TransformateurItinéraire.variationEmpreinte(Transformation.INVERSION, itinéraire, a, b);
+                }
+                return itinéraire.empreinteEntrePositions(a - 1, b) ^ itinéraire.empreinteEntrePositions(b, a + 1)
+                        ^ itinéraire.empreinteEntrePositions(b - 1, a) ^ itinéraire.empreinteEntrePositions(a, b + 1)
+                        ^ itinéraire.empreinteEntrePositions(a - 1, a) ^ itinéraire.empreinteEntrePositions(a, a + 1)
+                        ^ itinéraire.empreinteEntrePositions(b - 1, b) ^ itinéraire.empreinteEntrePositions(b, b + 1);
             }
+            case INSERTION_DÉCALAGE:
+            {
+                int avant = q < p ? q - 1 : q;
+                int après = avant + 1;
+                return itinéraire.empreinteEntrePositions(p - 1, p + 1)
+                        ^ itinéraire.empreinteEntrePositions(p - 1, p) ^ itinéraire.empreinteEntrePositions(p, p + 1)
+                        ^ itinéraire.empreinteEntrePositions(avant, p) ^ itinéraire.empreinteEntrePositions(p, après)
+                        ^ itinéraire.empreinteEntrePositions(avant, après);
+            }
+            default:
+                if(p > q)
+                {
+                    // comme SéquenceDeClients.inverser, une portion vide n'est pas inversée
+                    return 0;
+                }
+                return itinéraire.empreinteEntrePositions(p - 1, q) ^ itinéraire.empreinteEntrePositions(p, q + 1)
+                        ^ itinéraire.empreinteEntrePositions(p - 1, p) ^ itinéraire.empreinteEntrePositions(q, q + 1);
+        }
+    }
 
-            int décalage = 0;
-            for (int c = deuxièmeIndexAléatoire; c <= premierIndexAléatoire; c++) {
+    /**
+     * @param transformation la transformation demandée.
+     * @param itinéraire l'itinéraire à transformer.
+     * @return la transformation réellement effectuée : un échange à la place d'un 2-opt sur moins de 4 clients.
+     */
+    static Transformation transformationEffective(Transformation transformation, Itinéraire itinéraire)
+    {
+        if(transformation == Transformation.TRANSFORMATION_2_OPT && itinéraire.getListeClientsÀLivrer().size() < 4)
+        {
+            return Transformation.TRANSFORMATION_ÉCHANGE;
+        }
+        return transformation;
+    }
 
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(premierIndexAléatoire - décalage));
-                décalage++;
+    /**
+     * Tire deux positions distinctes (sauf pour un itinéraire d'un seul client).
+     * @param nbClients le nombre de clients de l'itinéraire.
+     * @param positions le tableau dans lequel ranger les deux positions.
+     * @param random le générateur aléatoire.
+     */
+    private static void tirerDeuxPositions(int nbClients, int[] positions, SplittableRandom random)
+    {
+        positions[0] = random.nextInt(nbClients);
+        positions[1] = random.nextInt(nbClients);
+        while(nbClients > 1 && positions[0] == positions[1])
+        {
+            positions[1] = random.nextInt(nbClients);
+        }
+    }
+
+    /**
+     * Range les positions des deux clients à échanger ; en mode granulaire, le client pioché et celui qui précède
+     * ou qui suit son voisin candidat.
+     */
+    private static void tirerÉchange(SéquenceDeClients clients, ListesDeCandidats candidats, int[] positions, SplittableRandom random)
+    {
+        if(!TransformateurItinéraire.piocherArêteCandidate(clients, candidats, positions, random))
+        {
+            TransformateurItinéraire.tirerDeuxPositions(clients.size(), positions, random);
+            return;
+        }
+        int positionVoisin = positions[1];
+        // on prend le côté de v qui existe (v peut être en début ou en fin d'itinéraire)
+        int positionÉchange = positionVoisin + (random.nextBoolean() ? 1 : -1);
+        if(positionÉchange < 0 || positionÉchange >= clients.size())
+        {
+            positionÉchange = 2 * positionVoisin - positionÉchange;
+        }
+        positions[1] = positionÉchange;
+    }
+
+    /**
+     * Range la position du client à déplacer et sa position une fois déplacé ; en mode granulaire, juste avant ou
+     * juste après son voisin candidat.
+     */
+    private static void tirerInsertionDécalage(SéquenceDeClients clients, ListesDeCandidats candidats, int[] positions, SplittableRandom random)
+    {
+        if(!TransformateurItinéraire.piocherArêteCandidate(clients, candidats, positions, random))
+        {
+            TransformateurItinéraire.tirerDeuxPositions(clients.size(), positions, random);
+            return;
+        }
+        int positionVoisin = positions[1];
+        // le retrait de c décale v d'un cran s'il était après c
+        if(positionVoisin > positions[0])
+        {
+            positionVoisin--;
+        }
+        positions[1] = random.nextBoolean() ? positionVoisin : positionVoisin + 1;
+    }
+
+    /**
+     * Range la première et la dernière position de la portion à inverser ; en mode granulaire, la portion comprise
+     * entre le client pioché (exclu) et son voisin candidat (inclus), de sorte que les deux deviennent consécutifs.
+     */
+    private static void tirerInversion(SéquenceDeClients clients, ListesDeCandidats candidats, int[] positions, SplittableRandom random)
+    {
+        if(!TransformateurItinéraire.piocherArêteCandidate(clients, candidats, positions, random))
+        {
+            TransformateurItinéraire.tirerDeuxPositions(clients.size(), positions, random);
+            int première = Math.min(positions[0], positions[1]);
+            positions[1] = Math.max(positions[0], positions[1]);
+            positions[0] = première;
+        }
+        else if(positions[0] < positions[1])
+        {
+            positions[0]++;
+        }
+        else
+        {
+            int positionClient = positions[0];
+            positions[0] = positions[1];
+            positions[1] = positionClient - 1;
+        }
+    }
+
+    /**
+     * Pioche aléatoirement un client et l'un de ses voisins candidats présents dans la même liste, sans qu'ils soient
+     * déjà consécutifs (la transformation ne créerait alors pas de nouvelle arête candidate). Pour la séquence de
+     * clients d'un itinéraire indexé, la position de chaque voisin est lue dans l'index des positions : un tirage coûte
+     * O(k) pour k voisins candidats, quelle que soit la longueur de l'itinéraire.
+     * @param clients les clients de l'itinéraire.
+     * @param candidats les listes de candidats, éventuellement nulles.
+     * @param positions le tableau dans lequel ranger les positions {client, voisin}.
+     * @param random le générateur aléatoire.
+     * @return true si une arête candidate a été trouvée, false sinon.
+     */
+    static boolean piocherArêteCandidate(List<Client> clients, ListesDeCandidats candidats, int[] positions, SplittableRandom random)
+    {
+        int nbClients = clients.size();
+        if(candidats == null || nbClients < 3)
+        {
+            return false;
+        }
+        for(int tentative = 0; tentative < NB_TENTATIVES_GRANULAIRES; tentative++)
+        {
+            int positionClient = random.nextInt(nbClients);
+            int[] voisins = candidats.getVoisins(clients.get(positionClient).getIndice());
+            if(voisins.length == 0)
+            {
+                continue;
+            }
+            // on parcourt les voisins à partir d'un rang aléatoire, pour ne pas toujours privilégier le plus proche
+            int départ = random.nextInt(voisins.length);
+            for(int r = 0; r < voisins.length; r++)
+            {
+                int positionVoisin = TransformateurItinéraire.positionDuSommet(clients, voisins[(départ + r) % voisins.length]);
+                if(positionVoisin >= 0 && Math.abs(positionVoisin - positionClient) > 1)
+                {
+                    positions[0] = positionClient;
+                    positions[1] = positionVoisin;
+                    return true;
+                }
             }
+        }
+        return false;
+    }
 
-            for (int j = premierIndexAléatoire + 1; j < nbClients; j++) {
-                nouvelleListeClients.add(_itinéraire.getListeClientsÀLivrer().get(j));
+    /**
+     * Recherche la position d'un client dans une liste à partir de son indice, sans modifier la liste : dans l'index
+     * des positions pour la séquence de clients d'un itinéraire, par un parcours de la liste sinon.
+     * @param clients la liste de clients.
+     * @param indice l'indice du client recherché.
+     * @return la position du client, ou -1 s'il n'est pas dans la liste.
+     * @see SéquenceDeClients#getPosition(int)
+     */
+    static int positionDuSommet(List<Client> clients, int indice)
+    {
+        if(clients instanceof SéquenceDeClients)
+        {
+            return ((SéquenceDeClients) clients).getPosition(indice);
+        }
+        int position = 0;
+        for(Client c : clients)
+        {
+            if(c.getIndice() == indice)
+            {
+                return position;
             }
+            position++;
         }
-        return new Itinéraire(nouvelleListeClients , (Entrepôt) entrepôt, true);
+        return -1;
     }
 }
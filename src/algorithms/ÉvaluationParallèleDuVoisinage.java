@@ -0,0 +1,185 @@
+package algorithms;
+
+import customexceptions.UnhandledTransformationException;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Évaluation parallèle du voisinage basique d'une solution, dans un pool fork/join : les solutions voisines à évaluer
+ * sont réparties en tranches, chaque tranche est évaluée par variations de longueur (comme dans la recherche basique
+ * séquentielle, sans construire les voisins), et les meilleurs voisins des tranches sont réduits deux à deux.
+ *
+ * Chaque tranche a ses propres mouvements, qui servent de tampons de travail, et son propre générateur aléatoire :
+ * à chaque division, la moitié gauche reçoit un générateur séparé de celui de la tranche, que garde la moitié droite.
+ * Les tranches et leurs générateurs ne dépendent ainsi que du générateur de départ et de la taille des tranches, et
+ * non de l'ordonnancement des threads : pour une graine et une taille de tranche données, le meilleur voisin est le
+ * même d'une exécution à l'autre. La solution et la liste de tabou ne sont que lues (les itinéraires sont indexés
+ * avant l'évaluation, par le thread qui la lance), et les distances sont lues par tous les threads du pool (l'oracle
+ * de distances garde un cache de lignes par thread). Les voisins tabous (d'après leur empreinte, déduite de celle de
+ * la solution sans les construire) sont écartés dans chaque tranche : la réduction donne le meilleur voisin non tabou.
+ * @see SolveurTabou#rechercher(Solution)
+ */
+final class ÉvaluationParallèleDuVoisinage extends RecursiveTask<ÉvaluationParallèleDuVoisinage.MeilleurVoisin>
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Le nombre de tranches par thread du pool : un peu plus d'une, pour que les threads qui finissent tôt puissent
+     * prendre le travail des autres.
+     */
+    static final int NB_TRANCHES_PAR_THREAD = 4;
+
+    /**
+     * Le meilleur voisin d'une tranche : ses mouvements, un par itinéraire, et leur variation de longueur totale.
+     */
+    static final class MeilleurVoisin
+    {
+        private final Mouvement[] mouvements;
+
+        private final double variation;
+
+        private MeilleurVoisin(Mouvement[] mouvements, double variation)
+        {
+            this.mouvements = mouvements;
+            this.variation = variation;
+        }
+
+        /**
+         * @return les mouvements du voisin, un par itinéraire de la solution, tirés et non effectués.
+         */
+        Mouvement[] getMouvements()
+        {
+            return this.mouvements;
+        }
+    }
+
+    private final Solution solution;
+
+    private final long empreinte;
+
+    private final Transformation transformation;
+
+    private final int nbSolutionsVoisines;
+
+    private final int nbSolutionsVoisinesParTranche;
+
+    private final ListesDeCandidats candidats;
+
+    private final MémoireTabou listeTabou;
+
+    private final SplittableRandom aléatoire;
+
+    /**
+     * @param solution la solution dont le voisinage est évalué ; elle ne doit pas être modifiée pendant l'évaluation,
+     *                 et ses itinéraires doivent avoir été indexés en mode granulaire.
+     * @param transformation la transformation appliquée à chaque itinéraire.
+     * @param nbSolutionsVoisines le nombre de solutions voisines à évaluer.
+     * @param nbSolutionsVoisinesParTranche le nombre de solutions voisines en deçà duquel une tranche n'est plus divisée.
+     * @param candidats les listes de candidats pour le mode granulaire, éventuellement nulles.
+     * @param listeTabou la liste de tabou ; elle ne doit pas être modifiée pendant l'évaluation.
+     * @param aléatoire le générateur aléatoire de l'évaluation, qui ne doit pas être utilisé ailleurs pendant
+     *                  l'évaluation.
+     */
+    ÉvaluationParallèleDuVoisinage(Solution solution, Transformation transformation, int nbSolutionsVoisines, int nbSolutionsVoisinesParTranche, ListesDeCandidats candidats, MémoireTabou listeTabou, SplittableRandom aléatoire)
+    {
+        this(solution, solution.getEmpreinte(), transformation, nbSolutionsVoisines, Math.max(1, nbSolutionsVoisinesParTranche), candidats, listeTabou, aléatoire);
+    }
+
+    private ÉvaluationParallèleDuVoisinage(Solution solution, long empreinte, Transformation transformation, int nbSolutionsVoisines, int nbSolutionsVoisinesParTranche, ListesDeCandidats candidats, MémoireTabou listeTabou, SplittableRandom aléatoire)
+    {
+        this.solution = solution;
+        this.empreinte = empreinte;
+        this.transformation = transformation;
+        this.nbSolutionsVoisines = nbSolutionsVoisines;
+        this.nbSolutionsVoisinesParTranche = nbSolutionsVoisinesParTranche;
+        this.candidats = candidats;
+        this.listeTabou = listeTabou;
+        this.aléatoire = aléatoire;
+    }
+
+    /**
+     * Évalue la tranche, ou la divise en deux et réduit les meilleurs voisins des deux moitiés.
+     * @return le meilleur voisin non tabou de la tranche, ou null si tous ses voisins sont tabous.
+     * @throws CompletionException enveloppant une {@link UnhandledTransformationException} si la transformation n'est pas gérée.
+     */
+    @Override
+    protected MeilleurVoisin compute() throws CompletionException
+    {
+        if(this.nbSolutionsVoisines <= this.nbSolutionsVoisinesParTranche)
+        {
+            try
+            {
+                return this.évaluer();
+            }
+            catch(UnhandledTransformationException e)
+            {
+                throw new CompletionException(e);
+            }
+        }
+        int moitié = this.nbSolutionsVoisines / 2;
+        ÉvaluationParallèleDuVoisinage gauche = new ÉvaluationParallèleDuVoisinage(this.solution, this.empreinte, this.transformation, moitié, this.nbSolutionsVoisinesParTranche, this.candidats, this.listeTabou, this.aléatoire.split());
+        ÉvaluationParallèleDuVoisinage droite = new ÉvaluationParallèleDuVoisinage(this.solution, this.empreinte, this.transformation, this.nbSolutionsVoisines - moitié, this.nbSolutionsVoisinesParTranche, this.candidats, this.listeTabou, this.aléatoire);
+        gauche.fork();
+        MeilleurVoisin meilleurÀDroite = droite.compute();
+        MeilleurVoisin meilleurÀGauche = gauche.join();
+        if(meilleurÀGauche == null)
+        {
+            return meilleurÀDroite;
+        }
+        return meilleurÀDroite != null && meilleurÀDroite.variation < meilleurÀGauche.variation ? meilleurÀDroite : meilleurÀGauche;
+    }
+
+    /**
+     * Évalue séquentiellement les solutions voisines de la tranche.
+     * @return le meilleur voisin non tabou de la tranche, ou null si tous ses voisins sont tabous.
+     * @throws UnhandledTransformationException si la transformation n'est pas gérée.
+     */
+    private MeilleurVoisin évaluer() throws UnhandledTransformationException
+    {
+        ArrayList<Itinéraire> itinéraires = this.solution.getItinéraires();
+        int nbItinéraires = itinéraires.size();
+        Mouvement[] mouvementsCourants = new Mouvement[nbItinéraires];
+        Mouvement[] meilleursMouvements = new Mouvement[nbItinéraires];
+        for(int j = 0; j < nbItinéraires; j++)
+        {
+            mouvementsCourants[j] = new Mouvement(this.transformation);
+            meilleursMouvements[j] = new Mouvement(this.transformation);
+        }
+        double meilleureVariation = Double.MAX_VALUE;
+        boolean trouvé = false;
+        for(int i = 0; i < this.nbSolutionsVoisines; i++)
+        {
+            double variation = 0;
+            for(int j = 0; j < nbItinéraires; j++)
+            {
+                variation += mouvementsCourants[j].tirer(itinéraires.get(j), this.candidats, this.aléatoire);
+            }
+            if(trouvé && variation >= meilleureVariation)
+            {
+                continue;
+            }
+            // l'empreinte du voisin n'est calculée que pour un voisin meilleur que ceux déjà retenus
+            long empreinteDuVoisin = this.empreinte;
+            for(int j = 0; j < nbItinéraires; j++)
+            {
+                empreinteDuVoisin ^= mouvementsCourants[j].évaluerVariationEmpreinte();
+            }
+            if(this.listeTabou.contient(empreinteDuVoisin))
+            {
+                continue;
+            }
+            Mouvement[] échange = meilleursMouvements;
+            meilleursMouvements = mouvementsCourants;
+            mouvementsCourants = échange;
+            meilleureVariation = variation;
+            trouvé = true;
+        }
+        return trouvé ? new MeilleurVoisin(meilleursMouvements, meilleureVariation) : null;
+    }
+}
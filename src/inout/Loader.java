@@ -3,8 +3,9 @@ package inout;
 import customexceptions.ClientLoadException;
 import customexceptions.FileLoadException;
 import model.Client;
-import model.Entrepôt;
 import model.Fichier;
+import model.InstanceCompacte;
+import model.distances.MatriceDesDistancesMappée;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -12,6 +13,7 @@ import java.io.FileReader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Classe permettant de charger les fichiers.
@@ -20,18 +22,35 @@ public class Loader {
 
     private Path workPath;
 
+    /**
+     * Le budget mémoire des distances de chaque fichier chargé.
+     * @see Fichier#BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT
+     */
+    private long budgetMémoireDistances;
+
     /**
      * Constructeur d'un loader.
      * @param _workPath le répertoire duquel charger les fichiers (dans lequel sont situés les fichiers).
      */
     public Loader(Path _workPath)
+    {
+        this(_workPath, Fichier.BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT);
+    }
+
+    /**
+     * Constructeur d'un loader avec un budget mémoire pour les distances de chaque fichier chargé.
+     * @param _workPath le répertoire duquel charger les fichiers (dans lequel sont situés les fichiers).
+     * @param _budgetMémoireDistances le nombre maximal d'octets occupés par les distances d'un fichier.
+     */
+    public Loader(Path _workPath, long _budgetMémoireDistances)
     {
         this.workPath = _workPath;
+        this.budgetMémoireDistances = _budgetMémoireDistances;
     }
 
     public Loader()
     {
-        this.workPath = Paths.get("").toAbsolutePath();
+        this(Paths.get("").toAbsolutePath());
     }
 
     public ArrayList<Fichier> chargerTousLesFichiers() throws FileLoadException
@@ -44,12 +63,9 @@ public class Loader {
         {
             for (File file : listOfFiles) {
                 if (file.isFile()) {
-                    ArrayList<Client> clientsFichierCourant = this.loadClientsFromOneTxtFile(file.getName());
-                    // Première ligne : coordonnées de l'entrepôt, le seul qui a 0 caisses à livrer et qui a pour numéro 0.
-                    // On le récupère.
-                    Entrepôt e = new Entrepôt(clientsFichierCourant.get(0).getPositionX(), clientsFichierCourant.get(0).getPositionY());
-                    clientsFichierCourant.remove(0);
-                    Fichier f  = new Fichier(clientsFichierCourant, file.getName(), e);
+                    // le fichier est chargé directement en tableaux : les objets Client ne sont créés qu'à la demande
+                    InstanceCompacte instance = this.chargerInstanceCompacte(file.getName());
+                    Fichier f  = new Fichier(instance, this.budgetMémoireDistances);
                     fichiers.add(f);
                 }
             }
@@ -62,6 +78,100 @@ public class Loader {
         }
     }
 
+    /**
+     * Importe une matrice de coûts externe (distances routières, temps de trajet, éventuellement asymétriques)
+     * pour un fichier donné. La matrice est projetée en mémoire en lecture seule, hors tas : elle n'est pas
+     * copiée dans le processus et peut être partagée par plusieurs solveurs d'une même machine.
+     * Elle devient la source de coûts du fichier, à utiliser avant de générer des solutions.
+     * @param cheminMatrice le chemin du fichier binaire de la matrice.
+     * @param fichier le fichier dont la matrice contient les coûts.
+     * @throws FileLoadException si la matrice ne peut être lue ou ne correspond pas au fichier.
+     * @see MatriceDesDistancesMappée
+     */
+    public void chargerMatriceDesDistances(Path cheminMatrice, Fichier fichier) throws FileLoadException
+    {
+        try
+        {
+            fichier.setDistances(new MatriceDesDistancesMappée(cheminMatrice));
+        }
+        catch(Exception e)
+        {
+            e.printStackTrace();
+            throw new FileLoadException("Impossible de charger la matrice des distances " + cheminMatrice + " pour le fichier " + fichier.getNomFichier());
+        }
+    }
+
+    /**
+     * Importe un fichier directement sous forme compacte, en tableaux parallèles, sans créer d'objet par client.
+     * La première ligne de données est l'entrepôt (indice 0) ; chaque client est rangé à l'indice de son numéro.
+     * @param filename le nom du fichier, dans le dossier data.
+     * @return l'instance compacte.
+     * @throws FileLoadException si le fichier ne peut être lu ou qu'une ligne est invalide.
+     */
+    public InstanceCompacte chargerInstanceCompacte(String filename) throws FileLoadException
+    {
+        // lecture des lignes dans des tableaux qui grandissent au besoin, puis rangement par numéro
+        int[] numéros = new int[256];
+        int[] xs = new int[256];
+        int[] ys = new int[256];
+        int[] quantités = new int[256];
+        int nbLignes = 0;
+        int numéroMax = 0;
+        try (BufferedReader bufferedReader = new BufferedReader(new FileReader(this.workPath + "\\data\\" + filename)))
+        {
+            bufferedReader.readLine();
+            String informations;
+            while ((informations = bufferedReader.readLine()) != null)
+            {
+                if(informations.trim().isEmpty())
+                {
+                    continue;
+                }
+                String[] infosSommetCourant = informations.split(";");
+                if(nbLignes == numéros.length)
+                {
+                    numéros = Arrays.copyOf(numéros, 2 * nbLignes);
+                    xs = Arrays.copyOf(xs, 2 * nbLignes);
+                    ys = Arrays.copyOf(ys, 2 * nbLignes);
+                    quantités = Arrays.copyOf(quantités, 2 * nbLignes);
+                }
+                numéros[nbLignes] = Integer.parseInt(infosSommetCourant[0]);
+                xs[nbLignes] = Integer.parseInt(infosSommetCourant[1]);
+                ys[nbLignes] = Integer.parseInt(infosSommetCourant[2]);
+                quantités[nbLignes] = Integer.parseInt(infosSommetCourant[3]);
+                // la première ligne est l'entrepôt ; les clients doivent avoir un numéro strictement positif
+                if(nbLignes > 0 && numéros[nbLignes] <= 0)
+                {
+                    throw new ClientLoadException("Numéro de client invalide : " + informations);
+                }
+                numéroMax = Math.max(numéroMax, numéros[nbLignes]);
+                nbLignes++;
+            }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            throw new FileLoadException("Erreur lors du chargement du fichier " + filename);
+        }
+        if(nbLignes == 0)
+        {
+            throw new FileLoadException("Le fichier " + filename + " ne contient pas d'entrepôt");
+        }
+
+        int[] x = new int[numéroMax + 1];
+        int[] y = new int[numéroMax + 1];
+        int[] demande = new int[numéroMax + 1];
+        x[0] = xs[0];
+        y[0] = ys[0];
+        for(int l = 1; l < nbLignes; l++)
+        {
+            x[numéros[l]] = xs[l];
+            y[numéros[l]] = ys[l];
+            demande[numéros[l]] = quantités[l];
+        }
+        return new InstanceCompacte(filename, x, y, demande);
+    }
+
     /**
      * Importe les clients à partir d'un fichier donné
      */
@@ -6,12 +6,13 @@ import java.util.Objects;
 
 /**
  * Classe représentant un client tel que défini par les fichiers .txt fournis.
+ * Un client est immuable, et partagé par référence entre les copies des itinéraires et des solutions.
  */
 public class Client extends Sommet
 {
 
-    private int numeroClient;
-    private int quantite;
+    private final int numeroClient;
+    private final int quantite;
 
     /**
      * Constructeur 4-params d'un client.
@@ -45,6 +46,16 @@ public class Client extends Sommet
         return numeroClient;
     }
 
+    /**
+     * Récupère l'indice dense du client : il correspond à son numéro, l'indice 0 étant réservé à l'entrepôt.
+     * @return l'indice du client.
+     */
+    @Override
+    public int getIndice()
+    {
+        return numeroClient;
+    }
+
     /**
      * Récupère la quantité à livrer.
      * @return la quantité à livrer.
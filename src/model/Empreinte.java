@@ -0,0 +1,55 @@
+package model;
+
+/**
+ * Empreinte des solutions, à la manière du hachage de Zobrist : chaque arête (non orientée) entre deux sommets a une
+ * clé pseudo-aléatoire sur 64 bits, et l'empreinte d'un itinéraire est le ou exclusif des clés de ses arêtes, celle
+ * d'une solution le ou exclusif des empreintes de ses itinéraires. Chaque client a aussi sa clé, combinée à celle de son
+ * itinéraire : sans elle, les deux arêtes d'un itinéraire d'un seul client, aller et retour à l'entrepôt, s'annuleraient,
+ * et tous les itinéraires d'un seul client auraient la même empreinte.
+ *
+ * Le ou exclusif étant sa propre réciproque, une transformation met à jour l'empreinte en O(1) : il suffit d'y
+ * combiner les clés des arêtes retirées et des arêtes ajoutées. Deux solutions ayant les mêmes arêtes ont la même
+ * empreinte, quel que soit l'ordre et le sens de parcours de leurs itinéraires ; deux solutions différentes ont la
+ * même empreinte avec une probabilité de l'ordre de 2^-64.
+ * @see Itinéraire#getEmpreinte()
+ * @see Solution#getEmpreinte()
+ */
+public final class Empreinte
+{
+    private Empreinte()
+    {
+    }
+
+    /**
+     * Calcule la clé d'une arête, sans table : les indices des deux sommets sont mélangés par la fonction de
+     * finalisation de SplitMix64.
+     * @param i l'indice du premier sommet.
+     * @param j l'indice du second sommet.
+     * @return la clé de l'arête (i, j), égale à celle de l'arête (j, i).
+     */
+    public static long arête(int i, int j)
+    {
+        return Empreinte.mélanger((i < j ? ((long) i << 32) | j : ((long) j << 32) | i) + 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Calcule la clé d'un sommet, indépendante de celles des arêtes : l'indice du sommet est décalé d'une autre
+     * constante avant d'être mélangé.
+     * @param i l'indice du sommet.
+     * @return la clé du sommet.
+     */
+    public static long sommet(int i)
+    {
+        return Empreinte.mélanger(i + 0xD1B54A32D192ED03L);
+    }
+
+    /**
+     * La fonction de finalisation de SplitMix64.
+     */
+    private static long mélanger(long clé)
+    {
+        clé = (clé ^ (clé >>> 30)) * 0xBF58476D1CE4E5B9L;
+        clé = (clé ^ (clé >>> 27)) * 0x94D049BB133111EBL;
+        return clé ^ (clé >>> 31);
+    }
+}
@@ -1,5 +1,10 @@
 package model;
 
+import model.distances.MatriceDesDistances;
+import model.distances.MatriceDesDistancesEntières;
+import model.distances.OracleDeDistances;
+import model.distances.SourceDeDistances;
+
 import java.util.ArrayList;
 
 /**
@@ -8,13 +13,32 @@ import java.util.ArrayList;
  * - Une liste de clients
  * - Un nom de fichier
  * - Le nombre de clients récupérés
+ * - Les distances entre ses sommets, calculées une seule fois
+ * - Sa représentation compacte en tableaux, utilisée par les algorithmes
  */
 public class Fichier
 {
+    /**
+     * Le budget mémoire par défaut des distances (256 Mo), soit une matrice dense d'environ 5 800 sommets.
+     * Au-delà, les distances sont calculées à la demande par un oracle qui ne garde qu'une partie des lignes.
+     */
+    public static final long BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT = 256L * 1024 * 1024;
+
     private ArrayList<Client> clients;
     private String nomFichier;
     private int nbClientsRécupérés;
     private Entrepôt départ;
+    private SourceDeDistances distances;
+
+    /**
+     * Le budget mémoire des distances, aussi appliqué aux coûts entiers.
+     */
+    private long budgetMémoireDistances;
+
+    /**
+     * L'instance en tableaux parallèles (entrepôt à l'indice 0, clients aux indices 1 à n).
+     */
+    private InstanceCompacte instance;
 
     /**
      * Constructeur 2-params pour un fichier.
@@ -23,6 +47,20 @@ public class Fichier
      * @param _départ l'entrepôt de départ.
      */
     public Fichier(ArrayList<Client> _clients, String _nom, Entrepôt _départ) throws IllegalArgumentException
+    {
+        this(_clients, _nom, _départ, BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT);
+    }
+
+    /**
+     * Constructeur d'un fichier avec un budget mémoire pour les distances entre sommets.
+     * Si la matrice dense des distances tient dans le budget, elle est calculée en entier ; sinon, un oracle
+     * calcule les lignes de distances à la demande et n'en garde en cache que ce que permet le budget.
+     * @param _clients les clients chargés.
+     * @param _nom le nom du fichier concerné.
+     * @param _départ l'entrepôt de départ.
+     * @param budgetMémoireDistances le nombre maximal d'octets occupés par les distances.
+     */
+    public Fichier(ArrayList<Client> _clients, String _nom, Entrepôt _départ, long budgetMémoireDistances) throws IllegalArgumentException
     {
         this.clients = _clients;
         this.nomFichier = _nom;
@@ -30,6 +68,9 @@ public class Fichier
         if(_clients != null)
         {
             this.nbClientsRécupérés = this.clients.size();
+            this.instance = new InstanceCompacte(_nom, _départ, _clients);
+            this.budgetMémoireDistances = budgetMémoireDistances;
+            this.distances = Fichier.sourceDeDistances(this.instance, budgetMémoireDistances);
         }
         else
         {
@@ -37,15 +78,63 @@ public class Fichier
         }
     }
 
+    /**
+     * Constructeur d'un fichier à partir de sa représentation compacte. Les objets Client ne sont créés qu'au premier
+     * appel de getClients() : un très gros fichier peut ainsi être traité entièrement en tableaux.
+     * @param _instance l'instance compacte.
+     * @param budgetMémoireDistances le nombre maximal d'octets occupés par les distances.
+     */
+    public Fichier(InstanceCompacte _instance, long budgetMémoireDistances)
+    {
+        this.instance = _instance;
+        this.nomFichier = _instance.getNom();
+        this.départ = _instance.créerEntrepôt();
+        this.nbClientsRécupérés = _instance.getNbClients();
+        this.budgetMémoireDistances = budgetMémoireDistances;
+        this.distances = Fichier.sourceDeDistances(this.instance, budgetMémoireDistances);
+    }
+
+    /**
+     * Choisit la source de distances d'une instance selon le budget mémoire : si la matrice dense tient dans le budget
+     * (et dans un tableau Java), elle est calculée en entier ; sinon, un oracle calcule les lignes de distances à la
+     * demande. Le budget de l'oracle est partagé entre les caches de lignes des threads qui peuvent l'utiliser en
+     * même temps, un par processeur.
+     * @param instance l'instance.
+     * @param budgetMémoireDistances le nombre maximal d'octets occupés par les distances.
+     * @return la source de distances.
+     */
+    private static SourceDeDistances sourceDeDistances(InstanceCompacte instance, long budgetMémoireDistances)
+    {
+        int nbSommets = instance.getNbSommets();
+        if(MatriceDesDistances.estPossible(nbSommets) && nbSommets * OracleDeDistances.tailleDUneLigne(nbSommets) <= budgetMémoireDistances)
+        {
+            return new MatriceDesDistances(instance);
+        }
+        return new OracleDeDistances(instance, budgetMémoireDistances / Runtime.getRuntime().availableProcessors());
+    }
+
     /**
      *
      * @return la liste des cients chargés pour un fichier donné.
      */
     public ArrayList<Client> getClients()
     {
+        if(this.clients == null && this.instance != null)
+        {
+            this.clients = this.instance.créerClients();
+        }
         return clients;
     }
 
+    /**
+     *
+     * @return La représentation compacte du fichier, en tableaux parallèles.
+     */
+    public InstanceCompacte getInstance()
+    {
+        return this.instance;
+    }
+
     /**
      *
      * @return Le nom d'un fichier.
@@ -73,6 +162,46 @@ public class Fichier
         return this.départ;
     }
 
+    /**
+     *
+     * @return Les distances entre les sommets du fichier (entrepôt à l'indice 0).
+     */
+    public SourceDeDistances getDistances()
+    {
+        return this.distances;
+    }
+
+    /**
+     * Remplace les distances euclidiennes du fichier par une autre source de coûts (distances routières,
+     * temps de trajet...). Seuls les itinéraires construits après l'appel utilisent la nouvelle source.
+     * @param _distances la nouvelle source, qui doit couvrir l'entrepôt et tous les clients du fichier.
+     * @throws IllegalArgumentException si la source ne couvre pas tous les sommets du fichier.
+     */
+    public void setDistances(SourceDeDistances _distances) throws IllegalArgumentException
+    {
+        if(_distances.getNbSommets() < this.distances.getNbSommets())
+        {
+            throw new IllegalArgumentException("La source de distances couvre " + _distances.getNbSommets() +
+                    " sommets, le fichier " + this.nomFichier + " en a " + this.distances.getNbSommets());
+        }
+        this.distances = _distances;
+    }
+
+    /**
+     * Passe le fichier en mode coûts entiers : ses distances sont multipliées par un facteur d'échelle puis arrondies
+     * à l'entier le plus proche (convention CVRPLIB avec un facteur de 1). Seuls les itinéraires construits après
+     * l'appel utilisent les coûts entiers. Les coûts ne sont rangés dans une matrice dense que si elle tient dans le
+     * budget mémoire du fichier.
+     * @param facteur le facteur d'échelle (1 pour arrondir à l'unité, 10 pour garder une décimale...).
+     * @throws IllegalArgumentException si le facteur n'est pas strictement positif, ou si la matrice des coûts est
+     * dense et que l'un des coûts mis à l'échelle ne tient pas dans un int.
+     * @see MatriceDesDistancesEntières
+     */
+    public void utiliserDistancesEntières(int facteur) throws IllegalArgumentException
+    {
+        this.setDistances(new MatriceDesDistancesEntières(this.distances, facteur, this.budgetMémoireDistances));
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,200 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index des clients d'une solution : pour chaque client (par son indice dans les sources de distances), le numéro de
+ * l'itinéraire qui le livre et sa position dans cet itinéraire.
+ *
+ * L'index est tenu à jour par itinéraire, grâce au nombre de modifications de leurs séquences de clients : seuls les
+ * itinéraires modifiés depuis leur indexation sont réindexés, et seulement lorsqu'un client qu'ils livraient est
+ * recherché. Un client d'un itinéraire non modifié est localisé en O(1), sans comparer ni parcourir les itinéraires.
+ *
+ * Comme les séquences de clients, l'index d'une copie de solution partage ses tableaux avec celui de l'original, et
+ * chacun ne les recopie qu'à sa première réindexation (copie à l'écriture) : copier une solution ne coûte que le
+ * nombre de ses itinéraires.
+ * @see Solution#getItinéraireDuClient(int)
+ */
+final class IndexDesClients
+{
+    /**
+     * itinéraires[c] est le numéro de l'itinéraire du client d'indice c lors de son indexation, -1 si aucun.
+     */
+    private int[] itinéraires;
+
+    /**
+     * positions[c] est la position du client d'indice c dans son itinéraire lors de son indexation.
+     */
+    private int[] positions;
+
+    /**
+     * Les séquences de clients des itinéraires lors de leur indexation, et leur nombre de modifications.
+     */
+    private SéquenceDeClients[] séquencesIndexées;
+
+    private int[] nbModificationsIndexées;
+
+    /**
+     * Indique si les tableaux itinéraires et positions sont (peut-être) partagés avec un autre index : ils doivent
+     * alors être recopiés avant toute réindexation.
+     */
+    private boolean partagé;
+
+    /**
+     * Construit un index vide, qui sera construit à la première recherche.
+     */
+    IndexDesClients()
+    {
+        this.itinéraires = new int[0];
+        this.positions = new int[0];
+        this.séquencesIndexées = new SéquenceDeClients[0];
+        this.nbModificationsIndexées = new int[0];
+    }
+
+    /**
+     * Construit l'index d'une copie de solution à partir de celui de l'original : les itinéraires copiés ont les
+     * mêmes clients aux mêmes positions, seuls ceux qui étaient à jour dans l'original le sont dans la copie. Les
+     * tableaux des clients sont partagés, et recopiés à la première réindexation de l'un ou l'autre des index.
+     * @param index l'index de l'original.
+     * @param originaux les itinéraires de l'original.
+     * @param copies les itinéraires de la copie, dans le même ordre.
+     */
+    IndexDesClients(IndexDesClients index, List<Itinéraire> originaux, List<Itinéraire> copies)
+    {
+        this.itinéraires = index.itinéraires;
+        this.positions = index.positions;
+        this.partagé = true;
+        index.partagé = true;
+        int nbItinéraires = index.séquencesIndexées.length;
+        this.séquencesIndexées = new SéquenceDeClients[nbItinéraires];
+        this.nbModificationsIndexées = new int[nbItinéraires];
+        if(nbItinéraires != originaux.size())
+        {
+            // l'index de l'original n'est plus valable : il sera reconstruit
+            this.séquencesIndexées = new SéquenceDeClients[0];
+            this.nbModificationsIndexées = new int[0];
+            return;
+        }
+        for(int r = 0; r < nbItinéraires; r++)
+        {
+            if(index.estÀJour(r, originaux.get(r).getListeClientsÀLivrer()))
+            {
+                SéquenceDeClients copie = copies.get(r).getListeClientsÀLivrer();
+                this.séquencesIndexées[r] = copie;
+                this.nbModificationsIndexées[r] = copie.getNbModifications();
+            }
+        }
+    }
+
+    /**
+     * Localise un client parmi les itinéraires, en réindexant si besoin les itinéraires modifiés depuis leur indexation.
+     * @param itinéraires les itinéraires de la solution.
+     * @param indice l'indice du client.
+     * @return le numéro de l'itinéraire du client, -1 si aucun itinéraire ne le livre ; sa position se lit ensuite
+     * avec {@link #getPosition(int)}.
+     */
+    int localiser(List<Itinéraire> itinéraires, int indice)
+    {
+        if(this.estLocalisé(itinéraires, indice))
+        {
+            return this.itinéraires[indice];
+        }
+        this.mettreÀJour(itinéraires);
+        return this.estLocalisé(itinéraires, indice) ? this.itinéraires[indice] : -1;
+    }
+
+    /**
+     * @param indice l'indice d'un client localisé par {@link #localiser(List, int)}.
+     * @return la position du client dans son itinéraire.
+     */
+    int getPosition(int indice)
+    {
+        return this.positions[indice];
+    }
+
+    /**
+     * Indique si l'entrée d'un client est valable : son itinéraire n'a pas été modifié depuis son indexation, et le
+     * client est toujours à la position indexée.
+     */
+    private boolean estLocalisé(List<Itinéraire> itinéraires, int indice)
+    {
+        if(indice < 0 || indice >= this.itinéraires.length || this.séquencesIndexées.length != itinéraires.size())
+        {
+            return false;
+        }
+        int r = this.itinéraires[indice];
+        if(r < 0)
+        {
+            return false;
+        }
+        SéquenceDeClients séquence = itinéraires.get(r).getListeClientsÀLivrer();
+        int p = this.positions[indice];
+        return this.estÀJour(r, séquence) && p < séquence.size() && séquence.getIndices()[p] == indice;
+    }
+
+    private boolean estÀJour(int r, SéquenceDeClients séquence)
+    {
+        return this.séquencesIndexées[r] == séquence && this.nbModificationsIndexées[r] == séquence.getNbModifications();
+    }
+
+    /**
+     * Réindexe les itinéraires modifiés depuis leur indexation, ou tous les itinéraires si leur nombre a changé.
+     */
+    private void mettreÀJour(List<Itinéraire> itinéraires)
+    {
+        int nbItinéraires = itinéraires.size();
+        if(this.séquencesIndexées.length != nbItinéraires)
+        {
+            this.avantModification();
+            Arrays.fill(this.itinéraires, -1);
+            this.séquencesIndexées = new SéquenceDeClients[nbItinéraires];
+            this.nbModificationsIndexées = new int[nbItinéraires];
+        }
+        for(int r = 0; r < nbItinéraires; r++)
+        {
+            SéquenceDeClients séquence = itinéraires.get(r).getListeClientsÀLivrer();
+            if(this.estÀJour(r, séquence))
+            {
+                continue;
+            }
+            this.avantModification();
+            int[] indices = séquence.getIndices();
+            for(int p = 0; p < séquence.size(); p++)
+            {
+                if(indices[p] >= this.itinéraires.length)
+                {
+                    this.agrandir(indices[p] + 1);
+                }
+                this.itinéraires[indices[p]] = r;
+                this.positions[indices[p]] = p;
+            }
+            this.séquencesIndexées[r] = séquence;
+            this.nbModificationsIndexées[r] = séquence.getNbModifications();
+        }
+    }
+
+    private void agrandir(int nbIndices)
+    {
+        int ancienneTaille = this.itinéraires.length;
+        int taille = Math.max(nbIndices, 2 * ancienneTaille);
+        this.itinéraires = Arrays.copyOf(this.itinéraires, taille);
+        this.positions = Arrays.copyOf(this.positions, taille);
+        Arrays.fill(this.itinéraires, ancienneTaille, taille, -1);
+        this.partagé = false;
+    }
+
+    /**
+     * Recopie les tableaux des clients s'ils sont partagés avec un autre index, pour que la réindexation qui suit ne
+     * concerne que cet index.
+     */
+    private void avantModification()
+    {
+        if(this.partagé)
+        {
+            this.itinéraires = this.itinéraires.clone();
+            this.positions = this.positions.clone();
+            this.partagé = false;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Représentation compacte d'une instance, en tableaux parallèles (« structure de tableaux ») : le sommet d'indice i
+ * est en (x[i], y[i]) et demande[i] marchandises doivent lui être livrées. L'entrepôt est à l'indice 0, les clients
+ * aux indices 1 à n, qui sont aussi ceux des sources de distances.
+ *
+ * Une instance de 100 000 clients n'occupe ainsi que 1,2 Mo, sans objet par client ni indirection : les parcours
+ * des algorithmes restent contigus en mémoire. Les objets Client ne sont créés qu'à la demande.
+ * @see model.distances.SourceDeDistances
+ */
+public final class InstanceCompacte
+{
+    private final String nom;
+    private final int[] x;
+    private final int[] y;
+    private final int[] demande;
+
+    /**
+     * Construit une instance à partir de tableaux parallèles, qui sont conservés tels quels (sans copie).
+     * @param nom le nom de l'instance.
+     * @param x les abscisses des sommets, l'entrepôt à l'indice 0.
+     * @param y les ordonnées des sommets.
+     * @param demande les quantités de marchandises à livrer à chaque sommet (0 pour l'entrepôt).
+     * @throws IllegalArgumentException si les tableaux sont vides ou de tailles différentes.
+     */
+    public InstanceCompacte(String nom, int[] x, int[] y, int[] demande) throws IllegalArgumentException
+    {
+        if(x.length == 0 || x.length != y.length || x.length != demande.length)
+        {
+            throw new IllegalArgumentException("Les tableaux d'une instance doivent être non vides et de même taille : "
+                    + x.length + ", " + y.length + ", " + demande.length);
+        }
+        this.nom = nom;
+        this.x = x;
+        this.y = y;
+        this.demande = demande;
+    }
+
+    /**
+     * Construit l'instance compacte d'un entrepôt et d'une liste de clients. Chaque client est rangé à son indice
+     * (son numéro) ; les indices non utilisés restent en (0, 0) avec une demande nulle.
+     * @param nom le nom de l'instance.
+     * @param entrepôt l'entrepôt.
+     * @param clients les clients.
+     */
+    public InstanceCompacte(String nom, Entrepôt entrepôt, List<Client> clients)
+    {
+        int indiceMax = entrepôt.getIndice();
+        for(Client c : clients)
+        {
+            indiceMax = Math.max(indiceMax, c.getIndice());
+        }
+        this.nom = nom;
+        this.x = new int[indiceMax + 1];
+        this.y = new int[indiceMax + 1];
+        this.demande = new int[indiceMax + 1];
+        this.x[entrepôt.getIndice()] = entrepôt.getPositionX();
+        this.y[entrepôt.getIndice()] = entrepôt.getPositionY();
+        for(Client c : clients)
+        {
+            this.x[c.getIndice()] = c.getPositionX();
+            this.y[c.getIndice()] = c.getPositionY();
+            this.demande[c.getIndice()] = c.getNbMarchandisesÀLivrer();
+        }
+    }
+
+    /**
+     * Crée les objets Client de l'instance, pour les algorithmes qui travaillent sur des listes de clients.
+     * @return les clients, par indice croissant.
+     */
+    public ArrayList<Client> créerClients()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>(this.getNbClients());
+        for(int i = 1; i < this.x.length; i++)
+        {
+            clients.add(new Client(i, this.x[i], this.y[i], this.demande[i]));
+        }
+        return clients;
+    }
+
+    /**
+     * @return l'entrepôt de l'instance.
+     */
+    public Entrepôt créerEntrepôt()
+    {
+        return new Entrepôt(this.x[0], this.y[0]);
+    }
+
+    /**
+     * @return le nom de l'instance.
+     */
+    public String getNom()
+    {
+        return this.nom;
+    }
+
+    /**
+     * @return le nombre de sommets, entrepôt compris.
+     */
+    public int getNbSommets()
+    {
+        return this.x.length;
+    }
+
+    /**
+     * @return le nombre de clients.
+     */
+    public int getNbClients()
+    {
+        return this.x.length - 1;
+    }
+
+    /**
+     * @param i l'indice du sommet.
+     * @return l'abscisse du sommet.
+     */
+    public int getX(int i)
+    {
+        return this.x[i];
+    }
+
+    /**
+     * @param i l'indice du sommet.
+     * @return l'ordonnée du sommet.
+     */
+    public int getY(int i)
+    {
+        return this.y[i];
+    }
+
+    /**
+     * @param i l'indice du sommet.
+     * @return la quantité de marchandises à livrer au sommet.
+     */
+    public int getDemande(int i)
+    {
+        return this.demande[i];
+    }
+
+    /**
+     * Récupère les abscisses de tous les sommets. Le tableau est partagé : il ne doit pas être modifié.
+     * @return les abscisses, par indice.
+     */
+    public int[] getAbscisses()
+    {
+        return this.x;
+    }
+
+    /**
+     * Récupère les ordonnées de tous les sommets. Le tableau est partagé : il ne doit pas être modifié.
+     * @return les ordonnées, par indice.
+     */
+    public int[] getOrdonnées()
+    {
+        return this.y;
+    }
+
+    /**
+     * Récupère les demandes de tous les sommets. Le tableau est partagé : il ne doit pas être modifié.
+     * @return les demandes, par indice.
+     */
+    public int[] getDemandes()
+    {
+        return this.demande;
+    }
+}
@@ -3,6 +3,7 @@ package model;
 import customexceptions.EntrepôtNotFoundException;
 import customexceptions.ListOfClientsIsEmptyException;
 import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.distances.SourceDeDistances;
 import model.graph.Sommet;
 
 import java.util.*;
@@ -12,13 +13,19 @@ import static utilitaires.Utilitaire.distanceEuclidienne;
 
 /**
  * Un Itinéraire représente une liste de clients à fournir + le lieu de départ et le lieu d'arrivée, et donc un parcours.
+ *
+ * La longueur totale et le nombre de marchandises à livrer sont conservés, avec le nombre de modifications de la
+ * séquence des clients pour lequel ils ont été calculés : leur lecture est en O(1) tant que la séquence n'a pas
+ * changé, et ils ne sont recalculés qu'à la première lecture qui suit une modification faite directement sur la
+ * séquence. Les ajouts et retraits de clients par l'itinéraire, ainsi que les mouvements, les tiennent à jour en O(1).
+ * Il en va de même pour l'empreinte de l'itinéraire.
  */
 public class Itinéraire
 {
     /**
-     * La liste chaînée des clients
+     * La séquence des clients, rangée dans des tableaux
      */
-    private LinkedList<Client> listeClientsÀLivrer;
+    private SéquenceDeClients listeClientsÀLivrer;
 
     /**
      * L'entrepôt est à la fois le départ et l'arrivée de l'itinéraire.
@@ -35,29 +42,54 @@ public class Itinéraire
      */
     private int nbMarchandisesALivrer;
 
+    /**
+     * Le nombre de modifications de la séquence des clients pour lequel la longueur totale et le nombre de
+     * marchandises ont été calculés.
+     */
+    private int nbModificationsCalculées = -1;
+
+    /**
+     * L'empreinte de l'itinéraire, et le nombre de modifications de la séquence des clients pour lequel elle a été
+     * calculée.
+     * @see Empreinte
+     */
+    private long empreinte;
+
+    private int nbModificationsEmpreinte = -1;
+
     /**
      * Le véhicule utilisé pour l'itinéraire courant.
      */
     private Véhicule véhicule;
 
+    /**
+     * La source des distances entre les sommets, partagée avec le fichier d'origine.
+     * Si elle est nulle (itinéraire construit hors d'un fichier), les distances sont calculées à la volée.
+     */
+    private SourceDeDistances distances;
+
 
     /**
-     * Constructeur permettant de cloner un itinéraire.
+     * Constructeur permettant de cloner un itinéraire, en O(1). Les clients et l'entrepôt, immuables, sont partagés
+     * avec l'itinéraire cloné ; la séquence des clients partage ses tableaux avec celle de l'itinéraire cloné jusqu'à la
+     * première modification de l'un des deux.
      * @param itinéraire l'itinéraire à cloner.
      */
     public Itinéraire(Itinéraire itinéraire) {
-        this.listeClientsÀLivrer = new LinkedList<Client>();
-        this.entrepôt = new Entrepôt(itinéraire.getEntrepôt().getPositionX(), itinéraire.getEntrepôt().getPositionY());
-        for (Client c : itinéraire.getListeClientsÀLivrer()) {
-            this.listeClientsÀLivrer.add(new Client(c.getNumeroClient(), c.getPositionX(), c.getPositionY(), c.getNbMarchandisesÀLivrer()));
+        this.distances = itinéraire.distances;
+        this.listeClientsÀLivrer = new SéquenceDeClients(itinéraire.getListeClientsÀLivrer());
+        this.entrepôt = itinéraire.entrepôt;
+        // la longueur et le nombre de marchandises sont repris de l'itinéraire cloné, sans recalcul
+        this.longueurTotale = itinéraire.getLongueurTotale();
+        this.nbMarchandisesALivrer = itinéraire.getNbMarchandisesALivrer();
+        this.nbModificationsCalculées = this.listeClientsÀLivrer.getNbModifications();
+        // l'empreinte n'est reprise que si elle est à jour, pour que la copie reste en O(1)
+        if(itinéraire.nbModificationsEmpreinte == itinéraire.listeClientsÀLivrer.getNbModifications())
+        {
+            this.empreinte = itinéraire.empreinte;
+            this.nbModificationsEmpreinte = this.listeClientsÀLivrer.getNbModifications();
         }
-        this.recalculerDistanceEtNbMarchandises();
         this.véhicule = new Véhicule(itinéraire.getVéhicule());
-        //this.longueurTotale = itinéraire.getLongueurTotale();
-        //this.nbMarchandisesALivrer = itinéraire.getNbMarchandisesALivrer();
-
-        //this.recalculerDistanceEtNbMarchandises();
-        //this.longueurTotale = itinéraire.longueurTotale;
     }
 
     /**
@@ -72,16 +104,44 @@ public class Itinéraire
     }
 
     /**
-     * Constructeur d'un itinéraire. Il prend en paramètre une liste chaînée de clients, qui correspond à l'ordre
+     * Constructeur d'un itinéraire avec véhicule personnalisé, dont les distances sont lues dans une source donnée.
+     * @param v le véhicule.
+     * @param e l'entrepôt.
+     * @param distances la source des distances entre les sommets.
+     */
+    public Itinéraire(Véhicule v, Entrepôt e, SourceDeDistances distances)
+    {
+        this(e, distances);
+        this.véhicule = v;
+    }
+
+    /**
+     * Constructeur d'un itinéraire. Il prend en paramètre une liste de clients, qui correspond à l'ordre
      * des clients à livrer. L'entrepôt doit également être spécifié. Il sera le point de départ et l'arrivée de l'itinéraire
-     * @param clients la liste chaînée des clients à livrer.
+     * @param clients la liste des clients à livrer.
      * @param e l'entrepôt, point de départ et point d'arrivée de notre itinéraire.
      * @throws ListOfClientsIsEmptyException dans le cas où la liste de clients est vide.
      * @throws VehiculeCapacityOutOfBoundsException dans le cas où le nombre de marchandises à livrer pour l'itinéraire
      * dépasse la capacité totale du véhicule.
      */
-    public Itinéraire(LinkedList<Client> clients, Entrepôt e, boolean hasVehicleInfiniteCapacity) throws ListOfClientsIsEmptyException, VehiculeCapacityOutOfBoundsException
+    public Itinéraire(List<Client> clients, Entrepôt e, boolean hasVehicleInfiniteCapacity) throws ListOfClientsIsEmptyException, VehiculeCapacityOutOfBoundsException
     {
+        this(clients, e, hasVehicleInfiniteCapacity, null);
+    }
+
+    /**
+     * Constructeur d'un itinéraire dont les distances sont lues dans une source donnée.
+     * @param clients la liste des clients à livrer, recopiée dans la séquence de l'itinéraire.
+     * @param e l'entrepôt, point de départ et point d'arrivée de notre itinéraire.
+     * @param hasVehicleInfiniteCapacity si le véhicule de l'itinéraire est à capacité infinie.
+     * @param distances la source des distances entre les sommets, null pour les calculer à la volée.
+     * @throws ListOfClientsIsEmptyException dans le cas où la liste de clients est vide.
+     * @throws VehiculeCapacityOutOfBoundsException dans le cas où le nombre de marchandises à livrer pour l'itinéraire
+     * dépasse la capacité totale du véhicule.
+     */
+    public Itinéraire(List<Client> clients, Entrepôt e, boolean hasVehicleInfiniteCapacity, SourceDeDistances distances) throws ListOfClientsIsEmptyException, VehiculeCapacityOutOfBoundsException
+    {
+        this.distances = distances;
         if(clients.isEmpty())
         {
             throw new ListOfClientsIsEmptyException("La collection de sommets est vide.");
@@ -96,31 +156,39 @@ public class Itinéraire
         {
             this.véhicule = new Véhicule();
         }
-        this.listeClientsÀLivrer = clients;
+        this.listeClientsÀLivrer = new SéquenceDeClients(clients);
         this.entrepôt = e;
 
-        int quantiteDeMarchandisesTotale  = listeClientsÀLivrer.stream().mapToInt(Client::getNbMarchandisesÀLivrer).sum();
+        //Calcul de la longueur totale et du nombre de marchandises.
+        this.recalculerDistanceEtNbMarchandises();
+
         if(!this.véhicule.isInfinite())
         {
-            if (quantiteDeMarchandisesTotale > véhicule.getCapacité()) {
-                throw new VehiculeCapacityOutOfBoundsException("La capacité du véhicule est dépassée. (" + quantiteDeMarchandisesTotale + ")");
+            if (this.nbMarchandisesALivrer > véhicule.getCapacité()) {
+                throw new VehiculeCapacityOutOfBoundsException("La capacité du véhicule est dépassée. (" + this.nbMarchandisesALivrer + ")");
             }
         }
-
-
-        //Calcul de la longueur totale et du nombre de marchandises.
-        this.recalculerDistanceEtNbMarchandises();
     }
 
     /**
-     * Constructeur d'un itinéraire. Initialise un Itinéraire possédant une liste chaînée de Clients vide.
+     * Constructeur d'un itinéraire. Initialise un Itinéraire possédant une séquence de Clients vide.
      * @param e l'entrepôt, point de départ et point d'arrivée de notre itinéraire.
      */
     public Itinéraire(Entrepôt e) {
+        this(e, null);
+    }
+
+    /**
+     * Constructeur d'un itinéraire vide dont les distances sont lues dans une source donnée.
+     * @param e l'entrepôt, point de départ et point d'arrivée de notre itinéraire.
+     * @param distances la source des distances entre les sommets, null pour les calculer à la volée.
+     */
+    public Itinéraire(Entrepôt e, SourceDeDistances distances) {
+        this.distances = distances;
         // on initialise le véhicule
         this.véhicule = new Véhicule();
         this.entrepôt = e;
-        this.listeClientsÀLivrer = new LinkedList<>();
+        this.listeClientsÀLivrer = new SéquenceDeClients();
 
         //Calcul de la longueur totale et du nombre de marchandises.
         this.recalculerDistanceEtNbMarchandises();
@@ -132,24 +200,60 @@ public class Itinéraire
      */
     public double getLongueurTotale()
     {
-        this.recalculerDistanceEtNbMarchandises();
+        this.mettreÀJour();
         return this.longueurTotale;
     }
 
+    /**
+     * Récupère la longueur totale de la tournée en coûts entiers. Si la source de distances est entière, c'est la
+     * somme exacte des coûts entiers des arêtes ; sinon, c'est la somme des distances de chaque arête arrondies.
+     * @return la longueur totale entière de la tournée.
+     * @see model.distances.MatriceDesDistancesEntières
+     */
+    public long getLongueurTotaleEntière()
+    {
+        int nbClients = this.listeClientsÀLivrer.size();
+        if(nbClients == 0)
+        {
+            return 0;
+        }
+        if(this.distances == null)
+        {
+            long longueur = this.distanceEntière(this.entrepôt, this.listeClientsÀLivrer.get(0));
+            for(int p = 1; p < nbClients; p++)
+            {
+                longueur += this.distanceEntière(this.listeClientsÀLivrer.get(p - 1), this.listeClientsÀLivrer.get(p));
+            }
+            return longueur + this.distanceEntière(this.listeClientsÀLivrer.get(nbClients - 1), this.entrepôt);
+        }
+        // parcours du tableau des indices, sans passer par les objets Client
+        int[] indices = this.listeClientsÀLivrer.getIndices();
+        int précédent = this.entrepôt.getIndice();
+        long longueur = 0;
+        for(int p = 0; p < nbClients; p++)
+        {
+            longueur += this.distances.distanceEntière(précédent, indices[p]);
+            précédent = indices[p];
+        }
+        return longueur + this.distances.distanceEntière(précédent, this.entrepôt.getIndice());
+    }
+
     /**
      *
      * @return le nombre total de marchandises de la tournée
      */
     public int getNbMarchandisesALivrer() {
+        this.mettreÀJour();
         return nbMarchandisesALivrer;
     }
 
     public void setNbMarchandisesALivrer(int nbMarchandisesALivrer) {
+        this.mettreÀJour();
         this.nbMarchandisesALivrer = nbMarchandisesALivrer;
     }
 
     /**
-     * Méthode permettant d'ajouter un client à un itinéraire. Elle permet également de recalculer la longueur totale de l'itinéraire
+     * Méthode permettant d'ajouter un client à un itinéraire. Elle permet également de tenir à jour la longueur totale de l'itinéraire
      * et le nombre total de marchandises à livrer.
      * @param c le client à ajouter.
      * @return true si la quantité de marchandises totale ne dépasse pas la capacité maximum d'un véhicule, false sinon
@@ -167,7 +271,8 @@ public class Itinéraire
 
     /**
      * Méthode permettant d'ajouter un client à un itinéraire et à un index donné.
-     * Elle permet également de recalculer la longueur totale de l'itinérair et le nombre total de marchandises à livrer.
+     * Elle permet également de tenir à jour, en O(1), la longueur totale de l'itinéraire et le nombre total de
+     * marchandises à livrer.
      * @param c le client à ajouter.
      * @param i l'index où nous voulons ajouter le client
      * @return true si la quantité de marchandises totale ne dépasse pas la capacité maximum d'un véhicule, false sinon
@@ -176,53 +281,183 @@ public class Itinéraire
     public boolean ajouterClientAUnIndex(Client c, int i) throws VehiculeCapacityOutOfBoundsException {
 
         // quantité de marchandises totale à livrer avant l'ajout du nouveau client
-        int quantiteDeMarchandisesTotale  = listeClientsÀLivrer.stream().mapToInt(Client::getNbMarchandisesÀLivrer).sum();
+        this.mettreÀJour();
+
+        // si on respecte les règles métiers (car véhicule n'est pas à capacité infinie), la quantité de marchandises
+        // totale à livrer en tenant également compte de celle du nouveau client doit être inférieure ou égale à la
+        // capacité totale d'un véhicule
+        if(!this.véhicule.isInfinite() && this.nbMarchandisesALivrer + c.getNbMarchandisesÀLivrer() > véhicule.getCapacité())
+        {
+            return false;
+        }
 
-        // si la quantité de marchandises totale à livrer en tenant également compte de celle du nouveau client
-        // est inférieure ou égale à la capacité totale d'un véhicule
+        // l'arête entre les sommets qui entourent l'index i est remplacée par deux arêtes passant par le client
+        double variation = this.distance(this.sommetÀLaPosition(i - 1), c) + this.distance(c, this.sommetÀLaPosition(i))
+                - this.distanceEntrePositions(i - 1, i);
+        long variationEmpreinte = Empreinte.arête(this.indiceÀLaPosition(i - 1), c.getIndice())
+                ^ Empreinte.arête(c.getIndice(), this.indiceÀLaPosition(i)) ^ this.empreinteEntrePositions(i - 1, i)
+                ^ Empreinte.sommet(c.getIndice());
+        int nbModificationsAvant = this.listeClientsÀLivrer.getNbModifications();
+        // on ajoute alors le client à la séquence à un index i
+        this.listeClientsÀLivrer.add(i, c);
+        this.reporterEmpreinte(nbModificationsAvant, variationEmpreinte);
+        this.reporterModification(nbModificationsAvant, variation, c.getNbMarchandisesÀLivrer());
+        return true;
+    }
 
-        // si on respecte les règles métiers (car véhicule n'est pas à capacité infinie)
-        if(!this.véhicule.isInfinite())
+    /**
+     * Méthode permettant de retirer un client à un itinéraire. Elle permet également de tenir à jour, en O(1), la
+     * longueur totale de l'itinéraire et le nombre total de marchandises à livrer.
+     * @param c le client à retirer.
+     */
+    public void retirerClient(Client c)
+    {
+        int position = this.listeClientsÀLivrer.indexOf(c);
+        if(position < 0)
+        {
+            return;
+        }
+        this.mettreÀJour();
+        // les deux arêtes passant par le client sont remplacées par l'arête entre ses voisins
+        double variation = this.distanceEntrePositions(position - 1, position + 1)
+                - this.distanceEntrePositions(position - 1, position) - this.distanceEntrePositions(position, position + 1);
+        long variationEmpreinte = this.empreinteEntrePositions(position - 1, position + 1)
+                ^ this.empreinteEntrePositions(position - 1, position) ^ this.empreinteEntrePositions(position, position + 1)
+                ^ Empreinte.sommet(this.indiceÀLaPosition(position));
+        int nbModificationsAvant = this.listeClientsÀLivrer.getNbModifications();
+        Client retiré = this.listeClientsÀLivrer.remove(position);
+        this.reporterEmpreinte(nbModificationsAvant, variationEmpreinte);
+        this.reporterModification(nbModificationsAvant, variation, -retiré.getNbMarchandisesÀLivrer());
+    }
+
+    /**
+     * Prend en compte un réordonnancement des clients (sans ajout ni retrait) fait directement sur la séquence, dont
+     * la variation de longueur est connue, par exemple par un mouvement. Si la longueur était à jour avant le
+     * réordonnancement, elle le reste, en O(1) ; sinon, elle sera recalculée à sa prochaine lecture.
+     * @param nbModificationsAvant le nombre de modifications de la séquence juste avant le réordonnancement.
+     * @param variation la variation de longueur due au réordonnancement.
+     * @see SéquenceDeClients#getNbModifications()
+     */
+    public void reporterRéordonnancement(int nbModificationsAvant, double variation)
+    {
+        this.reporterModification(nbModificationsAvant, variation, 0);
+    }
+
+    /**
+     * Prend en compte un réordonnancement des clients fait directement sur la séquence, dont la variation de longueur
+     * et la variation d'empreinte sont connues : la longueur et l'empreinte restent à jour en O(1).
+     * @param nbModificationsAvant le nombre de modifications de la séquence juste avant le réordonnancement.
+     * @param variation la variation de longueur due au réordonnancement.
+     * @param variationEmpreinte le ou exclusif des clés des arêtes retirées et ajoutées.
+     * @see Empreinte
+     */
+    public void reporterRéordonnancement(int nbModificationsAvant, double variation, long variationEmpreinte)
+    {
+        this.reporterEmpreinte(nbModificationsAvant, variationEmpreinte);
+        this.reporterModification(nbModificationsAvant, variation, 0);
+    }
+
+    /**
+     * Récupère l'empreinte de l'itinéraire : le ou exclusif des clés de ses arêtes, y compris celles qui le relient à
+     * l'entrepôt, et de ses clients. Elle est en O(1) tant que la séquence des clients n'a été modifiée que par l'itinéraire ou par des
+     * mouvements, et recalculée en O(nombre de clients) sinon.
+     * @return l'empreinte de l'itinéraire.
+     * @see Empreinte
+     */
+    public long getEmpreinte()
+    {
+        if(this.nbModificationsEmpreinte != this.listeClientsÀLivrer.getNbModifications())
         {
-            if (quantiteDeMarchandisesTotale + c.getNbMarchandisesÀLivrer() <= véhicule.getCapacité())
+            int nbClients = this.listeClientsÀLivrer.size();
+            long empreinte = 0;
+            // un itinéraire vide a pour seule arête l'aller-retour à l'entrepôt, ce qui garde l'ajout du premier client
+            // et le retrait du dernier en O(1)
+            for(int p = 0; p <= nbClients; p++)
             {
-                // on ajoute alors le client à la liste chaînée à un index i
-                this.listeClientsÀLivrer.add(i, c);
-                // on recalcul alors la longueur d'un itinéraire et le nombre de marchandises à livrer
-                this.recalculerDistanceEtNbMarchandises();
-                return true;
+                empreinte ^= this.empreinteEntrePositions(p - 1, p);
             }
-            // sinon...
-            else
+            for(int p = 0; p < nbClients; p++)
             {
-                return false;
+                empreinte ^= Empreinte.sommet(this.indiceÀLaPosition(p));
             }
+            this.empreinte = empreinte;
+            this.nbModificationsEmpreinte = this.listeClientsÀLivrer.getNbModifications();
         }
-        else
+        return this.empreinte;
+    }
+
+    /**
+     * Récupère la clé de l'arête entre les sommets situés à deux positions de l'itinéraire, en O(1).
+     * Les positions -1 et size() désignent l'entrepôt, au départ et à l'arrivée de l'itinéraire.
+     * @param départ la position du premier sommet.
+     * @param arrivée la position du second sommet.
+     * @return la clé de l'arête.
+     * @see Empreinte#arête(int, int)
+     */
+    public long empreinteEntrePositions(int départ, int arrivée)
+    {
+        return Empreinte.arête(this.indiceÀLaPosition(départ), this.indiceÀLaPosition(arrivée));
+    }
+
+    /**
+     * Reporte une modification de la séquence sur l'empreinte, si elle était à jour avant la modification.
+     * @param nbModificationsAvant le nombre de modifications de la séquence juste avant la modification.
+     * @param variationEmpreinte le ou exclusif des clés des arêtes retirées et ajoutées.
+     */
+    private void reporterEmpreinte(int nbModificationsAvant, long variationEmpreinte)
+    {
+        if(this.nbModificationsEmpreinte == nbModificationsAvant)
         {
-            // on ajoute alors le client à la liste chaînée à un index i
-            this.listeClientsÀLivrer.add(i, c);
-            // on recalcul alors la longueur d'un itinéraire et le nombre de marchandises à livrer
-            this.recalculerDistanceEtNbMarchandises();
-            return true;
+            this.empreinte ^= variationEmpreinte;
+            this.nbModificationsEmpreinte = this.listeClientsÀLivrer.getNbModifications();
         }
     }
 
     /**
-     * Méthode permettant de retirer un client à un itinéraire. Elle permet également de recalculer la longueur totale de l'itinéraire
-     * et le nombre total de marchandises à livrer.
-     * @param c le client à retirer.
+     * Reporte une modification de la séquence sur la longueur et le nombre de marchandises, s'ils étaient à jour avant
+     * la modification.
+     * @param nbModificationsAvant le nombre de modifications de la séquence juste avant la modification.
+     * @param variationLongueur la variation de longueur.
+     * @param variationMarchandises la variation du nombre de marchandises.
      */
-    public void retirerClient(Client c)
+    private void reporterModification(int nbModificationsAvant, double variationLongueur, int variationMarchandises)
     {
-        this.listeClientsÀLivrer.remove(c);
-        this.recalculerDistanceEtNbMarchandises();
+        if(this.nbModificationsCalculées == nbModificationsAvant)
+        {
+            this.longueurTotale += variationLongueur;
+            this.nbMarchandisesALivrer += variationMarchandises;
+            this.nbModificationsCalculées = this.listeClientsÀLivrer.getNbModifications();
+        }
+    }
+
+    /**
+     * Recalcule la longueur totale et le nombre de marchandises si la séquence a été modifiée depuis leur calcul.
+     */
+    private void mettreÀJour()
+    {
+        if(this.nbModificationsCalculées != this.listeClientsÀLivrer.getNbModifications())
+        {
+            this.recalculerDistanceEtNbMarchandises();
+        }
     }
 
     /**
      * Méthode permettant de calculer la longueur totale de l'itinéraire et le nombre total de marchandises à livrer.
      */
     private void recalculerDistanceEtNbMarchandises() {
+        this.nbModificationsCalculées = this.listeClientsÀLivrer.getNbModifications();
+
+        // en mode coûts entiers, la longueur est une somme d'entiers, exacte quel que soit l'ordre des additions.
+        if(this.distances != null && this.distances.estEntière())
+        {
+            this.longueurTotale = this.getLongueurTotaleEntière();
+            this.nbMarchandisesALivrer = 0;
+            for(Client c : this.listeClientsÀLivrer)
+            {
+                this.nbMarchandisesALivrer += c.getNbMarchandisesÀLivrer();
+            }
+            return;
+        }
 
         // si la liste contient un seul élément
         if(listeClientsÀLivrer.size() == 0) {
@@ -233,39 +468,123 @@ public class Itinéraire
         else if(listeClientsÀLivrer.size() == 1)
         {
             // distance entre l'entrepôt et le client, puis entre le client et l'entrepôt.
-            this.longueurTotale = distanceEuclidienne(
-                    this.entrepôt.getPositionX(),
-                    this.entrepôt.getPositionY(),
-                    this.listeClientsÀLivrer.get(0).getPositionX(),
-                    this.listeClientsÀLivrer.get(0).getPositionY()) * 2;
+            Client client = this.listeClientsÀLivrer.get(0);
+            this.longueurTotale = this.distance(this.entrepôt, client) + this.distance(client, this.entrepôt);
 
-            this.nbMarchandisesALivrer = this.listeClientsÀLivrer.get(0).getNbMarchandisesÀLivrer();
+            this.nbMarchandisesALivrer = client.getNbMarchandisesÀLivrer();
+        }
+        // sinon, si les distances sont dans une source, on parcourt le tableau des indices
+        else if(this.distances != null)
+        {
+            int[] indices = this.listeClientsÀLivrer.getIndices();
+            int nbClients = this.listeClientsÀLivrer.size();
+            int précédent = this.entrepôt.getIndice();
+            double longueur = 0;
+            int nbMarchandises = 0;
+            for(int p = 0; p < nbClients; p++)
+            {
+                longueur += this.distances.distance(précédent, indices[p]);
+                nbMarchandises += this.listeClientsÀLivrer.get(p).getNbMarchandisesÀLivrer();
+                précédent = indices[p];
+            }
+            this.longueurTotale = longueur + this.distances.distance(précédent, this.entrepôt.getIndice());
+            this.nbMarchandisesALivrer = nbMarchandises;
         }
         // sinon...
         else
         {
-            // calcul de la distance entre le premier client et l'entrepôt
-            this.longueurTotale = distanceEuclidienne(
-                    this.entrepôt.getPositionX(),
-                    this.entrepôt.getPositionY(),
-                    this.listeClientsÀLivrer.get(0).getPositionX(),
-                    this.listeClientsÀLivrer.get(0).getPositionY());
+            Client précédent = this.listeClientsÀLivrer.get(0);
+
+            // calcul de la distance entre l'entrepôt et le premier client
+            double longueur = this.distance(this.entrepôt, précédent);
+            int nbMarchandises = précédent.getNbMarchandisesÀLivrer();
 
             //calcul de la distance entre chaque clients de la liste
-            for (int i = 0; i < listeClientsÀLivrer.size() - 1; i++) {
-                longueurTotale += distanceEuclidienne(listeClientsÀLivrer.get(i).getPositionX(), listeClientsÀLivrer.get(i).getPositionY(), listeClientsÀLivrer.get(i+1).getPositionX(), listeClientsÀLivrer.get(i+1).getPositionY());
+            for(int p = 1; p < this.listeClientsÀLivrer.size(); p++)
+            {
+                Client courant = this.listeClientsÀLivrer.get(p);
+                longueur += this.distance(précédent, courant);
+                nbMarchandises += courant.getNbMarchandisesÀLivrer();
+                précédent = courant;
             }
 
             // calcul de la distance entre le dernier client et l'entrepôt.
-            this.longueurTotale += distanceEuclidienne(
-                    this.listeClientsÀLivrer.get(this.listeClientsÀLivrer.size() - 1).getPositionX(),
-                    this.listeClientsÀLivrer.get(this.listeClientsÀLivrer.size() - 1).getPositionY(),
-                    this.entrepôt.getPositionX(),
-                    this.entrepôt.getPositionY());
+            this.longueurTotale = longueur + this.distance(précédent, this.entrepôt);
+            this.nbMarchandisesALivrer = nbMarchandises;
+        }
+
+    }
 
-            this.nbMarchandisesALivrer = listeClientsÀLivrer.stream().mapToInt(Client::getNbMarchandisesÀLivrer).sum();
+    /**
+     * Récupère la distance entre deux sommets, dans la source de distances de l'itinéraire si elle existe.
+     * @param départ le sommet de départ.
+     * @param arrivée le sommet d'arrivée.
+     * @return la distance entre les deux sommets.
+     */
+    private double distance(Sommet départ, Sommet arrivée)
+    {
+        if(this.distances != null)
+        {
+            return this.distances.distance(départ, arrivée);
         }
+        return distanceEuclidienne(départ.getPositionX(), départ.getPositionY(), arrivée.getPositionX(), arrivée.getPositionY());
+    }
 
+    /**
+     * Récupère la distance entre les sommets situés à deux positions de l'itinéraire, en O(1).
+     * Les positions -1 et size() désignent l'entrepôt, au départ et à l'arrivée de l'itinéraire.
+     * @param départ la position du sommet de départ.
+     * @param arrivée la position du sommet d'arrivée.
+     * @return la distance entre les deux sommets.
+     */
+    public double distanceEntrePositions(int départ, int arrivée)
+    {
+        if(this.distances != null)
+        {
+            return this.distances.distance(this.indiceÀLaPosition(départ), this.indiceÀLaPosition(arrivée));
+        }
+        return this.distance(this.sommetÀLaPosition(départ), this.sommetÀLaPosition(arrivée));
+    }
+
+    /**
+     * @return true si la distance d'un sommet à un autre est toujours égale à la distance du retour.
+     */
+    public boolean aDesDistancesSymétriques()
+    {
+        return this.distances == null || this.distances.estSymétrique();
+    }
+
+    private int indiceÀLaPosition(int position)
+    {
+        if(position < 0 || position >= this.listeClientsÀLivrer.size())
+        {
+            return this.entrepôt.getIndice();
+        }
+        return this.listeClientsÀLivrer.getIndices()[position];
+    }
+
+    private Sommet sommetÀLaPosition(int position)
+    {
+        if(position < 0 || position >= this.listeClientsÀLivrer.size())
+        {
+            return this.entrepôt;
+        }
+        return this.listeClientsÀLivrer.get(position);
+    }
+
+    /**
+     * Récupère la distance entière entre deux sommets.
+     * @param départ le sommet de départ.
+     * @param arrivée le sommet d'arrivée.
+     * @return la distance arrondie entre les deux sommets.
+     */
+    private long distanceEntière(Sommet départ, Sommet arrivée)
+    {
+        if(this.distances != null)
+        {
+            return this.distances.distanceEntière(départ.getIndice(), arrivée.getIndice());
+        }
+        return Math.round(this.distance(départ, arrivée));
     }
 
     /**
@@ -280,36 +599,36 @@ public class Itinéraire
     /**
      * Récupère la liste des clients à livrer. Attention, l'ajout sur cette liste ne fera aucune vérification métier.
      * Passer par la méthode "ajouterClient" plutôt. Sinon, les règles métier peuvent potentiellement être violées !
-     * @return la liste chaînée des clients à livrer.
+     * @return la séquence des clients à livrer.
      */
-    public LinkedList<Client> getListeClientsÀLivrer()
+    public SéquenceDeClients getListeClientsÀLivrer()
     {
         return this.listeClientsÀLivrer;
     }
 
 
+    /**
+     * Deux itinéraires sont égaux s'ils livrent les mêmes clients dans le même ordre. La longueur, tenue à jour par
+     * variations et donc sujette aux erreurs d'arrondi, n'est pas comparée : elle se déduit des clients.
+     */
     @Override
     public boolean equals(Object o)
     {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Itinéraire that = (Itinéraire) o;
-        return Double.compare(that.longueurTotale, longueurTotale) == 0 &&
-                nbMarchandisesALivrer == that.nbMarchandisesALivrer &&
-                Objects.equals(listeClientsÀLivrer, that.listeClientsÀLivrer) &&
-                Objects.equals(entrepôt, that.entrepôt) &&
-                Objects.equals(véhicule, that.véhicule);
+        return Objects.equals(listeClientsÀLivrer, that.listeClientsÀLivrer);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(listeClientsÀLivrer, entrepôt, longueurTotale, nbMarchandisesALivrer, véhicule);
+        return Objects.hashCode(listeClientsÀLivrer);
     }
 
     /**
      *
-     * ATTENTION, À UTILISER AVEC PRÉCAUTION. Ce setter force directement une LinkedList de clients dans
+     * ATTENTION, À UTILISER AVEC PRÉCAUTION. Ce setter force directement une liste de clients dans
      * l'attribut clients, sans aucune vérification préalable des règles métier (notamment du dépassement de la
      * capacité du véhicule pour l'itinéraire courant).
      *
@@ -317,12 +636,21 @@ public class Itinéraire
      * pas être utilisée à un autre endroit.
      * @param clients les clients à force set.
      */
-    public void setForceListeDeClients(LinkedList<Client> clients)
+    public void setForceListeDeClients(List<Client> clients)
     {
-        this.listeClientsÀLivrer = clients;
+        this.listeClientsÀLivrer = new SéquenceDeClients(clients);
         this.recalculerDistanceEtNbMarchandises();
     }
 
+    /**
+     *
+     * @return la source des distances de l'itinéraire, null si les distances sont calculées à la volée.
+     */
+    public SourceDeDistances getDistances()
+    {
+        return this.distances;
+    }
+
     /**
      * 
      * @return le véhicule de l'itinéraire
@@ -3,10 +3,18 @@ package model;
 import model.graph.Sommet;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Set;
 
 /**
  * Représente une solution, constituée d'itinéraires.
+ *
+ * La longueur globale est conservée avec la longueur de chaque itinéraire pour laquelle elle a été calculée : à
+ * chaque lecture, elle est corrigée de la variation des itinéraires modifiés depuis, dont les longueurs se lisent
+ * en O(1). Elle n'a donc pas besoin d'être recalculée après une transformation des itinéraires.
+ *
+ * De même, la solution indexe ses clients par itinéraire et par position : un client se localise en O(1), et seuls
+ * les itinéraires modifiés depuis sont réindexés.
  */
 public class Solution
 {
@@ -20,6 +28,16 @@ public class Solution
      */
     private double optimisationGlobale;
 
+    /**
+     * longueursComptées[i] est la longueur de l'itinéraire i comptée dans la longueur globale.
+     */
+    private double[] longueursComptées;
+
+    /**
+     * L'index des clients, par itinéraire et par position.
+     */
+    private IndexDesClients index;
+
 
     /**
      * Initialise un objet de type Solution
@@ -29,6 +47,7 @@ public class Solution
     {
         // initialise l'attribut
         this.itinéraires = _itinéraires;
+        this.index = new IndexDesClients();
 
         // calcul de la longueur globale de la tournée
         this.recalculerLongueurGlobale();
@@ -40,10 +59,14 @@ public class Solution
     public Solution() {
         this.itinéraires = new ArrayList<>();
         this.optimisationGlobale = 0;
+        this.longueursComptées = new double[0];
+        this.index = new IndexDesClients();
     }
 
     /**
-     * Constructeur de copie. Il permet de créer une copie d'une Solution.
+     * Constructeur de copie. Il permet de créer une copie d'une Solution, en O(nombre d'itinéraires) : les itinéraires
+     * copiés partagent leurs clients avec ceux de s, et ne les recopient qu'à leur première modification. Une solution
+     * voisine ne coûte ainsi, en mémoire, que les itinéraires qu'elle modifie.
      * @param s Solution que l'on veut copier.
      */
     public Solution(Solution s) {
@@ -51,7 +74,11 @@ public class Solution
         for(Itinéraire i: s.getItinéraires()) {
             this.itinéraires.add(new Itinéraire(i));
         }
+        // les itinéraires copiés ont les longueurs des itinéraires de s
         this.optimisationGlobale = s.getOptimisationGlobale();
+        this.longueursComptées = s.longueursComptées.clone();
+        // les clients des itinéraires copiés sont aux mêmes positions que dans s
+        this.index = new IndexDesClients(s.index, s.itinéraires, this.itinéraires);
     }
 
     /**
@@ -60,12 +87,15 @@ public class Solution
      */
     public void ajouterTournée(Itinéraire t)
     {
-        // si l'ensemble ne contient pas la tournée à ajouter
-        if(!this.itinéraires.contains(t))
+        // si l'ensemble ne contient pas la tournée à ajouter (comparaison par identité, sans comparer les clients)
+        if(this.positionDeLaTournée(t) < 0)
         {
+            this.getOptimisationGlobale();
             // on ajoute la tournée à l'ensemble
             this.itinéraires.add(t);
             // on ajoute la longueur totale de la tournée à la longueur globale de la solution.
+            this.longueursComptées = Arrays.copyOf(this.longueursComptées, this.itinéraires.size());
+            this.longueursComptées[this.itinéraires.size() - 1] = t.getLongueurTotale();
             this.optimisationGlobale += t.getLongueurTotale();
         }
         // si elle est déjà dans la tournée, exception car cas unexpected.
@@ -83,13 +113,55 @@ public class Solution
     public void retirerTournée(Itinéraire t)
     {
         // si l'ensemble contient bien la tournée à retirer
-        if(this.itinéraires.contains(t))
+        int position = this.positionDeLaTournée(t);
+        if(position >= 0)
         {
+            this.getOptimisationGlobale();
             // on la retire
-            this.itinéraires.remove(t);
+            this.itinéraires.remove(position);
             // et on soustrait la longueur totale de la tournée à la longueur globale de la solution.
-            this.optimisationGlobale -= t.getLongueurTotale();
+            this.optimisationGlobale -= this.longueursComptées[position];
+            System.arraycopy(this.longueursComptées, position + 1, this.longueursComptées, position, this.itinéraires.size() - position);
+            this.longueursComptées = Arrays.copyOf(this.longueursComptées, this.itinéraires.size());
+        }
+    }
+
+    /**
+     * @param t une tournée.
+     * @return la position de la tournée dans la liste des itinéraires, -1 si elle n'en fait pas partie.
+     */
+    private int positionDeLaTournée(Itinéraire t)
+    {
+        for(int i = 0; i < this.itinéraires.size(); i++)
+        {
+            if(this.itinéraires.get(i) == t)
+            {
+                return i;
+            }
         }
+        return -1;
+    }
+
+    /**
+     * Localise un client parmi les itinéraires de la solution, en O(1) si son itinéraire n'a pas été modifié depuis
+     * la dernière localisation d'un de ses clients.
+     * @param indice l'indice du client, dans les sources de distances.
+     * @return le numéro de l'itinéraire qui livre le client, -1 si aucun.
+     */
+    public int getItinéraireDuClient(int indice)
+    {
+        return this.index.localiser(this.itinéraires, indice);
+    }
+
+    /**
+     * Récupère la position d'un client dans son itinéraire.
+     * @param indice l'indice du client, dans les sources de distances.
+     * @return la position du client dans l'itinéraire qui le livre, -1 si aucun.
+     * @see #getItinéraireDuClient(int)
+     */
+    public int getPositionDuClient(int indice)
+    {
+        return this.index.localiser(this.itinéraires, indice) < 0 ? -1 : this.index.getPosition(indice);
     }
 
     /**
@@ -99,9 +171,11 @@ public class Solution
     public void recalculerLongueurGlobale()
     {
         double optimisationGlobaleRecalculée = 0.00;
-        for(Itinéraire t : this.itinéraires)
+        this.longueursComptées = new double[this.itinéraires.size()];
+        for(int i = 0; i < this.itinéraires.size(); i++)
         {
-            optimisationGlobaleRecalculée += t.getLongueurTotale();
+            this.longueursComptées[i] = this.itinéraires.get(i).getLongueurTotale();
+            optimisationGlobaleRecalculée += this.longueursComptées[i];
         }
         this.optimisationGlobale = optimisationGlobaleRecalculée;
     }
@@ -116,16 +190,71 @@ public class Solution
     }
 
     /**
-     * Récupère la distance à parcourir pour effectuer l'ensemble des itinéraires.
+     * Récupère la distance à parcourir pour effectuer l'ensemble des itinéraires. La longueur globale est corrigée de
+     * la variation des itinéraires modifiés depuis la dernière lecture ; si des itinéraires ont été ajoutés ou retirés
+     * directement dans la liste des itinéraires, elle est recalculée.
      * @return la somme de la longueur des itinéraires.
      */
     public double getOptimisationGlobale()
     {
+        if(this.longueursComptées.length != this.itinéraires.size())
+        {
+            this.recalculerLongueurGlobale();
+            return this.optimisationGlobale;
+        }
+        for(int i = 0; i < this.longueursComptées.length; i++)
+        {
+            double longueur = this.itinéraires.get(i).getLongueurTotale();
+            if(longueur != this.longueursComptées[i])
+            {
+                this.optimisationGlobale += longueur - this.longueursComptées[i];
+                this.longueursComptées[i] = longueur;
+            }
+        }
         return this.optimisationGlobale;
     }
 
+    /**
+     * Récupère la distance à parcourir pour effectuer l'ensemble des itinéraires, en coûts entiers.
+     * En mode coûts entiers, c'est la valeur exacte, comparable aux valeurs publiées des instances CVRPLIB.
+     * @return la somme des longueurs entières des itinéraires.
+     * @see Itinéraire#getLongueurTotaleEntière()
+     */
+    public long getOptimisationGlobaleEntière()
+    {
+        long optimisationGlobaleEntière = 0;
+        for(Itinéraire t : this.itinéraires)
+        {
+            optimisationGlobaleEntière += t.getLongueurTotaleEntière();
+        }
+        return optimisationGlobaleEntière;
+    }
+
+    /**
+     * Récupère l'empreinte de la solution : le ou exclusif des empreintes de ses itinéraires, en O(nombre
+     * d'itinéraires) tant que leurs séquences n'ont été modifiées que par les itinéraires eux-mêmes ou par des
+     * mouvements. Deux solutions ayant les mêmes itinéraires, dans n'importe quel ordre, ont la même empreinte.
+     * @return l'empreinte de la solution.
+     * @see Empreinte
+     */
+    public long getEmpreinte()
+    {
+        long empreinte = 0;
+        for(Itinéraire t : this.itinéraires)
+        {
+            empreinte ^= t.getEmpreinte();
+        }
+        return empreinte;
+    }
+
+    /**
+     * Force la longueur globale, par exemple à Double.MAX_VALUE pour une solution sentinelle. Elle est conservée tant
+     * qu'aucun itinéraire n'est modifié.
+     * @param optimisationGlobale la longueur globale.
+     */
     public void setOptimisationGlobale(double optimisationGlobale)
     {
+        this.recalculerLongueurGlobale();
         this.optimisationGlobale = optimisationGlobale;
     }
 }
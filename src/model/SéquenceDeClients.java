@@ -0,0 +1,431 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Séquence des clients d'un itinéraire, rangée dans des tableaux : les clients eux-mêmes, et en parallèle leurs
+ * indices dans les sources de distances. L'accès à une position est en O(1), et les transformations d'un itinéraire
+ * se font sur place :
+ * - échanger deux clients, en O(1) ;
+ * - inverser une portion, en O(longueur de la portion) ;
+ * - déplacer un client, en O(distance du déplacement) ;
+ * - insérer ou retirer un client, en O(nombre de clients qui suivent).
+ *
+ * Les calculs de longueur parcourent le tableau des indices, contigu en mémoire, sans passer par les objets Client.
+ * La séquence est une liste : elle s'utilise comme l'ancienne liste chaînée des itinéraires. Elle compte ses
+ * modifications, y compris les réordonnancements, ce qui permet à l'itinéraire de savoir si sa longueur est à jour.
+ *
+ * La copie d'une séquence est en O(1) : la copie et l'original partagent leurs tableaux, et chacun ne les recopie
+ * qu'à sa première modification (copie à l'écriture). Les copies de solutions ne coûtent ainsi, en mémoire, que
+ * les itinéraires effectivement modifiés.
+ *
+ * La position d'un client se retrouve à partir de son indice en O(1) attendu, grâce à un index construit par
+ * {@link #indexer()} et tenu à jour par les réordonnancements (échange, inversion, déplacement), pour le même coût
+ * qu'eux ; les autres modifications l'invalident, et la recherche parcourt alors la séquence jusqu'à la construction
+ * suivante. La recherche ne modifie jamais la séquence : plusieurs threads peuvent rechercher des positions en même
+ * temps, tant que la séquence n'est ni modifiée ni indexée pendant ce temps.
+ * @see Itinéraire
+ */
+public class SéquenceDeClients extends AbstractList<Client> implements RandomAccess
+{
+    private static final int CAPACITÉ_INITIALE = 8;
+
+    private Client[] clients;
+
+    /**
+     * indices[p] est l'indice du client à la position p, dans les sources de distances.
+     */
+    private int[] indices;
+
+    private int taille;
+
+    /**
+     * Le nombre de modifications de la séquence, structurelles ou non.
+     */
+    private int nbModifications;
+
+    /**
+     * Indique si les tableaux sont (peut-être) partagés avec une autre séquence : ils doivent alors être recopiés
+     * avant toute modification.
+     */
+    private boolean partagé;
+
+    /**
+     * L'index des positions : une table à adressage ouvert (sondage linéaire) de taille une puissance de deux, au
+     * moins double du nombre de clients. clésDeLIndex[c] vaut 1 + l'indice du client rangé dans la case c, 0 si la
+     * case est vide, et positionsDeLIndex[c] sa position. L'index est propre à chaque séquence, jamais partagé.
+     */
+    private int[] clésDeLIndex;
+
+    private int[] positionsDeLIndex;
+
+    /**
+     * Le nombre de modifications de la séquence lorsque l'index était à jour, -1 s'il n'a jamais été construit.
+     */
+    private int nbModificationsIndexées = -1;
+
+    /**
+     * Construit une séquence vide.
+     */
+    public SéquenceDeClients()
+    {
+        this.clients = new Client[CAPACITÉ_INITIALE];
+        this.indices = new int[CAPACITÉ_INITIALE];
+        this.taille = 0;
+    }
+
+    /**
+     * Construit une séquence contenant des clients, dans l'ordre de la collection.
+     * @param clients les clients.
+     */
+    public SéquenceDeClients(Collection<? extends Client> clients)
+    {
+        if(clients instanceof SéquenceDeClients)
+        {
+            // partage des tableaux, recopiés à la première modification de l'une ou l'autre des séquences
+            SéquenceDeClients séquence = (SéquenceDeClients) clients;
+            this.clients = séquence.clients;
+            this.indices = séquence.indices;
+            this.taille = séquence.taille;
+            this.partagé = true;
+            séquence.partagé = true;
+            return;
+        }
+        int capacité = Math.max(clients.size(), CAPACITÉ_INITIALE);
+        this.clients = new Client[capacité];
+        this.indices = new int[capacité];
+        for(Client c : clients)
+        {
+            this.clients[this.taille] = c;
+            this.indices[this.taille] = c.getIndice();
+            this.taille++;
+        }
+    }
+
+    @Override
+    public Client get(int position)
+    {
+        this.vérifierPosition(position, this.taille);
+        return this.clients[position];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.taille;
+    }
+
+    @Override
+    public Client set(int position, Client client)
+    {
+        this.vérifierPosition(position, this.taille);
+        this.avantModification();
+        Client ancien = this.clients[position];
+        this.clients[position] = client;
+        this.indices[position] = client.getIndice();
+        this.nbModifications++;
+        return ancien;
+    }
+
+    @Override
+    public void add(int position, Client client)
+    {
+        this.vérifierPosition(position, this.taille + 1);
+        if(this.taille == this.clients.length)
+        {
+            this.clients = Arrays.copyOf(this.clients, 2 * this.taille);
+            this.indices = Arrays.copyOf(this.indices, 2 * this.taille);
+            this.partagé = false;
+        }
+        else
+        {
+            this.avantModification();
+        }
+        System.arraycopy(this.clients, position, this.clients, position + 1, this.taille - position);
+        System.arraycopy(this.indices, position, this.indices, position + 1, this.taille - position);
+        this.clients[position] = client;
+        this.indices[position] = client.getIndice();
+        this.taille++;
+        this.modCount++;
+        this.nbModifications++;
+    }
+
+    @Override
+    public Client remove(int position)
+    {
+        this.vérifierPosition(position, this.taille);
+        this.avantModification();
+        Client retiré = this.clients[position];
+        System.arraycopy(this.clients, position + 1, this.clients, position, this.taille - position - 1);
+        System.arraycopy(this.indices, position + 1, this.indices, position, this.taille - position - 1);
+        this.taille--;
+        this.clients[this.taille] = null;
+        this.modCount++;
+        this.nbModifications++;
+        return retiré;
+    }
+
+    @Override
+    protected void removeRange(int début, int fin)
+    {
+        this.avantModification();
+        System.arraycopy(this.clients, fin, this.clients, début, this.taille - fin);
+        System.arraycopy(this.indices, fin, this.indices, début, this.taille - fin);
+        Arrays.fill(this.clients, this.taille - (fin - début), this.taille, null);
+        this.taille -= fin - début;
+        this.modCount++;
+        this.nbModifications++;
+    }
+
+    /**
+     * @param position une position de la séquence.
+     * @return l'indice, dans les sources de distances, du client à cette position.
+     */
+    public int getIndice(int position)
+    {
+        this.vérifierPosition(position, this.taille);
+        return this.indices[position];
+    }
+
+    /**
+     * Récupère le tableau des indices des clients, pour les parcours sans allocation. Le tableau est partagé, y compris
+     * avec les copies de la séquence : seules ses size() premières cases sont significatives, et il ne doit pas être
+     * modifié.
+     * @return les indices des clients, par position.
+     */
+    public int[] getIndices()
+    {
+        return this.indices;
+    }
+
+    /**
+     * Recherche la position d'un client à partir de son indice, en O(1) attendu si la séquence n'a été que réordonnée
+     * depuis sa dernière indexation, en O(size()) sinon. La recherche ne modifie pas la séquence, ni son index.
+     * @param indice l'indice du client, dans les sources de distances.
+     * @return la position du client, ou -1 s'il n'est pas dans la séquence.
+     * @see #indexer()
+     */
+    public int getPosition(int indice)
+    {
+        if(this.nbModificationsIndexées != this.nbModifications)
+        {
+            for(int p = 0; p < this.taille; p++)
+            {
+                if(this.indices[p] == indice)
+                {
+                    return p;
+                }
+            }
+            return -1;
+        }
+        int masque = this.clésDeLIndex.length - 1;
+        for(int c = SéquenceDeClients.caseDe(indice) & masque; ; c = (c + 1) & masque)
+        {
+            int clé = this.clésDeLIndex[c];
+            if(clé == 0)
+            {
+                return -1;
+            }
+            if(clé == indice + 1)
+            {
+                return this.positionsDeLIndex[c];
+            }
+        }
+    }
+
+    /**
+     * Récupère le nombre de modifications de la séquence : il change à chaque ajout, retrait, remplacement ou
+     * réordonnancement de clients.
+     * @return le nombre de modifications.
+     */
+    public int getNbModifications()
+    {
+        return this.nbModifications;
+    }
+
+    /**
+     * Échange les clients de deux positions, en O(1).
+     * @param i la première position.
+     * @param j la seconde position.
+     */
+    public void échanger(int i, int j)
+    {
+        this.vérifierPosition(i, this.taille);
+        this.vérifierPosition(j, this.taille);
+        this.avantModification();
+        boolean indexÀJour = this.nbModificationsIndexées == this.nbModifications;
+        this.permuter(i, j);
+        this.nbModifications++;
+        if(indexÀJour)
+        {
+            this.réindexer(i, i);
+            this.réindexer(j, j);
+        }
+    }
+
+    /**
+     * Inverse l'ordre des clients entre deux positions incluses, en O(j - i).
+     * @param i la première position de la portion.
+     * @param j la dernière position de la portion.
+     */
+    public void inverser(int i, int j)
+    {
+        this.vérifierPosition(i, this.taille);
+        this.vérifierPosition(j, this.taille);
+        this.avantModification();
+        boolean indexÀJour = this.nbModificationsIndexées == this.nbModifications;
+        int première = i;
+        int dernière = j;
+        while(i < j)
+        {
+            this.permuter(i, j);
+            i++;
+            j--;
+        }
+        this.nbModifications++;
+        if(indexÀJour)
+        {
+            this.réindexer(première, dernière);
+        }
+    }
+
+    /**
+     * Déplace un client : il est retiré de sa position, puis inséré de sorte à occuper la position d'arrivée.
+     * Seuls les clients situés entre les deux positions sont décalés.
+     * @param départ la position du client à déplacer.
+     * @param arrivée la position du client une fois déplacé.
+     */
+    public void déplacer(int départ, int arrivée)
+    {
+        this.vérifierPosition(départ, this.taille);
+        this.vérifierPosition(arrivée, this.taille);
+        this.avantModification();
+        boolean indexÀJour = this.nbModificationsIndexées == this.nbModifications;
+        Client client = this.clients[départ];
+        int indice = this.indices[départ];
+        if(départ < arrivée)
+        {
+            System.arraycopy(this.clients, départ + 1, this.clients, départ, arrivée - départ);
+            System.arraycopy(this.indices, départ + 1, this.indices, départ, arrivée - départ);
+        }
+        else
+        {
+            System.arraycopy(this.clients, arrivée, this.clients, arrivée + 1, départ - arrivée);
+            System.arraycopy(this.indices, arrivée, this.indices, arrivée + 1, départ - arrivée);
+        }
+        this.clients[arrivée] = client;
+        this.indices[arrivée] = indice;
+        this.nbModifications++;
+        if(indexÀJour)
+        {
+            this.réindexer(Math.min(départ, arrivée), Math.max(départ, arrivée));
+        }
+    }
+
+    /**
+     * Recopie les tableaux s'ils sont partagés avec une autre séquence, pour que la modification qui suit ne
+     * concerne que cette séquence.
+     */
+    private void avantModification()
+    {
+        if(this.partagé)
+        {
+            this.clients = this.clients.clone();
+            this.indices = this.indices.clone();
+            this.partagé = false;
+        }
+    }
+
+    /**
+     * Construit l'index des positions de tous les clients, s'il n'est pas à jour, pour que les recherches de positions
+     * qui suivent se fassent en O(1) attendu. L'indexation modifie l'index : elle est faite par le thread qui modifie
+     * la séquence, après ses modifications, et jamais pendant que d'autres threads recherchent des positions.
+     * @see #getPosition(int)
+     */
+    public void indexer()
+    {
+        if(this.nbModificationsIndexées == this.nbModifications)
+        {
+            return;
+        }
+        int nbCases = Integer.highestOneBit(Math.max(CAPACITÉ_INITIALE, 2 * this.taille - 1)) << 1;
+        if(this.clésDeLIndex == null || this.clésDeLIndex.length < nbCases)
+        {
+            this.clésDeLIndex = new int[nbCases];
+            this.positionsDeLIndex = new int[nbCases];
+        }
+        else
+        {
+            Arrays.fill(this.clésDeLIndex, 0);
+        }
+        int masque = this.clésDeLIndex.length - 1;
+        for(int p = 0; p < this.taille; p++)
+        {
+            int c = SéquenceDeClients.caseDe(this.indices[p]) & masque;
+            while(this.clésDeLIndex[c] != 0 && this.clésDeLIndex[c] != this.indices[p] + 1)
+            {
+                c = (c + 1) & masque;
+            }
+            this.clésDeLIndex[c] = this.indices[p] + 1;
+            this.positionsDeLIndex[c] = p;
+        }
+        this.nbModificationsIndexées = this.nbModifications;
+    }
+
+    /**
+     * Met à jour, après un réordonnancement, les positions indexées des clients situés entre deux positions incluses :
+     * les clients de la séquence restant les mêmes, seules leurs positions changent.
+     * @param première la première position réordonnée.
+     * @param dernière la dernière position réordonnée.
+     */
+    private void réindexer(int première, int dernière)
+    {
+        int masque = this.clésDeLIndex.length - 1;
+        for(int p = première; p <= dernière; p++)
+        {
+            int c = SéquenceDeClients.caseDe(this.indices[p]) & masque;
+            while(this.clésDeLIndex[c] != this.indices[p] + 1)
+            {
+                c = (c + 1) & masque;
+            }
+            this.positionsDeLIndex[c] = p;
+        }
+        this.nbModificationsIndexées = this.nbModifications;
+    }
+
+    /**
+     * @param indice l'indice d'un client.
+     * @return la case de départ du client dans l'index, avant masquage.
+     */
+    private static int caseDe(int indice)
+    {
+        int h = indice * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void permuter(int i, int j)
+    {
+        Client client = this.clients[i];
+        this.clients[i] = this.clients[j];
+        this.clients[j] = client;
+        int indice = this.indices[i];
+        this.indices[i] = this.indices[j];
+        this.indices[j] = indice;
+    }
+
+    /**
+     * @param position la position à vérifier.
+     * @param borne la borne exclue des positions valides.
+     * @throws IndexOutOfBoundsException si la position n'est pas valide.
+     */
+    private void vérifierPosition(int position, int borne) throws IndexOutOfBoundsException
+    {
+        if(position < 0 || position >= borne)
+        {
+            throw new IndexOutOfBoundsException("Position : " + position + ", nombre de clients : " + this.taille);
+        }
+    }
+}
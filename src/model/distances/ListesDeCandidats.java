@@ -0,0 +1,151 @@
+package model.distances;
+
+import model.graph.GrapheDeCandidats;
+
+import java.util.Arrays;
+
+/**
+ * Listes de candidats (voisinages granulaires) : pour chaque sommet, les k clients les plus proches, du plus proche
+ * au plus éloigné.
+ *
+ * Dans une bonne solution, presque toutes les arêtes relient un client à l'un de ses plus proches voisins. En ne
+ * générant que des transformations qui créent au moins une arête candidate, on évite de tirer la grande majorité des
+ * mouvements qui rapprochent des clients éloignés et qui seraient de toute façon rejetés.
+ *
+ * L'entrepôt (indice 0) ne figure jamais dans les listes : les transformations portent sur des clients.
+ */
+public class ListesDeCandidats
+{
+    private final int k;
+
+    /**
+     * voisins[i] contient les indices des k clients les plus proches du sommet d'indice i.
+     */
+    private final int[][] voisins;
+
+    /**
+     * Calcule les k plus proches voisins de chaque sommet d'une source de distances.
+     * Pour une source asymétrique, ce sont les distances sortantes qui sont utilisées.
+     * Le calcul est en O(n² k), à faire une seule fois par fichier.
+     * @param distances la source des distances.
+     * @param k le nombre de voisins par sommet ; ramené au nombre de clients s'il le dépasse.
+     * @throws IllegalArgumentException si k n'est pas strictement positif.
+     */
+    public ListesDeCandidats(SourceDeDistances distances, int k) throws IllegalArgumentException
+    {
+        if(k <= 0)
+        {
+            throw new IllegalArgumentException("Le nombre de voisins candidats doit être strictement positif : " + k);
+        }
+        int nbSommets = distances.getNbSommets();
+        this.k = Math.min(k, Math.max(nbSommets - 2, 1));
+        this.voisins = new int[nbSommets][];
+
+        int[] meilleurs = new int[this.k];
+        double[] distancesMeilleurs = new double[this.k];
+        for(int i = 0; i < nbSommets; i++)
+        {
+            int nb = 0;
+            for(int j = 1; j < nbSommets; j++)
+            {
+                if(j == i)
+                {
+                    continue;
+                }
+                double d = distances.distance(i, j);
+                // la liste est pleine et j est plus loin que le dernier : inutile d'aller plus loin
+                if(nb == this.k && d >= distancesMeilleurs[nb - 1])
+                {
+                    continue;
+                }
+                // insertion triée de j, en écrasant le plus éloigné si la liste est pleine
+                int position = nb < this.k ? nb++ : nb - 1;
+                while(position > 0 && distancesMeilleurs[position - 1] > d)
+                {
+                    meilleurs[position] = meilleurs[position - 1];
+                    distancesMeilleurs[position] = distancesMeilleurs[position - 1];
+                    position--;
+                }
+                meilleurs[position] = j;
+                distancesMeilleurs[position] = d;
+            }
+            this.voisins[i] = Arrays.copyOf(meilleurs, nb);
+        }
+    }
+
+    /**
+     * Construit les listes de candidats à partir d'un graphe creux d'arêtes prometteuses (par exemple la triangulation
+     * de Delaunay) : les candidats d'un sommet sont ses voisins dans le graphe, triés du plus proche au plus éloigné.
+     * Le nombre de candidats varie alors d'un sommet à l'autre (6 en moyenne pour une triangulation).
+     * @param graphe le graphe des arêtes candidates.
+     * @param distances la source des distances, pour trier les voisins.
+     */
+    public ListesDeCandidats(GrapheDeCandidats graphe, SourceDeDistances distances)
+    {
+        int nbSommets = graphe.getNbSommets();
+        this.voisins = new int[nbSommets][];
+        int kMax = 0;
+        for(int i = 0; i < nbSommets; i++)
+        {
+            int[] voisinsDuGraphe = graphe.getVoisins(i);
+            // l'entrepôt n'est pas un candidat (il est toujours le sommet d'indice 0, en tête du tableau trié)
+            int premier = voisinsDuGraphe.length > 0 && voisinsDuGraphe[0] == 0 ? 1 : 0;
+            Integer[] triés = new Integer[voisinsDuGraphe.length - premier];
+            for(int r = premier; r < voisinsDuGraphe.length; r++)
+            {
+                triés[r - premier] = voisinsDuGraphe[r];
+            }
+            final int sommet = i;
+            Arrays.sort(triés, (a, b) -> Double.compare(distances.distance(sommet, a), distances.distance(sommet, b)));
+            this.voisins[i] = new int[triés.length];
+            for(int r = 0; r < triés.length; r++)
+            {
+                this.voisins[i][r] = triés[r];
+            }
+            kMax = Math.max(kMax, triés.length);
+        }
+        this.k = kMax;
+    }
+
+    /**
+     * Récupère les voisins candidats d'un sommet, du plus proche au plus éloigné.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     * @param indice l'indice du sommet.
+     * @return les indices des clients candidats.
+     */
+    public int[] getVoisins(int indice)
+    {
+        return this.voisins[indice];
+    }
+
+    /**
+     * Indique si l'arête (i, j) est candidate, c'est-à-dire si j fait partie des voisins de i ou i de ceux de j.
+     * @param i l'indice du premier sommet.
+     * @param j l'indice du second sommet.
+     * @return true si l'arête est candidate, false sinon.
+     */
+    public boolean estCandidate(int i, int j)
+    {
+        return this.contient(this.voisins[i], j) || this.contient(this.voisins[j], i);
+    }
+
+    /**
+     * @return le nombre de voisins par sommet (le nombre maximal, pour des listes issues d'un graphe).
+     */
+    public int getK()
+    {
+        return this.k;
+    }
+
+    private boolean contient(int[] liste, int indice)
+    {
+        for(int v : liste)
+        {
+            if(v == indice)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package model.distances;
+
+import model.Fichier;
+import model.InstanceCompacte;
+import utilitaires.Utilitaire;
+
+/**
+ * Matrice dense des distances euclidiennes entre tous les sommets d'un fichier.
+ * Elle est calculée une seule fois à la construction, les recherches de voisinage n'ont ensuite plus
+ * qu'à lire les distances dans un tableau, sans recalculer de racine carrée.
+ * L'entrepôt est à l'indice 0, les clients aux indices correspondant à leur numéro.
+ */
+public class MatriceDesDistances implements SourceDeDistances
+{
+    /**
+     * Le nombre maximal de cases d'un tableau Java : une matrice dense de n sommets n'est possible que si n² ne le
+     * dépasse pas (soit environ 46 000 sommets), quel que soit le budget mémoire.
+     */
+    public static final long NB_CASES_MAX = Integer.MAX_VALUE - 8;
+
+    /**
+     * Le nombre de sommets (entrepôt compris), c'est-à-dire la taille d'une ligne de la matrice.
+     */
+    private final int nbSommets;
+
+    /**
+     * Les distances, ligne par ligne : la distance de i à j est à l'index i * nbSommets + j.
+     */
+    private final double[] distances;
+
+    /**
+     * Construit la matrice des distances d'un fichier.
+     * @param fichier le fichier dont on veut les distances entre sommets.
+     */
+    public MatriceDesDistances(Fichier fichier)
+    {
+        this(fichier.getInstance());
+    }
+
+    /**
+     * Construit la matrice des distances d'une instance compacte.
+     * @param instance l'instance dont on veut les distances entre sommets.
+     * @throws IllegalArgumentException si l'instance a trop de sommets pour une matrice dense.
+     * @see #estPossible(int)
+     */
+    public MatriceDesDistances(InstanceCompacte instance) throws IllegalArgumentException
+    {
+        int[] x = instance.getAbscisses();
+        int[] y = instance.getOrdonnées();
+        this.nbSommets = instance.getNbSommets();
+        if(!MatriceDesDistances.estPossible(this.nbSommets))
+        {
+            throw new IllegalArgumentException("Trop de sommets pour une matrice dense des distances : " + this.nbSommets);
+        }
+
+        // la distance euclidienne est symétrique : on ne la calcule qu'une fois par paire de sommets.
+        this.distances = new double[this.nbSommets * this.nbSommets];
+        for(int i = 0; i < this.nbSommets; i++)
+        {
+            for(int j = i + 1; j < this.nbSommets; j++)
+            {
+                double d = Utilitaire.distanceEuclidienne(x[i], y[i], x[j], y[j]);
+                this.distances[i * this.nbSommets + j] = d;
+                this.distances[j * this.nbSommets + i] = d;
+            }
+        }
+    }
+
+    /**
+     * Indique si une matrice dense de n sommets peut être allouée : ses n² cases doivent pouvoir être indexées par
+     * un int.
+     * @param nbSommets le nombre de sommets (entrepôt compris).
+     * @return true si la matrice dense est possible.
+     */
+    public static boolean estPossible(int nbSommets)
+    {
+        return (long) nbSommets * nbSommets <= NB_CASES_MAX;
+    }
+
+    @Override
+    public double distance(int i, int j)
+    {
+        return this.distances[i * this.nbSommets + j];
+    }
+
+    @Override
+    public int getNbSommets()
+    {
+        return this.nbSommets;
+    }
+}
@@ -0,0 +1,155 @@
+package model.distances;
+
+import model.Fichier;
+
+/**
+ * Matrice de coûts entiers, obtenus en arrondissant à l'entier le plus proche les distances d'une autre
+ * source multipliées par un facteur d'échelle (convention des instances CVRPLIB avec un facteur de 1).
+ *
+ * Avec des coûts entiers, les longueurs d'itinéraires sont des sommes d'entiers : elles sont exactes (tant
+ * qu'elles restent sous 2^53 lorsqu'elles sont lues en double), les comparaisons et les tests d'égalité entre
+ * solutions ne dépendent plus de l'ordre des additions, et les résultats sont comparables aux valeurs publiées.
+ * Les longueurs sont alors exprimées en 1/facteur d'unité de distance.
+ *
+ * Les coûts sont rangés dans une matrice dense lorsqu'elle tient dans le budget mémoire ; sinon, ou si la source
+ * est une matrice projetée hors du tas qu'il ne faut pas recopier dans le tas, chaque coût est arrondi à la lecture
+ * à partir de la source.
+ */
+public class MatriceDesDistancesEntières implements SourceDeDistances
+{
+    private final int nbSommets;
+
+    /**
+     * Le facteur d'échelle appliqué aux distances avant arrondi.
+     */
+    private final int facteur;
+
+    private final boolean symétrique;
+
+    /**
+     * La source des distances réelles, lue à chaque coût lorsque la matrice n'est pas dense.
+     */
+    private final SourceDeDistances source;
+
+    /**
+     * Les coûts, ligne par ligne : le coût de i à j est à l'index i * nbSommets + j ; null si les coûts sont arrondis
+     * à la lecture.
+     */
+    private final int[] coûts;
+
+    /**
+     * Construit la matrice des coûts entiers d'une source de distances, avec le budget mémoire par défaut.
+     * @param source la source des distances réelles.
+     * @param facteur le facteur d'échelle (1 pour arrondir à l'unité, 10 pour garder une décimale...).
+     * @throws IllegalArgumentException si le facteur n'est pas strictement positif, ou si la matrice est dense et que
+     * l'un des coûts mis à l'échelle ne tient pas dans un int.
+     * @see Fichier#BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT
+     */
+    public MatriceDesDistancesEntières(SourceDeDistances source, int facteur) throws IllegalArgumentException
+    {
+        this(source, facteur, Fichier.BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT);
+    }
+
+    /**
+     * Construit la matrice des coûts entiers d'une source de distances.
+     * @param source la source des distances réelles.
+     * @param facteur le facteur d'échelle (1 pour arrondir à l'unité, 10 pour garder une décimale...).
+     * @param budgetMémoire le nombre maximal d'octets occupés par la matrice dense des coûts.
+     * @throws IllegalArgumentException si le facteur n'est pas strictement positif, ou si la matrice est dense et que
+     * l'un des coûts mis à l'échelle ne tient pas dans un int.
+     */
+    public MatriceDesDistancesEntières(SourceDeDistances source, int facteur, long budgetMémoire) throws IllegalArgumentException
+    {
+        if(facteur <= 0)
+        {
+            throw new IllegalArgumentException("Le facteur d'échelle doit être strictement positif : " + facteur);
+        }
+        this.nbSommets = source.getNbSommets();
+        this.facteur = facteur;
+        this.symétrique = source.estSymétrique();
+        this.source = source;
+        long nbCases = (long) this.nbSommets * this.nbSommets;
+        if(source instanceof MatriceDesDistancesMappée || !MatriceDesDistances.estPossible(this.nbSommets) || nbCases * Integer.BYTES > budgetMémoire)
+        {
+            this.coûts = null;
+            return;
+        }
+        this.coûts = new int[(int) nbCases];
+        for(int i = 0; i < this.nbSommets; i++)
+        {
+            for(int j = 0; j < this.nbSommets; j++)
+            {
+                long coût = this.arrondir(i, j);
+                if(coût > Integer.MAX_VALUE)
+                {
+                    // tronqué, le coût différerait de celui arrondi à la lecture
+                    throw new IllegalArgumentException("Le facteur d'échelle " + facteur + " donne un coût de " + i + " à " + j + " trop grand pour la matrice dense : " + coût);
+                }
+                this.coûts[i * this.nbSommets + j] = (int) coût;
+            }
+        }
+    }
+
+    @Override
+    public double distance(int i, int j)
+    {
+        return this.distanceEntière(i, j);
+    }
+
+    @Override
+    public long distanceEntière(int i, int j)
+    {
+        if(this.coûts == null)
+        {
+            return this.arrondir(i, j);
+        }
+        return this.coûts[i * this.nbSommets + j];
+    }
+
+    /**
+     * Arrondit la distance de la source entre deux sommets, mise à l'échelle.
+     * @param i l'indice du sommet de départ.
+     * @param j l'indice du sommet d'arrivée.
+     * @return le coût entier.
+     */
+    private long arrondir(int i, int j)
+    {
+        return Math.round(this.source.distance(i, j) * this.facteur);
+    }
+
+    @Override
+    public boolean estEntière()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean estSymétrique()
+    {
+        return this.symétrique;
+    }
+
+    @Override
+    public int getNbSommets()
+    {
+        return this.nbSommets;
+    }
+
+    /**
+     * Récupère le facteur d'échelle appliqué aux distances.
+     * @return le facteur d'échelle.
+     */
+    public int getFacteur()
+    {
+        return this.facteur;
+    }
+
+    /**
+     * Indique si les coûts sont rangés dans une matrice dense, ou arrondis à la lecture à partir de la source.
+     * @return true si la matrice est dense.
+     */
+    public boolean estDense()
+    {
+        return this.coûts != null;
+    }
+}
@@ -0,0 +1,168 @@
+package model.distances;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Matrice de coûts (distances routières, temps de trajet...) lue dans un fichier binaire projeté en mémoire.
+ *
+ * Le fichier n'est jamais chargé dans le tas : il est projeté en lecture seule, hors tas, et les pages sont
+ * partagées par le système entre tous les processus qui projettent le même fichier sur une même machine.
+ * Les coûts peuvent être asymétriques (le coût de i à j diffère de celui de j à i).
+ *
+ * Format du fichier :
+ * - un en-tête de 16 octets : l'entier {@link #NOMBRE_MAGIQUE}, le nombre de sommets n (entrepôt compris),
+ *   la taille d'un coût en octets (8 pour des double, 4 pour des float) puis 4 octets inutilisés ;
+ * - les n × n coûts, ligne par ligne : le coût de i à j est le (i × n + j)-ième.
+ * Les entiers et les coûts sont en big-endian ou en little-endian, l'ordre étant détecté grâce au nombre magique.
+ */
+public class MatriceDesDistancesMappée implements SourceDeDistances
+{
+    /**
+     * Le nombre magique en tête des fichiers de matrice ("CVRP" en ASCII).
+     */
+    public static final int NOMBRE_MAGIQUE = 0x43565250;
+
+    /**
+     * La taille de l'en-tête en octets.
+     */
+    public static final int TAILLE_EN_TÊTE = 16;
+
+    private final int nbSommets;
+
+    /**
+     * La taille d'un coût en octets (4 ou 8).
+     */
+    private final int tailleDUnCoût;
+
+    /**
+     * Un buffer projeté ne dépasse pas 2 Go : la matrice est découpée en segments d'un nombre entier de lignes.
+     */
+    private final MappedByteBuffer[] segments;
+
+    private final int nbLignesParSegment;
+
+    /**
+     * Projette en mémoire un fichier de matrice de coûts.
+     * @param chemin le chemin du fichier binaire.
+     * @throws IOException si le fichier ne peut pas être lu ou si son format est invalide.
+     */
+    public MatriceDesDistancesMappée(Path chemin) throws IOException
+    {
+        try(FileChannel canal = FileChannel.open(chemin, StandardOpenOption.READ))
+        {
+            ByteBuffer enTête = ByteBuffer.allocate(TAILLE_EN_TÊTE);
+            while(enTête.hasRemaining())
+            {
+                if(canal.read(enTête) < 0)
+                {
+                    throw new IOException("En-tête de matrice incomplet : " + chemin);
+                }
+            }
+            enTête.flip();
+
+            // l'ordre des octets est celui pour lequel on retrouve le nombre magique
+            ByteOrder ordre = ByteOrder.BIG_ENDIAN;
+            if(enTête.getInt(0) != NOMBRE_MAGIQUE)
+            {
+                ordre = ByteOrder.LITTLE_ENDIAN;
+                enTête.order(ordre);
+                if(enTête.getInt(0) != NOMBRE_MAGIQUE)
+                {
+                    throw new IOException("Le fichier n'est pas une matrice de coûts : " + chemin);
+                }
+            }
+            this.nbSommets = enTête.getInt(4);
+            this.tailleDUnCoût = enTête.getInt(8);
+            if(this.nbSommets <= 0 || (this.tailleDUnCoût != Double.BYTES && this.tailleDUnCoût != Float.BYTES))
+            {
+                throw new IOException("En-tête de matrice invalide (" + this.nbSommets + " sommets, coûts de " + this.tailleDUnCoût + " octets) : " + chemin);
+            }
+
+            long tailleDUneLigne = (long) this.nbSommets * this.tailleDUnCoût;
+            long tailleAttendue = TAILLE_EN_TÊTE + tailleDUneLigne * this.nbSommets;
+            if(canal.size() < tailleAttendue)
+            {
+                throw new IOException("Matrice tronquée : " + canal.size() + " octets au lieu de " + tailleAttendue + " : " + chemin);
+            }
+
+            this.nbLignesParSegment = (int) Math.max(1, Math.min(this.nbSommets, Integer.MAX_VALUE / tailleDUneLigne));
+            int nbSegments = (this.nbSommets + this.nbLignesParSegment - 1) / this.nbLignesParSegment;
+            this.segments = new MappedByteBuffer[nbSegments];
+            for(int s = 0; s < nbSegments; s++)
+            {
+                int nbLignes = Math.min(this.nbLignesParSegment, this.nbSommets - s * this.nbLignesParSegment);
+                long début = TAILLE_EN_TÊTE + s * (long) this.nbLignesParSegment * tailleDUneLigne;
+                MappedByteBuffer segment = canal.map(FileChannel.MapMode.READ_ONLY, début, nbLignes * tailleDUneLigne);
+                segment.order(ordre);
+                this.segments[s] = segment;
+            }
+        }
+    }
+
+    @Override
+    public double distance(int i, int j)
+    {
+        // lecture absolue : la position des buffers ne change jamais, la matrice peut être lue par plusieurs threads.
+        MappedByteBuffer segment = this.segments[i / this.nbLignesParSegment];
+        int position = ((i % this.nbLignesParSegment) * this.nbSommets + j) * this.tailleDUnCoût;
+        if(this.tailleDUnCoût == Double.BYTES)
+        {
+            return segment.getDouble(position);
+        }
+        return segment.getFloat(position);
+    }
+
+    @Override
+    public int getNbSommets()
+    {
+        return this.nbSommets;
+    }
+
+    @Override
+    public boolean estSymétrique()
+    {
+        return false;
+    }
+
+    /**
+     * Écrit les coûts d'une source de distances dans un fichier de matrice (coûts en double, big-endian),
+     * par exemple pour convertir des distances routières ou préparer un fichier de test.
+     * @param chemin le chemin du fichier à écrire.
+     * @param source la source dont on écrit tous les coûts.
+     * @throws IOException si le fichier ne peut pas être écrit.
+     */
+    public static void écrire(Path chemin, SourceDeDistances source) throws IOException
+    {
+        int n = source.getNbSommets();
+        try(RandomAccessFile fichier = new RandomAccessFile(chemin.toFile(), "rw"))
+        {
+            fichier.setLength(0);
+            FileChannel canal = fichier.getChannel();
+            ByteBuffer enTête = ByteBuffer.allocate(TAILLE_EN_TÊTE);
+            enTête.putInt(NOMBRE_MAGIQUE).putInt(n).putInt(Double.BYTES).putInt(0).flip();
+            canal.write(enTête);
+
+            ByteBuffer ligne = ByteBuffer.allocate(n * Double.BYTES);
+            for(int i = 0; i < n; i++)
+            {
+                ligne.clear();
+                for(int j = 0; j < n; j++)
+                {
+                    ligne.putDouble(source.distance(i, j));
+                }
+                ligne.flip();
+                while(ligne.hasRemaining())
+                {
+                    canal.write(ligne);
+                }
+            }
+        }
+    }
+}
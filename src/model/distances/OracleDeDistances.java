@@ -0,0 +1,253 @@
+package model.distances;
+
+import model.Fichier;
+import model.InstanceCompacte;
+import utilitaires.Utilitaire;
+
+import java.util.Arrays;
+
+/**
+ * Source de distances euclidiennes pour les très gros fichiers, pour lesquels une matrice dense
+ * (n² distances) ne tient pas en mémoire.
+ *
+ * Les distances sont calculées par lignes entières, à la demande, et seules les lignes utilisées récemment
+ * sont gardées en cache, dans la limite d'un budget mémoire donné. La ligne de l'entrepôt, utilisée par chaque
+ * itinéraire, est calculée à la construction et n'est jamais évincée.
+ *
+ * Le choix de la ligne à évincer suit l'algorithme de l'horloge (seconde chance), qui approche le
+ * "moins récemment utilisé" sans aucune allocation lors des lectures.
+ *
+ * L'oracle peut être partagé entre threads : chaque thread a son propre cache de lignes, créé à sa première lecture
+ * et dans la limite du budget, et seules les coordonnées et la ligne de l'entrepôt, jamais modifiées après la
+ * construction, sont communes. La mémoire occupée est donc au plus le budget multiplié par le nombre de threads qui
+ * lisent des distances.
+ */
+public class OracleDeDistances implements SourceDeDistances
+{
+    /**
+     * Les coordonnées des sommets, à partir desquelles les lignes sont calculées.
+     */
+    private final int[] x;
+    private final int[] y;
+
+    /**
+     * La ligne de l'entrepôt (indice 0), toujours en mémoire.
+     */
+    private final double[] ligneEntrepôt;
+
+    /**
+     * Le nombre de lignes gardées dans le cache de chaque thread.
+     */
+    private final int nbLignesMax;
+
+    /**
+     * Le cache de lignes de chaque thread.
+     */
+    private final ThreadLocal<Cache> caches = new ThreadLocal<Cache>()
+    {
+        @Override
+        protected Cache initialValue()
+        {
+            return new Cache();
+        }
+    };
+
+    /**
+     * Construit un oracle de distances pour un fichier, avec un budget mémoire donné pour le cache de lignes.
+     * @param fichier le fichier dont on veut les distances entre sommets.
+     * @param budgetMémoire le nombre maximal d'octets occupés par les lignes en cache de chaque thread (au moins deux
+     *                      lignes sont gardées).
+     */
+    public OracleDeDistances(Fichier fichier, long budgetMémoire)
+    {
+        this(fichier.getInstance(), budgetMémoire);
+    }
+
+    /**
+     * Construit un oracle de distances pour une instance compacte, avec un budget mémoire donné pour le cache de lignes.
+     * @param instance l'instance dont on veut les distances entre sommets.
+     * @param budgetMémoire le nombre maximal d'octets occupés par les lignes en cache de chaque thread (au moins deux
+     *                      lignes sont gardées).
+     */
+    public OracleDeDistances(InstanceCompacte instance, long budgetMémoire)
+    {
+        this.x = instance.getAbscisses();
+        this.y = instance.getOrdonnées();
+        int nbSommets = instance.getNbSommets();
+
+        this.ligneEntrepôt = new double[nbSommets];
+        this.calculerLigne(0, this.ligneEntrepôt);
+
+        this.nbLignesMax = (int) Math.max(2, Math.min(nbSommets, budgetMémoire / OracleDeDistances.tailleDUneLigne(nbSommets)));
+    }
+
+    /**
+     * Calcule le nombre d'octets occupés par une ligne de distances.
+     * @param nbSommets le nombre de sommets du fichier.
+     * @return la taille d'une ligne en octets.
+     */
+    public static long tailleDUneLigne(int nbSommets)
+    {
+        return (long) nbSommets * Double.BYTES;
+    }
+
+    @Override
+    public double distance(int i, int j)
+    {
+        // la distance euclidienne est symétrique : la ligne de l'entrepôt sert dans les deux sens.
+        if(i == 0)
+        {
+            return this.ligneEntrepôt[j];
+        }
+        if(j == 0)
+        {
+            return this.ligneEntrepôt[i];
+        }
+        return this.cacheDuThread().distance(i, j);
+    }
+
+    @Override
+    public int getNbSommets()
+    {
+        return this.x.length;
+    }
+
+    /**
+     * Récupère le nombre de lignes pouvant être gardées en cache.
+     * @return le nombre maximal de lignes dans le cache de chaque thread (hors ligne de l'entrepôt).
+     */
+    public int getNbLignesMax()
+    {
+        return this.nbLignesMax;
+    }
+
+    /**
+     * Récupère le nombre de lignes actuellement en cache.
+     * @return le nombre de lignes dans le cache du thread courant (hors ligne de l'entrepôt).
+     */
+    public int getNbLignesEnCache()
+    {
+        int nbLignes = 0;
+        for(int sommet : this.cacheDuThread().sommetDeLEmplacement)
+        {
+            if(sommet >= 0)
+            {
+                nbLignes++;
+            }
+        }
+        return nbLignes;
+    }
+
+    /**
+     * @return le cache de lignes du thread courant.
+     */
+    private Cache cacheDuThread()
+    {
+        return this.caches.get();
+    }
+
+    /**
+     * Calcule les distances d'un sommet vers tous les autres.
+     * @param sommet l'indice du sommet.
+     * @param ligne le tableau à remplir.
+     */
+    private void calculerLigne(int sommet, double[] ligne)
+    {
+        for(int j = 0; j < ligne.length; j++)
+        {
+            ligne[j] = Utilitaire.distanceEuclidienne(this.x[sommet], this.y[sommet], this.x[j], this.y[j]);
+        }
+    }
+
+    /**
+     * Le cache de lignes d'un thread.
+     */
+    private final class Cache
+    {
+        /**
+         * Les lignes en cache, une par emplacement.
+         */
+        private final double[][] lignes = new double[OracleDeDistances.this.nbLignesMax][];
+
+        /**
+         * Pour chaque emplacement, l'indice du sommet dont la ligne y est rangée (-1 si l'emplacement est libre).
+         */
+        private final int[] sommetDeLEmplacement = new int[OracleDeDistances.this.nbLignesMax];
+
+        /**
+         * Pour chaque sommet, l'emplacement où est rangée sa ligne (-1 si elle n'est pas en cache).
+         */
+        private final int[] emplacementDuSommet = new int[OracleDeDistances.this.x.length];
+
+        /**
+         * Bit de seconde chance de chaque emplacement : mis à true à chaque lecture, remis à false par l'horloge.
+         */
+        private final boolean[] utiliséRécemment = new boolean[OracleDeDistances.this.nbLignesMax];
+
+        /**
+         * La position courante de l'aiguille de l'horloge.
+         */
+        private int aiguille;
+
+        private Cache()
+        {
+            Arrays.fill(this.sommetDeLEmplacement, -1);
+            Arrays.fill(this.emplacementDuSommet, -1);
+        }
+
+        /**
+         * Lit la distance entre deux sommets autres que l'entrepôt, en chargeant si besoin la ligne du premier.
+         */
+        private double distance(int i, int j)
+        {
+            // si aucune des deux lignes n'est en cache, on charge celle du sommet de départ.
+            int emplacement = this.emplacementDuSommet[i];
+            int colonne = j;
+            if(emplacement < 0)
+            {
+                emplacement = this.emplacementDuSommet[j];
+                colonne = i;
+                if(emplacement < 0)
+                {
+                    emplacement = this.chargerLigne(i);
+                    colonne = j;
+                }
+            }
+            this.utiliséRécemment[emplacement] = true;
+            return this.lignes[emplacement][colonne];
+        }
+
+        /**
+         * Charge la ligne d'un sommet dans le cache, en évinçant si besoin une ligne peu utilisée.
+         * @param sommet l'indice du sommet dont on veut la ligne.
+         * @return l'emplacement où la ligne a été rangée.
+         */
+        private int chargerLigne(int sommet)
+        {
+            // on avance l'aiguille jusqu'à un emplacement qui n'a pas été lu depuis le dernier passage.
+            while(this.utiliséRécemment[this.aiguille])
+            {
+                this.utiliséRécemment[this.aiguille] = false;
+                this.aiguille = (this.aiguille + 1) % this.lignes.length;
+            }
+            int emplacement = this.aiguille;
+            this.aiguille = (this.aiguille + 1) % this.lignes.length;
+
+            // on libère l'emplacement, en réutilisant le tableau de la ligne évincée.
+            int sommetÉvincé = this.sommetDeLEmplacement[emplacement];
+            if(sommetÉvincé >= 0)
+            {
+                this.emplacementDuSommet[sommetÉvincé] = -1;
+            }
+            if(this.lignes[emplacement] == null)
+            {
+                this.lignes[emplacement] = new double[OracleDeDistances.this.x.length];
+            }
+
+            OracleDeDistances.this.calculerLigne(sommet, this.lignes[emplacement]);
+            this.sommetDeLEmplacement[emplacement] = sommet;
+            this.emplacementDuSommet[sommet] = emplacement;
+            return emplacement;
+        }
+    }
+}
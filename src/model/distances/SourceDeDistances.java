@@ -0,0 +1,68 @@
+package model.distances;
+
+import model.graph.Sommet;
+
+/**
+ * Représente une source de distances entre les sommets d'un fichier.
+ * Les sommets y sont désignés par un indice dense : l'entrepôt a l'indice 0, et chaque client
+ * a pour indice son numéro de client (de 1 à n).
+ * @see Sommet#getIndice()
+ */
+public interface SourceDeDistances
+{
+    /**
+     * Récupère la distance pour aller du sommet d'indice i au sommet d'indice j.
+     * @param i l'indice du sommet de départ.
+     * @param j l'indice du sommet d'arrivée.
+     * @return la distance entre les deux sommets.
+     */
+    double distance(int i, int j);
+
+    /**
+     * Récupère la distance pour aller d'un sommet à un autre.
+     * @param départ le sommet de départ.
+     * @param arrivée le sommet d'arrivée.
+     * @return la distance entre les deux sommets.
+     */
+    default double distance(Sommet départ, Sommet arrivée)
+    {
+        return this.distance(départ.getIndice(), arrivée.getIndice());
+    }
+
+    /**
+     * Récupère le nombre de sommets couverts par la source (entrepôt compris).
+     * @return le nombre de sommets.
+     */
+    int getNbSommets();
+
+    /**
+     * Indique si la distance de i à j est toujours égale à la distance de j à i.
+     * Ce n'est pas le cas des distances routières ou des temps de trajet, par exemple.
+     * @return true si les distances sont symétriques.
+     */
+    default boolean estSymétrique()
+    {
+        return true;
+    }
+
+    /**
+     * Indique si toutes les distances de la source sont entières.
+     * @return true si les distances sont entières.
+     * @see MatriceDesDistancesEntières
+     */
+    default boolean estEntière()
+    {
+        return false;
+    }
+
+    /**
+     * Récupère la distance entre deux sommets, arrondie à l'entier le plus proche.
+     * @param i l'indice du sommet de départ.
+     * @param j l'indice du sommet d'arrivée.
+     * @return la distance entière entre les deux sommets.
+     */
+    default long distanceEntière(int i, int j)
+    {
+        return Math.round(this.distance(i, j));
+    }
+}
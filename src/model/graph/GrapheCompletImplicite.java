@@ -0,0 +1,203 @@
+package model.graph;
+
+import model.Fichier;
+import model.distances.SourceDeDistances;
+
+import java.util.Arrays;
+
+/**
+ * Vue implicite du graphe complet d'un fichier : les sommets sont les entiers de 0 (l'entrepôt) à n (les clients),
+ * et le coût de chaque arête est lu dans la source de distances partagée. Aucune arête n'est matérialisée.
+ *
+ * Les algorithmes sur graphes (bornes par arbre couvrant minimal, économies de Clarke et Wright, balayage...) peuvent
+ * ainsi parcourir le graphe complet sans créer d'objet par arête ni hacher de Sommet. Le parcours des voisins par coût
+ * croissant se fait avec un {@link ParcoursDesVoisins} réutilisable, qui n'alloue rien après sa création.
+ * @see GrapheDeCandidats pour un graphe creux des seules arêtes prometteuses.
+ */
+public class GrapheCompletImplicite
+{
+    private final SourceDeDistances distances;
+
+    /**
+     * Construit la vue du graphe complet d'un fichier.
+     * @param fichier le fichier.
+     */
+    public GrapheCompletImplicite(Fichier fichier)
+    {
+        this(fichier.getDistances());
+    }
+
+    /**
+     * Construit la vue du graphe complet des sommets d'une source de distances.
+     * @param distances la source des distances.
+     */
+    public GrapheCompletImplicite(SourceDeDistances distances)
+    {
+        this.distances = distances;
+    }
+
+    /**
+     * @return le nombre de sommets du graphe.
+     */
+    public int getNbSommets()
+    {
+        return this.distances.getNbSommets();
+    }
+
+    /**
+     * @param i l'indice du premier sommet.
+     * @param j l'indice du second sommet.
+     * @return le coût de l'arête (i, j).
+     */
+    public double coût(int i, int j)
+    {
+        return this.distances.distance(i, j);
+    }
+
+    /**
+     * Crée un parcours réutilisable des voisins par coût croissant.
+     * @return le parcours, à initialiser avec {@link ParcoursDesVoisins#commencer(int)}.
+     */
+    public ParcoursDesVoisins nouveauParcours()
+    {
+        return new ParcoursDesVoisins(this);
+    }
+
+    /**
+     * Calcule le poids de l'arbre couvrant minimal du graphe complet (algorithme de Prim, en O(n²) et O(n) mémoire).
+     * Pour une source symétrique, c'est une borne inférieure de la longueur d'une tournée unique passant par tous
+     * les sommets.
+     * @return le poids de l'arbre couvrant minimal.
+     */
+    public double poidsArbreCouvrantMinimal()
+    {
+        int n = this.getNbSommets();
+        if(n == 0)
+        {
+            return 0;
+        }
+        // coûtMin[i] : coût de la meilleure arête reliant i à l'arbre ; NaN une fois i dans l'arbre
+        double[] coûtMin = new double[n];
+        Arrays.fill(coûtMin, Double.POSITIVE_INFINITY);
+        double poids = 0;
+        int dernier = 0;
+        coûtMin[0] = Double.NaN;
+        for(int étape = 1; étape < n; étape++)
+        {
+            int suivant = -1;
+            for(int i = 0; i < n; i++)
+            {
+                if(!Double.isNaN(coûtMin[i]))
+                {
+                    coûtMin[i] = Math.min(coûtMin[i], this.distances.distance(dernier, i));
+                    if(suivant < 0 || coûtMin[i] < coûtMin[suivant])
+                    {
+                        suivant = i;
+                    }
+                }
+            }
+            poids += coûtMin[suivant];
+            coûtMin[suivant] = Double.NaN;
+            dernier = suivant;
+        }
+        return poids;
+    }
+
+    /**
+     * Parcours des voisins d'un sommet par coût croissant. Les voisins sont rangés dans un tas binaire : commencer
+     * un parcours coûte O(n), et chaque voisin obtenu O(log n). Obtenir les k plus proches voisins coûte donc
+     * O(n + k log n), sans tri complet.
+     * Un parcours peut être recommencé autant de fois que nécessaire ; il ne doit pas être partagé entre threads.
+     */
+    public static final class ParcoursDesVoisins
+    {
+        private final GrapheCompletImplicite graphe;
+        private final int[] sommets;
+        private final double[] coûts;
+        private int taille;
+
+        private ParcoursDesVoisins(GrapheCompletImplicite graphe)
+        {
+            this.graphe = graphe;
+            int n = Math.max(graphe.getNbSommets() - 1, 0);
+            this.sommets = new int[n];
+            this.coûts = new double[n];
+        }
+
+        /**
+         * Commence le parcours des voisins d'un sommet.
+         * @param i l'indice du sommet.
+         */
+        public void commencer(int i)
+        {
+            this.taille = 0;
+            for(int j = 0; j < this.graphe.getNbSommets(); j++)
+            {
+                if(j != i)
+                {
+                    this.sommets[this.taille] = j;
+                    this.coûts[this.taille] = this.graphe.coût(i, j);
+                    this.taille++;
+                }
+            }
+            for(int p = this.taille / 2 - 1; p >= 0; p--)
+            {
+                this.descendre(p);
+            }
+        }
+
+        /**
+         * @return true s'il reste des voisins à parcourir.
+         */
+        public boolean aUnSuivant()
+        {
+            return this.taille > 0;
+        }
+
+        /**
+         * @return le coût de l'arête vers le prochain voisin, sans l'extraire.
+         */
+        public double coûtDuSuivant()
+        {
+            return this.coûts[0];
+        }
+
+        /**
+         * Extrait le prochain voisin, c'est-à-dire le plus proche de ceux qui n'ont pas encore été parcourus.
+         * @return l'indice du voisin.
+         */
+        public int suivant()
+        {
+            int voisin = this.sommets[0];
+            this.taille--;
+            this.sommets[0] = this.sommets[this.taille];
+            this.coûts[0] = this.coûts[this.taille];
+            this.descendre(0);
+            return voisin;
+        }
+
+        private void descendre(int p)
+        {
+            int sommet = this.sommets[p];
+            double coût = this.coûts[p];
+            int fils = 2 * p + 1;
+            while(fils < this.taille)
+            {
+                if(fils + 1 < this.taille && this.coûts[fils + 1] < this.coûts[fils])
+                {
+                    fils++;
+                }
+                if(this.coûts[fils] >= coût)
+                {
+                    break;
+                }
+                this.sommets[p] = this.sommets[fils];
+                this.coûts[p] = this.coûts[fils];
+                p = fils;
+                fils = 2 * p + 1;
+            }
+            this.sommets[p] = sommet;
+            this.coûts[p] = coût;
+        }
+    }
+}
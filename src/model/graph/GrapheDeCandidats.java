@@ -0,0 +1,228 @@
+package model.graph;
+
+import model.Fichier;
+import model.InstanceCompacte;
+import model.distances.ListesDeCandidats;
+
+import java.util.Arrays;
+
+/**
+ * Graphe creux des arêtes prometteuses d'un fichier : les arêtes de la triangulation de Delaunay des sommets,
+ * complétées éventuellement par les arêtes vers les k plus proches voisins de chaque sommet.
+ *
+ * Dans le plan, la triangulation de Delaunay a au plus 3n - 6 arêtes et contient l'arbre couvrant minimal ainsi
+ * que le plus proche voisin de chaque sommet : les arêtes des bonnes tournées en font presque toujours partie.
+ * Contrairement au graphe complet (n(n-1)/2 objets Arête), le graphe est stocké en O(n) mémoire, dans des tableaux
+ * d'entiers au format « lignes compressées » : les voisins du sommet i sont voisins[début[i]] à voisins[début[i + 1] - 1],
+ * triés par indice croissant.
+ *
+ * Les sommets sont numérotés comme dans les sources de distances : 0 pour l'entrepôt, puis 1 à n pour les clients.
+ * @see model.distances.SourceDeDistances
+ */
+public class GrapheDeCandidats
+{
+    private final int nbSommets;
+
+    /**
+     * début[i] est l'index du premier voisin du sommet i dans voisins ; début[nbSommets] est le nombre total d'entrées.
+     */
+    private final int[] début;
+
+    private final int[] voisins;
+
+    /**
+     * Construit le graphe de Delaunay des sommets d'un fichier.
+     * @param fichier le fichier.
+     */
+    public GrapheDeCandidats(Fichier fichier)
+    {
+        this(fichier, 0);
+    }
+
+    /**
+     * Construit le graphe de Delaunay des sommets d'un fichier, complété par les arêtes vers les k plus proches voisins
+     * de chaque sommet (selon la source de distances du fichier).
+     * @param fichier le fichier.
+     * @param k le nombre de plus proches voisins ajoutés pour chaque sommet ; 0 pour la triangulation seule.
+     */
+    public GrapheDeCandidats(Fichier fichier, int k)
+    {
+        InstanceCompacte instance = fichier.getInstance();
+        this.nbSommets = instance.getNbSommets();
+        TriangulationDeDelaunay triangulation = new TriangulationDeDelaunay(instance.getAbscisses(), instance.getOrdonnées());
+        int[] arêtes = GrapheDeCandidats.ajouterLesDoublons(triangulation, triangulation.arêtes());
+        ListesDeCandidats plusProches = k > 0 ? new ListesDeCandidats(fichier.getDistances(), k) : null;
+
+        // premier passage : comptage des degrés (avec répétitions), second passage : remplissage
+        int[] positions = new int[this.nbSommets + 1];
+        for(int e = 0; e < arêtes.length; e++)
+        {
+            positions[arêtes[e] + 1]++;
+        }
+        if(plusProches != null)
+        {
+            for(int i = 0; i < this.nbSommets; i++)
+            {
+                for(int j : plusProches.getVoisins(i))
+                {
+                    positions[i + 1]++;
+                    positions[j + 1]++;
+                }
+            }
+        }
+        for(int i = 0; i < this.nbSommets; i++)
+        {
+            positions[i + 1] += positions[i];
+        }
+        int[] brut = new int[positions[this.nbSommets]];
+        int[] remplissage = Arrays.copyOf(positions, this.nbSommets);
+        for(int e = 0; e < arêtes.length; e += 2)
+        {
+            brut[remplissage[arêtes[e]]++] = arêtes[e + 1];
+            brut[remplissage[arêtes[e + 1]]++] = arêtes[e];
+        }
+        if(plusProches != null)
+        {
+            for(int i = 0; i < this.nbSommets; i++)
+            {
+                for(int j : plusProches.getVoisins(i))
+                {
+                    brut[remplissage[i]++] = j;
+                    brut[remplissage[j]++] = i;
+                }
+            }
+        }
+
+        // tri de chaque ligne et suppression des répétitions
+        this.début = new int[this.nbSommets + 1];
+        int nb = 0;
+        for(int i = 0; i < this.nbSommets; i++)
+        {
+            Arrays.sort(brut, positions[i], remplissage[i]);
+            this.début[i] = nb;
+            for(int r = positions[i]; r < remplissage[i]; r++)
+            {
+                if(brut[r] != i && (nb == this.début[i] || brut[nb - 1] != brut[r]))
+                {
+                    brut[nb++] = brut[r];
+                }
+            }
+        }
+        this.début[this.nbSommets] = nb;
+        this.voisins = Arrays.copyOf(brut, nb);
+    }
+
+    /**
+     * Les points confondus ne font pas partie de la triangulation : chacun est relié au point inséré à sa position,
+     * et reprend les arêtes de ce dernier.
+     * @param triangulation la triangulation.
+     * @param arêtes les arêtes de la triangulation, à plat.
+     * @return les arêtes complétées, à plat.
+     */
+    private static int[] ajouterLesDoublons(TriangulationDeDelaunay triangulation, int[] arêtes)
+    {
+        int nbSommets = triangulation.getNbPoints();
+        // listes chaînées des doublons de chaque point inséré
+        int[] premierDoublon = new int[nbSommets];
+        int[] doublonSuivant = new int[nbSommets];
+        Arrays.fill(premierDoublon, -1);
+        int nbDoublons = 0;
+        for(int i = 0; i < nbSommets; i++)
+        {
+            int représentant = triangulation.doublonDe(i);
+            if(représentant >= 0)
+            {
+                doublonSuivant[i] = premierDoublon[représentant];
+                premierDoublon[représentant] = i;
+                nbDoublons++;
+            }
+        }
+        if(nbDoublons == 0)
+        {
+            return arêtes;
+        }
+
+        int[] complétées = Arrays.copyOf(arêtes, arêtes.length + 2 * nbDoublons);
+        int nb = arêtes.length;
+        for(int i = 0; i < nbSommets; i++)
+        {
+            for(int d = premierDoublon[i]; d >= 0; d = doublonSuivant[d])
+            {
+                complétées[nb++] = d;
+                complétées[nb++] = i;
+            }
+        }
+        for(int e = 0; e < arêtes.length; e++)
+        {
+            // l'autre extrémité de l'arête
+            int autre = arêtes[e ^ 1];
+            for(int d = premierDoublon[arêtes[e]]; d >= 0; d = doublonSuivant[d])
+            {
+                if(nb + 2 > complétées.length)
+                {
+                    complétées = Arrays.copyOf(complétées, 2 * complétées.length);
+                }
+                complétées[nb++] = d;
+                complétées[nb++] = autre;
+            }
+        }
+        return Arrays.copyOf(complétées, nb);
+    }
+
+    /**
+     * @return le nombre de sommets du graphe (l'entrepôt et les clients).
+     */
+    public int getNbSommets()
+    {
+        return this.nbSommets;
+    }
+
+    /**
+     * @return le nombre d'arêtes (non orientées) du graphe.
+     */
+    public int getNbArêtes()
+    {
+        return this.voisins.length / 2;
+    }
+
+    /**
+     * @param i l'indice d'un sommet.
+     * @return le nombre de voisins du sommet.
+     */
+    public int getDegré(int i)
+    {
+        return this.début[i + 1] - this.début[i];
+    }
+
+    /**
+     * Récupère un voisin d'un sommet, sans allocation.
+     * @param i l'indice du sommet.
+     * @param r le rang du voisin, de 0 à getDegré(i) - 1.
+     * @return l'indice du r-ième voisin de i, par indice croissant.
+     */
+    public int getVoisin(int i, int r)
+    {
+        return this.voisins[this.début[i] + r];
+    }
+
+    /**
+     * Récupère une copie des voisins d'un sommet.
+     * @param i l'indice du sommet.
+     * @return les indices des voisins de i, par ordre croissant.
+     */
+    public int[] getVoisins(int i)
+    {
+        return Arrays.copyOfRange(this.voisins, this.début[i], this.début[i + 1]);
+    }
+
+    /**
+     * Indique si deux sommets sont reliés par une arête du graphe (recherche dichotomique, en O(log degré)).
+     * @param i l'indice du premier sommet.
+     * @param j l'indice du second sommet.
+     * @return true si l'arête (i, j) fait partie du graphe, false sinon.
+     */
+    public boolean estArête(int i, int j)
+    {
+        return Arrays.binarySearch(this.voisins, this.début[i], this.début[i + 1], j) >= 0;
+    }
+}
@@ -11,7 +11,9 @@ import java.util.stream.Collectors;
 /**
  * Cette classe représente un graphe non orienté complet, dans l'optique de gérer
  * sommets et arêtes.
- * @deprecated N'est pas utile dans le projet.
+ * @deprecated N'est pas utile dans le projet, et occupe O(n²) objets en mémoire.
+ * Utiliser {@link GrapheCompletImplicite} lorsque le graphe complet est nécessaire (aucune arête matérialisée),
+ * ou {@link GrapheDeCandidats}, graphe creux des arêtes prometteuses stocké en O(n).
  */
 @Deprecated
 public class GrapheNonOrientéComplet
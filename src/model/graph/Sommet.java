@@ -3,12 +3,14 @@ package model.graph;
 import java.util.Objects;
 
 /**
- * Représente un sommet et ses positions X, Y dans le plan
+ * Représente un sommet et ses positions X, Y dans le plan.
+ * Un sommet est immuable : les sommets d'un fichier sont créés une seule fois, puis partagés par référence entre
+ * tous les itinéraires et toutes les copies de solutions.
  */
 public class Sommet
 {
-    private int positionX;
-    private int positionY;
+    private final int positionX;
+    private final int positionY;
 
     /**
      * Constructeur deux paramètres d'un sommet.
@@ -43,19 +45,22 @@ public class Sommet
     }
 
     /**
-     * Récupère la position X du sommet dans le plan.
-     * @return la position X du sommet dans le plan.
+     * Récupère l'indice dense du sommet, utilisé pour lire les distances dans une source de distances.
+     * Un sommet quelconque (et donc l'entrepôt) a l'indice 0.
+     * @return l'indice du sommet.
+     * @see model.distances.SourceDeDistances
      */
-    public int getPositionX() {
-        return positionX;
+    public int getIndice()
+    {
+        return 0;
     }
 
     /**
-     * Modifie la position X du sommet dans le plan.
-     * @param positionX la nouvelle position.
+     * Récupère la position X du sommet dans le plan.
+     * @return la position X du sommet dans le plan.
      */
-    public void setPositionX(int positionX) {
-        this.positionX = positionX;
+    public int getPositionX() {
+        return positionX;
     }
 
     /**
@@ -66,14 +71,6 @@ public class Sommet
         return positionY;
     }
 
-    /**
-     * Modifie la position Y du sommet dans le plan.
-     * @param positionY la nouvelle position.
-     */
-    public void setPositionY(int positionY) {
-        this.positionY = positionY;
-    }
-
     @Override
     public boolean equals(Object o)
     {
@@ -0,0 +1,429 @@
+package model.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Triangulation de Delaunay d'un ensemble de points du plan, par l'algorithme incrémental de Bowyer-Watson.
+ *
+ * Les points sont insérés dans un ordre qui suit des bandes horizontales en serpentin : deux points consécutifs
+ * sont proches, et la recherche du triangle contenant le point suivant (marche dans la triangulation à partir
+ * du dernier triangle créé) ne parcourt que quelques triangles. La construction est alors quasi linéaire.
+ *
+ * Les triangles sont stockés dans des tableaux d'entiers : sommets[3t + k] est le k-ième sommet du triangle t
+ * (dans le sens trigonométrique), et adjacents[3t + k] le triangle situé de l'autre côté de l'arête opposée à ce
+ * sommet (-1 s'il n'y en a pas). Les emplacements des triangles détruits sont réutilisés : la mémoire reste en O(n).
+ *
+ * Un super-triangle englobant, de sommets n, n + 1 et n + 2, sert de point de départ. Il est placé à distance
+ * finie : quelques arêtes de l'enveloppe convexe presque plates peuvent manquer, mais toutes les arêtes renvoyées
+ * sont des arêtes de Delaunay, et le graphe contient en particulier l'arbre couvrant minimal et le graphe des
+ * plus proches voisins. Les points confondus ne sont insérés qu'une fois.
+ */
+final class TriangulationDeDelaunay
+{
+    private final int nbPoints;
+
+    /**
+     * Les coordonnées des points, suivies de celles des trois sommets du super-triangle.
+     */
+    private final double[] x;
+    private final double[] y;
+
+    /**
+     * doublonDe[i] est le point déjà inséré à la même position que i, ou -1 si i a été inséré.
+     */
+    private final int[] doublonDe;
+
+    private int[] sommets;
+    private int[] adjacents;
+
+    /**
+     * marques[t] vaut 2 * insertion + 1 si le triangle t fait partie de la cavité de l'insertion courante,
+     * 2 * insertion + 2 s'il a été testé et n'en fait pas partie.
+     */
+    private int[] marques;
+
+    private boolean[] détruit;
+
+    private int nbTriangles;
+
+    /**
+     * Les emplacements de triangles détruits, réutilisables.
+     */
+    private int[] libres;
+    private int nbLibres;
+
+    /**
+     * Pile de parcours, triangles de la cavité, et arêtes de son bord (sommets a et b, triangle extérieur, puis
+     * nouveau triangle).
+     */
+    private int[] pile;
+    private int[] cavité;
+    private int[] bord;
+
+    /**
+     * Le triangle créé en dernier, point de départ de la recherche suivante.
+     */
+    private int dernier;
+
+    /**
+     * Tableaux indexés par sommet, utilisés pour relier entre eux les triangles créés par une insertion.
+     */
+    private final int[] triangleDepuis;
+    private final int[] triangleVers;
+
+    /**
+     * Construit la triangulation de Delaunay de points à coordonnées entières.
+     * @param xs les abscisses des points.
+     * @param ys les ordonnées des points.
+     */
+    TriangulationDeDelaunay(int[] xs, int[] ys)
+    {
+        this.nbPoints = xs.length;
+        int n = this.nbPoints;
+        this.x = new double[n + 3];
+        this.y = new double[n + 3];
+        this.doublonDe = new int[n];
+        this.triangleDepuis = new int[n + 3];
+        this.triangleVers = new int[n + 3];
+
+        int capacité = 2 * n + 8;
+        this.sommets = new int[3 * capacité];
+        this.adjacents = new int[3 * capacité];
+        this.marques = new int[capacité];
+        this.détruit = new boolean[capacité];
+        this.libres = new int[capacité];
+        this.pile = new int[16];
+        this.cavité = new int[16];
+        this.bord = new int[64];
+
+        if(n == 0)
+        {
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for(int i = 0; i < n; i++)
+        {
+            this.x[i] = xs[i];
+            this.y[i] = ys[i];
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+
+        // super-triangle englobant, dans le sens trigonométrique
+        double cx = (minX + (double) maxX) / 2;
+        double cy = (minY + (double) maxY) / 2;
+        double m = Math.max(1, Math.max(maxX - (double) minX, maxY - (double) minY));
+        this.x[n] = cx - 20 * m;
+        this.y[n] = cy - m;
+        this.x[n + 1] = cx + 20 * m;
+        this.y[n + 1] = cy - m;
+        this.x[n + 2] = cx;
+        this.y[n + 2] = cy + 20 * m;
+        this.dernier = this.nouveauTriangle(n, n + 1, n + 2);
+        Arrays.fill(this.adjacents, 0, 3, -1);
+
+        // les points confondus ne sont insérés qu'une seule fois
+        HashMap<Long, Integer> positions = new HashMap<Long, Integer>();
+        int insertion = 0;
+        for(int i : TriangulationDeDelaunay.ordreDInsertion(xs, ys, minX, minY, maxX, maxY))
+        {
+            Integer premier = positions.putIfAbsent(((long) xs[i] << 32) | (ys[i] & 0xffffffffL), i);
+            if(premier != null)
+            {
+                this.doublonDe[i] = premier;
+                continue;
+            }
+            this.doublonDe[i] = -1;
+            this.insérer(i, ++insertion);
+        }
+    }
+
+    /**
+     * Récupère les arêtes de la triangulation entre points (hors super-triangle).
+     * @return les arêtes, à plat : les extrémités de l'arête e sont aux index 2e et 2e + 1.
+     */
+    int[] arêtes()
+    {
+        int[] arêtes = new int[16];
+        int nb = 0;
+        for(int t = 0; t < this.nbTriangles; t++)
+        {
+            if(this.détruit[t])
+            {
+                continue;
+            }
+            for(int k = 0; k < 3; k++)
+            {
+                int a = this.sommets[3 * t + (k + 1) % 3];
+                int b = this.sommets[3 * t + (k + 2) % 3];
+                // chaque arête intérieure est vue dans les deux sens : on ne la garde que dans un seul
+                if(a < b && b < this.nbPoints)
+                {
+                    if(nb + 2 > arêtes.length)
+                    {
+                        arêtes = Arrays.copyOf(arêtes, 2 * arêtes.length);
+                    }
+                    arêtes[nb++] = a;
+                    arêtes[nb++] = b;
+                }
+            }
+        }
+        return Arrays.copyOf(arêtes, nb);
+    }
+
+    /**
+     * @return le nombre de points triangulés (hors super-triangle).
+     */
+    int getNbPoints()
+    {
+        return this.nbPoints;
+    }
+
+    /**
+     * @param i un point.
+     * @return le point inséré à la même position que i, ou -1 si i a lui-même été inséré.
+     */
+    int doublonDe(int i)
+    {
+        return this.doublonDe[i];
+    }
+
+    /**
+     * Insère un point : les triangles dont le cercle circonscrit contient le point forment une cavité, qui est
+     * retriangulée en reliant le point à chacune des arêtes de son bord.
+     */
+    private void insérer(int p, int insertion)
+    {
+        int départ = this.localiser(p);
+        int dansCavité = 2 * insertion + 1;
+        int horsCavité = 2 * insertion + 2;
+
+        // parcours en profondeur de la cavité, qui est connexe et contient le triangle de départ
+        int nbPile = 0;
+        int nbCavité = 0;
+        int nbBord = 0;
+        this.marques[départ] = dansCavité;
+        this.pile[nbPile++] = départ;
+        while(nbPile > 0)
+        {
+            int t = this.pile[--nbPile];
+            if(nbCavité == this.cavité.length)
+            {
+                this.cavité = Arrays.copyOf(this.cavité, 2 * nbCavité);
+            }
+            this.cavité[nbCavité++] = t;
+            for(int k = 0; k < 3; k++)
+            {
+                int voisin = this.adjacents[3 * t + k];
+                if(voisin >= 0 && this.marques[voisin] != dansCavité && this.marques[voisin] != horsCavité)
+                {
+                    if(this.dansLeCercle(voisin, p))
+                    {
+                        this.marques[voisin] = dansCavité;
+                        if(nbPile == this.pile.length)
+                        {
+                            this.pile = Arrays.copyOf(this.pile, 2 * nbPile);
+                        }
+                        this.pile[nbPile++] = voisin;
+                        continue;
+                    }
+                    this.marques[voisin] = horsCavité;
+                }
+                if(voisin < 0 || this.marques[voisin] == horsCavité)
+                {
+                    if(4 * nbBord + 4 > this.bord.length)
+                    {
+                        this.bord = Arrays.copyOf(this.bord, 2 * this.bord.length);
+                    }
+                    this.bord[4 * nbBord] = this.sommets[3 * t + (k + 1) % 3];
+                    this.bord[4 * nbBord + 1] = this.sommets[3 * t + (k + 2) % 3];
+                    this.bord[4 * nbBord + 2] = voisin;
+                    nbBord++;
+                }
+            }
+        }
+
+        // destruction de la cavité : ses emplacements sont réutilisés par les nouveaux triangles
+        for(int c = 0; c < nbCavité; c++)
+        {
+            this.détruire(this.cavité[c]);
+        }
+
+        // un nouveau triangle (p, a, b) par arête (a, b) du bord
+        int premier = -1;
+        for(int e = 0; e < nbBord; e++)
+        {
+            int a = this.bord[4 * e];
+            int b = this.bord[4 * e + 1];
+            int t = this.nouveauTriangle(p, a, b);
+            this.bord[4 * e + 3] = t;
+            this.triangleDepuis[a] = t;
+            this.triangleVers[b] = t;
+            premier = t;
+        }
+        for(int e = 0; e < nbBord; e++)
+        {
+            int a = this.bord[4 * e];
+            int b = this.bord[4 * e + 1];
+            int extérieur = this.bord[4 * e + 2];
+            int t = this.bord[4 * e + 3];
+            this.adjacents[3 * t] = extérieur;
+            this.adjacents[3 * t + 1] = this.triangleDepuis[b];
+            this.adjacents[3 * t + 2] = this.triangleVers[a];
+            if(extérieur >= 0)
+            {
+                // l'arête (b, a) du triangle extérieur borde désormais le nouveau triangle
+                for(int k = 0; k < 3; k++)
+                {
+                    if(this.sommets[3 * extérieur + (k + 1) % 3] == b && this.sommets[3 * extérieur + (k + 2) % 3] == a)
+                    {
+                        this.adjacents[3 * extérieur + k] = t;
+                    }
+                }
+            }
+        }
+        this.dernier = premier;
+    }
+
+    private void détruire(int t)
+    {
+        if(!this.détruit[t])
+        {
+            this.détruit[t] = true;
+            if(this.nbLibres == this.libres.length)
+            {
+                this.libres = Arrays.copyOf(this.libres, 2 * this.nbLibres);
+            }
+            this.libres[this.nbLibres++] = t;
+        }
+    }
+
+    private int nouveauTriangle(int a, int b, int c)
+    {
+        int t;
+        if(this.nbLibres > 0)
+        {
+            t = this.libres[--this.nbLibres];
+        }
+        else
+        {
+            t = this.nbTriangles++;
+            if(t == this.détruit.length)
+            {
+                int capacité = 2 * t;
+                this.sommets = Arrays.copyOf(this.sommets, 3 * capacité);
+                this.adjacents = Arrays.copyOf(this.adjacents, 3 * capacité);
+                this.marques = Arrays.copyOf(this.marques, capacité);
+                this.détruit = Arrays.copyOf(this.détruit, capacité);
+            }
+        }
+        this.sommets[3 * t] = a;
+        this.sommets[3 * t + 1] = b;
+        this.sommets[3 * t + 2] = c;
+        this.détruit[t] = false;
+        this.marques[t] = 0;
+        return t;
+    }
+
+    /**
+     * Recherche un triangle contenant le point p, en marchant à partir du dernier triangle créé : tant que p est
+     * de l'autre côté d'une arête, on passe au triangle voisin par cette arête.
+     */
+    private int localiser(int p)
+    {
+        int t = this.dernier;
+        int pas = 0;
+        boolean trouvé = false;
+        while(!trouvé && pas++ <= this.nbTriangles)
+        {
+            trouvé = true;
+            for(int k = 0; k < 3; k++)
+            {
+                int a = this.sommets[3 * t + (k + 1) % 3];
+                int b = this.sommets[3 * t + (k + 2) % 3];
+                if(this.orientation(a, b, p) < 0 && this.adjacents[3 * t + k] >= 0)
+                {
+                    t = this.adjacents[3 * t + k];
+                    trouvé = false;
+                    break;
+                }
+            }
+        }
+        if(trouvé)
+        {
+            return t;
+        }
+        // la marche a tourné en rond (erreurs d'arrondi) : recherche exhaustive
+        for(t = 0; t < this.nbTriangles; t++)
+        {
+            if(!this.détruit[t]
+                    && this.orientation(this.sommets[3 * t + 1], this.sommets[3 * t + 2], p) >= 0
+                    && this.orientation(this.sommets[3 * t + 2], this.sommets[3 * t], p) >= 0
+                    && this.orientation(this.sommets[3 * t], this.sommets[3 * t + 1], p) >= 0)
+            {
+                return t;
+            }
+        }
+        return this.dernier;
+    }
+
+    /**
+     * @return un nombre positif si p est à gauche de (a, b), négatif s'il est à droite, nul s'ils sont alignés.
+     */
+    private double orientation(int a, int b, int p)
+    {
+        return (this.x[b] - this.x[a]) * (this.y[p] - this.y[a]) - (this.y[b] - this.y[a]) * (this.x[p] - this.x[a]);
+    }
+
+    /**
+     * @return true si le point p est strictement à l'intérieur du cercle circonscrit au triangle t.
+     */
+    private boolean dansLeCercle(int t, int p)
+    {
+        int a = this.sommets[3 * t];
+        int b = this.sommets[3 * t + 1];
+        int c = this.sommets[3 * t + 2];
+        double ax = this.x[a] - this.x[p], ay = this.y[a] - this.y[p];
+        double bx = this.x[b] - this.x[p], by = this.y[b] - this.y[p];
+        double cx = this.x[c] - this.x[p], cy = this.y[c] - this.y[p];
+        double déterminant = (ax * ax + ay * ay) * (bx * cy - cx * by)
+                - (bx * bx + by * by) * (ax * cy - cx * ay)
+                + (cx * cx + cy * cy) * (ax * by - bx * ay);
+        return déterminant > 0;
+    }
+
+    /**
+     * Ordonne les points par bandes horizontales parcourues alternativement de gauche à droite et de droite à gauche,
+     * de sorte que deux points consécutifs soient proches.
+     */
+    private static int[] ordreDInsertion(int[] xs, int[] ys, int minX, int minY, int maxX, int maxY)
+    {
+        int n = xs.length;
+        long nbBandes = Math.max(1, (long) Math.sqrt(n / 2.0));
+        long hauteur = (long) maxY - minY + 1;
+        long largeur = (long) maxX - minX + 1;
+        long[] clés = new long[n];
+        for(int i = 0; i < n; i++)
+        {
+            long bande = ((long) ys[i] - minY) * nbBandes / hauteur;
+            long position = (bande % 2 == 0) ? (long) xs[i] - minX : (long) maxX - xs[i];
+            clés[i] = bande * largeur + position;
+        }
+        Integer[] ordre = new Integer[n];
+        for(int i = 0; i < n; i++)
+        {
+            ordre[i] = i;
+        }
+        Arrays.sort(ordre, (i, j) -> Long.compare(clés[i], clés[j]));
+        int[] résultat = new int[n];
+        for(int i = 0; i < n; i++)
+        {
+            résultat[i] = ordre[i];
+        }
+        return résultat;
+    }
+}
@@ -0,0 +1,38 @@
+package utilitaires;
+
+import java.util.SplittableRandom;
+
+/**
+ * Générateurs aléatoires des algorithmes.
+ *
+ * Les algorithmes tirent leurs nombres aléatoires d'un SplittableRandom qui leur est donné : une exécution est
+ * reproductible pour une graine donnée, et chaque tâche d'une exécution parallèle reçoit son propre générateur,
+ * obtenu par split() à un point fixe de l'exécution, sans en disputer un avec les autres threads.
+ * Lorsqu'aucun générateur n'est donné, celui du thread courant est utilisé : il n'est ni alloué à chaque appel, ni
+ * partagé entre threads, mais ses tirages ne sont pas reproductibles.
+ */
+public final class Aléatoire
+{
+    private static final ThreadLocal<SplittableRandom> GÉNÉRATEURS_DES_THREADS = ThreadLocal.withInitial(SplittableRandom::new);
+
+    private Aléatoire()
+    {
+    }
+
+    /**
+     * @return le générateur aléatoire du thread courant, qui ne doit pas être transmis à un autre thread.
+     */
+    public static SplittableRandom duThread()
+    {
+        return GÉNÉRATEURS_DES_THREADS.get();
+    }
+
+    /**
+     * @param aléatoire un générateur aléatoire, éventuellement nul.
+     * @return le générateur donné, ou celui du thread courant s'il est nul.
+     */
+    public static SplittableRandom ouCeluiDuThread(SplittableRandom aléatoire)
+    {
+        return aléatoire != null ? aléatoire : Aléatoire.duThread();
+    }
+}
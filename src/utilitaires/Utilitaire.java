@@ -1,13 +1,10 @@
 package utilitaires;
 
+import algorithms.DécoupageOptimal;
 import customexceptions.SubdivisionAlgorithmException;
 import customexceptions.VehiculeCapacityOutOfBoundsException;
-import model.Client;
-import model.Entrepôt;
-import model.Itinéraire;
 import model.Solution;
-
-import java.util.ArrayList;
+import model.Véhicule;
 
 /**
  * Différentes méthodes utilitaires.
@@ -35,43 +32,21 @@ public class Utilitaire
 
     /**
      * Méthode prenant une solution en paramètre ne respectant pas les règles métier et composée
-     * d'un itinéraire unique, pour la subdiviser en itinéraires plus petits.
+     * d'un itinéraire unique, pour la subdiviser en itinéraires plus petits. Le découpage est optimal : parmi les
+     * découpages de l'itinéraire unique (sans changer l'ordre des clients) qui respectent la capacité des véhicules,
+     * c'est celui de longueur totale minimale.
      *
      * @param s la solution dont l'itinéraire unique ne respecte pas les règles métiers.
      * @return la solution de base avec désormais plusieurs itinéraires qui respectent les règles métier (capacité du véhicule).
      * @see algorithms.Tabou
+     * @see DécoupageOptimal
      */
     public static Solution subdiviserSolutionItinéraireUniqueEnPlusieursItinéraires(Solution s) throws SubdivisionAlgorithmException, VehiculeCapacityOutOfBoundsException
     {
         try
         {
-            Itinéraire itinéraireUniqueSolutionBase = s.getItinéraires().get(0);
-            Entrepôt entrepôt = (Entrepôt) itinéraireUniqueSolutionBase.getEntrepôt();
-            ArrayList<Client> clients = new ArrayList<Client>(itinéraireUniqueSolutionBase.getListeClientsÀLivrer());
-            Itinéraire itinéraire = new Itinéraire(entrepôt);
-            ArrayList<Itinéraire> itinéraires = new ArrayList<>();
-            itinéraires.add(itinéraire);
-
-            Solution nouvelleSolution = new Solution();
-
-
-            while (clients.size() > 0)
-            {
-                // on ajoute le premier client à chaque fois au dernier itinéraire.
-                // On retire snuite ce client de la liste
-                if (itinéraires.get(itinéraires.size() - 1).ajouterClient(clients.get(0)))
-                {
-                    clients.remove(0);
-                }
-                else
-                {
-                    Itinéraire nouvelItinéraire = new Itinéraire(entrepôt);
-                    nouvelItinéraire.getListeClientsÀLivrer().add(clients.get(0));
-                    clients.remove(0);
-                    itinéraires.add(nouvelItinéraire);
-                }
-            }
-            return new Solution(itinéraires);
+            DécoupageOptimal découpage = new DécoupageOptimal(new Véhicule().getCapacité());
+            return découpage.découper(s.getItinéraires().get(0));
         }
         catch(Exception e)
         {
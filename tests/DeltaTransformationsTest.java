@@ -0,0 +1,151 @@
+import algorithms.Mouvement;
+import algorithms.TransformateurItinéraire;
+import algorithms.Transformation;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.distances.ListesDeCandidats;
+import model.distances.SourceDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Classe de test de l'évaluation des transformations d'un itinéraire par leur variation de longueur, et des mouvements.
+ */
+public class DeltaTransformationsTest
+{
+    private static final Transformation[] TRANSFORMATIONS = {
+            Transformation.TRANSFORMATION_ÉCHANGE,
+            Transformation.INSERTION_DÉCALAGE,
+            Transformation.INVERSION,
+            Transformation.TRANSFORMATION_2_OPT
+    };
+
+    /**
+     * Une source de coûts asymétrique : le coût de i vers j dépend de i et de j, sans être celui de j vers i.
+     */
+    private final SourceDeDistances coûtsAsymétriques = new SourceDeDistances()
+    {
+        @Override
+        public double distance(int i, int j)
+        {
+            return i == j ? 0 : 1 + (i * 31 + j * 17) % 97;
+        }
+
+        @Override
+        public int getNbSommets()
+        {
+            return 31;
+        }
+
+        @Override
+        public boolean estSymétrique()
+        {
+            return false;
+        }
+    };
+
+    /**
+     * @return 30 clients placés aléatoirement.
+     */
+    private ArrayList<Client> clients()
+    {
+        Random random = new Random(7);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= 30; i++)
+        {
+            clients.add(new Client(i, random.nextInt(100), random.nextInt(100), 1));
+        }
+        return clients;
+    }
+
+    /**
+     * Tire des transformations de chaque type sur un itinéraire, et vérifie que leur variation de longueur est
+     * celle obtenue en les effectuant, et que son calcul ne modifie pas l'itinéraire.
+     */
+    private void vérifierLesVariations(Itinéraire itinéraire, ListesDeCandidats candidats) throws Exception
+    {
+        for(int k = 0; k < 400; k++)
+        {
+            Transformation transformation = TRANSFORMATIONS[k % TRANSFORMATIONS.length];
+            List<Client> avant = new ArrayList<Client>(itinéraire.getListeClientsÀLivrer());
+            double longueurAvant = itinéraire.getLongueurTotale();
+
+            int[] positions = TransformateurItinéraire.tirerPositions(transformation, itinéraire, candidats);
+            double variation = TransformateurItinéraire.delta(transformation, itinéraire, positions[0], positions[1]);
+            Assert.assertEquals(avant, itinéraire.getListeClientsÀLivrer());
+
+            TransformateurItinéraire.appliquer(transformation, itinéraire, positions[0], positions[1]);
+            Assert.assertEquals(transformation + " " + positions[0] + " " + positions[1],
+                    itinéraire.getLongueurTotale() - longueurAvant, variation, 1e-6);
+        }
+    }
+
+    /**
+     * Vérifie les variations des transformations aléatoires et granulaires, avec des distances euclidiennes.
+     */
+    @Test
+    public void testVariationsSymétriques() throws Exception
+    {
+        Fichier f = new Fichier(this.clients(), "test", new Entrepôt(50, 50));
+        this.vérifierLesVariations(new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances()), null);
+        this.vérifierLesVariations(new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances()),
+                new ListesDeCandidats(f.getDistances(), 5));
+
+        f.utiliserDistancesEntières(100);
+        this.vérifierLesVariations(new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances()),
+                new ListesDeCandidats(f.getDistances(), 5));
+        System.out.println("= Test variations symétriques passed ✅ =");
+    }
+
+    /**
+     * Vérifie les variations avec des coûts asymétriques, pour lesquels inverser une portion change son coût.
+     */
+    @Test
+    public void testVariationsAsymétriques() throws Exception
+    {
+        Itinéraire itinéraire = new Itinéraire(this.clients(), new Entrepôt(50, 50), true, this.coûtsAsymétriques);
+        this.vérifierLesVariations(itinéraire, null);
+        this.vérifierLesVariations(itinéraire, new ListesDeCandidats(this.coûtsAsymétriques, 5));
+        System.out.println("= Test variations asymétriques passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un mouvement effectué change la longueur de sa variation, et qu'une fois annulé l'itinéraire retrouve
+     * l'ordre de ses clients.
+     */
+    @Test
+    public void testMouvementEffectuéPuisAnnulé() throws Exception
+    {
+        Itinéraire itinéraire = new Itinéraire(this.clients(), new Entrepôt(50, 50), true, this.coûtsAsymétriques);
+        ListesDeCandidats candidats = new ListesDeCandidats(this.coûtsAsymétriques, 5);
+        for(Transformation transformation : TRANSFORMATIONS)
+        {
+            Mouvement mouvement = new Mouvement(transformation);
+            for(int k = 0; k < 100; k++)
+            {
+                List<Client> avant = new ArrayList<Client>(itinéraire.getListeClientsÀLivrer());
+                double longueurAvant = itinéraire.getLongueurTotale();
+                double variation = mouvement.tirer(itinéraire, k % 2 == 0 ? null : candidats);
+
+                mouvement.effectuer();
+                Assert.assertEquals(longueurAvant + variation, itinéraire.getLongueurTotale(), 1e-6);
+                mouvement.annuler();
+                Assert.assertEquals(avant, itinéraire.getListeClientsÀLivrer());
+                Assert.assertEquals(longueurAvant, itinéraire.getLongueurTotale(), 1e-6);
+
+                // on garde un mouvement sur deux, pour varier l'itinéraire
+                if(k % 2 == 0)
+                {
+                    mouvement.effectuer();
+                }
+            }
+        }
+        System.out.println("= Test mouvement effectué puis annulé passed ✅ =");
+    }
+}
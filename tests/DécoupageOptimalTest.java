@@ -0,0 +1,114 @@
+import algorithms.DécoupageOptimal;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Classe de test du découpage optimal d'une tournée géante en itinéraires respectant la capacité des véhicules.
+ */
+public class DécoupageOptimalTest
+{
+    /**
+     * @return une tournée géante de n clients placés aléatoirement, de demandes comprises entre 10 et 59.
+     */
+    private Itinéraire tournée(int n, long graine) throws Exception
+    {
+        Random random = new Random(graine);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= n; i++)
+        {
+            clients.add(new Client(i, random.nextInt(100), random.nextInt(100), 10 + random.nextInt(50)));
+        }
+        Fichier f = new Fichier(clients, "test", new Entrepôt(50, 50));
+        return new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances());
+    }
+
+    /**
+     * Énumère tous les découpages de la tournée (un bit par coupure possible), et retourne la longueur du meilleur
+     * découpage respectant la capacité.
+     */
+    private double meilleurDécoupageParÉnumération(Itinéraire tournée, int capacité)
+    {
+        int n = tournée.getListeClientsÀLivrer().size();
+        double meilleur = Double.MAX_VALUE;
+        for(int coupures = 0; coupures < 1 << (n - 1); coupures++)
+        {
+            double longueur = tournée.distanceEntrePositions(-1, 0);
+            int charge = tournée.getListeClientsÀLivrer().get(0).getNbMarchandisesÀLivrer();
+            boolean valide = true;
+            for(int p = 1; p < n && valide; p++)
+            {
+                int demande = tournée.getListeClientsÀLivrer().get(p).getNbMarchandisesÀLivrer();
+                if((coupures >> (p - 1) & 1) == 1)
+                {
+                    longueur += tournée.distanceEntrePositions(p - 1, n) + tournée.distanceEntrePositions(-1, p);
+                    charge = demande;
+                }
+                else
+                {
+                    longueur += tournée.distanceEntrePositions(p - 1, p);
+                    charge += demande;
+                }
+                valide = charge <= capacité;
+            }
+            if(valide)
+            {
+                meilleur = Math.min(meilleur, longueur + tournée.distanceEntrePositions(n - 1, n));
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Vérifie sur de petites tournées que le découpage est celui de longueur minimale, et que ses itinéraires
+     * respectent la capacité et l'ordre de la tournée.
+     */
+    @Test
+    public void testDécoupageOptimal() throws Exception
+    {
+        DécoupageOptimal découpage = new DécoupageOptimal(100);
+        for(long graine = 1; graine <= 20; graine++)
+        {
+            Itinéraire tournée = this.tournée(12, graine);
+            double longueur = découpage.évaluer(tournée);
+            Assert.assertEquals(this.meilleurDécoupageParÉnumération(tournée, 100), longueur, 1e-6);
+
+            Solution solution = découpage.découper(tournée);
+            Assert.assertEquals(longueur, solution.getOptimisationGlobale(), 1e-6);
+            ArrayList<Client> clients = new ArrayList<Client>();
+            for(Itinéraire itinéraire : solution.getItinéraires())
+            {
+                Assert.assertTrue(itinéraire.getNbMarchandisesALivrer() <= 100);
+                clients.addAll(itinéraire.getListeClientsÀLivrer());
+            }
+            Assert.assertEquals(tournée.getListeClientsÀLivrer(), clients);
+        }
+        System.out.println("= Test découpage optimal passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un client dont la demande dépasse la capacité rend le découpage impossible.
+     */
+    @Test
+    public void testClientTropGros() throws Exception
+    {
+        Itinéraire tournée = this.tournée(8, 3);
+        try
+        {
+            new DécoupageOptimal(40).évaluer(tournée);
+            Assert.fail("Les clients de demande supérieure à 40 ne peuvent être livrés.");
+        }
+        catch(VehiculeCapacityOutOfBoundsException e)
+        {
+            System.out.println("= Test client trop gros passed ✅ =");
+        }
+    }
+}
@@ -0,0 +1,211 @@
+import algorithms.Génération;
+import algorithms.MémoireTabou;
+import algorithms.Mouvement;
+import algorithms.SolveurTabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Classe de test des empreintes des itinéraires et des solutions, et de la liste de tabou qui les mémorise.
+ */
+public class EmpreinteTest
+{
+    private static final Transformation[] TRANSFORMATIONS = {
+            Transformation.TRANSFORMATION_ÉCHANGE,
+            Transformation.INSERTION_DÉCALAGE,
+            Transformation.INVERSION,
+            Transformation.TRANSFORMATION_2_OPT
+    };
+
+    /**
+     * @return l'empreinte de l'itinéraire, recalculée sur un nouvel itinéraire ayant les mêmes clients.
+     */
+    private long empreinteRecalculée(Itinéraire itinéraire) throws Exception
+    {
+        return new Itinéraire(new ArrayList<Client>(itinéraire.getListeClientsÀLivrer()), (Entrepôt) itinéraire.getEntrepôt(), true, itinéraire.getDistances()).getEmpreinte();
+    }
+
+    /**
+     * Vérifie que l'empreinte tenue à jour par les mouvements, et par les ajouts et retraits de clients, est celle
+     * que l'on recalcule, et qu'un mouvement annulé rend l'empreinte d'origine.
+     */
+    @Test
+    public void testEmpreinteTenueÀJour() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(20, 3);
+        Itinéraire itinéraire = new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances());
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 4);
+        Random random = new Random(9);
+        for(int k = 0; k < 400; k++)
+        {
+            Mouvement mouvement = new Mouvement(TRANSFORMATIONS[k % TRANSFORMATIONS.length]);
+            long avant = itinéraire.getEmpreinte();
+            mouvement.tirer(itinéraire, k % 2 == 0 ? null : candidats);
+            mouvement.effectuer();
+            Assert.assertEquals(this.empreinteRecalculée(itinéraire), itinéraire.getEmpreinte());
+            if(k % 3 == 0)
+            {
+                mouvement.annuler();
+                Assert.assertEquals(avant, itinéraire.getEmpreinte());
+            }
+            if(k % 5 == 0)
+            {
+                Client client = itinéraire.getListeClientsÀLivrer().get(random.nextInt(itinéraire.getListeClientsÀLivrer().size()));
+                itinéraire.retirerClient(client);
+                Assert.assertEquals(this.empreinteRecalculée(itinéraire), itinéraire.getEmpreinte());
+                itinéraire.ajouterClientAUnIndex(client, random.nextInt(itinéraire.getListeClientsÀLivrer().size() + 1));
+                Assert.assertEquals(this.empreinteRecalculée(itinéraire), itinéraire.getEmpreinte());
+            }
+        }
+        System.out.println("= Test empreinte tenue à jour passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la variation d'empreinte évaluée avant d'effectuer un mouvement est celle qu'il entraîne.
+     */
+    @Test
+    public void testVariationEmpreinteÉvaluée() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(15, 3);
+        Itinéraire itinéraire = new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances());
+        for(int k = 0; k < 200; k++)
+        {
+            Mouvement mouvement = new Mouvement(TRANSFORMATIONS[k % TRANSFORMATIONS.length]);
+            long avant = itinéraire.getEmpreinte();
+            mouvement.tirer(itinéraire, null);
+            long variation = mouvement.évaluerVariationEmpreinte();
+            mouvement.effectuer();
+            Assert.assertEquals(avant ^ variation, itinéraire.getEmpreinte());
+        }
+        System.out.println("= Test variation d'empreinte évaluée passed ✅ =");
+    }
+
+    /**
+     * Vérifie que l'empreinte d'une solution ne dépend ni de l'ordre de ses itinéraires, ni de leur sens de parcours,
+     * mais qu'elle change avec leurs arêtes.
+     */
+    @Test
+    public void testEmpreinteDesSolutions() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(12, 3);
+        ArrayList<Client> clients = new ArrayList<Client>(f.getClients());
+        ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+        itinéraires.add(new Itinéraire(new ArrayList<Client>(clients.subList(0, 6)), f.getEntrepôt(), true, f.getDistances()));
+        itinéraires.add(new Itinéraire(new ArrayList<Client>(clients.subList(6, 12)), f.getEntrepôt(), true, f.getDistances()));
+        Solution solution = new Solution(itinéraires);
+
+        ArrayList<Client> inversés = new ArrayList<Client>(clients.subList(0, 6));
+        Collections.reverse(inversés);
+        ArrayList<Itinéraire> autres = new ArrayList<Itinéraire>();
+        autres.add(new Itinéraire(new ArrayList<Client>(clients.subList(6, 12)), f.getEntrepôt(), true, f.getDistances()));
+        autres.add(new Itinéraire(inversés, f.getEntrepôt(), true, f.getDistances()));
+        Assert.assertEquals(solution.getEmpreinte(), new Solution(autres).getEmpreinte());
+        Assert.assertEquals(solution.getEmpreinte(), new Solution(solution).getEmpreinte());
+
+        autres.get(1).getListeClientsÀLivrer().échanger(0, 2);
+        Assert.assertNotEquals(solution.getEmpreinte(), new Solution(autres).getEmpreinte());
+        System.out.println("= Test empreinte des solutions passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les itinéraires d'un seul client, dont les deux arêtes relient le client à l'entrepôt, ont chacun
+     * leur empreinte, différente de celle de l'itinéraire vide.
+     */
+    @Test
+    public void testEmpreinteDesItinérairesDUnSeulClient() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(3, 3);
+        ArrayList<Client> clients = new ArrayList<Client>(f.getClients());
+        Itinéraire premier = new Itinéraire(new ArrayList<Client>(clients.subList(0, 1)), f.getEntrepôt(), false, f.getDistances());
+        Itinéraire second = new Itinéraire(new ArrayList<Client>(clients.subList(1, 2)), f.getEntrepôt(), false, f.getDistances());
+        Assert.assertNotEquals(0, premier.getEmpreinte());
+        Assert.assertNotEquals(premier.getEmpreinte(), second.getEmpreinte());
+
+        long empreinteDuPremier = premier.getEmpreinte();
+        premier.retirerClient(clients.get(0));
+        Assert.assertNotEquals(empreinteDuPremier, premier.getEmpreinte());
+        Assert.assertNotEquals(second.getEmpreinte(), premier.getEmpreinte());
+        premier.ajouterClientAUnIndex(clients.get(0), 0);
+        Assert.assertEquals(empreinteDuPremier, premier.getEmpreinte());
+        System.out.println("= Test empreinte des itinéraires d'un seul client passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la recherche tabou, qui se déplace vers le meilleur voisin non tabou même s'il est moins bon, sort
+     * des minima locaux du 2-opt : sur un petit itinéraire, elle trouve la tournée optimale, calculée en parcourant
+     * toutes les tournées.
+     */
+    @Test
+    public void testRechercheTabouHorsDesMinimaLocaux() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(8, 2);
+        ArrayList<Client> clients = new ArrayList<Client>(f.getClients());
+        double optimum = this.longueurOptimale(f, clients, new ArrayList<Client>());
+
+        for(long graine = 0; graine < 5; graine++)
+        {
+            ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+            itinéraires.add(new Itinéraire(new ArrayList<Client>(clients), f.getEntrepôt(), true, f.getDistances()));
+            Solution optimisée = new SolveurTabou(1000, 300, 10, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, null, new SplittableRandom(graine)).rechercher(new Solution(itinéraires));
+            Assert.assertEquals(optimum, optimisée.getOptimisationGlobale(), 1e-9);
+        }
+        System.out.println("= Test recherche tabou hors des minima locaux passed ✅ =");
+    }
+
+    /**
+     * @return la longueur de la plus courte tournée commençant par les clients placés, et livrant ensuite les autres.
+     */
+    private double longueurOptimale(Fichier f, List<Client> restants, ArrayList<Client> placés) throws Exception
+    {
+        if(restants.isEmpty())
+        {
+            return new Itinéraire(new ArrayList<Client>(placés), f.getEntrepôt(), true, f.getDistances()).getLongueurTotale();
+        }
+        double optimum = Double.MAX_VALUE;
+        for(int i = 0; i < restants.size(); i++)
+        {
+            ArrayList<Client> autres = new ArrayList<Client>(restants);
+            placés.add(autres.remove(i));
+            optimum = Math.min(optimum, this.longueurOptimale(f, autres, placés));
+            placés.remove(placés.size() - 1);
+        }
+        return optimum;
+    }
+
+    /**
+     * Vérifie qu'une fois pleine, la liste de tabou oublie ses plus anciennes empreintes, y compris répétées.
+     */
+    @Test
+    public void testMémoireTabou()
+    {
+        MémoireTabou mémoire = new MémoireTabou(3);
+        mémoire.ajouter(1);
+        mémoire.ajouter(2);
+        mémoire.ajouter(1);
+        Assert.assertTrue(mémoire.contient(1));
+        mémoire.ajouter(3);
+        // le premier 1 est oublié, le second est toujours là
+        Assert.assertTrue(mémoire.contient(1));
+        mémoire.ajouter(4);
+        Assert.assertFalse(mémoire.contient(2));
+        mémoire.ajouter(5);
+        Assert.assertFalse(mémoire.contient(1));
+        Assert.assertTrue(mémoire.contient(3) && mémoire.contient(4) && mémoire.contient(5));
+        Assert.assertEquals(3, mémoire.size());
+        System.out.println("= Test mémoire tabou passed ✅ =");
+    }
+}
@@ -0,0 +1,81 @@
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.graph.GrapheCompletImplicite;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Classe de test de la vue implicite du graphe complet.
+ */
+public class GrapheCompletImpliciteTest
+{
+    /**
+     * Construit un fichier de test avec des clients placés aléatoirement.
+     * @param nbClients le nombre de clients du fichier.
+     * @return le fichier de test.
+     */
+    private Fichier fichierAléatoire(int nbClients)
+    {
+        Random random = new Random(42);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= nbClients; i++)
+        {
+            clients.add(new Client(i, random.nextInt(1000), random.nextInt(1000), 1 + random.nextInt(30)));
+        }
+        return new Fichier(clients, "test", new Entrepôt(500, 500));
+    }
+
+    /**
+     * Vérifie que le parcours renvoie chaque voisin une seule fois, par coût croissant, et qu'il peut être recommencé.
+     */
+    @Test
+    public void testParcoursParCoûtCroissant()
+    {
+        Fichier f = this.fichierAléatoire(150);
+        GrapheCompletImplicite graphe = new GrapheCompletImplicite(f);
+        GrapheCompletImplicite.ParcoursDesVoisins parcours = graphe.nouveauParcours();
+        for(int i = 0; i < graphe.getNbSommets(); i++)
+        {
+            parcours.commencer(i);
+            boolean[] vu = new boolean[graphe.getNbSommets()];
+            double précédent = 0;
+            int nb = 0;
+            while(parcours.aUnSuivant())
+            {
+                double coût = parcours.coûtDuSuivant();
+                int j = parcours.suivant();
+                Assert.assertNotEquals(i, j);
+                Assert.assertFalse(vu[j]);
+                Assert.assertEquals(graphe.coût(i, j), coût, 0);
+                Assert.assertTrue(coût >= précédent);
+                vu[j] = true;
+                précédent = coût;
+                nb++;
+            }
+            Assert.assertEquals(graphe.getNbSommets() - 1, nb);
+        }
+        System.out.println("= Test parcours par coût croissant passed ✅ =");
+    }
+
+    /**
+     * Vérifie le poids de l'arbre couvrant minimal sur un exemple simple, et qu'il minore la longueur d'une tournée.
+     */
+    @Test
+    public void testArbreCouvrantMinimal()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 3, 0, 1));
+        clients.add(new Client(2, 3, 4, 1));
+        clients.add(new Client(3, 0, 4, 1));
+        // l'entrepôt et les clients forment un rectangle 3 x 4 : l'arbre prend deux côtés de 3 et un de 4
+        GrapheCompletImplicite graphe = new GrapheCompletImplicite(new Fichier(clients, "rectangle", new Entrepôt(0, 0)));
+        Assert.assertEquals(10, graphe.poidsArbreCouvrantMinimal(), 1e-9);
+        // la tournée faisant le tour du rectangle mesure 14
+        Assert.assertTrue(graphe.poidsArbreCouvrantMinimal() <= 14);
+        System.out.println("= Test arbre couvrant minimal passed ✅ =");
+    }
+}
@@ -0,0 +1,160 @@
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.graph.GrapheDeCandidats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Classe de test du graphe creux de candidats (triangulation de Delaunay).
+ */
+public class GrapheDeCandidatsTest
+{
+    /**
+     * Construit un fichier de test avec des clients placés aléatoirement.
+     * @param nbClients le nombre de clients du fichier.
+     * @param taille la taille du carré dans lequel les clients sont placés.
+     * @return le fichier de test.
+     */
+    private Fichier fichierAléatoire(int nbClients, int taille)
+    {
+        Random random = new Random(42);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= nbClients; i++)
+        {
+            clients.add(new Client(i, random.nextInt(taille), random.nextInt(taille), 1 + random.nextInt(30)));
+        }
+        return new Fichier(clients, "test", new Entrepôt(taille / 2, taille / 2));
+    }
+
+    /**
+     * Quatre clients aux coins d'un carré et l'entrepôt au centre : l'entrepôt est relié aux quatre clients, et les
+     * côtés du carré sont des arêtes (8 arêtes au total, les diagonales passant par l'entrepôt).
+     */
+    @Test
+    public void testCarréAvecEntrepôtAuCentre()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 0, 0, 1));
+        clients.add(new Client(2, 10, 0, 1));
+        clients.add(new Client(3, 10, 10, 1));
+        clients.add(new Client(4, 0, 10, 1));
+        GrapheDeCandidats graphe = new GrapheDeCandidats(new Fichier(clients, "carré", new Entrepôt(5, 5)));
+
+        Assert.assertEquals(8, graphe.getNbArêtes());
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4}, graphe.getVoisins(0));
+        Assert.assertArrayEquals(new int[]{0, 2, 4}, graphe.getVoisins(1));
+        Assert.assertTrue(graphe.estArête(3, 4));
+        Assert.assertFalse(graphe.estArête(1, 3));
+        System.out.println("= Test carré avec entrepôt au centre passed ✅ =");
+    }
+
+    /**
+     * Sur des points aléatoires, le graphe est creux (au plus 3n - 6 arêtes), symétrique, et contient le plus proche
+     * voisin de chaque sommet ainsi qu'un arbre couvrant minimal du graphe complet.
+     */
+    @Test
+    public void testPropriétésDeDelaunay()
+    {
+        Fichier f = this.fichierAléatoire(1500, 100000);
+        GrapheDeCandidats graphe = new GrapheDeCandidats(f);
+        int n = graphe.getNbSommets();
+        Assert.assertEquals(1501, n);
+        Assert.assertTrue(graphe.getNbArêtes() <= 3 * n - 6);
+
+        for(int i = 0; i < n; i++)
+        {
+            double plusProcheDansLeGraphe = Double.MAX_VALUE;
+            for(int r = 0; r < graphe.getDegré(i); r++)
+            {
+                int j = graphe.getVoisin(i, r);
+                Assert.assertTrue(graphe.estArête(j, i));
+                plusProcheDansLeGraphe = Math.min(plusProcheDansLeGraphe, f.getDistances().distance(i, j));
+            }
+            double plusProche = Double.MAX_VALUE;
+            for(int j = 0; j < n; j++)
+            {
+                if(j != i)
+                {
+                    plusProche = Math.min(plusProche, f.getDistances().distance(i, j));
+                }
+            }
+            Assert.assertEquals(plusProche, plusProcheDansLeGraphe, 0);
+        }
+
+        Assert.assertEquals(this.poidsArbreCouvrantMinimal(f, null), this.poidsArbreCouvrantMinimal(f, graphe), 1e-6);
+        System.out.println("= Test propriétés de Delaunay passed ✅ =");
+    }
+
+    /**
+     * Les clients placés au même endroit sont reliés entre eux et aux voisins du point inséré, et les arêtes vers
+     * les k plus proches voisins sont ajoutées.
+     */
+    @Test
+    public void testDoublonsEtPlusProchesVoisins()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        Random random = new Random(3);
+        for(int i = 1; i <= 100; i++)
+        {
+            clients.add(new Client(i, random.nextInt(50), random.nextInt(50), 1));
+        }
+        // le client 101 est à la même position que le client 7
+        clients.add(new Client(101, clients.get(6).getPositionX(), clients.get(6).getPositionY(), 1));
+        Fichier f = new Fichier(clients, "doublons", new Entrepôt(25, 25));
+
+        GrapheDeCandidats graphe = new GrapheDeCandidats(f, 5);
+        Assert.assertTrue(graphe.estArête(7, 101));
+        for(int j : graphe.getVoisins(7))
+        {
+            Assert.assertTrue(j == 101 || graphe.estArête(101, j));
+        }
+        for(int i = 0; i < graphe.getNbSommets(); i++)
+        {
+            int[] voisins = graphe.getVoisins(i);
+            int[] triés = voisins.clone();
+            Arrays.sort(triés);
+            Assert.assertArrayEquals(triés, voisins);
+            Assert.assertTrue(voisins.length >= 5);
+        }
+        System.out.println("= Test doublons et plus proches voisins passed ✅ =");
+    }
+
+    /**
+     * Poids de l'arbre couvrant minimal (algorithme de Prim), sur le graphe complet ou restreint aux arêtes d'un graphe.
+     */
+    private double poidsArbreCouvrantMinimal(Fichier f, GrapheDeCandidats graphe)
+    {
+        int n = f.getNbClientsRécupérés() + 1;
+        double[] coûtMin = new double[n];
+        boolean[] dansLArbre = new boolean[n];
+        Arrays.fill(coûtMin, Double.MAX_VALUE);
+        coûtMin[0] = 0;
+        double poids = 0;
+        for(int étape = 0; étape < n; étape++)
+        {
+            int u = -1;
+            for(int i = 0; i < n; i++)
+            {
+                if(!dansLArbre[i] && (u < 0 || coûtMin[i] < coûtMin[u]))
+                {
+                    u = i;
+                }
+            }
+            dansLArbre[u] = true;
+            poids += coûtMin[u];
+            for(int v = 0; v < n; v++)
+            {
+                if(!dansLArbre[v] && (graphe == null || graphe.estArête(u, v)))
+                {
+                    coûtMin[v] = Math.min(coûtMin[v], f.getDistances().distance(u, v));
+                }
+            }
+        }
+        return poids;
+    }
+}
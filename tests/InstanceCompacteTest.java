@@ -0,0 +1,61 @@
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.InstanceCompacte;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+/**
+ * Classe de test de la représentation compacte des instances.
+ */
+public class InstanceCompacteTest
+{
+    /**
+     * Vérifie que l'instance compacte d'un fichier range chaque sommet à son indice, et qu'un fichier construit à
+     * partir de l'instance seule recrée les mêmes clients et les mêmes distances.
+     */
+    @Test
+    public void testAllerRetourAvecLesObjets()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 45, 68, 5));
+        clients.add(new Client(2, 42, 66, 10));
+        clients.add(new Client(3, 40, 69, 20));
+        Fichier f = new Fichier(clients, "test", new Entrepôt(40, 50));
+
+        InstanceCompacte instance = f.getInstance();
+        Assert.assertEquals(4, instance.getNbSommets());
+        Assert.assertEquals(3, instance.getNbClients());
+        Assert.assertArrayEquals(new int[]{40, 45, 42, 40}, instance.getAbscisses());
+        Assert.assertArrayEquals(new int[]{50, 68, 66, 69}, instance.getOrdonnées());
+        Assert.assertArrayEquals(new int[]{0, 5, 10, 20}, instance.getDemandes());
+
+        Fichier compact = new Fichier(new InstanceCompacte("test", new int[]{40, 45, 42, 40}, new int[]{50, 68, 66, 69}, new int[]{0, 5, 10, 20}),
+                Fichier.BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT);
+        Assert.assertEquals(3, compact.getNbClientsRécupérés());
+        Assert.assertEquals(f.getEntrepôt().getPositionX(), compact.getEntrepôt().getPositionX());
+        Assert.assertEquals(f.getEntrepôt().getPositionY(), compact.getEntrepôt().getPositionY());
+        Assert.assertEquals(clients, compact.getClients());
+        // les clients ne sont créés qu'une fois
+        Assert.assertSame(compact.getClients(), compact.getClients());
+        for(int i = 0; i < 4; i++)
+        {
+            for(int j = 0; j < 4; j++)
+            {
+                Assert.assertEquals(f.getDistances().distance(i, j), compact.getDistances().distance(i, j), 0);
+            }
+        }
+        System.out.println("= Test aller-retour instance compacte passed ✅ =");
+    }
+
+    /**
+     * Vérifie que des tableaux de tailles différentes sont refusés.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTableauxIncohérents()
+    {
+        new InstanceCompacte("test", new int[]{0, 1}, new int[]{0, 1}, new int[]{0});
+    }
+}
@@ -1,12 +1,19 @@
+import algorithms.Mouvement;
+import algorithms.Transformation;
 import customexceptions.ListOfClientsIsEmptyException;
 import customexceptions.VehiculeCapacityOutOfBoundsException;
 import model.Client;
 import model.Entrepôt;
+import model.Fichier;
 import model.Itinéraire;
+import model.Solution;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Classe de test pour la gérération d'un itinéraire
@@ -94,4 +101,114 @@ public class ItinéraireTest {
         // donc on ne l'ajoute pas à l'itinéraire (la liste chaînée listeClientsÀLivrer)
 
     }
+
+    /**
+     * Vérifie que la copie d'un itinéraire (et d'une solution) partage les clients et l'entrepôt, immuables, mais
+     * pas la séquence des clients : transformer la copie ne modifie pas l'original.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée.
+     * @throws ListOfClientsIsEmptyException en cas de liste de clients vide.
+     */
+    @Test
+    public void TestCopiePartageLesClients() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException {
+
+        LinkedList<Client> clients = new LinkedList<Client>();
+        clients.add(new Client(1, 1, 2, 4));
+        clients.add(new Client(2, 4, 5, 9));
+        clients.add(new Client(3, 1, 8, 12));
+        Itinéraire itinéraire = new Itinéraire(clients, new Entrepôt(3, 3), false);
+        ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+        itinéraires.add(itinéraire);
+        Itinéraire copie = new Solution(new Solution(itinéraires)).getItinéraires().get(0);
+
+        Assert.assertSame(itinéraire.getEntrepôt(), copie.getEntrepôt());
+        for(int i = 0; i < clients.size(); i++)
+        {
+            Assert.assertSame(itinéraire.getListeClientsÀLivrer().get(i), copie.getListeClientsÀLivrer().get(i));
+        }
+        copie.getListeClientsÀLivrer().échanger(0, 2);
+        Assert.assertEquals(clients, itinéraire.getListeClientsÀLivrer());
+        Assert.assertEquals(itinéraire.getLongueurTotale(), copie.getLongueurTotale(), 0.001);
+        System.out.println("= Test copie partageant les clients passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la longueur et le nombre de marchandises des itinéraires, ainsi que la longueur globale de la
+     * solution, restent à jour après des ajouts, des retraits et des modifications faites directement sur la séquence
+     * des clients, sans appel à recalculerLongueurGlobale.
+     * @throws VehiculeCapacityOutOfBoundsException lorsque la capacité maximale des véhicules est dépassée.
+     * @throws ListOfClientsIsEmptyException en cas de liste de clients vide.
+     */
+    @Test
+    public void TestLongueurEtMarchandisesTenuesÀJour() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException {
+
+        Random random = new Random(3);
+        Entrepôt entrepôt = new Entrepôt(50, 50);
+        ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+        int numéro = 1;
+        for(int i = 0; i < 2; i++)
+        {
+            LinkedList<Client> clients = new LinkedList<Client>();
+            for(int j = 0; j < 5; j++)
+            {
+                clients.add(new Client(numéro++, random.nextInt(100), random.nextInt(100), 1 + random.nextInt(10)));
+            }
+            itinéraires.add(new Itinéraire(clients, entrepôt, true));
+        }
+        Solution solution = new Solution(itinéraires);
+
+        for(int k = 0; k < 300; k++)
+        {
+            Itinéraire itinéraire = itinéraires.get(random.nextInt(2));
+            int nbClients = itinéraire.getListeClientsÀLivrer().size();
+            switch(random.nextInt(3))
+            {
+                case 0:
+                    itinéraire.ajouterClientAUnIndex(new Client(numéro++, random.nextInt(100), random.nextInt(100), 1 + random.nextInt(10)), random.nextInt(nbClients + 1));
+                    break;
+                case 1:
+                    if(nbClients > 1)
+                    {
+                        itinéraire.retirerClient(itinéraire.getListeClientsÀLivrer().get(random.nextInt(nbClients)));
+                    }
+                    break;
+                default:
+                    itinéraire.getListeClientsÀLivrer().inverser(0, random.nextInt(nbClients));
+            }
+
+            double longueurGlobale = 0;
+            for(Itinéraire it : itinéraires)
+            {
+                Itinéraire recalculé = new Itinéraire(new ArrayList<Client>(it.getListeClientsÀLivrer()), entrepôt, true);
+                Assert.assertEquals(recalculé.getLongueurTotale(), it.getLongueurTotale(), 1e-6);
+                Assert.assertEquals(recalculé.getNbMarchandisesALivrer(), it.getNbMarchandisesALivrer());
+                longueurGlobale += recalculé.getLongueurTotale();
+            }
+            Assert.assertEquals(longueurGlobale, solution.getOptimisationGlobale(), 1e-6);
+        }
+        System.out.println("= Test longueur et marchandises tenues à jour passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un itinéraire dont la longueur a été tenue à jour au fil de nombreux mouvements est égal, et de même
+     * code de hachage, à l'itinéraire recalculé à partir de ses clients, malgré les erreurs d'arrondi de sa longueur.
+     */
+    @Test
+    public void testÉgalitéAprèsMouvements() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(20, 3);
+        Itinéraire itinéraire = new Itinéraire(new ArrayList<Client>(f.getClients()), f.getEntrepôt(), true, f.getDistances());
+        Mouvement mouvement = new Mouvement(Transformation.TRANSFORMATION_2_OPT);
+        SplittableRandom random = new SplittableRandom(4);
+        for(int k = 0; k < 1000; k++)
+        {
+            mouvement.tirer(itinéraire, null, random);
+            mouvement.effectuer();
+        }
+        Itinéraire recalculé = new Itinéraire(new ArrayList<Client>(itinéraire.getListeClientsÀLivrer()), f.getEntrepôt(), true, f.getDistances());
+        Assert.assertEquals(recalculé, itinéraire);
+        Assert.assertEquals(recalculé.hashCode(), itinéraire.hashCode());
+        itinéraire.getListeClientsÀLivrer().échanger(0, 1);
+        Assert.assertNotEquals(recalculé, itinéraire);
+        System.out.println("= Test égalité des itinéraires après des mouvements passed ✅ =");
+    }
 }
@@ -0,0 +1,148 @@
+import algorithms.ListeDeMouvementsCandidats;
+import algorithms.MémoireTabouParAttributs;
+import algorithms.Mouvement;
+import algorithms.Tabou;
+import algorithms.TransformateurItinéraire;
+import algorithms.Transformation;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Classe de test de la liste de mouvements candidats et de la recherche tabou qui l'utilise.
+ */
+public class ListeDeMouvementsCandidatsTest
+{
+    private static final Transformation[] TRANSFORMATIONS = {
+            Transformation.TRANSFORMATION_ÉCHANGE,
+            Transformation.INSERTION_DÉCALAGE,
+            Transformation.INVERSION,
+            Transformation.TRANSFORMATION_2_OPT
+    };
+
+    /**
+     * Vérifie que, sans client tabou, le mouvement choisi est le meilleur de tous les mouvements de la solution, y
+     * compris après des mouvements effectués, qui rendent périmées les listes de leurs itinéraires.
+     */
+    @Test
+    public void testMeilleurMouvement() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 6);
+        for(Transformation transformation : TRANSFORMATIONS)
+        {
+            Solution solution = OutilsDesTests.créerSolution(f, 10);
+            ListeDeMouvementsCandidats liste = new ListeDeMouvementsCandidats(solution.getItinéraires(), transformation, 3, null);
+            MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(0);
+            Mouvement mouvement = new Mouvement(transformation);
+            for(int k = 0; k < 5; k++)
+            {
+                double meilleureVariation = Double.MAX_VALUE;
+                for(Itinéraire itinéraire : solution.getItinéraires())
+                {
+                    int nbClients = itinéraire.getListeClientsÀLivrer().size();
+                    for(int p = 0; p < nbClients; p++)
+                    {
+                        for(int q = 0; q < nbClients; q++)
+                        {
+                            if(p != q && (transformation == Transformation.INSERTION_DÉCALAGE || p < q))
+                            {
+                                meilleureVariation = Math.min(meilleureVariation, TransformateurItinéraire.delta(transformation, itinéraire, p, q));
+                            }
+                        }
+                    }
+                }
+                Assert.assertTrue(liste.choisir(mouvement, mémoire, k, 0));
+                Assert.assertEquals(meilleureVariation, mouvement.getVariation(), 1e-9);
+                mouvement.effectuer();
+            }
+        }
+        System.out.println("= Test meilleur mouvement passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'avec des listes de candidats, le mouvement choisi est le meilleur des mouvements qui créent une arête
+     * candidate, trouvés en parcourant tous les mouvements, bien que seuls ceux voisins des arêtes candidates soient
+     * évalués.
+     */
+    @Test
+    public void testMeilleurMouvementCandidat() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 6);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 3);
+        for(Transformation transformation : TRANSFORMATIONS)
+        {
+            Solution solution = OutilsDesTests.créerSolution(f, 10);
+            ListeDeMouvementsCandidats liste = new ListeDeMouvementsCandidats(solution.getItinéraires(), transformation, 3, candidats);
+            MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(0);
+            Mouvement mouvement = new Mouvement(transformation);
+            for(int k = 0; k < 5; k++)
+            {
+                double meilleureVariation = Double.MAX_VALUE;
+                for(Itinéraire itinéraire : solution.getItinéraires())
+                {
+                    int[] indices = itinéraire.getListeClientsÀLivrer().getIndices();
+                    int nbClients = itinéraire.getListeClientsÀLivrer().size();
+                    for(int p = 0; p < nbClients; p++)
+                    {
+                        for(int q = 0; q < nbClients; q++)
+                        {
+                            if(p != q && (transformation == Transformation.INSERTION_DÉCALAGE || p < q) && this.créeUneArêteCandidate(transformation, indices, nbClients, p, q, candidats))
+                            {
+                                meilleureVariation = Math.min(meilleureVariation, TransformateurItinéraire.delta(transformation, itinéraire, p, q));
+                            }
+                        }
+                    }
+                }
+                Assert.assertTrue(liste.choisir(mouvement, mémoire, k, 0));
+                Assert.assertEquals(meilleureVariation, mouvement.getVariation(), 1e-9);
+                mouvement.effectuer();
+            }
+        }
+        System.out.println("= Test meilleur mouvement candidat passed ✅ =");
+    }
+
+    /**
+     * @return true si le mouvement rend voisins deux clients dont l'arête est candidate (entrepôt exclu).
+     */
+    private boolean créeUneArêteCandidate(Transformation transformation, int[] indices, int nbClients, int p, int q, ListesDeCandidats candidats)
+    {
+        switch(transformation)
+        {
+            case TRANSFORMATION_ÉCHANGE:
+                return (q - 1 != p && candidats.estCandidate(indices[p], indices[q - 1]))
+                        || (q + 1 < nbClients && candidats.estCandidate(indices[p], indices[q + 1]))
+                        || (p > 0 && candidats.estCandidate(indices[q], indices[p - 1]))
+                        || (p + 1 != q && candidats.estCandidate(indices[q], indices[p + 1]));
+            case INSERTION_DÉCALAGE:
+                int avant = q - 1 < p ? q - 1 : q;
+                int après = q < p ? q : q + 1;
+                return (avant >= 0 && candidats.estCandidate(indices[p], indices[avant]))
+                        || (après < nbClients && candidats.estCandidate(indices[p], indices[après]));
+            default:
+                return (p > 0 && candidats.estCandidate(indices[p - 1], indices[q]))
+                        || (q + 1 < nbClients && candidats.estCandidate(indices[p], indices[q + 1]));
+        }
+    }
+
+    /**
+     * Vérifie que la recherche ne modifie pas la solution initiale, et retourne une solution meilleure qui livre tous
+     * les clients et dont la longueur est celle de ses itinéraires.
+     */
+    @Test
+    public void testRechercheParListeDeMouvements() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 6);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        double longueurInitiale = initiale.getOptimisationGlobale();
+
+        Solution optimisée = Tabou.tabouSearchParListeDeMouvements(initiale, 5, 500, 10, Transformation.TRANSFORMATION_2_OPT, null);
+        Assert.assertEquals(longueurInitiale, initiale.getOptimisationGlobale(), 1e-9);
+        Assert.assertTrue(optimisée.getOptimisationGlobale() < longueurInitiale);
+
+        OutilsDesTests.vérifierLaSolution(optimisée, f);
+        System.out.println("= Test recherche par liste de mouvements passed ✅ =");
+    }
+}
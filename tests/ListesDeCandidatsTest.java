@@ -0,0 +1,184 @@
+import algorithms.TransformateurEntreItinéraires;
+import algorithms.TransformateurItinéraire;
+import algorithms.Transformation;
+import customexceptions.ItinéraireTooSmallException;
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Classe de test des listes de candidats et des transformations granulaires.
+ */
+public class ListesDeCandidatsTest
+{
+    /**
+     * Construit un fichier de test avec des clients placés aléatoirement.
+     * @param nbClients le nombre de clients du fichier.
+     * @return le fichier de test.
+     */
+    private Fichier fichierAléatoire(int nbClients)
+    {
+        Random random = new Random(42);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= nbClients; i++)
+        {
+            clients.add(new Client(i, random.nextInt(1000), random.nextInt(1000), 1 + random.nextInt(30)));
+        }
+        return new Fichier(clients, "test", new Entrepôt(500, 500));
+    }
+
+    /**
+     * Vérifie que chaque liste contient bien les k clients les plus proches, triés, sans le sommet lui-même ni l'entrepôt.
+     */
+    @Test
+    public void testPlusProchesVoisins()
+    {
+        Fichier f = this.fichierAléatoire(100);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 8);
+        Assert.assertEquals(8, candidats.getK());
+        for(int i = 0; i <= 100; i++)
+        {
+            int[] voisins = candidats.getVoisins(i);
+            Assert.assertEquals(8, voisins.length);
+            double plusLoin = f.getDistances().distance(i, voisins[7]);
+            for(int r = 0; r < voisins.length; r++)
+            {
+                Assert.assertNotEquals(i, voisins[r]);
+                Assert.assertNotEquals(0, voisins[r]);
+                if(r > 0)
+                {
+                    Assert.assertTrue(f.getDistances().distance(i, voisins[r - 1]) <= f.getDistances().distance(i, voisins[r]));
+                }
+            }
+            // aucun client hors de la liste n'est strictement plus proche que le plus éloigné de la liste
+            for(int j = 1; j <= 100; j++)
+            {
+                if(j != i && !candidats.estCandidate(i, j))
+                {
+                    Assert.assertTrue(f.getDistances().distance(i, j) >= plusLoin);
+                }
+            }
+        }
+        System.out.println("= Test plus proches voisins passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les transformations granulaires conservent les clients de l'itinéraire et créent une arête candidate.
+     * @throws VehiculeCapacityOutOfBoundsException non applicable.
+     * @throws ListOfClientsIsEmptyException non applicable.
+     * @throws ItinéraireTooSmallException non applicable.
+     */
+    @Test
+    public void testTransformationsGranulaires() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException, ItinéraireTooSmallException
+    {
+        Fichier f = this.fichierAléatoire(60);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 5);
+        Itinéraire itinéraire = new Itinéraire(new LinkedList<Client>(f.getClients()), f.getEntrepôt(), true, f.getDistances());
+
+        for(Transformation transformation : Transformation.values())
+        {
+            for(int k = 0; k < 200; k++)
+            {
+                List<Client> avant = new ArrayList<Client>(itinéraire.getListeClientsÀLivrer());
+                switch(transformation)
+                {
+                    case TRANSFORMATION_ÉCHANGE:
+                        TransformateurItinéraire.transformationÉchange(itinéraire, candidats);
+                        break;
+                    case INSERTION_DÉCALAGE:
+                        TransformateurItinéraire.insertionDécalage(itinéraire, candidats);
+                        break;
+                    case INVERSION:
+                        TransformateurItinéraire.inversion(itinéraire, candidats);
+                        break;
+                    default:
+                        itinéraire = TransformateurItinéraire.transformation2opt(itinéraire, Transformation.TRANSFORMATION_ÉCHANGE, candidats);
+                }
+                List<Client> après = itinéraire.getListeClientsÀLivrer();
+                Assert.assertEquals(avant.size(), après.size());
+                Assert.assertTrue(après.containsAll(avant));
+                Assert.assertTrue(transformation + " n'a créé aucune arête candidate", this.nouvelleArêteCandidate(avant, après, candidats));
+            }
+        }
+        System.out.println("= Test transformations granulaires passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la méta-transformation granulaire crée toujours l'arête entre le client pioché et son voisin
+     * candidat : lorsque les deux sont seuls dans leur itinéraire, aucune transformation ne la crée, et aucune n'est
+     * effectuée.
+     * @throws VehiculeCapacityOutOfBoundsException non applicable.
+     * @throws ListOfClientsIsEmptyException non applicable.
+     */
+    @Test
+    public void testMétaTransformationGranulaireAvecVoisinsSeuls() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        Fichier f = this.fichierAléatoire(3);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 2);
+        List<Client> clients = f.getClients();
+
+        Solution seuls = new Solution();
+        seuls.ajouterTournée(new Itinéraire(new LinkedList<Client>(clients.subList(0, 1)), f.getEntrepôt(), false, f.getDistances()));
+        seuls.ajouterTournée(new Itinéraire(new LinkedList<Client>(clients.subList(1, 2)), f.getEntrepôt(), false, f.getDistances()));
+        Assert.assertFalse(TransformateurEntreItinéraires.métaTransformationGranulaire(seuls, candidats, new SplittableRandom(1)));
+
+        // un voisin seul dans son itinéraire : le client pioché le rejoint, ou le voisin seul rejoint l'autre itinéraire
+        SplittableRandom random = new SplittableRandom(2);
+        for(int k = 0; k < 100; k++)
+        {
+            Solution solution = new Solution();
+            solution.ajouterTournée(new Itinéraire(new LinkedList<Client>(clients.subList(0, 2)), f.getEntrepôt(), false, f.getDistances()));
+            solution.ajouterTournée(new Itinéraire(new LinkedList<Client>(clients.subList(2, 3)), f.getEntrepôt(), false, f.getDistances()));
+            if(TransformateurEntreItinéraires.métaTransformationGranulaire(solution, candidats, random))
+            {
+                int itinéraireDuTroisième = solution.getItinéraireDuClient(clients.get(2).getIndice());
+                Assert.assertEquals(2, solution.getItinéraires().get(itinéraireDuTroisième).getListeClientsÀLivrer().size());
+            }
+        }
+        System.out.println("= Test méta-transformation granulaire avec voisins seuls passed ✅ =");
+    }
+
+    /**
+     * Indique si la liste après transformation contient une arête candidate absente de la liste avant transformation.
+     */
+    private boolean nouvelleArêteCandidate(List<Client> avant, List<Client> après, ListesDeCandidats candidats)
+    {
+        for(int p = 0; p + 1 < après.size(); p++)
+        {
+            int a = après.get(p).getIndice();
+            int b = après.get(p + 1).getIndice();
+            if(candidats.estCandidate(a, b) && !this.contientArête(avant, a, b))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contientArête(List<Client> clients, int a, int b)
+    {
+        for(int p = 0; p + 1 < clients.size(); p++)
+        {
+            int x = clients.get(p).getIndice();
+            int y = clients.get(p + 1).getIndice();
+            if((x == a && y == b) || (x == b && y == a))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,114 @@
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.distances.MatriceDesDistancesEntières;
+import model.distances.OracleDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.Random;
+
+/**
+ * Classe de test du mode coûts entiers.
+ */
+public class MatriceDesDistancesEntièresTest
+{
+    /**
+     * Vérifie que les coûts sont les distances arrondies (convention CVRPLIB), éventuellement mises à l'échelle,
+     * et que la longueur d'un itinéraire est la somme exacte des coûts entiers de ses arêtes.
+     * @throws VehiculeCapacityOutOfBoundsException non applicable.
+     * @throws ListOfClientsIsEmptyException non applicable.
+     */
+    @Test
+    public void testLongueurEntière() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        // distance entrepôt -> 1 : racine de 2 = 1,414...
+        clients.add(new Client(1, 1, 1, 4));
+        // distance 1 -> 2 : racine de 5 = 2,236...
+        clients.add(new Client(2, 3, 2, 9));
+        Fichier f = new Fichier(clients, "test", new Entrepôt(0, 0));
+
+        MatriceDesDistancesEntières unités = new MatriceDesDistancesEntières(f.getDistances(), 1);
+        Assert.assertEquals(1, unités.distanceEntière(0, 1));
+        Assert.assertEquals(2, unités.distanceEntière(1, 2));
+        MatriceDesDistancesEntières dixièmes = new MatriceDesDistancesEntières(f.getDistances(), 10);
+        Assert.assertEquals(14, dixièmes.distanceEntière(0, 1));
+        Assert.assertEquals(22, dixièmes.distanceEntière(1, 2));
+
+        // 0 -> 1 -> 2 -> 0 : 1 + 2 + 4 (racine de 13 = 3,605...)
+        f.utiliserDistancesEntières(1);
+        Itinéraire itinéraire = new Itinéraire(new LinkedList<Client>(clients), f.getEntrepôt(), false, f.getDistances());
+        Assert.assertEquals(7, itinéraire.getLongueurTotaleEntière());
+        Assert.assertEquals(7.0, itinéraire.getLongueurTotale(), 0);
+        Assert.assertEquals(13, itinéraire.getNbMarchandisesALivrer());
+        System.out.println("= Test longueur en coûts entiers passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les coûts ne sont rangés dans une matrice dense que si elle tient dans le budget, et qu'arrondis à
+     * la lecture ils sont les mêmes.
+     */
+    @Test
+    public void testBudgetMémoire()
+    {
+        Random random = new Random(3);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= 100; i++)
+        {
+            clients.add(new Client(i, random.nextInt(1000), random.nextInt(1000), 1));
+        }
+        Fichier f = new Fichier(clients, "test", new Entrepôt(500, 500));
+        MatriceDesDistancesEntières dense = new MatriceDesDistancesEntières(f.getDistances(), 10, 101 * 101 * Integer.BYTES);
+        MatriceDesDistancesEntières àLaLecture = new MatriceDesDistancesEntières(f.getDistances(), 10, 101 * 101 * Integer.BYTES - 1);
+        Assert.assertTrue(dense.estDense());
+        Assert.assertFalse(àLaLecture.estDense());
+        for(int i = 0; i <= 100; i++)
+        {
+            for(int j = 0; j <= 100; j++)
+            {
+                Assert.assertEquals(dense.distanceEntière(i, j), àLaLecture.distanceEntière(i, j));
+                Assert.assertEquals(dense.distance(i, j), àLaLecture.distance(i, j), 0);
+            }
+        }
+
+        // un fichier dont les distances réelles sont calculées par un oracle n'a pas non plus de matrice dense des coûts
+        Fichier petitBudget = new Fichier(clients, "test", new Entrepôt(500, 500), 16 * OracleDeDistances.tailleDUneLigne(101));
+        petitBudget.utiliserDistancesEntières(10);
+        Assert.assertFalse(((MatriceDesDistancesEntières) petitBudget.getDistances()).estDense());
+        Assert.assertEquals(dense.distanceEntière(17, 42), petitBudget.getDistances().distanceEntière(17, 42));
+        System.out.println("= Test budget mémoire des coûts entiers passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un facteur d'échelle dont les coûts ne tiennent pas dans un int est refusé pour une matrice dense,
+     * plutôt que de tronquer les coûts, et que les coûts arrondis à la lecture restent exacts.
+     */
+    @Test
+    public void testFacteurTropGrand()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 1000, 1000, 1));
+        Fichier f = new Fichier(clients, "test", new Entrepôt(0, 0));
+        int facteur = 10000000;
+        try
+        {
+            new MatriceDesDistancesEntières(f.getDistances(), facteur);
+            Assert.fail("Le facteur aurait dû être refusé.");
+        }
+        catch(IllegalArgumentException e)
+        {
+            // attendu
+        }
+        MatriceDesDistancesEntières àLaLecture = new MatriceDesDistancesEntières(f.getDistances(), facteur, 0);
+        Assert.assertFalse(àLaLecture.estDense());
+        Assert.assertEquals(Math.round(f.getDistances().distance(0, 1) * facteur), àLaLecture.distanceEntière(0, 1));
+        Assert.assertTrue(àLaLecture.distanceEntière(0, 1) > Integer.MAX_VALUE);
+        System.out.println("= Test facteur d'échelle trop grand passed ✅ =");
+    }
+}
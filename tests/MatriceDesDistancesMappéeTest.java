@@ -0,0 +1,115 @@
+import customexceptions.FileLoadException;
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import inout.Loader;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.distances.MatriceDesDistancesEntières;
+import model.distances.MatriceDesDistancesMappée;
+import model.distances.SourceDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+
+/**
+ * Classe de test de l'import d'une matrice de coûts asymétrique projetée en mémoire.
+ */
+public class MatriceDesDistancesMappéeTest
+{
+    /**
+     * Une source de coûts asymétrique : aller vers un sommet d'indice plus grand coûte 1, revenir en arrière coûte 100.
+     */
+    private final SourceDeDistances coûtsAsymétriques = new SourceDeDistances()
+    {
+        @Override
+        public double distance(int i, int j)
+        {
+            return i == j ? 0 : (j > i ? 1 : 100);
+        }
+
+        @Override
+        public int getNbSommets()
+        {
+            return 4;
+        }
+    };
+
+    /**
+     * Vérifie qu'une matrice écrite puis projetée contient les mêmes coûts, dans les deux sens.
+     * @throws IOException si le fichier temporaire ne peut être écrit.
+     */
+    @Test
+    public void testÉcritureEtLecture() throws IOException
+    {
+        Path chemin = Files.createTempFile("matrice", ".bin");
+        try
+        {
+            MatriceDesDistancesMappée.écrire(chemin, this.coûtsAsymétriques);
+            MatriceDesDistancesMappée matrice = new MatriceDesDistancesMappée(chemin);
+            Assert.assertEquals(4, matrice.getNbSommets());
+            Assert.assertFalse(matrice.estSymétrique());
+            for(int i = 0; i < 4; i++)
+            {
+                for(int j = 0; j < 4; j++)
+                {
+                    Assert.assertEquals(this.coûtsAsymétriques.distance(i, j), matrice.distance(i, j), 0);
+                }
+            }
+            // les coûts entiers d'une matrice projetée sont arrondis à la lecture, sans recopie dans le tas
+            MatriceDesDistancesEntières entières = new MatriceDesDistancesEntières(matrice, 10, Long.MAX_VALUE);
+            Assert.assertFalse(entières.estDense());
+            Assert.assertFalse(entières.estSymétrique());
+            Assert.assertEquals(Math.round(matrice.distance(1, 2) * 10), entières.distanceEntière(1, 2));
+            System.out.println("= Test écriture et lecture d'une matrice projetée passed ✅ =");
+        }
+        finally
+        {
+            Files.deleteIfExists(chemin);
+        }
+    }
+
+    /**
+     * Vérifie qu'un itinéraire d'un fichier dont la matrice a été importée suit les coûts asymétriques.
+     * @throws IOException si le fichier temporaire ne peut être écrit.
+     * @throws FileLoadException si la matrice ne peut être importée.
+     * @throws VehiculeCapacityOutOfBoundsException non applicable.
+     * @throws ListOfClientsIsEmptyException non applicable.
+     */
+    @Test
+    public void testItinéraireAvecMatriceImportée() throws IOException, FileLoadException, VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 0, 0, 1));
+        clients.add(new Client(2, 0, 0, 1));
+        clients.add(new Client(3, 0, 0, 1));
+        Fichier f = new Fichier(clients, "test", new Entrepôt(0, 0));
+
+        Path chemin = Files.createTempFile("matrice", ".bin");
+        try
+        {
+            MatriceDesDistancesMappée.écrire(chemin, this.coûtsAsymétriques);
+            new Loader().chargerMatriceDesDistances(chemin, f);
+
+            // 0 -> 1 -> 2 -> 3 -> 0 : 1 + 1 + 1 + 100
+            Itinéraire aller = new Itinéraire(new LinkedList<Client>(clients), f.getEntrepôt(), false, f.getDistances());
+            Assert.assertEquals(103, aller.getLongueurTotale(), 0);
+            // 0 -> 3 -> 2 -> 1 -> 0 : 1 + 100 + 100 + 100
+            LinkedList<Client> retour = new LinkedList<Client>(clients);
+            Collections.reverse(retour);
+            Assert.assertEquals(301, new Itinéraire(retour, f.getEntrepôt(), false, f.getDistances()).getLongueurTotale(), 0);
+            System.out.println("= Test itinéraire avec une matrice importée passed ✅ =");
+        }
+        finally
+        {
+            Files.deleteIfExists(chemin);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import customexceptions.ListOfClientsIsEmptyException;
+import customexceptions.VehiculeCapacityOutOfBoundsException;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.distances.MatriceDesDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+/**
+ * Classe de test de la matrice des distances.
+ */
+public class MatriceDesDistancesTest
+{
+    /**
+     * Construit un petit fichier de test : un entrepôt et quatre clients.
+     * @return le fichier de test.
+     */
+    private Fichier fichierDeTest()
+    {
+        ArrayList<Client> clients = new ArrayList<Client>();
+        clients.add(new Client(1, 63, 72, 4));
+        clients.add(new Client(2, 83, 52, 9));
+        clients.add(new Client(3, 72, 22, 12));
+        clients.add(new Client(4, 55, 22, 20));
+        return new Fichier(clients, "test", new Entrepôt(44, 44));
+    }
+
+    /**
+     * Vérifie que la matrice contient les mêmes distances que le calcul euclidien à la volée.
+     */
+    @Test
+    public void testDistancesIdentiquesAuCalculEuclidien()
+    {
+        Fichier f = this.fichierDeTest();
+        MatriceDesDistances matrice = new MatriceDesDistances(f);
+
+        // l'entrepôt + les 4 clients
+        Assert.assertEquals(5, matrice.getNbSommets());
+        for(Client c : f.getClients())
+        {
+            double expected = utilitaires.Utilitaire.distanceEuclidienne(f.getEntrepôt().getPositionX(), f.getEntrepôt().getPositionY(), c.getPositionX(), c.getPositionY());
+            Assert.assertEquals(expected, matrice.distance(f.getEntrepôt(), c), 0);
+            Assert.assertEquals(expected, matrice.distance(c, f.getEntrepôt()), 0);
+            for(Client autre : f.getClients())
+            {
+                double expectedEntreClients = utilitaires.Utilitaire.distanceEuclidienne(c.getPositionX(), c.getPositionY(), autre.getPositionX(), autre.getPositionY());
+                Assert.assertEquals(expectedEntreClients, matrice.distance(c.getIndice(), autre.getIndice()), 0);
+            }
+        }
+        System.out.println("= Test distances de la matrice passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un itinéraire calculé avec la matrice du fichier a la même longueur qu'un itinéraire calculé à la volée.
+     * @throws VehiculeCapacityOutOfBoundsException non applicable.
+     * @throws ListOfClientsIsEmptyException non applicable.
+     */
+    @Test
+    public void testLongueurItinéraireAvecMatrice() throws VehiculeCapacityOutOfBoundsException, ListOfClientsIsEmptyException
+    {
+        Fichier f = this.fichierDeTest();
+        Itinéraire avecMatrice = new Itinéraire(new LinkedList<Client>(f.getClients()), f.getEntrepôt(), false, f.getDistances());
+        Itinéraire sansMatrice = new Itinéraire(new LinkedList<Client>(f.getClients()), f.getEntrepôt(), false);
+
+        Assert.assertEquals(sansMatrice.getLongueurTotale(), avecMatrice.getLongueurTotale(), 0.000001);
+        // la copie d'un itinéraire partage la matrice de l'original
+        Assert.assertSame(avecMatrice.getDistances(), new Itinéraire(avecMatrice).getDistances());
+        System.out.println("= Test longueur d'un itinéraire avec la matrice passed ✅ =");
+    }
+}
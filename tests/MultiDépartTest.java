@@ -0,0 +1,166 @@
+import algorithms.GénérateurDeSolutions;
+import algorithms.Génération;
+import algorithms.MultiDépart;
+import algorithms.Solveur;
+import algorithms.SolveurRecuitItinéraire;
+import algorithms.SolveurTabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import customexceptions.UnhandledTransformationException;
+import model.Fichier;
+import model.Solution;
+import model.distances.OracleDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe de test de l'optimisation multi-départs.
+ */
+public class MultiDépartTest
+{
+    /**
+     * Vérifie que les départs exécutés en même temps retournent les mêmes solutions que les mêmes départs exécutés
+     * l'un après l'autre, et que la meilleure solution publiée est la plus courte d'entre elles.
+     */
+    @Test
+    public void testMultiDépart() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(50, 5);
+        List<Solution> solutionsInitiales = new GénérateurDeSolutions(f, new SplittableRandom(1)).générerXSolutionsAléatoire(6, Génération.ALÉATOIRE, 0);
+
+        Solveur solveurSéquentiel = new SolveurTabou(100, 100, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, null, new SplittableRandom(7));
+        ArrayList<String> attendues = new ArrayList<String>();
+        double meilleureLongueur = Double.MAX_VALUE;
+        for(Solution solutionInitiale : solutionsInitiales)
+        {
+            Solution solution = solveurSéquentiel.séparer().résoudre(solutionInitiale);
+            attendues.add(OutilsDesTests.tournées(solution));
+            meilleureLongueur = Math.min(meilleureLongueur, solution.getOptimisationGlobale());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            MultiDépart multiDépart = new MultiDépart(new SolveurTabou(100, 100, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, null, new SplittableRandom(7)), pool);
+            Assert.assertNull(multiDépart.getMeilleureSolution());
+            List<Solution> solutionsOptimisées = multiDépart.lancer(solutionsInitiales);
+            Assert.assertEquals(solutionsInitiales.size(), solutionsOptimisées.size());
+            for(int i = 0; i < solutionsOptimisées.size(); i++)
+            {
+                Assert.assertEquals(attendues.get(i), OutilsDesTests.tournées(solutionsOptimisées.get(i)));
+            }
+            Assert.assertEquals(meilleureLongueur, multiDépart.getMeilleureSolution().getOptimisationGlobale(), 0);
+            Assert.assertEquals(solutionsInitiales.size(), multiDépart.getNbDépartsTerminés());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        System.out.println("= Test multi-départs passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les départs exécutés en même temps sur des distances lues par un oracle, dont le cache ne garde que
+     * quelques lignes, retournent les mêmes solutions que sur la matrice dense des distances : les départs partagent
+     * l'oracle, mais pas son cache.
+     */
+    @Test
+    public void testMultiDépartSurOracleDeDistances() throws Exception
+    {
+        Fichier dense = OutilsDesTests.créerFichier(50, 5);
+        Fichier oracle = OutilsDesTests.créerFichier(50, 5, 3 * OracleDeDistances.tailleDUneLigne(51) * Runtime.getRuntime().availableProcessors());
+        Assert.assertTrue(oracle.getDistances() instanceof OracleDeDistances);
+        ArrayList<String> résultats = new ArrayList<String>();
+        for(Fichier f : new Fichier[]{dense, oracle})
+        {
+            List<Solution> solutionsInitiales = new GénérateurDeSolutions(f, new SplittableRandom(1)).générerXSolutionsAléatoire(6, Génération.ALÉATOIRE, 0);
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try
+            {
+                MultiDépart multiDépart = new MultiDépart(new SolveurTabou(100, 200, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, null, new SplittableRandom(7)), pool);
+                StringBuilder tournées = new StringBuilder();
+                for(Solution solution : multiDépart.lancer(solutionsInitiales))
+                {
+                    OutilsDesTests.vérifierLaSolution(solution, f);
+                    tournées.append(OutilsDesTests.tournées(solution)).append(solution.getOptimisationGlobale()).append('\n');
+                }
+                résultats.add(tournées.toString());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        Assert.assertEquals(résultats.get(0), résultats.get(1));
+        System.out.println("= Test multi-départs sur l'oracle de distances passed ✅ =");
+    }
+
+    /**
+     * Vérifie que l'exception levée par le solveur d'un départ est relancée telle quelle.
+     */
+    @Test(expected = UnhandledTransformationException.class)
+    public void testExceptionDUnDépart() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 5);
+        List<Solution> solutionsInitiales = new GénérateurDeSolutions(f, new SplittableRandom(1)).générerXSolutionsAléatoire(4, Génération.ALÉATOIRE, 0);
+        Solveur solveurDéfaillant = new Solveur()
+        {
+            @Override
+            public Solution résoudre(Solution solutionInitiale) throws UnhandledTransformationException
+            {
+                throw new UnhandledTransformationException(Transformation.INVERSION);
+            }
+
+            @Override
+            public Solveur séparer()
+            {
+                return this;
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            new MultiDépart(solveurDéfaillant, pool).lancer(solutionsInitiales);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Vérifie que la meilleure solution ne peut être que remplacée par une solution plus courte, d'un lancement à
+     * l'autre.
+     */
+    @Test
+    public void testMeilleureSolutionDePlusieursLancements() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 5);
+        GénérateurDeSolutions générateur = new GénérateurDeSolutions(f, new SplittableRandom(2));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            MultiDépart multiDépart = new MultiDépart(new SolveurRecuitItinéraire(100, 100, 0.9, Transformation.TRANSFORMATION_2_OPT, null, new SplittableRandom(3)), pool);
+            double meilleureLongueur = Double.MAX_VALUE;
+            for(int lancement = 0; lancement < 3; lancement++)
+            {
+                for(Solution solution : multiDépart.lancer(générateur.générerXSolutionsAléatoire(3, Génération.ALÉATOIRE, 0)))
+                {
+                    meilleureLongueur = Math.min(meilleureLongueur, solution.getOptimisationGlobale());
+                }
+                Assert.assertEquals(meilleureLongueur, multiDépart.getMeilleureSolution().getOptimisationGlobale(), 0);
+            }
+            Assert.assertEquals(9, multiDépart.getNbDépartsTerminés());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        System.out.println("= Test meilleure solution de plusieurs lancements passed ✅ =");
+    }
+}
@@ -0,0 +1,141 @@
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.InstanceCompacte;
+import model.distances.MatriceDesDistances;
+import model.distances.OracleDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Classe de test de l'oracle de distances à cache de lignes borné.
+ */
+public class OracleDeDistancesTest
+{
+    /**
+     * Construit un fichier de test avec des clients placés aléatoirement.
+     * @param nbClients le nombre de clients du fichier.
+     * @return le fichier de test.
+     */
+    private Fichier fichierAléatoire(int nbClients)
+    {
+        Random random = new Random(42);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= nbClients; i++)
+        {
+            clients.add(new Client(i, random.nextInt(1000), random.nextInt(1000), 1 + random.nextInt(30)));
+        }
+        return new Fichier(clients, "test", new Entrepôt(500, 500));
+    }
+
+    /**
+     * Vérifie que l'oracle renvoie les mêmes distances que la matrice dense, même lorsque son cache
+     * est bien plus petit que le nombre de lignes et doit évincer des lignes en permanence.
+     */
+    @Test
+    public void testDistancesIdentiquesÀLaMatrice()
+    {
+        Fichier f = this.fichierAléatoire(200);
+        MatriceDesDistances matrice = new MatriceDesDistances(f);
+        // budget de 5 lignes seulement
+        OracleDeDistances oracle = new OracleDeDistances(f, 5 * OracleDeDistances.tailleDUneLigne(201));
+
+        Assert.assertEquals(5, oracle.getNbLignesMax());
+        Random random = new Random(7);
+        for(int k = 0; k < 20000; k++)
+        {
+            int i = random.nextInt(201);
+            int j = random.nextInt(201);
+            Assert.assertEquals(matrice.distance(i, j), oracle.distance(i, j), 0);
+            Assert.assertTrue(oracle.getNbLignesEnCache() <= oracle.getNbLignesMax());
+        }
+        System.out.println("= Test distances de l'oracle passed ✅ =");
+    }
+
+    /**
+     * Vérifie que des threads qui lisent en même temps les distances d'un même oracle, dont le cache est bien plus
+     * petit que le nombre de lignes, obtiennent toutes les distances de la matrice dense : chacun a son propre cache.
+     */
+    @Test
+    public void testLecturesConcurrentes() throws Exception
+    {
+        Fichier f = this.fichierAléatoire(200);
+        MatriceDesDistances matrice = new MatriceDesDistances(f);
+        OracleDeDistances oracle = new OracleDeDistances(f, 3 * OracleDeDistances.tailleDUneLigne(201));
+        ExecutorService exécuteur = Executors.newFixedThreadPool(4);
+        try
+        {
+            ArrayList<Future<Integer>> lectures = new ArrayList<Future<Integer>>();
+            for(int t = 0; t < 4; t++)
+            {
+                Random random = new Random(t);
+                lectures.add(exécuteur.submit(() -> {
+                    int nbErreurs = 0;
+                    for(int k = 0; k < 200000; k++)
+                    {
+                        int i = random.nextInt(201);
+                        int j = random.nextInt(201);
+                        if(oracle.distance(i, j) != matrice.distance(i, j))
+                        {
+                            nbErreurs++;
+                        }
+                    }
+                    return nbErreurs;
+                }));
+            }
+            for(Future<Integer> lecture : lectures)
+            {
+                Assert.assertEquals(0, (int) lecture.get());
+            }
+        }
+        finally
+        {
+            exécuteur.shutdownNow();
+        }
+        System.out.println("= Test lectures concurrentes de l'oracle passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un fichier dont la matrice dense dépasse le budget mémoire utilise un oracle.
+     */
+    @Test
+    public void testChoixDeLaSourceSelonLeBudget()
+    {
+        Fichier petitBudget = new Fichier(this.fichierAléatoire(200).getClients(), "test", new Entrepôt(500, 500), 1024 * 1024 / 4);
+        Assert.assertTrue(petitBudget.getDistances() instanceof OracleDeDistances);
+        Fichier grandBudget = new Fichier(this.fichierAléatoire(200).getClients(), "test", new Entrepôt(500, 500));
+        Assert.assertTrue(grandBudget.getDistances() instanceof MatriceDesDistances);
+        System.out.println("= Test choix de la source de distances passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'au-delà de 46 340 sommets, un fichier utilise un oracle même avec un budget mémoire illimité : les n²
+     * distances d'une matrice dense ne pourraient pas être indexées par un int.
+     */
+    @Test
+    public void testMatriceDenseTropGrandePourUnTableau()
+    {
+        int nbSommets = 46342;
+        int[] x = new int[nbSommets];
+        int[] y = new int[nbSommets];
+        int[] demandes = new int[nbSommets];
+        for(int i = 1; i < nbSommets; i++)
+        {
+            x[i] = i % 1000;
+            y[i] = i / 1000;
+            demandes[i] = 1;
+        }
+        Assert.assertTrue(MatriceDesDistances.estPossible(46340));
+        Assert.assertFalse(MatriceDesDistances.estPossible(nbSommets));
+        Fichier f = new Fichier(new InstanceCompacte("test", x, y, demandes), Long.MAX_VALUE);
+        Assert.assertTrue(f.getDistances() instanceof OracleDeDistances);
+        Assert.assertEquals(Math.sqrt(2), f.getDistances().distance(1001, 2), 1e-9);
+        System.out.println("= Test matrice dense trop grande pour un tableau passed ✅ =");
+    }
+}
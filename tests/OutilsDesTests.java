@@ -0,0 +1,139 @@
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.Véhicule;
+import org.junit.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Outils partagés par les classes de test : création de fichiers aléatoires, et vérifications des solutions.
+ */
+final class OutilsDesTests
+{
+    private OutilsDesTests()
+    {
+    }
+
+    /**
+     * Crée un fichier de clients placés au hasard autour d'un entrepôt central, avec des demandes de 1 à 20.
+     * @param nbClients le nombre de clients.
+     * @param graine la graine du générateur aléatoire.
+     * @return le fichier.
+     */
+    static Fichier créerFichier(int nbClients, long graine)
+    {
+        return OutilsDesTests.créerFichier(nbClients, graine, Fichier.BUDGET_MÉMOIRE_DISTANCES_PAR_DÉFAUT);
+    }
+
+    /**
+     * Crée un fichier de clients placés au hasard autour d'un entrepôt central, avec des demandes de 1 à 20, dont les
+     * distances tiennent dans un budget mémoire donné.
+     * @param nbClients le nombre de clients.
+     * @param graine la graine du générateur aléatoire.
+     * @param budgetMémoireDistances le nombre maximal d'octets occupés par les distances.
+     * @return le fichier.
+     */
+    static Fichier créerFichier(int nbClients, long graine, long budgetMémoireDistances)
+    {
+        Random random = new Random(graine);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= nbClients; i++)
+        {
+            clients.add(new Client(i, random.nextInt(100), random.nextInt(100), 1 + random.nextInt(20)));
+        }
+        return new Fichier(clients, "test", new Entrepôt(50, 50), budgetMémoireDistances);
+    }
+
+    /**
+     * Construit une solution qui livre les clients du fichier dans leur ordre, en itinéraires d'au plus un nombre donné
+     * de clients : un itinéraire est aussi fermé dès que le client suivant dépasserait la capacité de son véhicule.
+     * @param f le fichier des clients.
+     * @param nbClientsParItinéraire le nombre maximal de clients d'un itinéraire.
+     * @return la solution.
+     */
+    static Solution créerSolution(Fichier f, int nbClientsParItinéraire) throws Exception
+    {
+        return OutilsDesTests.créerSolution(f, f.getClients(), nbClientsParItinéraire);
+    }
+
+    /**
+     * Construit une solution comme {@link #créerSolution(Fichier, int)}, après avoir mélangé les clients du fichier.
+     * @param f le fichier des clients.
+     * @param nbClientsParItinéraire le nombre maximal de clients d'un itinéraire.
+     * @param graine la graine du mélange.
+     * @return la solution.
+     */
+    static Solution créerSolution(Fichier f, int nbClientsParItinéraire, long graine) throws Exception
+    {
+        ArrayList<Client> clients = new ArrayList<Client>(f.getClients());
+        Collections.shuffle(clients, new Random(graine));
+        return OutilsDesTests.créerSolution(f, clients, nbClientsParItinéraire);
+    }
+
+    private static Solution créerSolution(Fichier f, List<Client> clients, int nbClientsParItinéraire) throws Exception
+    {
+        int capacité = new Véhicule().getCapacité();
+        ArrayList<Itinéraire> itinéraires = new ArrayList<Itinéraire>();
+        ArrayList<Client> tournée = new ArrayList<Client>();
+        int charge = 0;
+        for(Client client : clients)
+        {
+            if(tournée.size() == nbClientsParItinéraire || charge + client.getNbMarchandisesÀLivrer() > capacité)
+            {
+                itinéraires.add(new Itinéraire(tournée, f.getEntrepôt(), false, f.getDistances()));
+                tournée = new ArrayList<Client>();
+                charge = 0;
+            }
+            tournée.add(client);
+            charge += client.getNbMarchandisesÀLivrer();
+        }
+        if(!tournée.isEmpty())
+        {
+            itinéraires.add(new Itinéraire(tournée, f.getEntrepôt(), false, f.getDistances()));
+        }
+        return new Solution(itinéraires);
+    }
+
+    /**
+     * @return les indices des clients de chaque itinéraire de la solution, dans l'ordre.
+     */
+    static String tournées(Solution solution)
+    {
+        StringBuilder tournées = new StringBuilder();
+        for(Itinéraire itinéraire : solution.getItinéraires())
+        {
+            for(Client client : itinéraire.getListeClientsÀLivrer())
+            {
+                tournées.append(client.getIndice()).append(' ');
+            }
+            tournées.append('|');
+        }
+        return tournées.toString();
+    }
+
+    /**
+     * Vérifie qu'une solution livre tous les clients du fichier, et que sa longueur est celle de ses itinéraires,
+     * recalculée sur de nouveaux itinéraires ayant les mêmes clients.
+     * @param solution la solution.
+     * @param f le fichier des clients.
+     */
+    static void vérifierLaSolution(Solution solution, Fichier f) throws Exception
+    {
+        HashSet<Client> livrés = new HashSet<Client>();
+        double longueur = 0;
+        for(Itinéraire itinéraire : solution.getItinéraires())
+        {
+            livrés.addAll(itinéraire.getListeClientsÀLivrer());
+            longueur += new Itinéraire(new ArrayList<Client>(itinéraire.getListeClientsÀLivrer()), f.getEntrepôt(), false, f.getDistances()).getLongueurTotale();
+        }
+        Assert.assertEquals(f.getClients().size(), livrés.size());
+        Assert.assertEquals(longueur, solution.getOptimisationGlobale(), 1e-6);
+    }
+}
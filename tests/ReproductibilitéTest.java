@@ -0,0 +1,78 @@
+import algorithms.GénérateurDeSolutions;
+import algorithms.Génération;
+import algorithms.SolveurRecuit;
+import algorithms.SolveurTabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import model.Fichier;
+import model.Solution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe de test de la reproductibilité des algorithmes pour un générateur aléatoire de graine donnée.
+ */
+public class ReproductibilitéTest
+{
+    /**
+     * Vérifie que deux générateurs de solutions de même graine génèrent les mêmes solutions successives.
+     */
+    @Test
+    public void testGénérateurDeSolutions() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(50, 5);
+        GénérateurDeSolutions premier = new GénérateurDeSolutions(f, new SplittableRandom(42));
+        GénérateurDeSolutions second = new GénérateurDeSolutions(f, new SplittableRandom(42));
+        for(int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals(OutilsDesTests.tournées(premier.générerUneSolutionAléatoire()), OutilsDesTests.tournées(second.générerUneSolutionAléatoire()));
+        }
+        System.out.println("= Test reproductibilité du générateur de solutions passed ✅ =");
+    }
+
+    /**
+     * Vérifie que deux recuits simulés de même graine retournent la même solution.
+     */
+    @Test
+    public void testRecuitSimulé() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(50, 5);
+        Solution initiale = new GénérateurDeSolutions(f, new SplittableRandom(1)).générerUneSolutionAléatoire();
+        Solution premier = new SolveurRecuit(100, 100, 0.9, Transformation.TRANSFORMATION_ÉCHANGE, true, Génération.ALÉATOIRE, null, new SplittableRandom(7)).résoudre(initiale);
+        Solution second = new SolveurRecuit(100, 100, 0.9, Transformation.TRANSFORMATION_ÉCHANGE, true, Génération.ALÉATOIRE, null, new SplittableRandom(7)).résoudre(initiale);
+        Assert.assertEquals(OutilsDesTests.tournées(premier), OutilsDesTests.tournées(second));
+        Assert.assertEquals(premier.getOptimisationGlobale(), second.getOptimisationGlobale(), 0);
+        System.out.println("= Test reproductibilité du recuit simulé passed ✅ =");
+    }
+
+    /**
+     * Vérifie que deux recherches tabou de même graine, dont le voisinage est évalué en parallèle par des pools de
+     * même nombre de threads, retournent la même solution.
+     */
+    @Test
+    public void testTabouParallèle() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(50, 5);
+        Solution initiale = new GénérateurDeSolutions(f, new SplittableRandom(2)).générerUneSolutionAléatoire();
+        ArrayList<String> résultats = new ArrayList<String>();
+        for(int essai = 0; essai < 2; essai++)
+        {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try
+            {
+                Solution optimisée = new SolveurTabou(100, 100, 200, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom(3)).rechercher(initiale);
+                résultats.add(OutilsDesTests.tournées(optimisée));
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        Assert.assertEquals(résultats.get(0), résultats.get(1));
+        System.out.println("= Test reproductibilité du tabou parallèle passed ✅ =");
+    }
+}
@@ -0,0 +1,136 @@
+import algorithms.DécoupageOptimal;
+import algorithms.Mouvement;
+import algorithms.TransformateurEntreItinéraires;
+import algorithms.Transformation;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Classe de test des solutions.
+ */
+public class SolutionTest
+{
+    /**
+     * Vérifie que chaque client est localisé dans l'itinéraire et à la position où il se trouve réellement.
+     */
+    private void vérifierLaLocalisation(Solution solution, int nbClients)
+    {
+        for(int indice = 1; indice <= nbClients; indice++)
+        {
+            int r = solution.getItinéraireDuClient(indice);
+            Assert.assertTrue(r >= 0);
+            int p = solution.getPositionDuClient(indice);
+            Assert.assertEquals(indice, solution.getItinéraires().get(r).getListeClientsÀLivrer().get(p).getIndice());
+        }
+    }
+
+    /**
+     * Vérifie que l'index des clients reste exact au fil des transformations dans et entre les itinéraires, des
+     * copies de la solution, et de l'ajout ou du retrait d'itinéraires.
+     */
+    @Test
+    public void testLocalisationDesClients() throws Exception
+    {
+        Random random = new Random(11);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= 40; i++)
+        {
+            clients.add(new Client(i, random.nextInt(100), random.nextInt(100), 5 + random.nextInt(20)));
+        }
+        Fichier f = new Fichier(clients, "test", new Entrepôt(50, 50));
+        Itinéraire tournée = new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances());
+        Solution solution = new DécoupageOptimal(100).découper(tournée);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 5);
+        Mouvement mouvement = new Mouvement(Transformation.INSERTION_DÉCALAGE);
+        Assert.assertEquals(-1, solution.getItinéraireDuClient(41));
+
+        for(int k = 0; k < 300; k++)
+        {
+            this.vérifierLaLocalisation(solution, 40);
+            if(k % 3 == 0)
+            {
+                TransformateurEntreItinéraires.métaTransformationGranulaire(solution, candidats);
+            }
+            else if(k % 3 == 1)
+            {
+                mouvement.tirer(solution.getItinéraires().get(random.nextInt(solution.getItinéraires().size())), candidats);
+                mouvement.effectuer();
+            }
+            else
+            {
+                solution = new Solution(solution);
+            }
+        }
+
+        // la copie et l'original partagent leur index jusqu'à la réindexation de l'un d'eux
+        this.vérifierLaLocalisation(solution, 40);
+        Solution copie = new Solution(solution);
+        for(int k = 0; k < 20; k++)
+        {
+            TransformateurEntreItinéraires.métaTransformationGranulaire(copie, candidats);
+            this.vérifierLaLocalisation(copie, 40);
+            this.vérifierLaLocalisation(solution, 40);
+        }
+
+        // un itinéraire retiré n'est plus indexé, puis l'est de nouveau une fois remis
+        Itinéraire premier = solution.getItinéraires().get(0);
+        solution.retirerTournée(premier);
+        Client client = premier.getListeClientsÀLivrer().get(0);
+        Assert.assertEquals(-1, solution.getItinéraireDuClient(client.getIndice()));
+        solution.ajouterTournée(premier);
+        this.vérifierLaLocalisation(solution, 40);
+        System.out.println("= Test localisation des clients passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la méta-transformation échange aléatoire échange réellement des clients entre les itinéraires de la
+     * solution, sans en perdre, sans dépasser la capacité des véhicules, et en gardant la longueur de la solution à
+     * jour.
+     */
+    @Test
+    public void testMétaTransformationÉchange() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 12);
+        Itinéraire tournée = new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances());
+        Solution solution = new DécoupageOptimal(100).découper(tournée);
+        Assert.assertTrue(solution.getItinéraires().size() >= 2);
+        SplittableRandom random = new SplittableRandom(3);
+        int nbÉchanges = 0;
+        for(int k = 0; k < 200; k++)
+        {
+            String avant = OutilsDesTests.tournées(solution);
+            if(TransformateurEntreItinéraires.métaTransformationÉchange(solution, random))
+            {
+                nbÉchanges++;
+                Assert.assertNotEquals(avant, OutilsDesTests.tournées(solution));
+            }
+            else
+            {
+                Assert.assertEquals(avant, OutilsDesTests.tournées(solution));
+            }
+            for(Itinéraire itinéraire : solution.getItinéraires())
+            {
+                Assert.assertTrue(itinéraire.getNbMarchandisesALivrer() <= itinéraire.getVéhicule().getCapacité());
+            }
+            this.vérifierLaLocalisation(solution, 40);
+        }
+        Assert.assertTrue(nbÉchanges > 0);
+        OutilsDesTests.vérifierLaSolution(solution, f);
+
+        // une solution d'un seul itinéraire n'a rien à échanger
+        Solution seule = new Solution();
+        seule.ajouterTournée(new Itinéraire(f.getClients(), f.getEntrepôt(), true, f.getDistances()));
+        Assert.assertFalse(TransformateurEntreItinéraires.métaTransformationÉchange(seule, random));
+        System.out.println("= Test méta-transformation échange passed ✅ =");
+    }
+}
@@ -0,0 +1,107 @@
+import algorithms.GénérateurDeSolutions;
+import algorithms.Génération;
+import algorithms.Solveur;
+import algorithms.SolveurRecuit;
+import algorithms.SolveurRecuitItinéraire;
+import algorithms.SolveurTabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import model.Fichier;
+import model.Solution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Classe de test des solveurs.
+ */
+public class SolveursTest
+{
+    /**
+     * Vérifie que des solveurs exécutés en même temps, sur des fichiers différents, retournent les mêmes solutions que
+     * lorsqu'ils sont exécutés seuls : ils ne partagent aucun état.
+     */
+    @Test
+    public void testSolveursConcurrents() throws Exception
+    {
+        Fichier premierFichier = OutilsDesTests.créerFichier(40, 5);
+        Fichier secondFichier = OutilsDesTests.créerFichier(60, 6);
+        Solution premièreInitiale = new GénérateurDeSolutions(premierFichier, new SplittableRandom(1)).générerUneSolutionAléatoire();
+        Solution secondeInitiale = new GénérateurDeSolutions(secondFichier, new SplittableRandom(2)).générerUneSolutionAléatoire();
+        Solution initialeUnique = new GénérateurDeSolutions(secondFichier, new SplittableRandom(3)).générerSolutionAléatoireAvecItinéraireUnique();
+
+        Solution[] initiales = {premièreInitiale, secondeInitiale, premièreInitiale, initialeUnique};
+        Solveur[] seuls = SolveursTest.créerSolveurs();
+        Solveur[] concurrents = SolveursTest.créerSolveurs();
+
+        ArrayList<String> attendues = new ArrayList<String>();
+        for(int i = 0; i < initiales.length; i++)
+        {
+            attendues.add(OutilsDesTests.tournées(seuls[i].résoudre(initiales[i])));
+        }
+
+        ExecutorService exécuteur = Executors.newFixedThreadPool(initiales.length);
+        try
+        {
+            ArrayList<Future<Solution>> résolutions = new ArrayList<Future<Solution>>();
+            for(int i = 0; i < initiales.length; i++)
+            {
+                Solveur solveur = concurrents[i];
+                Solution initiale = initiales[i];
+                résolutions.add(exécuteur.submit(() -> solveur.résoudre(initiale)));
+            }
+            for(int i = 0; i < initiales.length; i++)
+            {
+                Assert.assertEquals(attendues.get(i), OutilsDesTests.tournées(résolutions.get(i).get()));
+            }
+        }
+        finally
+        {
+            exécuteur.shutdownNow();
+        }
+        System.out.println("= Test solveurs concurrents passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les solveurs séparés successivement de deux solveurs de même graine sont les mêmes.
+     */
+    @Test
+    public void testSéparer() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 5);
+        Solution initiale = new GénérateurDeSolutions(f, new SplittableRandom(1)).générerUneSolutionAléatoire();
+        Solveur premier = new SolveurRecuitItinéraire(100, 100, 0.9, Transformation.TRANSFORMATION_2_OPT, null, new SplittableRandom(11));
+        Solveur second = new SolveurRecuitItinéraire(100, 100, 0.9, Transformation.TRANSFORMATION_2_OPT, null, new SplittableRandom(11));
+        String premièreSéparation = OutilsDesTests.tournées(premier.séparer().résoudre(initiale));
+        Assert.assertEquals(premièreSéparation, OutilsDesTests.tournées(second.séparer().résoudre(initiale)));
+        Assert.assertEquals(OutilsDesTests.tournées(premier.séparer().résoudre(initiale)), OutilsDesTests.tournées(second.séparer().résoudre(initiale)));
+        System.out.println("= Test séparation des solveurs passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'un solveur ne peut pas être créé sans générateur aléatoire.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGénérateurAléatoireNul()
+    {
+        new SolveurRecuit(100, 100, 0.9, Transformation.TRANSFORMATION_ÉCHANGE, false, Génération.ALÉATOIRE, null, null);
+    }
+
+    /**
+     * @return un solveur de chaque sorte, de graine fixée.
+     */
+    private static Solveur[] créerSolveurs()
+    {
+        return new Solveur[]{
+                new SolveurRecuit(100, 100, 0.9, Transformation.TRANSFORMATION_ÉCHANGE, true, Génération.ALÉATOIRE, null, new SplittableRandom(7)),
+                new SolveurRecuitItinéraire(100, 100, 0.9, Transformation.TRANSFORMATION_2_OPT, null, new SplittableRandom(7)),
+                new SolveurTabou(100, 100, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, null, new SplittableRandom(7)),
+                new SolveurTabou(100, 100, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE_UNIQUE, true, null, null, new SplittableRandom(7))
+        };
+    }
+}
@@ -0,0 +1,245 @@
+import algorithms.TransformateurItinéraire;
+import model.Client;
+import model.Entrepôt;
+import model.Fichier;
+import model.Itinéraire;
+import model.SéquenceDeClients;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Classe de test de la séquence de clients des itinéraires, rangée dans des tableaux.
+ */
+public class SéquenceDeClientsTest
+{
+    /**
+     * Construit une séquence des clients 1 à n, dans l'ordre.
+     */
+    private SéquenceDeClients séquence(int n)
+    {
+        SéquenceDeClients séquence = new SéquenceDeClients();
+        for(int i = 1; i <= n; i++)
+        {
+            séquence.add(new Client(i, i, 0, 1));
+        }
+        return séquence;
+    }
+
+    /**
+     * @return les numéros des clients de la séquence, en vérifiant au passage que le tableau des indices est à jour.
+     */
+    private int[] numéros(SéquenceDeClients séquence)
+    {
+        int[] numéros = new int[séquence.size()];
+        for(int p = 0; p < séquence.size(); p++)
+        {
+            numéros[p] = séquence.get(p).getNumeroClient();
+            Assert.assertEquals(séquence.get(p).getIndice(), séquence.getIndices()[p]);
+        }
+        return numéros;
+    }
+
+    /**
+     * Vérifie les opérations sur place : échange, inversion d'une portion et déplacement d'un client, ainsi que
+     * l'insertion et le retrait au-delà de la capacité initiale.
+     */
+    @Test
+    public void testOpérationsSurPlace()
+    {
+        SéquenceDeClients séquence = this.séquence(6);
+        séquence.échanger(0, 5);
+        Assert.assertArrayEquals(new int[]{6, 2, 3, 4, 5, 1}, this.numéros(séquence));
+        séquence.inverser(1, 4);
+        Assert.assertArrayEquals(new int[]{6, 5, 4, 3, 2, 1}, this.numéros(séquence));
+        séquence.déplacer(0, 3);
+        Assert.assertArrayEquals(new int[]{5, 4, 3, 6, 2, 1}, this.numéros(séquence));
+        séquence.déplacer(4, 1);
+        Assert.assertArrayEquals(new int[]{5, 2, 4, 3, 6, 1}, this.numéros(séquence));
+
+        for(int i = 7; i <= 20; i++)
+        {
+            séquence.add(0, new Client(i, i, 0, 1));
+        }
+        Assert.assertEquals(20, séquence.size());
+        Assert.assertEquals(20, séquence.get(0).getNumeroClient());
+        séquence.subList(0, 14).clear();
+        Assert.assertArrayEquals(new int[]{5, 2, 4, 3, 6, 1}, this.numéros(séquence));
+        Assert.assertEquals(5, séquence.remove(0).getNumeroClient());
+        Assert.assertArrayEquals(new int[]{2, 4, 3, 6, 1}, this.numéros(séquence));
+        System.out.println("= Test opérations sur place passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la séquence se compare comme une liste, et que les transformations d'un itinéraire conservent ses
+     * clients et gardent sa longueur cohérente avec un recalcul complet.
+     */
+    @Test
+    public void testTransformationsDUnItinéraire() throws Exception
+    {
+        Random random = new Random(5);
+        ArrayList<Client> clients = new ArrayList<Client>();
+        for(int i = 1; i <= 30; i++)
+        {
+            clients.add(new Client(i, random.nextInt(100), random.nextInt(100), 1));
+        }
+        Fichier f = new Fichier(clients, "test", new Entrepôt(50, 50));
+        Itinéraire itinéraire = new Itinéraire(new LinkedList<Client>(clients), f.getEntrepôt(), true, f.getDistances());
+        Assert.assertEquals(clients, itinéraire.getListeClientsÀLivrer());
+
+        for(int k = 0; k < 200; k++)
+        {
+            switch(k % 4)
+            {
+                case 0:
+                    TransformateurItinéraire.transformationÉchange(itinéraire);
+                    break;
+                case 1:
+                    TransformateurItinéraire.insertionDécalage(itinéraire);
+                    break;
+                case 2:
+                    TransformateurItinéraire.inversion(itinéraire);
+                    break;
+                default:
+                    Assert.assertSame(itinéraire, TransformateurItinéraire.transformation2opt(itinéraire, null));
+            }
+            List<Client> triés = new ArrayList<Client>(itinéraire.getListeClientsÀLivrer());
+            triés.sort((a, b) -> a.getNumeroClient() - b.getNumeroClient());
+            Assert.assertEquals(clients, triés);
+
+            Itinéraire recalculé = new Itinéraire(new ArrayList<Client>(itinéraire.getListeClientsÀLivrer()), f.getEntrepôt(), true);
+            Assert.assertEquals(recalculé.getLongueurTotale(), itinéraire.getLongueurTotale(), 1e-9);
+        }
+        Assert.assertEquals(30, Arrays.stream(this.numéros(itinéraire.getListeClientsÀLivrer())).distinct().count());
+        System.out.println("= Test transformations d'un itinéraire passed ✅ =");
+    }
+
+    /**
+     * Vérifie qu'une copie partage les tableaux de l'original jusqu'à la première modification, et que la modification
+     * de l'un ne change pas l'autre.
+     */
+    @Test
+    public void testCopieÀLÉcriture()
+    {
+        SéquenceDeClients original = this.séquence(5);
+        SéquenceDeClients copie = new SéquenceDeClients(original);
+        Assert.assertSame(original.getIndices(), copie.getIndices());
+
+        copie.échanger(0, 4);
+        Assert.assertNotSame(original.getIndices(), copie.getIndices());
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5}, this.numéros(original));
+        Assert.assertArrayEquals(new int[]{5, 2, 3, 4, 1}, this.numéros(copie));
+
+        SéquenceDeClients seconde = new SéquenceDeClients(original);
+        original.remove(0);
+        original.add(new Client(6, 6, 0, 1));
+        Assert.assertArrayEquals(new int[]{2, 3, 4, 5, 6}, this.numéros(original));
+        Assert.assertArrayEquals(new int[]{1, 2, 3, 4, 5}, this.numéros(seconde));
+        seconde.inverser(0, 4);
+        Assert.assertArrayEquals(new int[]{5, 4, 3, 2, 1}, this.numéros(seconde));
+        Assert.assertArrayEquals(new int[]{2, 3, 4, 5, 6}, this.numéros(original));
+        System.out.println("= Test copie à l'écriture passed ✅ =");
+    }
+
+    /**
+     * Vérifie que l'index des positions reste juste au fil des réordonnancements, qui le tiennent à jour, et des
+     * autres modifications, qui l'invalident, y compris pour une copie partageant les tableaux de l'original.
+     */
+    @Test
+    public void testIndexDesPositions()
+    {
+        SéquenceDeClients séquence = this.séquence(40);
+        Random random = new Random(9);
+        for(int k = 0; k < 2000; k++)
+        {
+            if(k % 7 == 0)
+            {
+                séquence.indexer();
+            }
+            int i = random.nextInt(séquence.size());
+            int j = random.nextInt(séquence.size());
+            switch(k % 5)
+            {
+                case 0:
+                    séquence.échanger(i, j);
+                    break;
+                case 1:
+                    séquence.inverser(Math.min(i, j), Math.max(i, j));
+                    break;
+                case 2:
+                    séquence.déplacer(i, j);
+                    break;
+                case 3:
+                    // retrait puis remise en fin de séquence : l'index est invalidé
+                    séquence.add(séquence.remove(i));
+                    break;
+                default:
+                    séquence = new SéquenceDeClients(séquence);
+            }
+            for(int p = 0; p < séquence.size(); p++)
+            {
+                Assert.assertEquals(p, séquence.getPosition(séquence.getIndice(p)));
+            }
+            Assert.assertEquals(-1, séquence.getPosition(41));
+            Assert.assertEquals(-1, séquence.getPosition(0));
+        }
+        System.out.println("= Test index des positions passed ✅ =");
+    }
+
+    /**
+     * Vérifie que des threads qui recherchent en même temps les positions des clients d'une séquence tout juste
+     * modifiée, dont l'index n'est donc pas à jour, obtiennent toutes les bonnes positions : la recherche ne modifie
+     * pas la séquence. Les recherches sont ensuite refaites sur la séquence indexée.
+     */
+    @Test
+    public void testRecherchesConcurrentes() throws Exception
+    {
+        ExecutorService exécuteur = Executors.newFixedThreadPool(8);
+        try
+        {
+            Random random = new Random(12);
+            for(int essai = 0; essai < 200; essai++)
+            {
+                SéquenceDeClients séquence = this.séquence(60);
+                séquence.indexer();
+                séquence.add(séquence.remove(random.nextInt(séquence.size())));
+                for(int indexation = 0; indexation < 2; indexation++)
+                {
+                    ArrayList<Future<Integer>> recherches = new ArrayList<Future<Integer>>();
+                    for(int t = 0; t < 8; t++)
+                    {
+                        recherches.add(exécuteur.submit(() -> {
+                            int nbErreurs = 0;
+                            for(int p = 0; p < séquence.size(); p++)
+                            {
+                                if(séquence.getPosition(séquence.getIndice(p)) != p)
+                                {
+                                    nbErreurs++;
+                                }
+                            }
+                            return nbErreurs;
+                        }));
+                    }
+                    for(Future<Integer> recherche : recherches)
+                    {
+                        Assert.assertEquals(0, (int) recherche.get());
+                    }
+                    séquence.indexer();
+                }
+            }
+        }
+        finally
+        {
+            exécuteur.shutdownNow();
+        }
+        System.out.println("= Test recherches concurrentes de positions passed ✅ =");
+    }
+}
@@ -0,0 +1,125 @@
+import algorithms.Génération;
+import algorithms.MémoireLongTermePartagée;
+import algorithms.SolveurTabou;
+import algorithms.Tabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import model.Fichier;
+import model.Itinéraire;
+import model.Solution;
+import model.distances.OracleDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe de test de la recherche tabou coopérative et de sa mémoire à long terme partagée.
+ */
+public class TabouCoopératifTest
+{
+    /**
+     * Vérifie que la mémoire compte les arêtes des solutions enregistrées, et ne garde que la meilleure d'entre elles.
+     */
+    @Test
+    public void testMémoireLongTerme() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 10);
+        MémoireLongTermePartagée mémoire = new MémoireLongTermePartagée(31, 4);
+        Assert.assertNull(mémoire.getMeilleureSolution());
+        Solution première = OutilsDesTests.créerSolution(f, 10, 1);
+        Solution seconde = OutilsDesTests.créerSolution(f, 10, 2);
+        mémoire.enregistrer(première);
+        mémoire.enregistrer(seconde);
+        Solution meilleure = première.getOptimisationGlobale() < seconde.getOptimisationGlobale() ? première : seconde;
+        Assert.assertSame(meilleure, mémoire.getMeilleureSolution());
+
+        Itinéraire itinéraire = première.getItinéraires().get(0);
+        int[] indices = itinéraire.getListeClientsÀLivrer().getIndices();
+        Assert.assertTrue(mémoire.getFréquence(0, indices[0]) >= 1);
+        Assert.assertTrue(mémoire.getFréquence(indices[1], indices[0]) >= 1);
+        Assert.assertFalse(mémoire.getÉlites().isEmpty());
+        System.out.println("= Test mémoire à long terme passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les recherches coopératives retournent une solution meilleure que toutes les solutions initiales,
+     * qui livre tous les clients et dont la longueur est celle de ses itinéraires, et la publient dans la mémoire.
+     */
+    @Test
+    public void testTabouCoopératif() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 10);
+        List<Solution> solutionsInitiales = new ArrayList<Solution>();
+        double meilleureLongueurInitiale = Double.MAX_VALUE;
+        for(long graine = 0; graine < 4; graine++)
+        {
+            Solution solution = OutilsDesTests.créerSolution(f, 10, graine);
+            solutionsInitiales.add(solution);
+            meilleureLongueurInitiale = Math.min(meilleureLongueurInitiale, solution.getOptimisationGlobale());
+        }
+        MémoireLongTermePartagée mémoire = new MémoireLongTermePartagée(31, 4);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            Solution optimisée = new SolveurTabou(100, 200, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom()).résoudreEnCoopération(solutionsInitiales, mémoire);
+            Assert.assertTrue(optimisée.getOptimisationGlobale() < meilleureLongueurInitiale);
+            Assert.assertEquals(mémoire.getMeilleureSolution().getOptimisationGlobale(), optimisée.getOptimisationGlobale(), 1e-9);
+            OutilsDesTests.vérifierLaSolution(optimisée, f);
+            for(Solution solutionInitiale : solutionsInitiales)
+            {
+                OutilsDesTests.vérifierLaSolution(solutionInitiale, f);
+            }
+            // le pool appartient à l'appelant : il reste utilisable après les recherches
+            Assert.assertFalse(pool.isShutdown());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        System.out.println("= Test tabou coopératif passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les recherches coopératives, exécutées en même temps sur des distances lues par un oracle dont le
+     * cache ne garde que quelques lignes, retournent une solution dont la longueur est celle de ses itinéraires : les
+     * recherches partagent l'oracle, mais pas son cache.
+     */
+    @Test
+    public void testTabouCoopératifSurOracleDeDistances() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 10, 3 * OracleDeDistances.tailleDUneLigne(31) * Runtime.getRuntime().availableProcessors());
+        Assert.assertTrue(f.getDistances() instanceof OracleDeDistances);
+        List<Solution> solutionsInitiales = new ArrayList<Solution>();
+        for(long graine = 0; graine < 4; graine++)
+        {
+            solutionsInitiales.add(OutilsDesTests.créerSolution(f, 10, graine));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            Solution optimisée = new SolveurTabou(100, 500, 50, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom()).résoudreEnCoopération(solutionsInitiales, new MémoireLongTermePartagée(31, 4));
+            OutilsDesTests.vérifierLaSolution(optimisée, f);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        System.out.println("= Test tabou coopératif sur l'oracle de distances passed ✅ =");
+    }
+
+    /**
+     * Vérifie que les recherches coopératives refusent un pool nul.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPoolNul() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 10);
+        List<Solution> solutionsInitiales = new ArrayList<Solution>();
+        solutionsInitiales.add(OutilsDesTests.créerSolution(f, 10, 0));
+        Tabou.tabouSearchCoopératif(solutionsInitiales, 100, 10, 10, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, null, null);
+    }
+}
@@ -0,0 +1,48 @@
+import algorithms.MémoireTabouParAttributs;
+import algorithms.Tabou;
+import algorithms.Transformation;
+import model.Fichier;
+import model.Solution;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Classe de test de la recherche tabou par attributs.
+ */
+public class TabouParAttributsTest
+{
+    /**
+     * Vérifie qu'un client interdit reste tabou pendant la durée tabou, puis ne l'est plus.
+     */
+    @Test
+    public void testDuréeTabou()
+    {
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(3);
+        Assert.assertFalse(mémoire.estTabou(7, 0));
+        mémoire.interdire(7, 10);
+        Assert.assertTrue(mémoire.estTabou(7, 11));
+        Assert.assertTrue(mémoire.estTabou(7, 13));
+        Assert.assertFalse(mémoire.estTabou(7, 14));
+        Assert.assertFalse(mémoire.estTabou(6, 11));
+        System.out.println("= Test durée tabou passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la recherche ne modifie pas la solution initiale, et retourne une solution au moins aussi bonne,
+     * qui livre tous les clients et dont la longueur est celle de ses itinéraires.
+     */
+    @Test
+    public void testRechercheParAttributs() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 4);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        double longueurInitiale = initiale.getOptimisationGlobale();
+
+        Solution optimisée = Tabou.tabouSearchParAttributs(initiale, 5, 2000, 20, Transformation.TRANSFORMATION_2_OPT, null, null);
+        Assert.assertEquals(longueurInitiale, initiale.getOptimisationGlobale(), 1e-9);
+        Assert.assertTrue(optimisée.getOptimisationGlobale() < longueurInitiale);
+
+        OutilsDesTests.vérifierLaSolution(optimisée, f);
+        System.out.println("= Test recherche par attributs passed ✅ =");
+    }
+}
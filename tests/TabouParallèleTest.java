@@ -0,0 +1,134 @@
+import algorithms.Génération;
+import algorithms.SolveurTabou;
+import algorithms.Transformation;
+import algorithms.TypeDeRechercheVoisinage;
+import model.Fichier;
+import model.Solution;
+import model.distances.ListesDeCandidats;
+import model.distances.OracleDeDistances;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Classe de test de la recherche tabou dont le voisinage est évalué en parallèle.
+ */
+public class TabouParallèleTest
+{
+    /**
+     * Vérifie que la recherche parallèle retourne une solution meilleure que la solution initiale, qui livre tous les
+     * clients et dont la longueur est celle de ses itinéraires.
+     */
+    @Test
+    public void testTabouParallèle() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 8);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        double longueurInitiale = initiale.getOptimisationGlobale();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            Solution optimisée = new SolveurTabou(100, 200, 200, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom()).rechercher(initiale);
+            Assert.assertTrue(optimisée.getOptimisationGlobale() < longueurInitiale);
+            OutilsDesTests.vérifierLaSolution(optimisée, f);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        System.out.println("= Test tabou parallèle passed ✅ =");
+    }
+
+    /**
+     * Vérifie que deux recherches parallèles de même graine, avec des pools de même nombre de threads, retournent la
+     * même solution : le découpage du voisinage ne dépend pas de l'ordonnancement des threads.
+     */
+    @Test
+    public void testDéterminisme() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 8);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        ArrayList<String> résultats = new ArrayList<String>();
+        for(int essai = 0; essai < 3; essai++)
+        {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try
+            {
+                Solution optimisée = new SolveurTabou(100, 200, 200, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom(4)).rechercher(initiale);
+                résultats.add(OutilsDesTests.tournées(optimisée) + optimisée.getOptimisationGlobale());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        Assert.assertEquals(résultats.get(0), résultats.get(1));
+        Assert.assertEquals(résultats.get(0), résultats.get(2));
+        System.out.println("= Test déterminisme du tabou parallèle passed ✅ =");
+    }
+
+    /**
+     * Vérifie que deux recherches parallèles granulaires de même graine retournent la même solution, qui livre tous les
+     * clients : les tranches tirent leurs transformations dans les itinéraires indexés avant l'évaluation, sans les
+     * modifier.
+     */
+    @Test
+    public void testDéterminismeGranulaire() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(40, 8);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        ListesDeCandidats candidats = new ListesDeCandidats(f.getDistances(), 5);
+        ArrayList<String> résultats = new ArrayList<String>();
+        for(int essai = 0; essai < 3; essai++)
+        {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try
+            {
+                Solution optimisée = new SolveurTabou(100, 200, 200, Transformation.INSERTION_DÉCALAGE, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, candidats, pool, new SplittableRandom(5)).rechercher(initiale);
+                OutilsDesTests.vérifierLaSolution(optimisée, f);
+                résultats.add(OutilsDesTests.tournées(optimisée) + optimisée.getOptimisationGlobale());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        Assert.assertEquals(résultats.get(0), résultats.get(1));
+        Assert.assertEquals(résultats.get(0), résultats.get(2));
+        System.out.println("= Test déterminisme du tabou parallèle granulaire passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la recherche parallèle sur des distances lues par un oracle, dont le cache ne garde que quelques
+     * lignes, retourne la même solution que sur la matrice dense des distances : les threads du pool ne se partagent
+     * pas le cache de l'oracle.
+     */
+    @Test
+    public void testOracleDeDistances() throws Exception
+    {
+        Fichier dense = OutilsDesTests.créerFichier(40, 8);
+        Fichier oracle = OutilsDesTests.créerFichier(40, 8, 4 * OracleDeDistances.tailleDUneLigne(41) * Runtime.getRuntime().availableProcessors());
+        Assert.assertTrue(oracle.getDistances() instanceof OracleDeDistances);
+        ArrayList<String> résultats = new ArrayList<String>();
+        for(Fichier f : new Fichier[]{dense, oracle})
+        {
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try
+            {
+                Solution optimisée = new SolveurTabou(100, 200, 200, Transformation.TRANSFORMATION_2_OPT, TypeDeRechercheVoisinage.BASIQUE, Génération.ALÉATOIRE, false, null, pool, new SplittableRandom(4)).rechercher(OutilsDesTests.créerSolution(f, 10));
+                OutilsDesTests.vérifierLaSolution(optimisée, f);
+                résultats.add(OutilsDesTests.tournées(optimisée) + optimisée.getOptimisationGlobale());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        Assert.assertEquals(résultats.get(0), résultats.get(1));
+        System.out.println("= Test tabou parallèle sur l'oracle de distances passed ✅ =");
+    }
+}
@@ -0,0 +1,116 @@
+import algorithms.MémoireTabouParAttributs;
+import algorithms.RéactionTabou;
+import algorithms.Tabou;
+import algorithms.Transformation;
+import model.Fichier;
+import model.Solution;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+/**
+ * Classe de test de la recherche tabou réactive.
+ */
+public class TabouRéactifTest
+{
+    /**
+     * Vérifie qu'un changement de durée tabou s'applique aux clients interdits ensuite, et pas aux autres.
+     */
+    @Test
+    public void testChangementDeDuréeTabou()
+    {
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(2);
+        mémoire.interdire(1, 0);
+        mémoire.setDuréeTabou(10);
+        Assert.assertEquals(10, mémoire.getDuréeTabou());
+        mémoire.interdire(2, 0);
+        Assert.assertFalse(mémoire.estTabou(1, 5));
+        Assert.assertTrue(mémoire.estTabou(2, 5));
+        System.out.println("= Test changement de durée tabou passed ✅ =");
+    }
+
+    /**
+     * Vérifie la réaction aux solutions retrouvées : la durée tabou s'allonge à chaque solution revisitée, sans
+     * dépasser son maximum, se raccourcit jusqu'à 1 lorsque plus aucune solution n'est retrouvée, et un échappement
+     * est demandé lorsque des solutions sont retrouvées trop souvent, après quoi les visites sont oubliées.
+     */
+    @Test
+    public void testRéactionAuxSolutionsRetrouvées()
+    {
+        MémoireTabouParAttributs mémoire = new MémoireTabouParAttributs(1);
+        RéactionTabou réaction = new RéactionTabou(mémoire, 20);
+        SplittableRandom random = new SplittableRandom(1);
+
+        // deux solutions visitées tour à tour : cycles de longueur 2, et durée tabou allongée à chaque retour
+        int itération = 0;
+        Assert.assertEquals(0, réaction.réagir(1, itération++, random));
+        Assert.assertEquals(0, réaction.réagir(2, itération++, random));
+        int duréeAvant = mémoire.getDuréeTabou();
+        for(int k = 0; k < 4; k++)
+        {
+            Assert.assertEquals(0, réaction.réagir(1 + k % 2, itération++, random));
+            Assert.assertTrue(mémoire.getDuréeTabou() > duréeAvant);
+            duréeAvant = mémoire.getDuréeTabou();
+        }
+        Assert.assertTrue(réaction.getLongueurMoyenneDesCycles() > 0);
+        Assert.assertTrue(réaction.getLongueurMoyenneDesCycles() < 2);
+
+        // de nouvelles solutions seulement : la durée tabou diminue jusqu'à 1
+        int duréeAllongée = mémoire.getDuréeTabou();
+        for(int k = 0; k < 100; k++)
+        {
+            réaction.réagir(1000 + k, itération++, random);
+            Assert.assertTrue(mémoire.getDuréeTabou() <= duréeAllongée);
+        }
+        Assert.assertEquals(1, mémoire.getDuréeTabou());
+
+        // les deux premières solutions, déjà visitées trois fois chacune : chaque retour en fait une solution trop
+        // visitée, et le quatrième déclenche l'échappement
+        int nbMouvementsAléatoires = 0;
+        int nbRetours = 0;
+        while(nbMouvementsAléatoires == 0)
+        {
+            nbMouvementsAléatoires = réaction.réagir(1 + nbRetours % 2, itération++, random);
+            Assert.assertTrue(mémoire.getDuréeTabou() <= 20);
+            nbRetours++;
+            Assert.assertTrue("pas d'échappement après " + nbRetours + " retours", nbRetours <= 4);
+        }
+        Assert.assertEquals(4, nbRetours);
+
+        // l'échappement a oublié les visites : retrouver la première solution n'allonge plus la durée tabou
+        int duréeÀLÉchappement = mémoire.getDuréeTabou();
+        Assert.assertEquals(0, réaction.réagir(1, itération++, random));
+        Assert.assertTrue(mémoire.getDuréeTabou() <= duréeÀLÉchappement);
+
+        // une durée maximale faible n'est jamais dépassée
+        MémoireTabouParAttributs bornée = new MémoireTabouParAttributs(1);
+        RéactionTabou réactionBornée = new RéactionTabou(bornée, 3);
+        for(int i = 0; i < 8; i++)
+        {
+            réactionBornée.réagir(i % 2, i, random);
+            Assert.assertTrue(bornée.getDuréeTabou() <= 3);
+        }
+        Assert.assertEquals(3, bornée.getDuréeTabou());
+        System.out.println("= Test réaction aux solutions retrouvées passed ✅ =");
+    }
+
+    /**
+     * Vérifie que la recherche réactive, sans paramètre de durée tabou, ne modifie pas la solution initiale, et
+     * retourne une solution meilleure qui livre tous les clients et dont la longueur est celle de ses itinéraires.
+     */
+    @Test
+    public void testRechercheRéactive() throws Exception
+    {
+        Fichier f = OutilsDesTests.créerFichier(30, 5);
+        Solution initiale = OutilsDesTests.créerSolution(f, 10);
+        double longueurInitiale = initiale.getOptimisationGlobale();
+
+        Solution optimisée = Tabou.tabouSearchRéactif(initiale, 3000, Transformation.TRANSFORMATION_2_OPT, null, null);
+        Assert.assertEquals(longueurInitiale, initiale.getOptimisationGlobale(), 1e-9);
+        Assert.assertTrue(optimisée.getOptimisationGlobale() < longueurInitiale);
+
+        OutilsDesTests.vérifierLaSolution(optimisée, f);
+        System.out.println("= Test recherche réactive passed ✅ =");
+    }
+}
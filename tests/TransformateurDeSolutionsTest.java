@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Classe de test du transformateur de solutions.
@@ -69,7 +70,7 @@ public class TransformateurDeSolutionsTest extends Application {
         // On récupère la taille de l'itinéraire après la transformation locale
         int nbClientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer().size();
         // Liste chaînée contenant les clients à livrer de l'itinéraire après la transformation
-        LinkedList<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
+        List<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
         //On vérifie si le nombre de clients de l'itinéraire est le même avant et après la transformation
         Assert.assertEquals(nbClientsItinéraireAvantTransformation, nbClientsItinéraireAprèsTransformation);
         System.out.println("= Test passed (méthode de transformation locale) ✅ Le nombre de client de l'itinéraire reste identique =");
@@ -101,7 +102,7 @@ public class TransformateurDeSolutionsTest extends Application {
         // On récupère la taille de l'itinéraire après la transformation locale
         int nbClientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer().size();
         // Liste chaînée contenant les clients à livrer de l'itinéraire après la transformation
-        LinkedList<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
+        List<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
         //On vérifie si le nombre de clients de l'itinéraire est le même avant et après la transformation
         Assert.assertEquals(nbClientsItinéraireAvantTransformation, nbClientsItinéraireAprèsTransformation);
         System.out.println("= Test passed (méthode d'insertion décalage) ✅ Le nombre de client de l'itinéraire reste identique =");
@@ -133,7 +134,7 @@ public class TransformateurDeSolutionsTest extends Application {
         // On récupère la taille de l'itinéraire après la transformation locale
         int nbClientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer().size();
         // Liste chaînée contenant les clients à livrer de l'itinéraire après la transformation
-        LinkedList<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
+        List<Client> clientsItinéraireAprèsTransformation = this.itinéraire.getListeClientsÀLivrer();
         // On vérifie si le nombre de clients de l'itinéraire est le même avant et après la transformation
         Assert.assertEquals(nbClientsItinéraireAvantTransformation, nbClientsItinéraireAprèsTransformation);
         System.out.println("= Test passed (méthode d'inversion) ✅ Le nombre de client de l'itinéraire reste identique =");